@@ -5,8 +5,12 @@ package com.wolfhouse.influxclient;
  */
 public interface InfluxClientConstant {
     /** 时间字段 */
-    String   TIMESTAMP_FIELD   = "time";
+    String   TIMESTAMP_FIELD         = "time";
     /** 最近查询结果中，标识时间的字段 */
-    String   RECENT_TIME_FIELD = "recent_time";
-    String[] BUILD_IN_FIELDS   = {TIMESTAMP_FIELD};
+    String   RECENT_TIME_FIELD       = "recent_time";
+    /** 每组最新记录查询中，窗口函数编号列的别名 */
+    String   LATEST_ROW_NUMBER_FIELD = "__rn";
+    /** 批量合并查询中，标识结果所属查询序号的字段 */
+    String   BATCH_INDEX_FIELD       = "__batch_idx";
+    String[] BUILD_IN_FIELDS         = {TIMESTAMP_FIELD};
 }
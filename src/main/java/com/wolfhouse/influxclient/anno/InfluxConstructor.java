@@ -0,0 +1,22 @@
+package com.wolfhouse.influxclient.anno;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 该注解用于：转换结果集为指定对象时，通过标注的构造方法一次性创建对象，而不是先调用无参构造方法再逐个注入字段。
+ * 适用于字段均为 final 的不可变类；record 无需标注，默认使用其规范构造方法。
+ * <p>
+ * 构造方法的参数按名称与结果列匹配（列名转换为驼峰命名后或原名与参数名相同），未匹配的参数传入 null 或基本类型的默认值。
+ * 参数的类型处理器由类中同名字段上的 {@link com.wolfhouse.influxclient.typehandler.InfluxTypeHandler} 指定。
+ *
+ * @author Rylin Wolf
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.CONSTRUCTOR})
+public @interface InfluxConstructor {
+    /** 各参数对应的名称，按参数顺序排列；为空时使用参数名，此时需使用 -parameters 参数编译 */
+    String[] value() default {};
+}
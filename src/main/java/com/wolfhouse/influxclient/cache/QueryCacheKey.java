@@ -0,0 +1,33 @@
+package com.wolfhouse.influxclient.cache;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 查询键，由构建完成的 SQL 语句及其参数集组成。
+ * <p>
+ * SQL 与参数完全一致的两次查询视为同一查询，可共享查询结果。
+ *
+ * @param sql        构建完成的 SQL 语句
+ * @param parameters 查询参数占位名与值的映射（不可变）
+ * @author Rylin Wolf
+ */
+public record QueryCacheKey(String sql, Map<String, Object> parameters) {
+    /**
+     * 根据 SQL 与参数集创建查询键，参数集会被复制，避免外部修改影响键的一致性。
+     *
+     * @param sql        SQL 语句
+     * @param parameters 参数集，可为 null
+     * @return 查询键
+     */
+    public static QueryCacheKey of(@Nonnull String sql, @Nullable Map<String, Object> parameters) {
+        if (parameters == null || parameters.isEmpty()) {
+            return new QueryCacheKey(sql, Collections.emptyMap());
+        }
+        // 参数值可能为 null，因此不使用 Map.copyOf
+        return new QueryCacheKey(sql, Collections.unmodifiableMap(new HashMap<>(parameters)));
+    }
+}
@@ -0,0 +1,299 @@
+package com.wolfhouse.influxclient.cache;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 查询结果缓存。
+ * <p>
+ * 以 {@link QueryCacheKey}（SQL + 参数）为键，缓存已物化的查询结果行。
+ * 缓存同时受条目数量与权重（结果单元格数，即 行数 × 列数）约束，超出约束时按照最近最少使用（LRU）顺序淘汰。
+ * 每个条目根据所属的表（measurement）确定存活时间，未单独配置的表使用默认存活时间。
+ * <p>
+ * 缓存的结果行会被多个调用方共享，调用方不应修改结果行数组的内容。
+ * <p>
+ * 查询开始前通过 {@link #generation()} 获取当前版本，写入时若该表在此之后已失效，则丢弃结果，
+ * 避免写入前开始的查询在写入导致缓存失效后，又将写入前的结果放回缓存。
+ *
+ * @author Rylin Wolf
+ */
+@Slf4j
+@SuppressWarnings({"UnusedReturnValue", "unused"})
+public class QueryResultCache {
+    /** 缓存条目数量上限 */
+    @Getter
+    private final long                                maxEntries;
+    /** 缓存权重上限（结果单元格数） */
+    @Getter
+    private final long                                maxWeight;
+    /** 默认存活时间 */
+    @Getter
+    private final Duration                            defaultTtl;
+    /** 各表单独配置的存活时间 */
+    private final Map<String, Duration>               measurementTtls = new ConcurrentHashMap<>();
+    /** 缓存区，基于访问顺序的链表哈希表实现 LRU */
+    private final LinkedHashMap<QueryCacheKey, Entry> entries         = new LinkedHashMap<>(16, 0.75f, true);
+    /** 缓存锁，访问顺序链表的读取操作同样会修改结构，因此使用独占锁 */
+    private final ReentrantLock                       lock            = new ReentrantLock();
+    /** 当前总权重 */
+    private       long                                weight          = 0L;
+    /** 命中次数 */
+    private final LongAdder                           hits            = new LongAdder();
+    /** 未命中次数 */
+    private final LongAdder                           misses          = new LongAdder();
+    /** 淘汰次数 */
+    private final LongAdder                           evictions       = new LongAdder();
+    /** 失效版本时钟，每次失效时递增 */
+    private       long                                clock           = 0L;
+    /** 各表最近一次失效时的版本 */
+    private final Map<String, Long>                   invalidatedAt   = new HashMap<>();
+    /** 最近一次清空全部缓存时的版本 */
+    private       long                                clearedAt       = 0L;
+
+    /**
+     * 创建查询结果缓存
+     *
+     * @param maxEntries 缓存条目数量上限，必须大于 0
+     * @param maxWeight  缓存权重上限（结果单元格数），必须大于 0
+     * @param defaultTtl 默认存活时间，必须为正数
+     */
+    public QueryResultCache(long maxEntries, long maxWeight, @Nonnull Duration defaultTtl) {
+        if (maxEntries < 1 || maxWeight < 1) {
+            throw new IllegalArgumentException("【QueryResultCache】缓存上限必须大于 0, maxEntries: %d, maxWeight: %d".formatted(maxEntries, maxWeight));
+        }
+        if (defaultTtl.isNegative() || defaultTtl.isZero()) {
+            throw new IllegalArgumentException("【QueryResultCache】缓存存活时间必须为正数: " + defaultTtl);
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight  = maxWeight;
+        this.defaultTtl = defaultTtl;
+    }
+
+    /**
+     * 为指定表单独设置缓存存活时间
+     *
+     * @param measurement 表名
+     * @param ttl         存活时间，为 null 时移除单独配置，使用默认存活时间
+     * @return 当前缓存实例
+     */
+    public QueryResultCache measurementTtl(@Nonnull String measurement, @Nullable Duration ttl) {
+        if (ttl == null) {
+            measurementTtls.remove(measurement);
+        } else {
+            measurementTtls.put(measurement, ttl);
+        }
+        return this;
+    }
+
+    /**
+     * 获取缓存的查询结果
+     *
+     * @param key 查询键
+     * @return 缓存的结果行，未命中或已过期时返回 null
+     */
+    @Nullable
+    public List<Object[]> get(@Nonnull QueryCacheKey key) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expireAt - now <= 0) {
+                removeEntry(key, entry);
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.rows;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取当前失效版本，需在执行查询前获取，并在缓存结果时传入 {@link #put(String, QueryCacheKey, List, long)}
+     *
+     * @return 当前失效版本
+     */
+    public long generation() {
+        lock.lock();
+        try {
+            return clock;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 缓存查询结果。若表的存活时间不为正数，或结果权重超过缓存权重上限，则不进行缓存。
+     * <p>
+     * 该方法不检查失效版本，查询期间表的缓存失效时，应使用 {@link #put(String, QueryCacheKey, List, long)}。
+     *
+     * @param measurement 查询结果所属的表
+     * @param key         查询键
+     * @param rows        查询结果行
+     */
+    public void put(@Nonnull String measurement, @Nonnull QueryCacheKey key, @Nonnull List<Object[]> rows) {
+        put(measurement, key, rows, Long.MAX_VALUE);
+    }
+
+    /**
+     * 缓存查询结果。若表的存活时间不为正数，或结果权重超过缓存权重上限，则不进行缓存；
+     * 若表在获取 {@code generation} 之后已失效，说明结果可能早于失效前的写入，同样不进行缓存。
+     *
+     * @param measurement 查询结果所属的表
+     * @param key         查询键
+     * @param rows        查询结果行
+     * @param generation  执行查询前通过 {@link #generation()} 获取的失效版本
+     */
+    public void put(@Nonnull String measurement, @Nonnull QueryCacheKey key, @Nonnull List<Object[]> rows, long generation) {
+        put(Set.of(measurement), key, rows, generation);
+    }
+
+    /**
+     * 缓存涉及多个表的查询结果（如 UNION ALL 合并查询），任一表失效时该结果均失效。
+     * 存活时间取各表存活时间中最短的一个，任一表的存活时间不为正数时不进行缓存。
+     *
+     * @param measurements 查询结果涉及的表
+     * @param key          查询键
+     * @param rows         查询结果行
+     * @param generation   执行查询前通过 {@link #generation()} 获取的失效版本
+     */
+    public void put(@Nonnull Collection<String> measurements, @Nonnull QueryCacheKey key, @Nonnull List<Object[]> rows, long generation) {
+        Duration ttl = null;
+        for (String measurement : measurements) {
+            Duration current = measurementTtls.getOrDefault(measurement, defaultTtl);
+            ttl = ttl == null || current.compareTo(ttl) < 0 ? current : ttl;
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        long entryWeight = weigh(rows);
+        if (entryWeight > maxWeight) {
+            log.debug("【QueryResultCache】结果过大，不进行缓存，权重: {}, 上限: {}", entryWeight, maxWeight);
+            return;
+        }
+        Entry entry = new Entry(Set.copyOf(measurements), List.copyOf(rows), entryWeight, System.nanoTime() + ttl.toNanos());
+        lock.lock();
+        try {
+            if (clearedAt > generation) {
+                return;
+            }
+            for (String measurement : measurements) {
+                if (invalidatedAt.getOrDefault(measurement, 0L) > generation) {
+                    log.debug("【QueryResultCache】查询期间表 {} 的缓存已失效，丢弃结果", measurement);
+                    return;
+                }
+            }
+            Entry old = entries.put(key, entry);
+            if (old != null) {
+                weight -= old.weight;
+            }
+            weight += entryWeight;
+            evictIfNecessary();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 使指定表的全部缓存失效
+     *
+     * @param measurement 表名
+     */
+    public void invalidate(@Nonnull String measurement) {
+        lock.lock();
+        try {
+            invalidatedAt.put(measurement, ++clock);
+            Iterator<Map.Entry<QueryCacheKey, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next().getValue();
+                if (entry.measurements.contains(measurement)) {
+                    weight -= entry.weight;
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 清空全部缓存 */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+            weight    = 0L;
+            clearedAt = ++clock;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取当前缓存统计信息
+     *
+     * @return 缓存统计信息
+     */
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(entries.size(), weight, hits.sum(), misses.sum(), evictions.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // region 私有方法
+
+    /** 按照 LRU 顺序淘汰条目，直至满足数量与权重上限 */
+    private void evictIfNecessary() {
+        Iterator<Map.Entry<QueryCacheKey, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            weight -= eldest.weight;
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private void removeEntry(QueryCacheKey key, Entry entry) {
+        entries.remove(key);
+        weight -= entry.weight;
+    }
+
+    /**
+     * 计算结果权重：行数 × 列数，空结果权重为 1
+     */
+    private static long weigh(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 1L;
+        }
+        return Math.max(1L, (long) rows.size() * rows.getFirst().length);
+    }
+    // endregion
+
+    private record Entry(Set<String> measurements, List<Object[]> rows, long weight, long expireAt) {}
+
+    /**
+     * 缓存统计信息
+     *
+     * @param size      当前条目数量
+     * @param weight    当前总权重
+     * @param hits      命中次数
+     * @param misses    未命中次数
+     * @param evictions 淘汰次数
+     */
+    public record Stats(long size, long weight, long hits, long misses, long evictions) {}
+}
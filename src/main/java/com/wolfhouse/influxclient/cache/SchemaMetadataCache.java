@@ -0,0 +1,118 @@
+package com.wolfhouse.influxclient.cache;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 表结构元数据缓存。
+ * <p>
+ * 缓存各表的列名及列类型（来自 information_schema.columns），以及当前数据库下的表名（来自 information_schema.tables），
+ * 避免每次查询全部列时额外查询元数据表。缓存条目在存活时间到期后重新加载，存活时间不为正数时不进行缓存。
+ *
+ * @author Rylin Wolf
+ */
+@Slf4j
+@SuppressWarnings({"UnusedReturnValue", "unused"})
+public class SchemaMetadataCache {
+    /** 缓存存活时间 */
+    @Getter
+    private final    Duration                                         ttl;
+    /** 各表的列名与列类型映射，列顺序与元数据表一致 */
+    private final    Map<String, Timed<SequencedMap<String, String>>> columns = new ConcurrentHashMap<>();
+    /** 当前数据库下的表名 */
+    private volatile Timed<List<String>>                              tableNames;
+
+    /**
+     * 创建表结构元数据缓存
+     *
+     * @param ttl 缓存存活时间，不为正数时不进行缓存
+     */
+    public SchemaMetadataCache(@Nonnull Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * 是否启用缓存
+     *
+     * @return 存活时间为正数时启用
+     */
+    public boolean isEnabled() {
+        return !ttl.isNegative() && !ttl.isZero();
+    }
+
+    /**
+     * 获取指定表的列名与列类型映射，缓存不存在或已过期时通过加载器重新加载。
+     *
+     * @param measurement 表名
+     * @param loader      列信息加载器
+     * @return 列名与列类型映射（不可变）
+     */
+    public SequencedMap<String, String> columnTypes(@Nonnull String measurement,
+                                                    @Nonnull Function<String, SequencedMap<String, String>> loader) {
+        if (!isEnabled()) {
+            return Collections.unmodifiableSequencedMap(loader.apply(measurement));
+        }
+        long                                now    = System.nanoTime();
+        Timed<SequencedMap<String, String>> cached = columns.get(measurement);
+        if (cached != null && !cached.isExpired(now)) {
+            return cached.value;
+        }
+        SequencedMap<String, String> loaded = Collections.unmodifiableSequencedMap(new LinkedHashMap<>(loader.apply(measurement)));
+        // 空表不缓存，以便表创建后能及时获取列信息
+        if (!loaded.isEmpty()) {
+            columns.put(measurement, new Timed<>(loaded, now + ttl.toNanos()));
+        }
+        return loaded;
+    }
+
+    /**
+     * 获取当前数据库下的表名，缓存不存在或已过期时通过加载器重新加载。
+     *
+     * @param loader 表名加载器
+     * @return 表名列表（不可变）
+     */
+    public List<String> tableNames(@Nonnull Supplier<List<String>> loader) {
+        if (!isEnabled()) {
+            return List.copyOf(loader.get());
+        }
+        long                now    = System.nanoTime();
+        Timed<List<String>> cached = this.tableNames;
+        if (cached != null && !cached.isExpired(now)) {
+            return cached.value;
+        }
+        List<String> loaded = List.copyOf(loader.get());
+        this.tableNames = new Timed<>(loaded, now + ttl.toNanos());
+        return loaded;
+    }
+
+    /**
+     * 使指定表的列信息缓存失效，同时使表名缓存失效
+     *
+     * @param measurement 表名
+     */
+    public void invalidate(@Nonnull String measurement) {
+        log.debug("【SchemaMetadataCache】表结构缓存失效: {}", measurement);
+        columns.remove(measurement);
+        tableNames = null;
+    }
+
+    /** 使全部缓存失效 */
+    public void invalidateAll() {
+        log.debug("【SchemaMetadataCache】全部表结构缓存失效");
+        columns.clear();
+        tableNames = null;
+    }
+
+    private record Timed<V>(V value, long expireAt) {
+        boolean isExpired(long now) {
+            return expireAt - now <= 0;
+        }
+    }
+}
@@ -1,24 +1,47 @@
 package com.wolfhouse.influxclient.client;
 
 import com.influxdb.v3.client.InfluxDBClient;
+import com.influxdb.v3.client.query.QueryOptions;
+import com.influxdb.v3.client.query.QueryType;
+import com.wolfhouse.influxclient.cache.QueryCacheKey;
+import com.wolfhouse.influxclient.cache.QueryResultCache;
+import com.wolfhouse.influxclient.cache.SchemaMetadataCache;
 import com.wolfhouse.influxclient.comparator.NaturalComparator;
+import com.wolfhouse.influxclient.concurrent.QueryAdmissionController;
+import com.wolfhouse.influxclient.concurrent.SingleFlight;
 import com.wolfhouse.influxclient.constant.InfluxBuiltInTableMeta;
 import com.wolfhouse.influxclient.constant.select.AggSql;
 import com.wolfhouse.influxclient.core.InfluxConditionWrapper;
+import com.wolfhouse.influxclient.core.InfluxInListSplitter;
 import com.wolfhouse.influxclient.core.InfluxObjMapper;
+import com.wolfhouse.influxclient.core.InfluxQueryTemplate;
 import com.wolfhouse.influxclient.core.InfluxQueryWrapper;
+import com.wolfhouse.influxclient.core.InfluxTimeRangeGuard;
+import com.wolfhouse.influxclient.core.InfluxUnionQuery;
 import com.wolfhouse.influxclient.core.PointBuilder;
 import com.wolfhouse.influxclient.exception.InfluxClientInsertException;
 import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
+import com.wolfhouse.influxclient.exception.InfluxClientRejectedException;
+import com.wolfhouse.influxclient.exception.InfluxClientTimeoutException;
 import com.wolfhouse.influxclient.pojo.AbstractActionInfluxObj;
-import com.wolfhouse.influxclient.pojo.AbstractBaseInfluxObj;
+import com.wolfhouse.influxclient.pojo.InfluxColumnarResult;
+import com.wolfhouse.influxclient.pojo.InfluxOrderedRow;
 import com.wolfhouse.influxclient.pojo.InfluxPage;
+import com.wolfhouse.influxclient.pojo.InfluxQueryPlan;
 import com.wolfhouse.influxclient.pojo.InfluxResult;
+import com.wolfhouse.influxclient.pojo.InfluxRowMap;
+import com.wolfhouse.influxclient.typehandler.TypeHandlerRegistry;
+import com.wolfhouse.influxclient.utils.StreamUtils;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import jakarta.annotation.PreDestroy;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.arrow.flight.FlightRuntimeException;
+import org.apache.arrow.flight.FlightStatusCode;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -26,7 +49,7 @@ import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static com.wolfhouse.influxclient.InfluxClientConstant.RECENT_TIME_FIELD;
@@ -39,20 +62,23 @@ import static com.wolfhouse.influxclient.InfluxClientConstant.TIMESTAMP_FIELD;
 @RequiredArgsConstructor
 @SuppressWarnings("all")
 public class InfluxClient {
+    /** 列不存在异常的特征信息（小写） */
+    private static final String[] UNKNOWN_COLUMN_ERROR_PATTERNS = {"no field named", "schema error", "column not found"};
+
     public final InfluxDBClient                                 client;
     /** 是否启用缓存 */
     @Getter
-    protected    Boolean                                        cacheEnabled       = false;
+    protected    Boolean                                        cacheEnabled                = false;
     /** 缓存区 */
     protected    ConcurrentLinkedQueue<AbstractActionInfluxObj> cache;
     /** 缓存区刷新间隔，在缓存区未满时，根据该间隔时间将缓存区数据写入 Influx DB. 最低精度为毫秒 */
     @Setter
     @Getter
-    protected    Duration                                       cacheFlushInterval = Duration.ofSeconds(1);
+    protected    Duration                                       cacheFlushInterval          = Duration.ofSeconds(1);
     /** 缓存区数量，达到此数量后将会将缓存区批量插入。 */
     @Setter
     @Getter
-    protected    Long                                           cacheBound         = 1000L;
+    protected    Long                                           cacheBound                  = 1000L;
     /** 当前缓存区数量 */
     protected    Long                                           cacheCount;
     /** 缓存插入锁 */
@@ -63,6 +89,52 @@ public class InfluxClient {
     protected    ScheduledFuture<?>                             scheduledFuture;
     /** 正在执行的异步插入数据任务 */
     protected    ConcurrentLinkedQueue<CompletableFuture<Void>> insertTasks;
+    /** 查询结果缓存，为 null 时表示未启用 */
+    @Getter
+    protected    QueryResultCache                               queryCache;
+    /** 写入数据后，是否使对应表的查询结果缓存失效 */
+    @Setter
+    @Getter
+    protected    boolean                                        queryCacheInvalidateOnWrite = true;
+    /** 默认查询超时时间，查询构造器未单独设置超时时间时使用，为 null 或不为正数时不限制 */
+    @Setter
+    @Getter
+    protected    Duration                                       queryTimeout                = Duration.ZERO;
+    /** 表结构元数据缓存，缓存列信息及表名 */
+    @Getter
+    protected    SchemaMetadataCache                            schemaCache                 = new SchemaMetadataCache(Duration.ofMinutes(1));
+    /** 查询准入控制器，为 null 时表示未启用 */
+    @Getter
+    protected    QueryAdmissionController                       admissionController;
+    /** 查询时间范围防护，为 null 时表示未启用 */
+    @Setter
+    @Getter
+    protected    InfluxTimeRangeGuard                           timeRangeGuard;
+    /** 大型 IN 条件拆分器，为 null 时表示未启用 */
+    @Setter
+    @Getter
+    protected    InfluxInListSplitter                           inListSplitter;
+    /** 并发查询合并器，为 null 时表示未启用 */
+    protected    SingleFlight<QueryCacheKey, List<Object[]>>    queryCoalescer;
+    /** 异步查询执行器，默认为每个任务创建一个虚拟线程 */
+    @Getter
+    protected    Executor                                       queryExecutor               = Executors.newVirtualThreadPerTaskExecutor();
+    /** 异步查询执行器是否由当前客户端创建，由当前客户端创建的执行器在客户端关闭时一并关闭 */
+    protected    boolean                                        queryExecutorOwned          = true;
+    /**
+     * 拆分执行的子查询（批量查询的各查询）使用的执行器，为每个子查询创建一个虚拟线程。
+     * 与异步查询执行器分离，避免在异步查询执行器的线程中等待同一执行器中排队的子查询，导致线程池饥饿或死锁
+     */
+    protected    ExecutorService                                forkExecutor                = Executors.newVirtualThreadPerTaskExecutor();
+    /** 并行映射配置，为 null 时使用 {@link InfluxObjMapper} 的默认配置 */
+    @Getter
+    protected    InfluxObjMapper.ParallelMapping                mappingParallel;
+    /** 并行映射线程池是否由当前客户端创建，由当前客户端创建的线程池在客户端关闭或重新设置时一并关闭 */
+    protected    boolean                                        mappingPoolOwned            = false;
+    /** 批量查询时同时执行的查询（或合并查询）数量上限 */
+    @Setter
+    @Getter
+    protected    int                                            queryBatchParallelism       = 8;
 
     /** 启用缓存区，启动缓存处理定时任务 */
     public void enableCache() {
@@ -116,6 +188,106 @@ public class InfluxClient {
 
     }
 
+    /**
+     * 启用查询结果缓存。
+     * <p>
+     * 启用后，通过查询构造器执行的查询会以 SQL 及参数为键缓存结果，相同查询在缓存有效期内直接返回缓存结果。
+     *
+     * @param queryCache 查询结果缓存
+     */
+    public void enableQueryCache(@Nonnull QueryResultCache queryCache) {
+        this.queryCache = queryCache;
+        log.info("【InfluxClient】查询结果缓存已启用，条目上限: {}，权重上限: {}，默认存活时间: {} ms",
+                 queryCache.getMaxEntries(), queryCache.getMaxWeight(), queryCache.getDefaultTtl().toMillis());
+    }
+
+    /** 停用并清空查询结果缓存 */
+    public void disableQueryCache() {
+        QueryResultCache current = this.queryCache;
+        this.queryCache = null;
+        if (current != null) {
+            current.invalidateAll();
+            log.info("【InfluxClient】查询结果缓存已停用");
+        }
+    }
+
+    /**
+     * 使指定表的查询结果缓存失效
+     *
+     * @param measurement 表名
+     */
+    public void invalidateQueryCache(@Nonnull String measurement) {
+        QueryResultCache current = this.queryCache;
+        if (current != null) {
+            current.invalidate(measurement);
+        }
+    }
+
+    /**
+     * 启用查询准入控制。
+     * <p>
+     * 启用后，同时执行的查询数量受控制器限制，超出限制的查询按租户权重公平排队，等待超时或队列已满时抛出
+     * {@link InfluxClientRejectedException}。查询许可在结果流结束或关闭时释放，因此调用方应当关闭返回的结果流。
+     *
+     * @param admissionController 查询准入控制器
+     */
+    public void enableAdmissionControl(@Nonnull QueryAdmissionController admissionController) {
+        this.admissionController = admissionController;
+        log.info("【InfluxClient】查询准入控制已启用，并发上限: {}，队列上限: {}，最长等待时间: {} ms",
+                 admissionController.getMaxInFlight(), admissionController.getMaxQueueSize(), admissionController.getMaxWait().toMillis());
+    }
+
+    /** 停用查询准入控制，已获取的许可仍会在查询结束时归还至原控制器 */
+    public void disableAdmissionControl() {
+        if (this.admissionController != null) {
+            this.admissionController = null;
+            log.info("【InfluxClient】查询准入控制已停用");
+        }
+    }
+
+    /**
+     * 启用并发查询合并。
+     * <p>
+     * 启用后，SQL 与参数完全相同的查询正在执行时，后续的相同查询不再访问服务端，而是等待并共享正在执行的查询结果。
+     * 合并仅针对同时发生的重复查询，查询结束后不保留结果，可与查询结果缓存同时使用。
+     * 被合并的查询结果会被物化，适用于结果规模有限的查询（例如仪表盘刷新）。
+     */
+    public void enableQueryCoalescing() {
+        if (this.queryCoalescer == null) {
+            this.queryCoalescer = new SingleFlight<>();
+            log.info("【InfluxClient】并发查询合并已启用");
+        }
+    }
+
+    /** 停用并发查询合并，正在执行的查询不受影响 */
+    public void disableQueryCoalescing() {
+        if (this.queryCoalescer != null) {
+            this.queryCoalescer = null;
+            log.info("【InfluxClient】并发查询合并已停用");
+        }
+    }
+
+    /**
+     * 获取被合并（未实际执行而共享其他查询结果）的查询数量
+     *
+     * @return 被合并的查询数量，未启用并发查询合并时返回 0
+     */
+    public long coalescedQueryCount() {
+        SingleFlight<QueryCacheKey, List<Object[]>> current = this.queryCoalescer;
+        return current == null ? 0L : current.coalesced();
+    }
+
+    /**
+     * 获取查询准入指标
+     *
+     * @return 查询准入指标，未启用准入控制时返回 null
+     */
+    @Nullable
+    public QueryAdmissionController.Metrics queryAdmissionMetrics() {
+        QueryAdmissionController current = this.admissionController;
+        return current == null ? null : current.metrics();
+    }
+
     /**
      * 插入单个对象到 InfluxDB。
      *
@@ -130,6 +302,7 @@ public class InfluxClient {
             log.error("【InfluxClient】插入数据失败: {}, obj: {}", e.getMessage(), obj, e);
             throw new InfluxClientInsertException(e);
         }
+        invalidateOnWrite(List.of(obj));
     }
 
     /**
@@ -147,6 +320,24 @@ public class InfluxClient {
             log.error("【InfluxClient】插入数据失败: {}, objs: {}", e.getMessage(), objs, e);
             throw new InfluxClientInsertException(e);
         }
+        invalidateOnWrite(objs);
+    }
+
+    /**
+     * 写入数据后，若启用了查询结果缓存且开启了写入失效，则使写入涉及的表的缓存失效
+     *
+     * @param objs 已写入的对象集合
+     */
+    private void invalidateOnWrite(@Nonnull Collection<? extends AbstractActionInfluxObj> objs) {
+        QueryResultCache current = this.queryCache;
+        if (current == null || !queryCacheInvalidateOnWrite) {
+            return;
+        }
+        objs.stream()
+            .map(AbstractActionInfluxObj::getMeasurement)
+            .filter(Objects::nonNull)
+            .distinct()
+            .forEach(current::invalidate);
     }
 
     /**
@@ -227,12 +418,19 @@ public class InfluxClient {
      * @return 匹配的数据数量
      */
     public <T extends AbstractActionInfluxObj> Long count(@Nonnull InfluxQueryWrapper<T> wrapper) {
-        // 获取条件构造器
-        InfluxConditionWrapper<T> conditions = wrapper.getConditionWrapper();
-        if (conditions == null) {
-            return count(wrapper.getMeasurement(), wrapper.getMeasurementQuotingDelimiter(), null, null);
+        // 检查时间范围，超过跨度上限时按分片分别计数；大型 IN 条件同样按分片分别计数
+        InfluxTimeRangeGuard.GuardedQuery guarded    = guardTimeRange(wrapper);
+        List<Map<String, Object>>         partitions = guarded.partitions();
+        List<InfluxInListSplitter.Chunk>  chunks     = splitInList(wrapper, guarded.countSql(), partitions);
+        List<Supplier<Long>>              counts     = new ArrayList<>(chunks.size());
+        for (InfluxInListSplitter.Chunk chunk : chunks) {
+            counts.add(() -> doCount(wrapper.getMeasurement(), chunk.sql(), chunk.parameters(), wrapper.getTimeout()));
+        }
+        long count = 0L;
+        for (Long c : runAll(counts, chunks.size() == partitions.size() ? 1 : inListSplitter.getParallelism())) {
+            count += c;
         }
-        return count(wrapper.getMeasurement(), wrapper.getMeasurementQuotingDelimiter(), conditions.sql(), conditions.getParameters());
+        return count;
     }
 
     public Long count(String measurement, String measurementQuotingDelimiter, String conditions, Map<String, Object> params) {
@@ -247,10 +445,24 @@ public class InfluxClient {
                         .append(conditions)
                         .append(" )");
         }
+        return doCount(measurement, countBuilder.toString(), params, null);
+    }
+
+    /**
+     * 执行计数语句，获取计数结果
+     *
+     * @param measurement 查询的目标表
+     * @param countSql    计数语句
+     * @param params      查询参数
+     * @param timeout     查询超时时间，为 null 时使用默认超时时间
+     * @return 计数结果
+     */
+    private Long doCount(String measurement, String countSql, Map<String, Object> params, @Nullable Duration timeout) {
         // 执行查询，获取结果并映射为 Map
-        Map<String, Object> map = InfluxObjMapper.compressToMapList(doQuery(countBuilder.toString(), params),
-                                                                    new LinkedHashSet<>(Set.of("count")))
-                                                 .getFirst();
+        Map<String, Object> map;
+        try (Stream<Object[]> stream = doQuery(measurement, countSql, params, timeout)) {
+            map = InfluxObjMapper.compressToMapList(stream, new LinkedHashSet<>(Set.of("count"))).getFirst();
+        }
         Object count = map.get("count");
         if (Number.class.isAssignableFrom(count.getClass())) {
             return ((Number) count).longValue();
@@ -258,18 +470,256 @@ public class InfluxClient {
         return Long.parseLong(count.toString());
     }
 
-    private Stream<Object[]> doQuery(@Nonnull String sql, @Nullable Map<String, Object> parameters) {
+    /**
+     * 执行查询，若启用了查询结果缓存，则优先从缓存中获取结果，未命中时执行查询并缓存物化后的结果。
+     * 若启用了并发查询合并，则相同查询正在执行时，直接共享其物化后的结果，不再重复查询。
+     * <p>
+     * 元数据表（information_schema）的查询不会被缓存或合并。
+     *
+     * @param measurement 查询的目标表，为 null 时不使用缓存
+     * @param sql         SQL 语句
+     * @param parameters  查询参数
+     * @param timeout     查询超时时间，为 null 时使用默认超时时间
+     * @return 查询结果流
+     */
+    private Stream<Object[]> doQuery(@Nullable String measurement,
+                                     @Nonnull String sql,
+                                     @Nullable Map<String, Object> parameters,
+                                     @Nullable Duration timeout) {
+        if (measurement == null || measurement.startsWith(InfluxBuiltInTableMeta.SCHEMA_PREFIX)) {
+            return doQuery(sql, parameters, timeout);
+        }
+        return doQuery(List.of(measurement), sql, parameters, timeout);
+    }
+
+    /**
+     * 执行涉及一个或多个表的查询（如 UNION ALL 合并查询），参见 {@link #doQuery(String, String, Map, Duration)}。
+     * 查询结果缓存在任一表失效时失效，查询因列不存在失败时刷新全部表的表结构缓存。
+     *
+     * @param measurements 查询涉及的表，不能为空
+     * @param sql          SQL 语句
+     * @param parameters   查询参数
+     * @param timeout      查询超时时间，为 null 时使用默认超时时间
+     * @return 查询结果流
+     */
+    private Stream<Object[]> doQuery(@Nonnull Collection<String> measurements,
+                                     @Nonnull String sql,
+                                     @Nullable Map<String, Object> parameters,
+                                     @Nullable Duration timeout) {
+        QueryResultCache                             current = this.queryCache;
+        SingleFlight<QueryCacheKey, List<Object[]>> flight  = this.queryCoalescer;
+        if (current == null && flight == null) {
+            return doGuardedQuery(measurements, sql, parameters, timeout);
+        }
+        QueryCacheKey key = QueryCacheKey.of(sql, parameters);
+        if (current != null) {
+            List<Object[]> rows = current.get(key);
+            if (rows != null) {
+                log.debug("【InfluxClient】查询结果缓存命中: {}", sql);
+                return rows.stream();
+            }
+        }
+        // 查询前获取失效版本，查询期间表的缓存失效（如发生写入）时，不缓存查询结果
+        long     generation = current == null ? 0L : current.generation();
+        // 合并的查询各自按调用方的截止时间等待，调用方在等待后自行执行查询时，仅使用剩余的时间
+        Duration effective  = timeout == null ? queryTimeout : timeout;
+        boolean  limited    = effective != null && effective.isPositive();
+        long     deadline   = limited ? System.nanoTime() + effective.toNanos() : 0L;
+        Supplier<List<Object[]>> loader = () -> {
+            Duration remaining = timeout;
+            if (limited) {
+                remaining = Duration.ofNanos(deadline - System.nanoTime());
+                if (!remaining.isPositive()) {
+                    throw timeoutException(sql, effective, null);
+                }
+            }
+            List<Object[]> rows;
+            try (Stream<Object[]> stream = doGuardedQuery(measurements, sql, parameters, remaining)) {
+                rows = stream.toList();
+            }
+            if (current != null) {
+                current.put(measurements, key, rows, generation);
+            }
+            return rows;
+        };
+        if (flight == null) {
+            return loader.get().stream();
+        }
+        return flight.execute(key,
+                              loader,
+                              limited ? effective.toNanos() : 0L,
+                              () -> timeoutException(sql, effective, null),
+                              InfluxClient::isPrivateFailure)
+                     .stream();
+    }
+
+    /**
+     * 判断合并的查询失败是否仅与发起查询的调用方相关（如该调用方的超时、准入拒绝），
+     * 此类失败不会共享给等待的调用方，等待的调用方会自行执行查询
+     *
+     * @param e 查询异常
+     * @return 是否仅与发起查询的调用方相关
+     */
+    private static boolean isPrivateFailure(@Nonnull Throwable e) {
+        return e instanceof InfluxClientTimeoutException || e instanceof InfluxClientRejectedException;
+    }
+
+    /**
+     * 执行查询，并在查询失败（包括消费结果流时失败）时处理查询异常
+     *
+     * @param measurements 查询涉及的表
+     * @param sql          SQL 语句
+     * @param parameters   查询参数
+     * @param timeout      查询超时时间，为 null 时使用默认超时时间
+     * @return 查询结果流
+     */
+    private Stream<Object[]> doGuardedQuery(@Nonnull Collection<String> measurements,
+                                            @Nonnull String sql,
+                                            @Nullable Map<String, Object> parameters,
+                                            @Nullable Duration timeout) {
+        try {
+            return StreamUtils.onError(doQuery(sql, parameters, timeout), e -> measurements.forEach(m -> handleQueryError(m, e)));
+        } catch (RuntimeException e) {
+            measurements.forEach(m -> handleQueryError(m, e));
+            throw e;
+        }
+    }
+
+    /**
+     * 处理查询异常：若异常由列不存在引起，说明表结构可能已变更，使该表的表结构缓存失效
+     *
+     * @param measurement 查询的目标表
+     * @param e           查询异常
+     */
+    private void handleQueryError(@Nonnull String measurement, @Nonnull Throwable e) {
+        if (isUnknownColumnError(e)) {
+            log.warn("【InfluxClient】查询表 {} 时列不存在，刷新表结构缓存: {}", measurement, e.getMessage());
+            schemaCache.invalidate(measurement);
+        }
+    }
+
+    /**
+     * 判断异常是否由列不存在引起
+     *
+     * @param e 异常
+     * @return 是否为列不存在异常
+     */
+    private static boolean isUnknownColumnError(@Nonnull Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            String message = t.getMessage();
+            if (message == null) {
+                continue;
+            }
+            String lower = message.toLowerCase(Locale.ROOT);
+            for (String pattern : UNKNOWN_COLUMN_ERROR_PATTERNS) {
+                if (lower.contains(pattern)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 执行查询。若设置了超时时间，则为底层 Flight 调用设置截止时间，并在消费结果流时检查截止时间，
+     * 超时后取消底层查询并抛出 {@link InfluxClientTimeoutException}。
+     * <p>
+     * 关闭返回的结果流会关闭底层 Flight 流，取消尚未完成的查询。
+     * 若启用了准入控制，则执行前需获取查询许可，结果流被完全消费、消费异常或关闭时释放许可。
+     *
+     * @param sql        SQL 语句
+     * @param parameters 查询参数
+     * @param timeout    查询超时时间，为 null 时使用默认超时时间，不为正数时不限制
+     * @return 查询结果流
+     */
+    private Stream<Object[]> doQuery(@Nonnull String sql, @Nullable Map<String, Object> parameters, @Nullable Duration timeout) {
+        // 启用准入控制时，先获取查询许可，许可在结果流结束或关闭时释放
+        QueryAdmissionController        admission = admissionController;
+        QueryAdmissionController.Permit permit    = admission == null ? null : admission.acquire();
+
+        Duration effective = timeout == null ? queryTimeout : timeout;
+        boolean  limited   = effective != null && effective.isPositive();
+        long     deadline  = limited ? System.nanoTime() + effective.toNanos() : 0L;
+
+        Stream<Object[]> stream;
         try {
+            QueryOptions options = queryOptions(limited ? effective : null);
             if (parameters != null) {
                 log.debug("执行查询: {}\n参数集: {}", sql, parameters);
-                return client.query(sql, parameters);
+                stream = client.query(sql, parameters, options);
+            } else {
+                log.debug("执行查询: {}", sql);
+                stream = client.query(sql, options);
             }
-            log.debug("执行查询: {}", sql);
-            return client.query(sql);
         } catch (Exception e) {
+            if (permit != null) {
+                permit.close();
+            }
+            if (isTimeoutError(e)) {
+                throw timeoutException(sql, effective, e);
+            }
             log.error("【Influx Client】执行查询失败: {}", e.getMessage(), e);
             throw new InfluxClientQueryException(e);
         }
+        // 将消费结果流时发生的截止时间异常转换为超时异常
+        stream = StreamUtils.onError(stream, e -> {
+            if (isTimeoutError(e)) {
+                throw timeoutException(sql, effective, e);
+            }
+        });
+        if (limited) {
+            stream = StreamUtils.withDeadline(stream, deadline, () -> timeoutException(sql, effective, null));
+        }
+        if (permit != null) {
+            stream = StreamUtils.onFinish(stream, permit::close);
+        }
+        return stream;
+    }
+
+    /**
+     * 创建查询选项，若指定了超时时间，则为底层 gRPC 调用设置截止时间
+     * <p>
+     * 客户端库仅提供客户端级别的查询超时（ClientConfig#queryTimeout），单次查询的截止时间只能通过其 internal 包中的
+     * GrpcCallOptions 设置。对该内部 API 的依赖仅限于此方法，升级客户端库时若该类变更，仅需修改此处；
+     * 即使未能设置截止时间，消费结果流时的截止时间检查仍会取消超时的查询。
+     *
+     * @param timeout 超时时间，为 null 时不设置截止时间
+     * @return 查询选项
+     */
+    private static QueryOptions queryOptions(@Nullable Duration timeout) {
+        QueryOptions options = new QueryOptions(QueryType.SQL);
+        if (timeout != null) {
+            options.setGrpcCallOptions(new com.influxdb.v3.client.internal.GrpcCallOptions.Builder()
+                                               .withDeadline(Deadline.after(timeout.toNanos(), TimeUnit.NANOSECONDS))
+                                               .build());
+        }
+        return options;
+    }
+
+    /**
+     * 判断异常是否由查询超过截止时间引起
+     *
+     * @param e 异常
+     * @return 是否为超时异常
+     */
+    private static boolean isTimeoutError(@Nonnull Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof InfluxClientTimeoutException) {
+                return false;
+            }
+            if (t instanceof FlightRuntimeException fe && fe.status().code() == FlightStatusCode.TIMED_OUT) {
+                return true;
+            }
+            if (t instanceof StatusRuntimeException se && se.getStatus().getCode() == Status.Code.DEADLINE_EXCEEDED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static InfluxClientTimeoutException timeoutException(String sql, Duration timeout, @Nullable Throwable cause) {
+        log.warn("【InfluxClient】查询超时，超时时间: {} ms，SQL: {}", timeout.toMillis(), sql);
+        return new InfluxClientTimeoutException("【InfluxClient】查询超时，超时时间: %d ms".formatted(timeout.toMillis()), cause);
     }
 
 
@@ -280,8 +730,101 @@ public class InfluxClient {
      * @return 查询结果的流，每个结果为一个包含列值的数组。
      */
     private Stream<Object[]> doQuery(@Nonnull InfluxQueryWrapper<?> wrapper) {
-        InfluxConditionWrapper<?> condition = wrapper.getConditionWrapper();
-        return doQuery(wrapper.build(), condition == null ? null : condition.getParameters());
+        InfluxTimeRangeGuard.GuardedQuery guarded    = guardTimeRange(wrapper);
+        List<Map<String, Object>>         partitions = guarded.partitions();
+        String                            sql        = guarded.sql();
+        List<InfluxInListSplitter.Chunk>  chunks     = splitInList(wrapper, sql, partitions);
+        if (chunks.size() == 1) {
+            return doQuery(wrapper.getMeasurement(), sql, chunks.getFirst().parameters(), wrapper.getTimeout());
+        }
+        if (chunks.size() == partitions.size()) {
+            // 按时间分片依次执行，拼接各分片的结果
+            return partitions.stream()
+                             .flatMap(params -> doQuery(wrapper.getMeasurement(), sql, params, wrapper.getTimeout()));
+        }
+        // 大型 IN 条件的各分片并发执行，按分片顺序拼接结果
+        List<Supplier<List<Object[]>>> tasks = new ArrayList<>(chunks.size());
+        for (InfluxInListSplitter.Chunk chunk : chunks) {
+            tasks.add(() -> materialize(doQuery(wrapper.getMeasurement(), chunk.sql(), chunk.parameters(), wrapper.getTimeout())));
+        }
+        return runAll(tasks, inListSplitter.getParallelism()).stream().flatMap(List::stream);
+    }
+
+    /**
+     * 按大型 IN 条件拆分各时间分片的查询，参见 {@link InfluxInListSplitter#apply(InfluxQueryWrapper, String, Map)}
+     *
+     * @param wrapper    查询条件包装器
+     * @param sql        已构建的查询语句或计数语句
+     * @param partitions 各时间分片的查询参数
+     * @return 各分片的查询语句与参数，未启用拆分器或无需拆分时与时间分片一一对应
+     */
+    private List<InfluxInListSplitter.Chunk> splitInList(@Nonnull InfluxQueryWrapper<?> wrapper,
+                                                         @Nonnull String sql,
+                                                         @Nonnull List<Map<String, Object>> partitions) {
+        InfluxInListSplitter splitter = this.inListSplitter;
+        if (splitter == null || !splitter.isApplicable(wrapper)) {
+            return partitions.stream().map(params -> new InfluxInListSplitter.Chunk(sql, params)).toList();
+        }
+        return partitions.stream().flatMap(params -> splitter.apply(wrapper, sql, params).stream()).toList();
+    }
+
+    /**
+     * 在拆分查询执行器中并发执行各任务，同时执行的数量不超过并发上限，结果顺序与任务顺序一致。
+     * 调用方可能正运行在异步查询执行器的线程中，因此任务不提交至异步查询执行器，避免线程池被等待子查询的任务占满
+     *
+     * @param tasks       任务
+     * @param parallelism 并发上限，不大于 1 时在当前线程依次执行
+     * @return 各任务的结果
+     */
+    private <R> List<R> runAll(@Nonnull List<Supplier<R>> tasks, int parallelism) {
+        if (tasks.size() == 1 || parallelism <= 1) {
+            return tasks.stream().map(Supplier::get).toList();
+        }
+        Semaphore                  semaphore = new Semaphore(parallelism);
+        List<CompletableFuture<R>> futures   = tasks.stream()
+                                                    .map(task -> fork(() -> {
+                                                        semaphore.acquireUninterruptibly();
+                                                        try {
+                                                            return task.get();
+                                                        } finally {
+                                                            semaphore.release();
+                                                        }
+                                                    }))
+                                                    .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 检查查询的时间范围，参见 {@link InfluxTimeRangeGuard#apply(InfluxQueryWrapper)}。注入的时间条件仅作用于本次执行，不修改查询条件包装器。
+     *
+     * @param wrapper 查询条件包装器
+     * @return 本次执行的查询，未启用时间范围防护时使用查询原本的语句与参数
+     */
+    private InfluxTimeRangeGuard.GuardedQuery guardTimeRange(@Nonnull InfluxQueryWrapper<?> wrapper) {
+        InfluxTimeRangeGuard guard = this.timeRangeGuard;
+        return guard == null ? InfluxTimeRangeGuard.GuardedQuery.of(wrapper) : guard.apply(wrapper);
+    }
+
+    /**
+     * 绑定查询模板的参数并检查时间范围，参见 {@link InfluxTimeRangeGuard#apply(InfluxQueryTemplate, Map)}
+     *
+     * @param template   查询模板
+     * @param parameters 参数占位名与值的映射，未指定的参数使用编译时的参数值
+     * @return 本次执行的查询，未启用时间范围防护时使用模板原本的语句与参数
+     */
+    private InfluxTimeRangeGuard.GuardedStatement guardTimeRange(@Nonnull InfluxQueryTemplate template, @Nullable Map<String, Object> parameters) {
+        InfluxTimeRangeGuard guard = this.timeRangeGuard;
+        Map<String, Object>  bound = template.bind(parameters);
+        return guard == null
+               ? new InfluxTimeRangeGuard.GuardedStatement(template.sql(), template.countSql(), null, Collections.singletonList(bound))
+               : guard.apply(template, bound);
     }
 
     /**
@@ -294,7 +837,7 @@ public class InfluxClient {
      * @return 包含查询结果的流，每个结果是一个包含列值的数组。
      */
     public Stream<Object[]> query(@Nonnull String sql, @Nullable Map<String, Object> parameters) {
-        return doQuery(sql, parameters);
+        return doQuery(sql, parameters, null);
     }
 
     /**
@@ -319,13 +862,122 @@ public class InfluxClient {
      * @return 查询结果的流，每个结果为一个包含列值的数组。
      */
     public Stream<Object[]> query(@Nonnull InfluxQueryWrapper<?> wrapper, boolean countCheck) {
+        return detach(doQuery(wrapper, countCheck));
+    }
+
+    /**
+     * 执行查询，结果行可能与查询结果缓存或合并的查询共享，仅供内部只读使用
+     *
+     * @param wrapper    查询条件包装器
+     * @param countCheck 是否进行计数检查
+     * @return 查询结果流
+     */
+    private Stream<Object[]> doQuery(@Nonnull InfluxQueryWrapper<?> wrapper, boolean countCheck) {
         if (countCheck && count(wrapper) < 1) {
             return Stream.empty();
         }
-        InfluxConditionWrapper<?> condition = wrapper.getConditionWrapper();
-        return doQuery(wrapper.build(), condition == null ? null : condition.getParameters());
+        return doQuery(wrapper);
+    }
+
+    /**
+     * 启用查询结果缓存或并发查询合并时，结果行会被多个调用方共享，返回给外部调用方前复制结果行，
+     * 避免调用方修改结果行影响缓存或其他调用方
+     *
+     * @param stream 查询结果流
+     * @return 结果行可自由修改的查询结果流
+     */
+    private Stream<Object[]> detach(@Nonnull Stream<Object[]> stream) {
+        if (queryCache == null && queryCoalescer == null) {
+            return stream;
+        }
+        return stream.map(Object[]::clone);
+    }
+
+    // region 查询模板
+
+    /**
+     * 使用预编译的查询模板执行查询，绑定指定的参数值。该方法不会进行计数检查。
+     *
+     * @param template   查询模板，通过 {@link InfluxQueryWrapper#compile()} 获取
+     * @param parameters 参数占位名与值的映射，未指定的参数使用编译时的参数值
+     * @return 查询结果的流，每个结果为一个包含列值的数组。
+     */
+    public Stream<Object[]> query(@Nonnull InfluxQueryTemplate template, @Nullable Map<String, Object> parameters) {
+        return detach(doQuery(template, parameters));
+    }
+
+    /**
+     * 使用预编译的查询模板执行查询，结果行可能与查询结果缓存或合并的查询共享，仅供内部只读使用
+     *
+     * @param template   查询模板
+     * @param parameters 参数占位名与值的映射
+     * @return 查询结果流
+     */
+    private Stream<Object[]> doQuery(@Nonnull InfluxQueryTemplate template, @Nullable Map<String, Object> parameters) {
+        InfluxTimeRangeGuard.GuardedStatement guarded    = guardTimeRange(template, parameters);
+        List<Map<String, Object>>             partitions = guarded.partitions();
+        if (partitions.size() == 1) {
+            return doQuery(template.measurement(), guarded.sql(), partitions.getFirst(), template.timeout());
+        }
+        // 按时间分片依次执行，拼接各分片的结果
+        return partitions.stream().flatMap(params -> doQuery(template.measurement(), guarded.sql(), params, template.timeout()));
+    }
+
+    /**
+     * 使用预编译的查询模板计算匹配的数据数量
+     *
+     * @param template   查询模板
+     * @param parameters 参数占位名与值的映射，未指定的参数使用编译时的参数值
+     * @return 匹配的数据数量
+     */
+    public Long count(@Nonnull InfluxQueryTemplate template, @Nullable Map<String, Object> parameters) {
+        InfluxTimeRangeGuard.GuardedStatement guarded = guardTimeRange(template, parameters);
+        long                                  count   = 0L;
+        for (Map<String, Object> params : guarded.partitions()) {
+            count += doCount(template.measurement(), guarded.countSql(), params, template.timeout());
+        }
+        return count;
     }
 
+    /**
+     * 使用预编译的查询模板执行查询，并将结果转换为包含键值对的列表形式返回。
+     *
+     * @param template   查询模板
+     * @param parameters 参数占位名与值的映射，未指定的参数使用编译时的参数值
+     * @return 查询结果的列表，每个列表项为一个映射，表示查询结果中的各列及其对应的值。
+     */
+    public List<Map<String, Object>> queryMap(@Nonnull InfluxQueryTemplate template, @Nullable Map<String, Object> parameters) {
+        List<Object[]> res;
+        try (Stream<Object[]> stream = doQuery(template, parameters)) {
+            res = stream.toList();
+        }
+        if (res.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return InfluxObjMapper.compressToMapList(res.stream(), template.columns(), parallelMapping());
+    }
+
+    /**
+     * 使用预编译的查询模板执行查询，并将结果映射为指定类型的集合。
+     * <p>
+     * 与使用包装器查询相同，注册了按列类型区分的类型处理器时，映射前获取模板目标表的列类型（通过表结构缓存）。
+     *
+     * @param <E>        目标类型，AbstractBaseInfluxObj 子类、record 或包含 @InfluxConstructor 构造方法的类。
+     * @param template   查询模板
+     * @param clazz      目标类的类型信息，用于映射查询结果。
+     * @param parameters 参数占位名与值的映射，未指定的参数使用编译时的参数值
+     * @return 映射后的目标类型集合。
+     */
+    public <E> List<E> queryMap(@Nonnull InfluxQueryTemplate template,
+                                @Nonnull Class<E> clazz,
+                                @Nullable Map<String, Object> parameters) {
+        Map<String, String> columnTypes = mappingColumnTypes(template.measurement());
+        try (Stream<Object[]> stream = doQuery(template, parameters)) {
+            return InfluxObjMapper.mapAll(stream, clazz, template.columns(), columnTypes, parallelMapping());
+        }
+    }
+    // endregion
+
     /**
      * 对于指定查询条件包装器，添加查询全部字段操作，并返回修改后的包装器
      *
@@ -342,6 +994,36 @@ public class InfluxClient {
         return wrapper.select(columns);
     }
 
+    /**
+     * 对于指定查询包装器，根据目标类添加查询目标（投影下推），并返回修改后的包装器。
+     * <p>
+     * 从包装器中获取 measurement 的全部列，仅保留映射至目标类时会被使用的列作为查询目标：
+     * 与类中字段匹配（支持蛇形命名与驼峰命名转换）的列，以及类中存在 {@link com.wolfhouse.influxclient.anno.OtherColumns} 字段时未被排除的列。
+     * 相比 {@link #addQueryAll(InfluxQueryWrapper)}，宽表查询时只有需要的列会被传输。列按自然排序。
+     *
+     * @param wrapper 查询条件包装器
+     * @param clazz   目标类
+     * @return 修改后的包装器
+     */
+    public <T extends AbstractActionInfluxObj> InfluxQueryWrapper<T> addQueryFor(@Nonnull InfluxQueryWrapper<T> wrapper,
+                                                                                 @Nonnull Class<?> clazz) {
+        List<String> columns = projectColumns(wrapper, clazz);
+        return columns.isEmpty() ? wrapper : wrapper.select(columns);
+    }
+
+    /**
+     * 获取映射至目标类时会被使用的列，按自然排序，参见 {@link #addQueryFor(InfluxQueryWrapper, Class)}
+     */
+    private List<String> projectColumns(InfluxQueryWrapper<?> wrapper, Class<?> clazz) {
+        List<String> columns = InfluxObjMapper.projectColumns(clazz, tableColumns(wrapper.getMeasurement()));
+        if (columns.isEmpty()) {
+            log.warn("【InfluxClient】表 {} 中不存在可映射至 {} 的列", wrapper.getMeasurement(), clazz.getName());
+            return columns;
+        }
+        columns.sort(Comparator.naturalOrder());
+        return columns;
+    }
+
     /**
      * 对于指定查询包装器，执行添加查询全部字段操作，并返回修改后的包装器。
      * <p>
@@ -369,24 +1051,35 @@ public class InfluxClient {
     }
 
     /**
-     * 对于指定查询结果列表，使用指定排序器进行排序，返回排序后的结果
+     * 对于指定查询结果列表，使用指定排序器对列进行排序，返回排序后的结果。
+     * <p>
+     * 列相同的连续行共享同一份列顺序，每种列组合仅排序一次；返回的每一行都是按该顺序访问原始结果行的只读视图，不会复制结果行。
      *
      * @param maps       查询结果列表
      * @param comparator 排序器
      * @return 排序后的结果列表
      */
     public List<SequencedMap<String, Object>> sortResults(@Nonnull List<Map<String, Object>> maps, @Nonnull Comparator<String> comparator) {
-        return maps.stream().map(m -> {
-            SequencedMap<String, Object> map = new LinkedHashMap<>(m.size());
-            LinkedHashSet<String> keySet = new LinkedHashSet<>(m.keySet())
-                    .stream()
-                    .sorted(comparator)
-                    .collect(Collectors.toCollection(LinkedHashSet::new));
-            for (String s : keySet) {
-                map.putLast(s, m.get(s));
+        List<SequencedMap<String, Object>> sorted   = new ArrayList<>(maps.size());
+        Map<String, Object>                previous = null;
+        String[]                           order    = null;
+        for (Map<String, Object> map : maps) {
+            if (order == null || !hasSameColumns(previous, map)) {
+                order = map.keySet().toArray(String[]::new);
+                Arrays.sort(order, comparator);
             }
-            return map;
-        }).toList();
+            sorted.add(new InfluxOrderedRow(order, map));
+            previous = map;
+        }
+        return Collections.unmodifiableList(sorted);
+    }
+
+    /** 判断两行的列是否相同，共享列信息的结果行无需比较列名 */
+    private static boolean hasSameColumns(Map<String, Object> previous, Map<String, Object> current) {
+        if (previous instanceof InfluxRowMap p && current instanceof InfluxRowMap c && p.hasSameColumns(c)) {
+            return true;
+        }
+        return previous.size() == current.size() && previous.keySet().equals(current.keySet());
     }
 
     /**
@@ -396,7 +1089,7 @@ public class InfluxClient {
      * @return 排序后的结果列表
      */
     public List<SequencedMap<String, Object>> sortResults(@Nonnull List<Map<String, Object>> maps) {
-        return sortResults(maps, new NaturalComparator());
+        return sortResults(maps, NaturalComparator.INSTANCE);
     }
 
     /**
@@ -406,8 +1099,65 @@ public class InfluxClient {
      * @return 列名列表
      */
     public List<String> tableColumns(@Nonnull String measurement) {
+        return List.copyOf(tableColumnTypes(measurement).sequencedKeySet());
+    }
+
+    /**
+     * 对于指定测量表，获取其全部列名及对应的列类型（information_schema.columns 中的 data_type）。
+     * <p>
+     * 结果会被表结构缓存缓存，缓存有效期内不会重复查询元数据表。
+     *
+     * @param measurement 测量表名称
+     * @return 列名与列类型映射（不可变），顺序与元数据表一致
+     */
+    public SequencedMap<String, String> tableColumnTypes(@Nonnull String measurement) {
+        return schemaCache.columnTypes(measurement, this::loadTableColumnTypes);
+    }
+
+    /**
+     * 获取当前数据库下的所有表名
+     * <p>
+     * 结果会被表结构缓存缓存，缓存有效期内不会重复查询元数据表。
+     *
+     * @return 表名列表
+     */
+    public List<String> tableNames() {
+        return schemaCache.tableNames(this::loadTableNames);
+    }
+
+    /**
+     * 设置表结构缓存的存活时间，设置后原有缓存将被丢弃
+     *
+     * @param ttl 存活时间，不为正数时不进行缓存
+     */
+    public void setSchemaCacheTtl(@Nonnull Duration ttl) {
+        this.schemaCache = new SchemaMetadataCache(ttl);
+    }
+
+    /** 刷新全部表结构缓存，下次获取列信息或表名时将重新查询元数据表 */
+    public void refreshSchema() {
+        schemaCache.invalidateAll();
+    }
+
+    /**
+     * 刷新指定表的表结构缓存
+     *
+     * @param measurement 表名
+     */
+    public void refreshSchema(@Nonnull String measurement) {
+        schemaCache.invalidate(measurement);
+    }
+
+    /**
+     * 从元数据表中查询指定表的列名与列类型
+     *
+     * @param measurement 测量表名称
+     * @return 列名与列类型映射
+     */
+    private SequencedMap<String, String> loadTableColumnTypes(@Nonnull String measurement) {
         List<Map<String, Object>> maps = queryMap(InfluxQueryWrapper.create(InfluxBuiltInTableMeta.COLUMN_META_MEASUREMENT)
-                                                                    .select(InfluxBuiltInTableMeta.COLUMN_META_COLUMN_NAME)
+                                                                    .select(InfluxBuiltInTableMeta.COLUMN_META_COLUMN_NAME,
+                                                                            InfluxBuiltInTableMeta.COLUMN_TYPE)
                                                                     .setMeasurementQuotingDelimiter("")
                                                                     .withTime(false)
                                                                     .where()
@@ -416,17 +1166,20 @@ public class InfluxClient {
                                                   false);
         if (maps.isEmpty()) {
             log.warn("【InfluxClient】无法获取表 {} 的列信息，是否为空？", measurement);
-            return List.of();
+            return new LinkedHashMap<>();
         }
-        return maps.stream().map(m -> String.valueOf(m.get(InfluxBuiltInTableMeta.COLUMN_META_COLUMN_NAME))).toList();
+        SequencedMap<String, String> columnTypes = new LinkedHashMap<>(maps.size() * 2);
+        maps.forEach(m -> columnTypes.put(String.valueOf(m.get(InfluxBuiltInTableMeta.COLUMN_META_COLUMN_NAME)),
+                                          String.valueOf(m.get(InfluxBuiltInTableMeta.COLUMN_TYPE))));
+        return columnTypes;
     }
 
     /**
-     * 获取当前数据库下的所有表名
+     * 从元数据表中查询当前数据库下的所有表名
      *
      * @return 表名列表
      */
-    public List<String> tableNames() {
+    private List<String> loadTableNames() {
         List<Map<String, Object>> maps = queryMap(InfluxQueryWrapper.create(InfluxBuiltInTableMeta.TABLE_META_MEASUREMENTS)
                                                                     .select(InfluxBuiltInTableMeta.TABLE_META_TABLE_NAME)
                                                                     .setMeasurementQuotingDelimiter("")
@@ -489,6 +1242,8 @@ public class InfluxClient {
      * - 创建最近查询构造器，通过 {@link InfluxClient#addRecent(InfluxQueryWrapper, Boolean, String...)} 添加最近查询条件
      * - 执行查询，获得所有分组的最近/最早记录
      * - 根据记录，构造查询这些记录完整数据的条件
+     * <p>
+     * 分组数量较多时，构造的条件与参数数量会随之增长，推荐使用 {@link InfluxClient#addQueryLatest(InfluxQueryWrapper, boolean, String...)}。
      *
      * @param parent      父查询器，表示需要添加最近查询功能的查询器。
      * @param desc        是否按降序排列，true 表示降序，false 表示升序。
@@ -524,36 +1279,110 @@ public class InfluxClient {
         return dataWrapper;
     }
 
+    /**
+     * 向指定查询构造器中添加条件，用于查询每组最新（或最早）的完整记录。
+     * <p>
+     * 与 {@link InfluxClient#addQueryRecent(InfluxQueryWrapper, boolean, String...)} 结果相同，但仅需在服务端执行一次查询：
+     * 通过窗口函数为每组记录按时间编号，仅保留每组的第一条记录，不会为每个分组生成单独的条件与参数。
+     * <p>
+     * 若父查询器未指定查询列，则查询表中的全部列。
+     *
+     * @param parent      父查询器，提供目标表、查询列及查询条件
+     * @param desc        是否按降序排列，true 为每组最近一次记录，false 为每组最早一次记录
+     * @param queryFields 分组列
+     * @return 构造完成的查询器
+     */
+    public <T extends AbstractActionInfluxObj> InfluxQueryWrapper<T> addQueryLatest(InfluxQueryWrapper<T> parent,
+                                                                                    boolean desc,
+                                                                                    String... queryFields) {
+        if (parent.getAliasMap().isEmpty() && parent.getFuncAliasMap().isEmpty()) {
+            addQueryAll(parent);
+        }
+        return parent.latest(desc, queryFields);
+    }
+
+    /**
+     * 向指定查询构造器中添加条件，用于查询每组最近一次的完整记录。
+     * <p>
+     * 用法见 {@link #addQueryLatest(InfluxQueryWrapper, boolean, String...)}
+     *
+     * @param parent      父查询器
+     * @param queryFields 分组列
+     * @return 构造完成的查询器
+     */
+    public <T extends AbstractActionInfluxObj> InfluxQueryWrapper<T> addQueryLatest(InfluxQueryWrapper<T> parent,
+                                                                                    String... queryFields) {
+        return addQueryLatest(parent, true, queryFields);
+    }
+
     /**
      * 使用给定的查询条件包装器和指定的目标类，将查询结果映射为指定类型的集合。
      *
-     * @param <E>     目标类型，必须继承自 AbstractBaseInfluxObj。
+     * @param <E>     目标类型，AbstractBaseInfluxObj 子类、record 或包含 @InfluxConstructor 构造方法的类。
      * @param wrapper 查询条件包装器，用于构建查询条件。
      * @param clazz   目标类的类型信息，用于映射查询结果。
      * @return 映射后的目标类型集合。
      */
-    public <E extends AbstractBaseInfluxObj, T extends AbstractActionInfluxObj> List<E> queryMap(@Nonnull InfluxQueryWrapper<T> wrapper,
-                                                                                                 @Nonnull Class<E> clazz) {
+    public <E, T extends AbstractActionInfluxObj> List<E> queryMap(@Nonnull InfluxQueryWrapper<T> wrapper,
+                                                                   @Nonnull Class<E> clazz) {
         return queryMap(wrapper, clazz, true);
     }
 
     /**
      * 使用给定的查询条件包装器和指定的目标类，将查询结果映射为指定类型的集合。
+     * <p>
+     * 若查询条件包装器未指定查询目标，则根据目标类确定查询目标（参见 {@link #addQueryFor(InfluxQueryWrapper, Class)}），
+     * 下推的查询目标仅作用于本次查询使用的副本（{@link InfluxQueryWrapper#copyWithTargets(SequencedCollection)}），不会写入传入的包装器。
      *
-     * @param <E>        目标类型，必须继承自 AbstractBaseInfluxObj。
+     * @param <E>        目标类型，AbstractBaseInfluxObj 子类、record 或包含 @InfluxConstructor 构造方法的类。
      * @param wrapper    查询条件包装器，用于构建查询条件。
      * @param clazz      目标类的类型信息，用于映射查询结果。
      * @param countCheck 是否检查查询结果数量，如果为true，则在查询结果为空时返回空列表。开启该选项会强制查询前获取数据数量。
      * @return 映射后的目标类型集合。
      */
-    public <E extends AbstractBaseInfluxObj, T extends AbstractActionInfluxObj> List<E> queryMap(@Nonnull InfluxQueryWrapper<T> wrapper,
-                                                                                                 @Nonnull Class<E> clazz,
-                                                                                                 boolean countCheck) {
-        List<Object[]> res = query(wrapper, countCheck).toList();
+    public <E, T extends AbstractActionInfluxObj> List<E> queryMap(@Nonnull InfluxQueryWrapper<T> wrapper,
+                                                                   @Nonnull Class<E> clazz,
+                                                                   boolean countCheck) {
+        // 未指定查询目标时，根据目标类下推查询目标，使用副本执行以免修改调用方的包装器
+        InfluxQueryWrapper<T> query = wrapper;
+        if (!wrapper.hasTargets()) {
+            List<String> columns = projectColumns(wrapper, clazz);
+            if (!columns.isEmpty()) {
+                query = wrapper.copyWithTargets(columns);
+            }
+        }
+        List<Object[]> res;
+        try (Stream<Object[]> stream = doQuery(query, countCheck)) {
+            res = stream.toList();
+        }
         if (res.isEmpty()) {
             return Collections.emptyList();
         }
-        return InfluxObjMapper.mapAll(res.stream(), clazz, wrapper);
+        return mapAll(res, clazz, query);
+    }
+
+    /**
+     * 将查询结果映射为指定类型的集合。注册了按列类型区分的类型处理器时，映射前获取查询表的列类型（通过表结构缓存）
+     */
+    private <E> List<E> mapAll(List<Object[]> res, Class<E> clazz, InfluxQueryWrapper<?> wrapper) {
+        return InfluxObjMapper.mapAll(res.stream(), clazz, wrapper.getMixedTargetsWithAlias(), mappingColumnTypes(wrapper.getMeasurement()), parallelMapping());
+    }
+
+    /**
+     * 获取映射时用于查找类型处理器的列类型，未注册按列类型区分的类型处理器或查询元数据表时返回空映射
+     */
+    private Map<String, String> mappingColumnTypes(@Nullable String measurement) {
+        if (!TypeHandlerRegistry.hasColumnTypeMappings()
+            || measurement == null
+            || measurement.startsWith(InfluxBuiltInTableMeta.SCHEMA_PREFIX)) {
+            return Map.of();
+        }
+        try {
+            return tableColumnTypes(measurement);
+        } catch (RuntimeException e) {
+            log.warn("【InfluxClient】获取列类型失败，将仅按字段类型查找类型处理器: {}", measurement, e);
+            return Map.of();
+        }
     }
 
     /**
@@ -574,11 +1403,14 @@ public class InfluxClient {
      * @return 查询结果的列表，每个列表项为一个映射，表示查询结果中的各列及其对应的值。
      */
     public List<Map<String, Object>> queryMap(@Nonnull InfluxQueryWrapper<?> wrapper, boolean countCheck) {
-        List<Object[]> res = query(wrapper, countCheck).toList();
+        List<Object[]> res;
+        try (Stream<Object[]> stream = doQuery(wrapper, countCheck)) {
+            res = stream.toList();
+        }
         if (res.isEmpty()) {
             return Collections.emptyList();
         }
-        return InfluxObjMapper.compressToMapList(res.stream(), wrapper);
+        return InfluxObjMapper.compressToMapList(res.stream(), wrapper.getMixedTargetsWithAlias(), parallelMapping());
     }
 
     /**
@@ -589,24 +1421,41 @@ public class InfluxClient {
      */
     @Nullable
     public InfluxResult queryResult(@Nonnull InfluxQueryWrapper<?> wrapper) {
-        List<Object[]> res = query(wrapper).toList();
+        List<Object[]> res;
+        try (Stream<Object[]> stream = doQuery(wrapper, true)) {
+            res = stream.toList();
+        }
         if (res.isEmpty()) {
             return new InfluxResult();
         }
-        return InfluxObjMapper.mapAllToResult(res.stream(), wrapper.getMixedTargetsWithAlias());
+        return InfluxObjMapper.mapAllToResult(res.stream(), wrapper.getMixedTargetsWithAlias(), parallelMapping());
+    }
+
+    /**
+     * 执行查询操作，将结果流直接写入列式结果。
+     * <p>
+     * 列式结果以基本类型数组存储各列的值，字符串按字典编码，不会为每一行创建 map 或装箱的值，适用于大结果集的分析读取。
+     *
+     * @param wrapper 查询条件包装器，用于构建查询条件和提供查询参数。
+     * @return 列式结果
+     */
+    public InfluxColumnarResult queryColumnar(@Nonnull InfluxQueryWrapper<?> wrapper) {
+        try (Stream<Object[]> stream = doQuery(wrapper, true)) {
+            return InfluxColumnarResult.from(stream, wrapper.getMixedTargetsWithAlias());
+        }
     }
 
     /**
      * 对给定的查询条件进行分页查询，返回指定类型的分页结果。
      *
-     * @param <E>      数据对象的类型，必须继承自 AbstractBaseInfluxObj。
+     * @param <E>      数据对象的类型，AbstractBaseInfluxObj 子类、record 或包含 @InfluxConstructor 构造方法的类。
      * @param wrapper  查询条件包装器，用于构建查询的条件和参数。
      * @param clazz    数据对象的目标类型，用于映射查询结果。
      * @param pageNum  当前页码，设为 0 则不限制查询结果数
      * @param pageSize 每页显示的数据条数，设为 0 则不限制查询结果数
      * @return 包含查询结果的分页对象，包含总记录数、页码、每页大小以及当前页的数据。
      */
-    public <E extends AbstractBaseInfluxObj, T extends AbstractActionInfluxObj> InfluxPage<E>
+    public <E, T extends AbstractActionInfluxObj> InfluxPage<E>
     pagination(@Nonnull InfluxQueryWrapper<T> wrapper,
                @Nonnull Class<E> clazz,
                long pageNum,
@@ -617,7 +1466,7 @@ public class InfluxClient {
     /**
      * 对给定的查询条件进行分页查询，返回指定类型的分页结果。
      *
-     * @param <E>      数据对象的类型，必须继承自 AbstractBaseInfluxObj。
+     * @param <E>      数据对象的类型，AbstractBaseInfluxObj 子类、record 或包含 @InfluxConstructor 构造方法的类。
      * @param wrapper  查询条件包装器，用于构建查询的条件和参数。
      * @param clazz    数据对象的目标类型，用于映射查询结果。
      * @param pageNum  当前页码，设为 0 则不限制查询结果数
@@ -625,7 +1474,7 @@ public class InfluxClient {
      * @param offset   分页偏移量，用于跳过指定数量的记录
      * @return 包含查询结果的分页对象，包含总记录数、页码、每页大小以及当前页的数据。
      */
-    public <E extends AbstractBaseInfluxObj, T extends AbstractActionInfluxObj> InfluxPage<E>
+    public <E, T extends AbstractActionInfluxObj> InfluxPage<E>
     pagination(@Nonnull InfluxQueryWrapper<T> wrapper,
                @Nonnull Class<E> clazz,
                long pageNum,
@@ -659,6 +1508,381 @@ public class InfluxClient {
         return page;
     }
 
+    // region 查询计划
+
+    /**
+     * 获取查询条件包装器所构建查询的执行计划，绑定与执行查询时相同的参数，查询本身不会被执行。
+     * <p>
+     * 启用时间范围防护时注入默认回溯窗口，但不检查时间跨度；解释的是完整查询语句，不包含大型 IN 条件拆分后的分片语句。
+     *
+     * @param wrapper 查询条件包装器
+     * @return 查询计划，包含逻辑计划、物理计划及其算子
+     */
+    public InfluxQueryPlan explain(@Nonnull InfluxQueryWrapper<?> wrapper) {
+        return doExplain(wrapper, false);
+    }
+
+    /**
+     * 实际执行查询条件包装器所构建的查询，获取带执行指标的执行计划（各算子的输出行数、计算耗时，扫描的文件与分区等），
+     * 绑定与执行查询时相同的参数，可用于记录慢查询或在性能测试中断言。
+     * <p>
+     * 查询会被实际执行，因此与执行查询时一样经过时间范围防护：注入默认回溯窗口，时间跨度超过上限时拒绝执行；
+     * 按时间分片拆分的查询无法以单条语句解释，同样拒绝执行。解释的是完整查询语句，不包含大型 IN 条件拆分后的分片语句。
+     *
+     * @param wrapper 查询条件包装器
+     * @return 带执行指标的查询计划
+     * @throws InfluxClientQueryException 时间跨度超过上限时抛出
+     */
+    public InfluxQueryPlan explainAnalyze(@Nonnull InfluxQueryWrapper<?> wrapper) {
+        return doExplain(wrapper, true);
+    }
+
+    /**
+     * 执行计划语句并解析结果。计划语句不使用查询结果缓存与并发查询合并，但同样受准入控制与查询超时限制。
+     * 启用时间范围防护时，EXPLAIN 仅注入默认回溯窗口；EXPLAIN ANALYZE 会实际执行查询，因此同样检查时间跨度。
+     *
+     * @param wrapper 查询条件包装器
+     * @param analyze 是否执行 EXPLAIN ANALYZE
+     * @return 查询计划
+     */
+    private InfluxQueryPlan doExplain(@Nonnull InfluxQueryWrapper<?> wrapper, boolean analyze) {
+        InfluxTimeRangeGuard              guard   = this.timeRangeGuard;
+        InfluxTimeRangeGuard.GuardedQuery guarded = guard == null
+                                                    ? InfluxTimeRangeGuard.GuardedQuery.of(wrapper)
+                                                    : analyze ? guard.apply(wrapper) : guard.inject(wrapper);
+        if (guarded.partitions().size() > 1) {
+            throw new InfluxClientQueryException("【InfluxClient】查询 %s 的时间跨度超过上限 %s，需拆分为 %d 个分片执行，无法获取带执行指标的查询计划"
+                                                         .formatted(wrapper.getMeasurement(), guard.getMaxSpan(), guarded.partitions().size()));
+        }
+        String                            sql     = guarded.sql();
+        Map<String, Object>               params  = guarded.partitions().getFirst();
+
+        long            start = System.nanoTime();
+        List<Object[]>  rows  = materialize(doQuery((analyze ? "EXPLAIN ANALYZE " : "EXPLAIN ") + sql, params, wrapper.getTimeout()));
+        InfluxQueryPlan plan  = InfluxQueryPlan.parse(sql, params, analyze, rows, Duration.ofNanos(System.nanoTime() - start));
+        log.debug("【InfluxClient】查询计划: {}", plan);
+        return plan;
+    }
+
+    // endregion
+
+    // region 批量查询
+
+    /**
+     * 批量执行查询，并将各查询的结果转换为键值对列表，按查询顺序返回。
+     * <p>
+     * 结果列布局相同且不含排序修饰符的查询会通过 UNION ALL 合并为一条语句执行，其余查询（或合并查询）在拆分查询执行器中并发执行，
+     * 同时执行的数量不超过 {@link #queryBatchParallelism}。注入了相同默认回溯窗口的查询同样可以合并。合并查询执行失败（例如各表同名列的类型不一致）时，自动退回为逐个执行。
+     * 批量查询不进行计数检查，也不使用查询结果缓存。
+     *
+     * @param wrappers 查询条件包装器
+     * @return 各查询的结果列表，顺序与 wrappers 一致
+     */
+    public List<List<Map<String, Object>>> queryBatch(@Nonnull List<? extends InfluxQueryWrapper<?>> wrappers) {
+        List<List<Object[]>>            rows    = doQueryBatch(wrappers);
+        List<List<Map<String, Object>>> results = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            List<Object[]> res = rows.get(i);
+            results.add(res.isEmpty() ? Collections.emptyList() : InfluxObjMapper.compressToMapList(res.stream(), wrappers.get(i).getMixedTargetsWithAlias(), parallelMapping()));
+        }
+        return results;
+    }
+
+    /**
+     * 批量执行查询，并将各查询的结果映射为指定类型的集合，按查询顺序返回。参见 {@link #queryBatch(List)}
+     *
+     * @param wrappers 查询条件包装器
+     * @param clazz    目标类的类型信息
+     * @return 各查询映射后的目标类型集合，顺序与 wrappers 一致
+     */
+    public <E> List<List<E>> queryBatch(@Nonnull List<? extends InfluxQueryWrapper<?>> wrappers,
+                                        @Nonnull Class<E> clazz) {
+        List<List<Object[]>> rows    = doQueryBatch(wrappers);
+        List<List<E>>        results = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            List<Object[]> res = rows.get(i);
+            results.add(res.isEmpty() ? Collections.emptyList() : mapAll(res, clazz, wrappers.get(i)));
+        }
+        return results;
+    }
+
+    /**
+     * 批量执行查询，返回各查询物化后的结果行
+     *
+     * @param wrappers 查询条件包装器
+     * @return 各查询的结果行，顺序与 wrappers 一致
+     */
+    private List<List<Object[]>> doQueryBatch(@Nonnull List<? extends InfluxQueryWrapper<?>> wrappers) {
+        int size = wrappers.size();
+        @SuppressWarnings("unchecked")
+        List<Object[]>[] results = new List[size];
+        // 按结果列布局及注入的时间下界对可合并的查询分组，同组查询共享时间下界参数
+        Map<List<Object>, List<Integer>>        groups  = new LinkedHashMap<>();
+        List<Integer>                           singles = new ArrayList<>();
+        List<InfluxTimeRangeGuard.GuardedQuery> guarded = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            InfluxQueryWrapper<?>             wrapper = wrappers.get(i);
+            InfluxTimeRangeGuard.GuardedQuery query   = guardTimeRange(wrapper);
+            guarded.add(query);
+            // 需要按时间分片或按 IN 条件拆分执行的查询不参与合并
+            if (query.partitions().size() == 1
+                && (inListSplitter == null || !inListSplitter.isApplicable(wrapper))
+                && wrapper.build() != null
+                && InfluxUnionQuery.isUnionable(wrapper)) {
+                groups.computeIfAbsent(Arrays.asList(List.copyOf(wrapper.getMixedTargetsWithAlias()), query.since()), k -> new ArrayList<>()).add(i);
+            } else {
+                singles.add(i);
+            }
+        }
+        List<Runnable> tasks = new ArrayList<>();
+        for (List<Integer> group : groups.values()) {
+            if (group.size() > 1) {
+                int[] indexes = group.stream().mapToInt(Integer::intValue).toArray();
+                tasks.add(() -> doQueryUnion(wrappers, guarded, indexes, results));
+            } else {
+                singles.add(group.getFirst());
+            }
+        }
+        for (int idx : singles) {
+            tasks.add(() -> results[idx] = materialize(doQuery(wrappers.get(idx))));
+        }
+        log.debug("【InfluxClient】批量查询，查询数量: {}，合并后执行数量: {}", size, tasks.size());
+        if (tasks.size() == 1) {
+            tasks.getFirst().run();
+            return Arrays.asList(results);
+        }
+        // 并发执行，同时执行的数量不超过并发上限
+        Semaphore              semaphore = new Semaphore(Math.max(1, queryBatchParallelism));
+        CompletableFuture<?>[] futures   = tasks.stream()
+                                                .map(task -> fork(() -> {
+                                                    semaphore.acquireUninterruptibly();
+                                                    try {
+                                                        task.run();
+                                                    } finally {
+                                                        semaphore.release();
+                                                    }
+                                                    return null;
+                                                }))
+                                                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 将多个查询合并为一条 UNION ALL 语句执行，并按批量序号列拆分结果。合并查询失败时退回为逐个执行。
+     *
+     * @param wrappers 全部查询条件包装器
+     * @param guarded  全部查询经过时间范围防护后本次执行的查询
+     * @param indexes  参与合并的查询序号
+     * @param results  各查询的结果行
+     */
+    private void doQueryUnion(@Nonnull List<? extends InfluxQueryWrapper<?>> wrappers,
+                              @Nonnull List<InfluxTimeRangeGuard.GuardedQuery> guarded,
+                              @Nonnull int[] indexes,
+                              @Nonnull List<Object[]>[] results) {
+        InfluxUnionQuery union = InfluxUnionQuery.ofGuarded(guarded, indexes);
+        for (int idx : indexes) {
+            results[idx] = new ArrayList<>();
+        }
+        // 与单个查询相同，合并查询同样使用查询结果缓存、并发查询合并及表结构缓存失效处理
+        List<String> measurements = Arrays.stream(indexes).mapToObj(idx -> wrappers.get(idx).getMeasurement()).distinct().toList();
+        boolean      schema       = measurements.stream().anyMatch(m -> m.startsWith(InfluxBuiltInTableMeta.SCHEMA_PREFIX));
+        try (Stream<Object[]> stream = schema
+                                       ? doQuery(union.sql(), union.parameters(), union.timeout())
+                                       : doQuery(measurements, union.sql(), union.parameters(), union.timeout())) {
+            stream.forEach(row -> results[((Number) row[0]).intValue()].add(Arrays.copyOfRange(row, 1, row.length)));
+        } catch (InfluxClientTimeoutException | InfluxClientRejectedException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.warn("【InfluxClient】合并查询执行失败，退回为逐个执行: {}", e.getMessage());
+            for (int idx : indexes) {
+                results[idx] = materialize(doQuery(wrappers.get(idx)));
+            }
+        }
+    }
+
+    /**
+     * 物化结果流，并关闭结果流
+     *
+     * @param stream 结果流
+     * @return 结果行
+     */
+    private static List<Object[]> materialize(@Nonnull Stream<Object[]> stream) {
+        try (stream) {
+            return stream.toList();
+        }
+    }
+    // endregion
+
+    // region 异步查询
+
+    /**
+     * 设置异步查询执行器。由调用方提供的执行器不会在客户端关闭时关闭。
+     *
+     * @param queryExecutor 异步查询执行器
+     */
+    public void setQueryExecutor(@Nonnull Executor queryExecutor) {
+        setQueryExecutor(queryExecutor, false);
+    }
+
+    /**
+     * 设置异步查询执行器
+     *
+     * @param queryExecutor   异步查询执行器
+     * @param shutdownOnClose 客户端关闭时是否关闭该执行器
+     */
+    public void setQueryExecutor(@Nonnull Executor queryExecutor, boolean shutdownOnClose) {
+        Executor previous = this.queryExecutor;
+        boolean  owned    = this.queryExecutorOwned;
+        this.queryExecutor      = queryExecutor;
+        this.queryExecutorOwned = shutdownOnClose;
+        if (owned && previous instanceof ExecutorService service) {
+            service.shutdown();
+        }
+    }
+
+    /**
+     * 设置当前客户端的并行映射：行数不小于阈值的结果集在线程池中分段并发映射，结果顺序保持不变。
+     * 该配置仅对当前客户端生效，之前由当前客户端创建的线程池会被关闭。
+     *
+     * @param threshold   并行映射的行数阈值，不大于 0 表示不启用
+     * @param parallelism 线程池并行度，大于 0 时由当前客户端创建线程池并在关闭时一并关闭，否则使用公共线程池
+     */
+    public void setParallelMapping(int threshold, int parallelism) {
+        InfluxObjMapper.ParallelMapping previous = this.mappingParallel;
+        boolean                         owned    = this.mappingPoolOwned;
+        boolean                         create   = threshold > 0 && parallelism > 0;
+        this.mappingParallel  = threshold > 0
+                                ? new InfluxObjMapper.ParallelMapping(threshold, create ? new ForkJoinPool(parallelism) : null)
+                                : InfluxObjMapper.ParallelMapping.DISABLED;
+        this.mappingPoolOwned = create;
+        if (owned) {
+            previous.pool().shutdown();
+        }
+    }
+
+    /**
+     * 获取当前生效的并行映射配置
+     *
+     * @return 当前客户端的配置，未设置时为 {@link InfluxObjMapper} 的默认配置
+     */
+    private InfluxObjMapper.ParallelMapping parallelMapping() {
+        InfluxObjMapper.ParallelMapping parallel = this.mappingParallel;
+        return parallel == null ? InfluxObjMapper.defaultParallelMapping() : parallel;
+    }
+
+    /**
+     * 在异步查询执行器中执行任务。当前线程的查询租户（{@link QueryAdmissionController#currentTenant()}）会传递至执行任务的线程。
+     *
+     * @param task 要执行的任务
+     * @param <R>  任务结果类型
+     * @return 任务结果
+     */
+    public <R> CompletableFuture<R> async(@Nonnull Supplier<R> task) {
+        String tenant = QueryAdmissionController.currentTenant();
+        return CompletableFuture.supplyAsync(() -> QueryAdmissionController.callAs(tenant, task), queryExecutor);
+    }
+
+    /**
+     * 在拆分查询执行器中执行子查询，当前线程的查询租户会传递至执行子查询的线程。
+     * <p>
+     * 调用方可能正运行在异步查询执行器的线程中并等待子查询完成，因此子查询不使用异步查询执行器。
+     *
+     * @param task 子查询
+     * @param <R>  子查询结果类型
+     * @return 子查询结果
+     */
+    private <R> CompletableFuture<R> fork(@Nonnull Supplier<R> task) {
+        String tenant = QueryAdmissionController.currentTenant();
+        return CompletableFuture.supplyAsync(() -> QueryAdmissionController.callAs(tenant, task), forkExecutor);
+    }
+
+    /**
+     * 异步统计查询结果数量，参见 {@link #count(InfluxQueryWrapper)}
+     *
+     * @param wrapper 查询条件包装器
+     * @return 查询结果数量
+     */
+    public <T extends AbstractActionInfluxObj> CompletableFuture<Long> countAsync(@Nonnull InfluxQueryWrapper<T> wrapper) {
+        return async(() -> count(wrapper));
+    }
+
+    /**
+     * 异步执行查询并将结果转换为键值对列表，参见 {@link #queryMap(InfluxQueryWrapper)}
+     *
+     * @param wrapper 查询条件包装器
+     * @return 查询结果的列表
+     */
+    public CompletableFuture<List<Map<String, Object>>> queryMapAsync(@Nonnull InfluxQueryWrapper<?> wrapper) {
+        return async(() -> queryMap(wrapper));
+    }
+
+    /**
+     * 异步执行查询并将结果映射为指定类型的集合，参见 {@link #queryMap(InfluxQueryWrapper, Class)}
+     *
+     * @param wrapper 查询条件包装器
+     * @param clazz   目标类的类型信息
+     * @return 映射后的目标类型集合
+     */
+    public <E, T extends AbstractActionInfluxObj> CompletableFuture<List<E>> queryMapAsync(@Nonnull InfluxQueryWrapper<T> wrapper,
+                                                                                          @Nonnull Class<E> clazz) {
+        return async(() -> queryMap(wrapper, clazz));
+    }
+
+    /**
+     * 异步执行查询并将结果封装为查询结果对象，参见 {@link #queryResult(InfluxQueryWrapper)}
+     *
+     * @param wrapper 查询条件包装器
+     * @return 查询结果的封装对象
+     */
+    public CompletableFuture<InfluxResult> queryResultAsync(@Nonnull InfluxQueryWrapper<?> wrapper) {
+        return async(() -> queryResult(wrapper));
+    }
+
+    /**
+     * 异步分页查询，参见 {@link #pagination(InfluxQueryWrapper, Class, long, long)}
+     *
+     * @param wrapper  查询条件包装器
+     * @param clazz    数据对象的目标类型
+     * @param pageNum  当前页码
+     * @param pageSize 每页显示的数据条数
+     * @return 分页结果
+     */
+    public <E, T extends AbstractActionInfluxObj> CompletableFuture<InfluxPage<E>>
+    paginationAsync(@Nonnull InfluxQueryWrapper<T> wrapper,
+                    @Nonnull Class<E> clazz,
+                    long pageNum,
+                    long pageSize) {
+        return async(() -> pagination(wrapper, clazz, pageNum, pageSize));
+    }
+
+    /**
+     * 异步分页查询，参见 {@link #pagination(InfluxQueryWrapper, Class, long, long, long)}
+     *
+     * @param wrapper  查询条件包装器
+     * @param clazz    数据对象的目标类型
+     * @param pageNum  当前页码
+     * @param pageSize 每页显示的数据条数
+     * @param offset   分页偏移量
+     * @return 分页结果
+     */
+    public <E, T extends AbstractActionInfluxObj> CompletableFuture<InfluxPage<E>>
+    paginationAsync(@Nonnull InfluxQueryWrapper<T> wrapper,
+                    @Nonnull Class<E> clazz,
+                    long pageNum,
+                    long pageSize,
+                    long offset) {
+        return async(() -> pagination(wrapper, clazz, pageNum, pageSize, offset));
+    }
+    // endregion
+
     /**
      * 关闭 InfluxDB 客户端连接，确保资源释放。
      */
@@ -675,6 +1899,13 @@ public class InfluxClient {
             if (this.scheduledThreadPool != null) {
                 this.scheduledThreadPool.shutdown();
             }
+            if (this.queryExecutorOwned && this.queryExecutor instanceof ExecutorService service) {
+                service.shutdown();
+            }
+            this.forkExecutor.shutdown();
+            if (this.mappingPoolOwned) {
+                this.mappingParallel.pool().shutdown();
+            }
             try {
                 this.client.close();
             } catch (Exception ignored) {
@@ -2,10 +2,15 @@ package com.wolfhouse.influxclient.client;
 
 import com.influxdb.v3.client.InfluxDBClient;
 import com.influxdb.v3.client.internal.InfluxDBClientImpl;
+import com.wolfhouse.influxclient.cache.QueryResultCache;
 import com.wolfhouse.influxclient.comparator.NaturalComparator;
+import com.wolfhouse.influxclient.concurrent.QueryAdmissionController;
+import com.wolfhouse.influxclient.core.InfluxInListSplitter;
+import com.wolfhouse.influxclient.core.InfluxQueryTemplate;
 import com.wolfhouse.influxclient.core.InfluxQueryWrapper;
+import com.wolfhouse.influxclient.core.InfluxTimeRangeGuard;
 import com.wolfhouse.influxclient.pojo.AbstractActionInfluxObj;
-import com.wolfhouse.influxclient.pojo.AbstractBaseInfluxObj;
+import com.wolfhouse.influxclient.pojo.InfluxColumnarResult;
 import com.wolfhouse.influxclient.pojo.InfluxPage;
 import com.wolfhouse.influxclient.pojo.InfluxResult;
 import com.wolfhouse.influxclient.properties.InfluxDbProperties;
@@ -17,6 +22,9 @@ import lombok.extern.slf4j.Slf4j;
 import javax.annotation.Nullable;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -84,6 +92,47 @@ public class InfluxClientProxy {
         InfluxClient influxClient = new InfluxClient(dbClient);
         influxClient.setCacheBound(properties.getCacheBound());
         influxClient.setCacheFlushInterval(Duration.ofMillis(properties.getCacheFlushInterval()));
+        influxClient.setQueryTimeout(Duration.ofMillis(properties.getQueryTimeout()));
+        influxClient.setSchemaCacheTtl(Duration.ofMillis(properties.getSchemaCacheTtl()));
+        influxClient.setQueryCacheInvalidateOnWrite(Boolean.TRUE.equals(properties.getQueryCacheInvalidateOnWrite()));
+        if (Boolean.TRUE.equals(properties.getQueryCacheEnabled())) {
+            QueryResultCache queryCache = new QueryResultCache(properties.getQueryCacheMaxEntries(),
+                                                               properties.getQueryCacheMaxWeight(),
+                                                               Duration.ofMillis(properties.getQueryCacheTtl()));
+            properties.getQueryCacheMeasurementTtl()
+                      .forEach((measurement, ttl) -> queryCache.measurementTtl(measurement, Duration.ofMillis(ttl)));
+            influxClient.enableQueryCache(queryCache);
+        }
+        influxClient.setQueryBatchParallelism(properties.getQueryBatchParallelism());
+        if (properties.getQueryExecutorThreads() != null && properties.getQueryExecutorThreads() > 0) {
+            influxClient.setQueryExecutor(Executors.newFixedThreadPool(properties.getQueryExecutorThreads(),
+                                                                       Thread.ofPlatform().name("influx-client-query-", 0).factory()),
+                                        true);
+        }
+        if (properties.getMappingParallelThreshold() != null && properties.getMappingParallelThreshold() > 0) {
+            Integer parallelism = properties.getMappingParallelism();
+            influxClient.setParallelMapping(properties.getMappingParallelThreshold(), parallelism == null ? 0 : parallelism);
+        }
+        if (properties.getTimeRangeDefaultLookback() > 0 || properties.getTimeRangeMaxSpan() > 0) {
+            influxClient.setTimeRangeGuard(new InfluxTimeRangeGuard(Duration.ofMillis(properties.getTimeRangeDefaultLookback()),
+                                                                    Duration.ofMillis(properties.getTimeRangeMaxSpan()),
+                                                                    properties.getTimeRangeMode()));
+        }
+        if (properties.getInListSplitThreshold() != null && properties.getInListSplitThreshold() > 0) {
+            influxClient.setInListSplitter(new InfluxInListSplitter(properties.getInListSplitThreshold(),
+                                                                    properties.getInListChunkSize(),
+                                                                    properties.getInListParallelism()));
+        }
+        if (Boolean.TRUE.equals(properties.getQueryCoalescingEnabled())) {
+            influxClient.enableQueryCoalescing();
+        }
+        if (Boolean.TRUE.equals(properties.getAdmissionEnabled())) {
+            QueryAdmissionController admission = new QueryAdmissionController(properties.getAdmissionMaxInFlight(),
+                                                                               properties.getAdmissionMaxQueue(),
+                                                                               Duration.ofMillis(properties.getAdmissionMaxWait()));
+            properties.getAdmissionTenantWeights().forEach(admission::tenantWeight);
+            influxClient.enableAdmissionControl(admission);
+        }
         return influxClient;
     }
 
@@ -129,6 +178,34 @@ public class InfluxClientProxy {
         client.handleCache();
     }
 
+    /**
+     * 使指定表的查询结果缓存失效
+     *
+     * @param measurement 表名
+     */
+    public void invalidateQueryCache(@Nonnull String measurement) {
+        client.invalidateQueryCache(measurement);
+    }
+
+    /**
+     * 获取被合并（未实际执行而共享其他查询结果）的查询数量
+     *
+     * @return 被合并的查询数量，未启用并发查询合并时返回 0
+     */
+    public long coalescedQueryCount() {
+        return client.coalescedQueryCount();
+    }
+
+    /**
+     * 获取查询准入指标
+     *
+     * @return 查询准入指标，未启用准入控制时返回 null
+     */
+    @Nullable
+    public QueryAdmissionController.Metrics queryAdmissionMetrics() {
+        return client.queryAdmissionMetrics();
+    }
+
     /**
      * 插入单个对象到 InfluxDB。
      *
@@ -226,6 +303,66 @@ public class InfluxClientProxy {
         return client.query(wrapper, countCheck);
     }
 
+    /**
+     * 使用预编译的查询模板执行查询，绑定指定的参数值。该方法不会进行计数检查。
+     *
+     * @param template   查询模板，通过 {@link InfluxQueryWrapper#compile()} 获取
+     * @param parameters 参数占位名与值的映射，未指定的参数使用编译时的参数值
+     * @return 查询结果的流，每个结果为一个包含列值的数组。
+     */
+    public Stream<Object[]> query(@javax.annotation.Nonnull InfluxQueryTemplate template, @Nullable Map<String, Object> parameters) {
+        return client.query(template, parameters);
+    }
+
+    /**
+     * 使用预编译的查询模板计算匹配的数据数量
+     *
+     * @param template   查询模板
+     * @param parameters 参数占位名与值的映射，未指定的参数使用编译时的参数值
+     * @return 匹配的数据数量
+     */
+    public Long count(@javax.annotation.Nonnull InfluxQueryTemplate template, @Nullable Map<String, Object> parameters) {
+        return client.count(template, parameters);
+    }
+
+    /**
+     * 使用预编译的查询模板执行查询，并将结果转换为包含键值对的列表形式返回。
+     *
+     * @param template   查询模板
+     * @param parameters 参数占位名与值的映射，未指定的参数使用编译时的参数值
+     * @return 查询结果的列表，每个列表项为一个映射，表示查询结果中的各列及其对应的值。
+     */
+    public List<Map<String, Object>> queryMap(@javax.annotation.Nonnull InfluxQueryTemplate template, @Nullable Map<String, Object> parameters) {
+        return client.queryMap(template, parameters);
+    }
+
+    /**
+     * 使用预编译的查询模板执行查询，并将结果映射为指定类型的集合。
+     *
+     * @param <E>        目标类型，AbstractBaseInfluxObj 子类、record 或包含 @InfluxConstructor 构造方法的类。
+     * @param template   查询模板
+     * @param clazz      目标类的类型信息，用于映射查询结果。
+     * @param parameters 参数占位名与值的映射，未指定的参数使用编译时的参数值
+     * @return 映射后的目标类型集合。
+     */
+    public <E> List<E> queryMap(@javax.annotation.Nonnull InfluxQueryTemplate template,
+                                @javax.annotation.Nonnull Class<E> clazz,
+                                @Nullable Map<String, Object> parameters) {
+        return client.queryMap(template, clazz, parameters);
+    }
+
+    /**
+     * 对于指定查询包装器，根据目标类添加查询目标（投影下推），仅查询映射至目标类时会被使用的列。
+     *
+     * @param wrapper 查询条件包装器
+     * @param clazz   目标类
+     * @return 修改后的包装器
+     */
+    public <T extends AbstractActionInfluxObj> InfluxQueryWrapper<T> addQueryFor(@javax.annotation.Nonnull InfluxQueryWrapper<T> wrapper,
+                                                                                 @javax.annotation.Nonnull Class<?> clazz) {
+        return client.addQueryFor(wrapper, clazz);
+    }
+
     /**
      * 对于指定查询条件包装器，添加查询全部字段操作，并返回修改后的包装器
      *
@@ -281,6 +418,30 @@ public class InfluxClientProxy {
         return client.sortResults(maps);
     }
 
+    /**
+     * 对于指定测量表，获取其全部列名及对应的列类型（information_schema.columns 中的 data_type）。
+     *
+     * @param measurement 测量表名称
+     * @return 列名与列类型映射（不可变），顺序与元数据表一致
+     */
+    public SequencedMap<String, String> tableColumnTypes(@javax.annotation.Nonnull String measurement) {
+        return client.tableColumnTypes(measurement);
+    }
+
+    /** 刷新全部表结构缓存，下次获取列信息或表名时将重新查询元数据表 */
+    public void refreshSchema() {
+        client.refreshSchema();
+    }
+
+    /**
+     * 刷新指定表的表结构缓存
+     *
+     * @param measurement 表名
+     */
+    public void refreshSchema(@javax.annotation.Nonnull String measurement) {
+        client.refreshSchema(measurement);
+    }
+
     /**
      * 获取当前数据库下的所有表名
      *
@@ -344,16 +505,42 @@ public class InfluxClientProxy {
         return client.addQueryRecent(parent, desc, queryFields);
     }
 
+    /**
+     * 向指定查询构造器中添加条件，用于查询每组最新（或最早）的完整记录，仅需在服务端执行一次查询。
+     *
+     * @param parent      父查询器，提供目标表、查询列及查询条件
+     * @param desc        是否按降序排列，true 为每组最近一次记录，false 为每组最早一次记录
+     * @param queryFields 分组列
+     * @return 构造完成的查询器
+     */
+    public <T extends AbstractActionInfluxObj> InfluxQueryWrapper<T> addQueryLatest(InfluxQueryWrapper<T> parent,
+                                                                                    boolean desc,
+                                                                                    String... queryFields) {
+        return client.addQueryLatest(parent, desc, queryFields);
+    }
+
+    /**
+     * 向指定查询构造器中添加条件，用于查询每组最近一次的完整记录。
+     *
+     * @param parent      父查询器
+     * @param queryFields 分组列
+     * @return 构造完成的查询器
+     */
+    public <T extends AbstractActionInfluxObj> InfluxQueryWrapper<T> addQueryLatest(InfluxQueryWrapper<T> parent,
+                                                                                    String... queryFields) {
+        return client.addQueryLatest(parent, queryFields);
+    }
+
     /**
      * 使用给定的查询条件包装器和指定的目标类，将查询结果映射为指定类型的集合。
      *
-     * @param <E>     目标类型，必须继承自 AbstractBaseInfluxObj。
+     * @param <E>     目标类型，AbstractBaseInfluxObj 子类、record 或包含 @InfluxConstructor 构造方法的类。
      * @param wrapper 查询条件包装器，用于构建查询条件。
      * @param clazz   目标类的类型信息，用于映射查询结果。
      * @return 映射后的目标类型集合。
      */
-    public <E extends AbstractBaseInfluxObj, T extends AbstractActionInfluxObj> List<E> queryMap(@javax.annotation.Nonnull InfluxQueryWrapper<T> wrapper,
-                                                                                                 @javax.annotation.Nonnull Class<E> clazz) {
+    public <E, T extends AbstractActionInfluxObj> List<E> queryMap(@javax.annotation.Nonnull InfluxQueryWrapper<T> wrapper,
+                                                                   @javax.annotation.Nonnull Class<E> clazz) {
         return client.queryMap(wrapper, clazz);
     }
 
@@ -389,17 +576,27 @@ public class InfluxClientProxy {
         return client.queryResult(wrapper);
     }
 
+    /**
+     * 执行查询操作，将结果流直接写入列式结果。
+     *
+     * @param wrapper 查询条件包装器，用于构建查询条件和提供查询参数。
+     * @return 列式结果
+     */
+    public InfluxColumnarResult queryColumnar(@javax.annotation.Nonnull InfluxQueryWrapper<?> wrapper) {
+        return client.queryColumnar(wrapper);
+    }
+
     /**
      * 对给定的查询条件进行分页查询，返回指定类型的分页结果。
      *
-     * @param <E>      数据对象的类型，必须继承自 AbstractBaseInfluxObj。
+     * @param <E>      数据对象的类型，AbstractBaseInfluxObj 子类、record 或包含 @InfluxConstructor 构造方法的类。
      * @param wrapper  查询条件包装器，用于构建查询的条件和参数。
      * @param clazz    数据对象的目标类型，用于映射查询结果。
      * @param pageNum  当前页码，设为 0 则不限制查询结果数
      * @param pageSize 每页显示的数据条数，设为 0 则不限制查询结果数
      * @return 包含查询结果的分页对象，包含总记录数、页码、每页大小以及当前页的数据。
      */
-    public <E extends AbstractBaseInfluxObj, T extends AbstractActionInfluxObj> InfluxPage<E>
+    public <E, T extends AbstractActionInfluxObj> InfluxPage<E>
     pagination(@javax.annotation.Nonnull InfluxQueryWrapper<T> wrapper,
                @javax.annotation.Nonnull Class<E> clazz,
                long pageNum,
@@ -410,7 +607,7 @@ public class InfluxClientProxy {
     /**
      * 对给定的查询条件进行分页查询，返回指定类型的分页结果。
      *
-     * @param <E>      数据对象的类型，必须继承自 AbstractBaseInfluxObj。
+     * @param <E>      数据对象的类型，AbstractBaseInfluxObj 子类、record 或包含 @InfluxConstructor 构造方法的类。
      * @param wrapper  查询条件包装器，用于构建查询的条件和参数。
      * @param clazz    数据对象的目标类型，用于映射查询结果。
      * @param pageNum  当前页码，设为 0 则不限制查询结果数
@@ -418,7 +615,7 @@ public class InfluxClientProxy {
      * @param offset   分页偏移量，用于跳过指定数量的记录
      * @return 包含查询结果的分页对象，包含总记录数、页码、每页大小以及当前页的数据。
      */
-    public <E extends AbstractBaseInfluxObj, T extends AbstractActionInfluxObj> InfluxPage<E>
+    public <E, T extends AbstractActionInfluxObj> InfluxPage<E>
     pagination(@javax.annotation.Nonnull InfluxQueryWrapper<T> wrapper,
                @javax.annotation.Nonnull Class<E> clazz,
                long pageNum,
@@ -430,15 +627,15 @@ public class InfluxClientProxy {
     /**
      * 使用给定的查询条件包装器和指定的目标类，将查询结果映射为指定类型的集合。
      *
-     * @param <E>        目标类型，必须继承自 AbstractBaseInfluxObj。
+     * @param <E>        目标类型，AbstractBaseInfluxObj 子类、record 或包含 @InfluxConstructor 构造方法的类。
      * @param wrapper    查询条件包装器，用于构建查询条件。
      * @param clazz      目标类的类型信息，用于映射查询结果。
      * @param countCheck 是否检查查询结果数量，如果为true，则在查询结果为空时返回空列表。开启该选项会强制查询前获取数据数量。
      * @return 映射后的目标类型集合。
      */
-    public <E extends AbstractBaseInfluxObj, T extends AbstractActionInfluxObj> List<E> queryMap(@javax.annotation.Nonnull InfluxQueryWrapper<T> wrapper,
-                                                                                                 @javax.annotation.Nonnull Class<E> clazz,
-                                                                                                 boolean countCheck) {
+    public <E, T extends AbstractActionInfluxObj> List<E> queryMap(@javax.annotation.Nonnull InfluxQueryWrapper<T> wrapper,
+                                                                   @javax.annotation.Nonnull Class<E> clazz,
+                                                                   boolean countCheck) {
         return client.queryMap(wrapper, clazz, countCheck);
     }
 
@@ -455,6 +652,118 @@ public class InfluxClientProxy {
         return client.queryAll(influxQueryWrapper);
     }
 
+    /**
+     * 批量执行查询，并将各查询的结果转换为键值对列表，按查询顺序返回。
+     * 结果列布局相同且不含排序修饰符的查询会通过 UNION ALL 合并执行，其余查询并发执行。
+     *
+     * @param wrappers 查询条件包装器
+     * @return 各查询的结果列表，顺序与 wrappers 一致
+     */
+    public List<List<Map<String, Object>>> queryBatch(@javax.annotation.Nonnull List<? extends InfluxQueryWrapper<?>> wrappers) {
+        return client.queryBatch(wrappers);
+    }
+
+    /**
+     * 批量执行查询，并将各查询的结果映射为指定类型的集合，按查询顺序返回。
+     *
+     * @param wrappers 查询条件包装器
+     * @param clazz    目标类的类型信息
+     * @return 各查询映射后的目标类型集合，顺序与 wrappers 一致
+     */
+    public <E> List<List<E>> queryBatch(@javax.annotation.Nonnull List<? extends InfluxQueryWrapper<?>> wrappers,
+                                        @javax.annotation.Nonnull Class<E> clazz) {
+        return client.queryBatch(wrappers, clazz);
+    }
+
+    /**
+     * 在异步查询执行器中执行任务，当前线程的查询租户会传递至执行任务的线程。
+     *
+     * @param task 要执行的任务
+     * @param <R>  任务结果类型
+     * @return 任务结果
+     */
+    public <R> CompletableFuture<R> async(@javax.annotation.Nonnull Supplier<R> task) {
+        return client.async(task);
+    }
+
+    /**
+     * 异步统计查询结果数量
+     *
+     * @param wrapper 查询条件包装器
+     * @return 查询结果数量
+     */
+    public <T extends AbstractActionInfluxObj> CompletableFuture<Long> countAsync(@javax.annotation.Nonnull InfluxQueryWrapper<T> wrapper) {
+        return client.countAsync(wrapper);
+    }
+
+    /**
+     * 异步执行查询并将结果转换为键值对列表
+     *
+     * @param wrapper 查询条件包装器
+     * @return 查询结果的列表
+     */
+    public CompletableFuture<List<Map<String, Object>>> queryMapAsync(@javax.annotation.Nonnull InfluxQueryWrapper<?> wrapper) {
+        return client.queryMapAsync(wrapper);
+    }
+
+    /**
+     * 异步执行查询并将结果映射为指定类型的集合
+     *
+     * @param wrapper 查询条件包装器
+     * @param clazz   目标类的类型信息
+     * @return 映射后的目标类型集合
+     */
+    public <E, T extends AbstractActionInfluxObj> CompletableFuture<List<E>> queryMapAsync(@javax.annotation.Nonnull InfluxQueryWrapper<T> wrapper,
+                                                                                          @javax.annotation.Nonnull Class<E> clazz) {
+        return client.queryMapAsync(wrapper, clazz);
+    }
+
+    /**
+     * 异步执行查询并将结果封装为查询结果对象
+     *
+     * @param wrapper 查询条件包装器
+     * @return 查询结果的封装对象
+     */
+    public CompletableFuture<InfluxResult> queryResultAsync(@javax.annotation.Nonnull InfluxQueryWrapper<?> wrapper) {
+        return client.queryResultAsync(wrapper);
+    }
+
+    /**
+     * 异步分页查询
+     *
+     * @param wrapper  查询条件包装器
+     * @param clazz    数据对象的目标类型
+     * @param pageNum  当前页码
+     * @param pageSize 每页显示的数据条数
+     * @return 分页结果
+     */
+    public <E, T extends AbstractActionInfluxObj> CompletableFuture<InfluxPage<E>>
+    paginationAsync(@javax.annotation.Nonnull InfluxQueryWrapper<T> wrapper,
+                    @javax.annotation.Nonnull Class<E> clazz,
+                    long pageNum,
+                    long pageSize) {
+        return client.paginationAsync(wrapper, clazz, pageNum, pageSize);
+    }
+
+    /**
+     * 异步分页查询
+     *
+     * @param wrapper  查询条件包装器
+     * @param clazz    数据对象的目标类型
+     * @param pageNum  当前页码
+     * @param pageSize 每页显示的数据条数
+     * @param offset   分页偏移量
+     * @return 分页结果
+     */
+    public <E, T extends AbstractActionInfluxObj> CompletableFuture<InfluxPage<E>>
+    paginationAsync(@javax.annotation.Nonnull InfluxQueryWrapper<T> wrapper,
+                    @javax.annotation.Nonnull Class<E> clazz,
+                    long pageNum,
+                    long pageSize,
+                    long offset) {
+        return client.paginationAsync(wrapper, clazz, pageNum, pageSize, offset);
+    }
+
     /**
      * 关闭 InfluxDB 客户端连接，确保资源释放。
      */
@@ -1,38 +1,81 @@
 package com.wolfhouse.influxclient.comparator;
 
 import java.util.Comparator;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * 字符串类型的自然排序器
- * 在自然排序的基础上，对于数字后缀内容按照数字自然排序
+ * 在自然排序的基础上，对于字符串中的每一段连续数字按照数字自然排序，如 sensor_2 &lt; sensor_10，a1b2 &lt; a1b10
+ * <p>
+ * 比较时逐字符扫描，不创建子串、不使用正则，也不将数字解析为整型，因此任意长度的数字串均可正确比较。
+ * 数值相同但前导零数量不同时（如 a01 与 a1），在其余部分均相同的情况下，前导零较少的排在前面。
  *
  * @author Rylin Wolf
  */
 public class NaturalComparator implements Comparator<String> {
-    Pattern p = Pattern.compile("\\d+");
+    /** 共享实例，排序器无状态，可在多个线程中使用 */
+    public static final NaturalComparator INSTANCE = new NaturalComparator();
 
     @Override
     public int compare(String a, String b) {
-        // 提取数字部分的简单正则表达式
-        Matcher ma = p.matcher(a);
-        Matcher mb = p.matcher(b);
-
-        if (ma.find() && mb.find()) {
-            // 先比较非数字前缀
-            String prefixA = a.substring(0, ma.start());
-            String prefixB = b.substring(0, mb.start());
-            if (!prefixA.equals(prefixB)) {
-                return prefixA.compareTo(prefixB);
+        int lengthA = a.length();
+        int lengthB = b.length();
+        int i       = 0;
+        int j       = 0;
+        // 数值相同但前导零数量不同时的比较结果，仅在其余部分均相同时使用
+        int tie     = 0;
+        while (i < lengthA && j < lengthB) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (!isDigit(ca) || !isDigit(cb)) {
+                if (ca != cb) {
+                    return Character.compare(ca, cb);
+                }
+                i++;
+                j++;
+                continue;
             }
-
-            // 前缀相同时，比较数字数值
-            return Integer.compare(
-                    Integer.parseInt(ma.group()),
-                    Integer.parseInt(mb.group())
-            );
+            // 跳过前导零
+            int startA = i;
+            int startB = j;
+            while (startA < lengthA && a.charAt(startA) == '0') {
+                startA++;
+            }
+            while (startB < lengthB && b.charAt(startB) == '0') {
+                startB++;
+            }
+            int endA = startA;
+            int endB = startB;
+            while (endA < lengthA && isDigit(a.charAt(endA))) {
+                endA++;
+            }
+            while (endB < lengthB && isDigit(b.charAt(endB))) {
+                endB++;
+            }
+            // 有效位数多的数值更大，位数相同时逐位比较
+            int digits = endA - startA;
+            if (digits != endB - startB) {
+                return Integer.compare(digits, endB - startB);
+            }
+            for (int k = 0; k < digits; k++) {
+                char da = a.charAt(startA + k);
+                char db = b.charAt(startB + k);
+                if (da != db) {
+                    return Character.compare(da, db);
+                }
+            }
+            if (tie == 0) {
+                tie = Integer.compare(startA - i, startB - j);
+            }
+            i = endA;
+            j = endB;
         }
-        return a.compareTo(b);
+        if (lengthA - i != lengthB - j) {
+            return Integer.compare(lengthA - i, lengthB - j);
+        }
+        return tie;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 }
@@ -0,0 +1,391 @@
+package com.wolfhouse.influxclient.concurrent;
+
+import com.wolfhouse.influxclient.exception.InfluxClientRejectedException;
+import lombok.Getter;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 查询准入控制器（舱壁）。
+ * <p>
+ * 限制同时执行的查询数量，超出限制的查询进入等待队列，等待超时或队列已满时拒绝查询，
+ * 使服务端在流量高峰时平稳降级，而不是被大量并发查询拖垮。
+ * <p>
+ * 等待队列按调用方（租户）分组，通过步幅调度（stride scheduling）按照租户权重公平分配空闲的查询许可：
+ * 权重越高的租户在竞争时获得许可的比例越高，同一租户内部按先来先服务的顺序获得许可。
+ * 当前线程的租户通过 {@link #callAs(String, Supplier)} 或 {@link #runAs(String, Runnable)} 指定，未指定时使用默认租户。
+ *
+ * @author Rylin Wolf
+ */
+@SuppressWarnings({"UnusedReturnValue", "unused"})
+public class QueryAdmissionController {
+    /** 默认租户 */
+    public static final  String              DEFAULT_TENANT = "default";
+    /** 步幅常量，租户每次获得许可后，其进度增加 STRIDE / 权重 */
+    private static final long                STRIDE         = 1L << 20;
+    /** 当前线程的租户 */
+    private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
+
+    /** 同时执行的查询数量上限 */
+    @Getter
+    private final int                      maxInFlight;
+    /** 等待队列长度上限，不大于 0 表示不限制 */
+    @Getter
+    private final int                      maxQueueSize;
+    /** 最长等待时间 */
+    @Getter
+    private final Duration                 maxWait;
+    /** 各租户权重，未配置的租户权重为 1 */
+    private final Map<String, Integer>     weights        = new ConcurrentHashMap<>();
+    /** 各租户的等待队列，未配置权重的租户在队列为空时移除 */
+    private final Map<String, TenantQueue> tenants        = new HashMap<>();
+    /** 准入锁 */
+    private final ReentrantLock            lock           = new ReentrantLock();
+    /** 当前正在执行的查询数量 */
+    private       int                      inFlight       = 0;
+    /** 当前等待中的查询数量 */
+    private       int                      queueDepth     = 0;
+    /** 全局虚拟时间，即最近一次获得许可的租户进度，用于新活跃租户的进度对齐 */
+    private       long                     virtualTime    = 0L;
+    /** 累计准入数量 */
+    private       long                     admitted       = 0L;
+    /** 累计因队列已满被拒绝的数量 */
+    private       long                     rejected       = 0L;
+    /** 累计等待超时的数量 */
+    private       long                     timedOut       = 0L;
+    /** 累计经过等待后获得许可的数量 */
+    private       long                     waited         = 0L;
+    /** 累计等待时间(ns) */
+    private       long                     totalWaitNanos = 0L;
+    /** 最长等待时间(ns) */
+    private       long                     maxWaitNanos   = 0L;
+
+    /**
+     * 创建查询准入控制器
+     *
+     * @param maxInFlight  同时执行的查询数量上限，必须大于 0
+     * @param maxQueueSize 等待队列长度上限，不大于 0 表示不限制
+     * @param maxWait      最长等待时间，不为正数时不等待，无可用许可则直接拒绝
+     */
+    public QueryAdmissionController(int maxInFlight, int maxQueueSize, @Nonnull Duration maxWait) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("【QueryAdmissionController】并发查询上限必须大于 0: " + maxInFlight);
+        }
+        this.maxInFlight  = maxInFlight;
+        this.maxQueueSize = maxQueueSize;
+        this.maxWait      = maxWait;
+    }
+
+    // region 租户
+
+    /**
+     * 设置租户权重
+     *
+     * @param tenant 租户
+     * @param weight 权重，必须大于 0
+     * @return 当前控制器实例
+     */
+    public QueryAdmissionController tenantWeight(@Nonnull String tenant, int weight) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("【QueryAdmissionController】租户权重必须大于 0: " + weight);
+        }
+        weights.put(tenant, weight);
+        return this;
+    }
+
+    /**
+     * 以指定租户身份执行操作，操作中发起的查询按该租户排队
+     *
+     * @param tenant   租户
+     * @param supplier 要执行的操作
+     * @return 操作结果
+     */
+    public static <R> R callAs(@Nonnull String tenant, @Nonnull Supplier<R> supplier) {
+        String previous = CURRENT_TENANT.get();
+        CURRENT_TENANT.set(tenant);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_TENANT.remove();
+            } else {
+                CURRENT_TENANT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 以指定租户身份执行操作，操作中发起的查询按该租户排队
+     *
+     * @param tenant   租户
+     * @param runnable 要执行的操作
+     */
+    public static void runAs(@Nonnull String tenant, @Nonnull Runnable runnable) {
+        callAs(tenant, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * 获取当前线程的租户
+     *
+     * @return 当前线程的租户，未指定时返回默认租户
+     */
+    public static String currentTenant() {
+        String tenant = CURRENT_TENANT.get();
+        return tenant == null ? DEFAULT_TENANT : tenant;
+    }
+    // endregion
+
+    // region 许可
+
+    /**
+     * 以当前线程的租户身份获取查询许可
+     *
+     * @return 查询许可，查询结束后需要释放
+     * @throws InfluxClientRejectedException 等待队列已满、等待超时或等待被中断时抛出
+     */
+    public Permit acquire() {
+        return acquire(currentTenant());
+    }
+
+    /**
+     * 以指定租户身份获取查询许可。存在可用许可且无等待者时立即获得许可，否则进入等待队列。
+     *
+     * @param tenant 租户
+     * @return 查询许可，查询结束后需要释放
+     * @throws InfluxClientRejectedException 等待队列已满、等待超时或等待被中断时抛出
+     */
+    public Permit acquire(@Nonnull String tenant) {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            // 存在可用许可且无等待者，直接获得许可
+            if (inFlight < maxInFlight && queueDepth == 0) {
+                inFlight++;
+                admitted++;
+                return new Permit(tenant);
+            }
+            if (maxQueueSize > 0 && queueDepth >= maxQueueSize) {
+                rejected++;
+                throw new InfluxClientRejectedException("【QueryAdmissionController】查询等待队列已满，租户: %s，队列长度: %d".formatted(tenant, queueDepth));
+            }
+            long nanos = maxWait.toNanos();
+            if (nanos <= 0) {
+                rejected++;
+                throw new InfluxClientRejectedException("【QueryAdmissionController】无可用查询许可，租户: " + tenant);
+            }
+            // 进入等待队列
+            Waiter waiter = enqueue(tenant);
+            try {
+                while (!waiter.granted) {
+                    if (nanos <= 0) {
+                        dequeue(waiter);
+                        timedOut++;
+                        throw new InfluxClientRejectedException("【QueryAdmissionController】等待查询许可超时，租户: %s，等待时间: %d ms".formatted(tenant, maxWait.toMillis()));
+                    }
+                    nanos = waiter.condition.awaitNanos(nanos);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    // 已获得许可，归还后再响应中断
+                    releaseLocked();
+                } else {
+                    dequeue(waiter);
+                }
+                Thread.currentThread().interrupt();
+                throw new InfluxClientRejectedException("【QueryAdmissionController】等待查询许可时被中断，租户: " + tenant, e);
+            }
+            long elapsed = System.nanoTime() - start;
+            waited++;
+            totalWaitNanos += elapsed;
+            maxWaitNanos = Math.max(maxWaitNanos, elapsed);
+            return new Permit(tenant);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取当前准入指标快照
+     *
+     * @return 准入指标
+     */
+    public Metrics metrics() {
+        lock.lock();
+        try {
+            return new Metrics(maxInFlight, inFlight, queueDepth, admitted, rejected, timedOut, waited, totalWaitNanos, maxWaitNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取当前持有等待队列的租户数量
+     *
+     * @return 租户数量
+     */
+    int tenantCount() {
+        lock.lock();
+        try {
+            return tenants.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    // endregion
+
+    // region 私有方法
+
+    /** 将等待者加入其租户的等待队列，需持有锁 */
+    private Waiter enqueue(String tenant) {
+        TenantQueue queue = tenants.computeIfAbsent(tenant, TenantQueue::new);
+        if (queue.waiters.isEmpty()) {
+            // 租户由空闲转为活跃时，将其进度对齐至全局虚拟时间，避免空闲期间积累的进度优势
+            queue.pass = Math.max(queue.pass, virtualTime);
+        }
+        Waiter waiter = new Waiter(queue, lock.newCondition());
+        queue.waiters.addLast(waiter);
+        queueDepth++;
+        return waiter;
+    }
+
+    /** 将未获得许可的等待者移出等待队列，需持有锁 */
+    private void dequeue(Waiter waiter) {
+        if (waiter.queue.waiters.remove(waiter)) {
+            queueDepth--;
+            removeIfIdle(waiter.queue);
+        }
+    }
+
+    /**
+     * 移除空闲且未配置权重的租户队列，避免租户由调用方任意指定时队列无限增长，需持有锁。
+     * 租户再次活跃时重新创建队列，其进度对齐至全局虚拟时间，与保留队列时最多相差一个步幅。
+     */
+    private void removeIfIdle(TenantQueue queue) {
+        if (queue.waiters.isEmpty() && !weights.containsKey(queue.tenant)) {
+            tenants.remove(queue.tenant, queue);
+        }
+    }
+
+    /** 归还许可，并将空闲许可分配给等待者，需持有锁 */
+    private void releaseLocked() {
+        inFlight--;
+        while (inFlight < maxInFlight && queueDepth > 0) {
+            TenantQueue next = null;
+            for (TenantQueue queue : tenants.values()) {
+                if (!queue.waiters.isEmpty() && (next == null || queue.pass < next.pass)) {
+                    next = queue;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            Waiter waiter = next.waiters.pollFirst();
+            queueDepth--;
+            virtualTime = next.pass;
+            next.pass += STRIDE / weights.getOrDefault(next.tenant, 1);
+            removeIfIdle(next);
+            waiter.granted = true;
+            inFlight++;
+            admitted++;
+            waiter.condition.signal();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            releaseLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+    // endregion
+
+    /**
+     * 查询许可，查询结束后调用 {@link #close()} 释放，重复释放无效果。
+     */
+    public final class Permit implements AutoCloseable {
+        /** 许可所属租户 */
+        @Getter
+        private final String        tenant;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Permit(String tenant) {
+            this.tenant = tenant;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                release();
+            }
+        }
+    }
+
+    /** 租户等待队列 */
+    private static final class TenantQueue {
+        private final String             tenant;
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        /** 租户进度，进度最小的租户优先获得许可 */
+        private       long               pass    = 0L;
+
+        private TenantQueue(String tenant) {
+            this.tenant = tenant;
+        }
+    }
+
+    /** 等待者 */
+    private static final class Waiter {
+        private final TenantQueue queue;
+        private final Condition   condition;
+        /** 是否已获得许可 */
+        private       boolean     granted = false;
+
+        private Waiter(TenantQueue queue, Condition condition) {
+            this.queue     = queue;
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * 查询准入指标
+     *
+     * @param maxInFlight    同时执行的查询数量上限
+     * @param inFlight       当前正在执行的查询数量
+     * @param queueDepth     当前等待中的查询数量
+     * @param admitted       累计准入数量
+     * @param rejected       累计因队列已满被拒绝的数量
+     * @param timedOut       累计等待超时的数量
+     * @param waited         累计经过等待后获得许可的数量，直接获得许可的查询不计入
+     * @param totalWaitNanos 累计等待时间(ns)，仅统计经过等待后获得许可的查询
+     * @param maxWaitNanos   最长等待时间(ns)
+     */
+    public record Metrics(int maxInFlight,
+                          int inFlight,
+                          int queueDepth,
+                          long admitted,
+                          long rejected,
+                          long timedOut,
+                          long waited,
+                          long totalWaitNanos,
+                          long maxWaitNanos) {
+        /**
+         * 平均等待时间
+         *
+         * @return 经过等待后获得许可的查询的平均等待时间，直接获得许可的查询不计入
+         */
+        public Duration averageWait() {
+            return waited == 0 ? Duration.ZERO : Duration.ofNanos(totalWaitNanos / waited);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.wolfhouse.influxclient.concurrent;
+
+import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 并发请求合并器。
+ * <p>
+ * 同一个键的任务正在执行时，后续以相同键发起的调用不会再次执行任务，而是等待并共享正在执行的任务结果（包括异常）。
+ * 任务结束后立即移除该键，之后的调用会重新执行任务，因此合并器只合并同时发生的重复请求，不缓存结果。
+ * <p>
+ * 任务结果会被多个调用方共享，因此结果应当是不可变的。
+ * <p>
+ * 等待其他调用的任务时，每个调用方按各自的超时时间等待，等待可被中断；
+ * 任务因仅与发起调用方相关的原因失败时（如发起调用方自身的超时），等待的调用方不共享该异常，而是重新执行任务。
+ *
+ * @param <K> 键类型
+ * @param <V> 结果类型
+ * @author Rylin Wolf
+ */
+@SuppressWarnings({"unused"})
+public class SingleFlight<K, V> {
+    /** 正在执行的任务 */
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight  = new ConcurrentHashMap<>();
+    /** 实际执行的任务数量 */
+    private final LongAdder                                  executed  = new LongAdder();
+    /** 被合并（共享其他调用结果）的调用数量 */
+    private final LongAdder                                  coalesced = new LongAdder();
+
+    /**
+     * 执行任务。若相同键的任务正在执行，则等待（不限制等待时间，可被中断）并返回该任务的结果，否则由当前线程执行任务。
+     *
+     * @param key    任务键
+     * @param loader 任务
+     * @return 任务结果
+     */
+    public V execute(@Nonnull K key, @Nonnull Supplier<V> loader) {
+        return execute(key, loader, 0L, null, e -> false);
+    }
+
+    /**
+     * 执行任务。若相同键的任务正在执行，则在超时时间内等待并返回该任务的结果，否则由当前线程执行任务。
+     * <p>
+     * 等待的任务失败时，若异常满足 {@code retryOn}，说明失败原因仅与发起调用方相关，当前调用重新执行任务（或等待其他调用重新执行的任务），
+     * 否则抛出该任务的原始异常。
+     *
+     * @param key          任务键
+     * @param loader       任务
+     * @param timeoutNanos 等待其他调用的任务的最长时间(ns)，不为正数时不限制
+     * @param onTimeout    等待超时时抛出的异常，不限制等待时间时可为 null
+     * @param retryOn      判断等待的任务失败的异常是否应重新执行任务
+     * @return 任务结果
+     * @throws InfluxClientQueryException 等待时被中断时抛出
+     */
+    public V execute(@Nonnull K key,
+                     @Nonnull Supplier<V> loader,
+                     long timeoutNanos,
+                     @Nullable Supplier<? extends RuntimeException> onTimeout,
+                     @Nonnull Predicate<Throwable> retryOn) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (true) {
+            CompletableFuture<V> future  = new CompletableFuture<>();
+            CompletableFuture<V> running = inFlight.putIfAbsent(key, future);
+            if (running == null) {
+                executed.increment();
+                try {
+                    V value = loader.get();
+                    future.complete(value);
+                    return value;
+                } catch (RuntimeException | Error e) {
+                    future.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    inFlight.remove(key, future);
+                }
+            }
+            coalesced.increment();
+            Throwable failure;
+            try {
+                return timeoutNanos > 0
+                       ? running.get(Math.max(1L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+                       : running.get();
+            } catch (TimeoutException e) {
+                throw onTimeout.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InfluxClientQueryException("【SingleFlight】等待合并的任务结果时被中断", e);
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+            }
+            if (!retryOn.test(failure)) {
+                throw rethrow(failure);
+            }
+            // 发起调用方可能尚未移除已失败的任务，移除后重新执行
+            inFlight.remove(key, running);
+        }
+    }
+
+    /**
+     * 获取正在执行的任务数量
+     *
+     * @return 正在执行的任务数量
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * 获取实际执行的任务数量
+     *
+     * @return 实际执行的任务数量
+     */
+    public long executed() {
+        return executed.sum();
+    }
+
+    /**
+     * 获取被合并的调用数量
+     *
+     * @return 被合并的调用数量
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * 抛出任务失败的原始异常
+     */
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException re) {
+            return re;
+        }
+        if (cause instanceof Error err) {
+            throw err;
+        }
+        return new CompletionException(cause);
+    }
+}
@@ -10,6 +10,8 @@ public interface InfluxBuiltInTableMeta {
     String MEASUREMENT_TAG              = "measurement";
     /** 时间 字段名 */
     String TIME_TAG                     = "time";
+    /** 元数据表名前缀 */
+    String SCHEMA_PREFIX                = "information_schema.";
     /** 列名字段名 */
     String COLUMN_META_COLUMN_NAME      = "column_name";
     /** 数据类型字段名 */
@@ -1,5 +1,9 @@
 package com.wolfhouse.influxclient.constant.select;
 
+import java.util.List;
+
+import static com.wolfhouse.influxclient.InfluxClientConstant.TIMESTAMP_FIELD;
+
 /**
  * 聚合相关 SQL
  *
@@ -29,4 +33,86 @@ public final class AggSql {
         return new ColSql(SelectSqlType.MIN, col);
     }
 
+    /**
+     * avg(col)
+     *
+     * @param col 列名
+     * @return ColSql
+     */
+    public static ColSql avg(String col) {
+        return new ColSql(SelectSqlType.AVG, col);
+    }
+
+    /**
+     * sum(col)
+     *
+     * @param col 列名
+     * @return ColSql
+     */
+    public static ColSql sum(String col) {
+        return new ColSql(SelectSqlType.SUM, col);
+    }
+
+    /**
+     * count(col)，统计列值不为 null 的记录数。列名为 {@link ColSql#WILDCARD} 时等同于 {@link #countAll()}（不含默认别名）
+     *
+     * @param col 列名
+     * @return ColSql
+     */
+    public static ColSql count(String col) {
+        return new ColSql(SelectSqlType.COUNT, col);
+    }
+
+    /**
+     * count(*)，统计记录数，默认别名为 count
+     *
+     * @return ColSql
+     */
+    public static ColSql countAll() {
+        return new ColSql(SelectSqlType.COUNT, ColSql.WILDCARD).as("count");
+    }
+
+    /**
+     * stddev(col)，样本标准差
+     *
+     * @param col 列名
+     * @return ColSql
+     */
+    public static ColSql stddev(String col) {
+        return new ColSql(SelectSqlType.STDDEV, col);
+    }
+
+    /**
+     * approx_percentile_cont(col, percentile)，近似百分位数
+     *
+     * @param col        列名
+     * @param percentile 百分位，取值范围 [0, 1]，如 0.95
+     * @return ColSql
+     */
+    public static ColSql percentile(String col, double percentile) {
+        if (!(percentile >= 0 && percentile <= 1)) {
+            throw new IllegalArgumentException("百分位取值范围为 [0, 1]: " + percentile);
+        }
+        return new ColSql(SelectSqlType.PERCENTILE, List.of(), List.of(col), List.of(String.valueOf(percentile)), null);
+    }
+
+    /**
+     * first_value(col ORDER BY time)，按时间排序的第一个值
+     *
+     * @param col 列名
+     * @return ColSql
+     */
+    public static ColSql first(String col) {
+        return new ColSql(SelectSqlType.FIRST, List.of(), List.of(col), List.of(), TIMESTAMP_FIELD);
+    }
+
+    /**
+     * last_value(col ORDER BY time)，按时间排序的最后一个值
+     *
+     * @param col 列名
+     * @return ColSql
+     */
+    public static ColSql last(String col) {
+        return new ColSql(SelectSqlType.LAST, List.of(), List.of(col), List.of(), TIMESTAMP_FIELD);
+    }
 }
@@ -6,6 +6,8 @@ import lombok.experimental.Accessors;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.UnaryOperator;
 
 /**
  * Influx 查询 SQL，参数为列名类型
@@ -15,21 +17,40 @@ import java.util.Collection;
 @Getter
 @Accessors(chain = true, fluent = true)
 public class ColSql {
+    /** 通配列，作为列名时按原样输出，不添加标识符引用符，如 count(*) */
+    public static final String WILDCARD = "*";
+
     /** SQL 类型 */
     private final SelectSqlType      type;
     /** 列名 */
     private final Collection<String> cols;
+    /** 位于列名之前的参数，按原样输出，如 date_bin 的时间间隔 */
+    private final List<String>       leadingArgs;
+    /** 位于列名之后的参数，按原样输出，如 approx_percentile_cont 的百分位 */
+    private final List<String>       trailingArgs;
+    /** 函数内的排序列，如 first_value(col ORDER BY time) */
+    private final String             orderBy;
     /** 别名 */
     private       String             alias;
 
     protected ColSql(SelectSqlType type, String... cols) {
-        this.type = type;
-        this.cols = new ArrayList<>(Arrays.asList(cols));
+        this(type, List.of(), Arrays.asList(cols), List.of(), null);
     }
 
     protected ColSql(SelectSqlType type, Collection<String> cols) {
-        this.type = type;
-        this.cols = new ArrayList<>(cols);
+        this(type, List.of(), cols, List.of(), null);
+    }
+
+    protected ColSql(SelectSqlType type,
+                     List<String> leadingArgs,
+                     Collection<String> cols,
+                     List<String> trailingArgs,
+                     String orderBy) {
+        this.type         = type;
+        this.cols         = new ArrayList<>(cols);
+        this.leadingArgs  = List.copyOf(leadingArgs);
+        this.trailingArgs = List.copyOf(trailingArgs);
+        this.orderBy      = orderBy;
     }
 
     /**
@@ -42,4 +63,32 @@ public class ColSql {
         this.alias = alias;
         return this;
     }
+
+    /**
+     * 获取未设置别名时使用的默认别名：SQL 类型名与列名（不含通配列）以下划线连接，如 AVG_value；无列名时为 SQL 类型名，如 COUNT
+     *
+     * @return 默认别名
+     */
+    public String defaultAlias() {
+        List<String> names = cols.stream().filter(c -> !WILDCARD.equals(c)).toList();
+        return names.isEmpty() ? type.name() : type.name() + "_" + String.join("-", names);
+    }
+
+    /**
+     * 构建函数调用 SQL 片段，不包含别名。通配列（{@link #WILDCARD}）按原样输出。
+     *
+     * @param quote 列名引用方法，用于为列名添加标识符引用符
+     * @return SQL 片段，如 avg(`value`)
+     */
+    public String toSql(UnaryOperator<String> quote) {
+        List<String> args = new ArrayList<>(leadingArgs);
+        cols.forEach(c -> args.add(WILDCARD.equals(c) ? c : quote.apply(c)));
+        args.addAll(trailingArgs);
+        StringBuilder builder = new StringBuilder(type.seg).append("(")
+                                                           .append(String.join(",", args));
+        if (orderBy != null) {
+            builder.append(" ORDER BY ").append(quote.apply(orderBy));
+        }
+        return builder.append(")").toString();
+    }
 }
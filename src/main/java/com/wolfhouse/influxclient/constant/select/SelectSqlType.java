@@ -9,7 +9,23 @@ public enum SelectSqlType {
     /** max() */
     MAX("max"),
     /** min() */
-    MIN("min");
+    MIN("min"),
+    /** avg() */
+    AVG("avg"),
+    /** sum() */
+    SUM("sum"),
+    /** count() */
+    COUNT("count"),
+    /** stddev() */
+    STDDEV("stddev"),
+    /** approx_percentile_cont()，近似百分位数 */
+    PERCENTILE("approx_percentile_cont"),
+    /** first_value()，按时间排序的第一个值 */
+    FIRST("first_value"),
+    /** last_value()，按时间排序的最后一个值 */
+    LAST("last_value"),
+    /** date_bin()，时间分桶 */
+    DATE_BIN("date_bin");
     public final String seg;
 
     SelectSqlType(String seg) {
@@ -0,0 +1,72 @@
+package com.wolfhouse.influxclient.constant.select;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static com.wolfhouse.influxclient.InfluxClientConstant.TIMESTAMP_FIELD;
+
+/**
+ * 时间相关 SQL
+ *
+ * @author Rylin Wolf
+ */
+public final class TimeSql {
+    private TimeSql() {
+    }
+
+    /**
+     * date_bin(INTERVAL, time)，将时间列按指定间隔分桶，默认别名为 time，以便映射至结果对象的时间字段
+     *
+     * @param interval 分桶间隔，必须为正数
+     * @return ColSql
+     */
+    public static ColSql dateBin(Duration interval) {
+        return dateBin(interval, TIMESTAMP_FIELD);
+    }
+
+    /**
+     * date_bin(INTERVAL, col)，将指定的时间列按指定间隔分桶，默认别名为 time
+     *
+     * @param interval 分桶间隔，必须为正数
+     * @param col      时间列名
+     * @return ColSql
+     */
+    public static ColSql dateBin(Duration interval, String col) {
+        return new ColSql(SelectSqlType.DATE_BIN, List.of(interval(interval)), List.of(col), List.of(), null).as(TIMESTAMP_FIELD);
+    }
+
+    /**
+     * date_bin(INTERVAL, time, origin)，以指定的起点将时间列按指定间隔分桶，默认别名为 time
+     *
+     * @param interval 分桶间隔，必须为正数
+     * @param origin   分桶起点
+     * @return ColSql
+     */
+    public static ColSql dateBin(Duration interval, Instant origin) {
+        return new ColSql(SelectSqlType.DATE_BIN,
+                          List.of(interval(interval)),
+                          List.of(TIMESTAMP_FIELD),
+                          List.of("TIMESTAMP '" + origin + "'"),
+                          null).as(TIMESTAMP_FIELD);
+    }
+
+    /**
+     * 将时间间隔转换为 SQL 时间间隔字面量，精度为纳秒
+     *
+     * @param interval 时间间隔，必须为正数
+     * @return SQL 时间间隔字面量，如 INTERVAL '300 seconds'
+     */
+    public static String interval(Duration interval) {
+        if (interval == null || !interval.isPositive()) {
+            throw new IllegalArgumentException("时间间隔必须为正数: " + interval);
+        }
+        if (interval.getNano() == 0) {
+            return "INTERVAL '" + interval.getSeconds() + " seconds'";
+        }
+        if (interval.getNano() % 1_000_000 == 0) {
+            return "INTERVAL '" + interval.toMillis() + " milliseconds'";
+        }
+        return "INTERVAL '" + interval.toNanos() + " nanoseconds'";
+    }
+}
@@ -0,0 +1,162 @@
+package com.wolfhouse.influxclient.core;
+
+import com.wolfhouse.influxclient.InfluxClientConstant;
+import com.wolfhouse.influxclient.pojo.InfluxFields;
+import com.wolfhouse.influxclient.pojo.InfluxTags;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 映射对象的列索引。
+ * <p>
+ * 将标签、字段及内置字段的列名编号，并以位图记录各编号所属的列类型，按映射对象的类缓存，同一类的查询构造器共享同一份索引。
+ * 校验查询列时只需按列名查找编号，不再复制标签、字段集合或求交集。
+ *
+ * @author Rylin Wolf
+ */
+public final class InfluxColumnIndex {
+    /** 缓存映射对象类 → 列索引 */
+    private static final Map<Class<?>, InfluxColumnIndex> CACHE = new ConcurrentHashMap<>();
+
+    /** 列名 → 编号 */
+    private final Map<String, Integer> ordinals;
+    /** 标签列的编号 */
+    private final BitSet               tags;
+    /** 字段列的编号 */
+    private final BitSet               fields;
+    /** 内置字段的编号 */
+    private final BitSet               builtins;
+
+    private InfluxColumnIndex(Set<String> tagKeys, Set<String> fieldKeys) {
+        Map<String, Integer> ordinals = HashMap.newHashMap(tagKeys.size() + fieldKeys.size() + InfluxClientConstant.BUILD_IN_FIELDS.length);
+        this.tags     = mark(ordinals, tagKeys);
+        this.fields   = mark(ordinals, fieldKeys);
+        this.builtins = mark(ordinals, Arrays.asList(InfluxClientConstant.BUILD_IN_FIELDS));
+        this.ordinals = ordinals;
+    }
+
+    /**
+     * 获取映射对象类的列索引。缓存的索引与当前的标签、字段不一致时（如映射对象的实例添加了标签），重新生成并替换缓存
+     *
+     * @param referenceClass 映射对象类
+     * @param tags           标签，可为 null
+     * @param fields         字段，可为 null
+     * @return 列索引
+     */
+    public static InfluxColumnIndex of(@Nonnull Class<?> referenceClass, @Nullable InfluxTags tags, @Nullable InfluxFields fields) {
+        Set<String>       tagKeys   = tags == null ? Set.of() : tags.getTagKeys();
+        Set<String>       fieldKeys = fields == null ? Set.of() : fields.getFieldKeys();
+        InfluxColumnIndex cached    = CACHE.get(referenceClass);
+        if (cached != null && cached.matches(tagKeys, fieldKeys)) {
+            return cached;
+        }
+        InfluxColumnIndex index = new InfluxColumnIndex(tagKeys, fieldKeys);
+        CACHE.put(referenceClass, index);
+        return index;
+    }
+
+    /**
+     * 判断列是否存在，即列为标签、字段或内置字段
+     *
+     * @param column 列名
+     * @return 列是否存在
+     */
+    public boolean contains(String column) {
+        return ordinals.containsKey(column);
+    }
+
+    /**
+     * 判断列是否全部存在
+     *
+     * @param columns 列名
+     * @return 列是否全部存在
+     */
+    public boolean containsAll(@Nonnull Collection<String> columns) {
+        for (String column : columns) {
+            if (!ordinals.containsKey(column)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取不存在的列，顺序与给定的列一致
+     *
+     * @param columns 列名
+     * @return 不存在的列
+     */
+    public String[] missing(@Nonnull Collection<String> columns) {
+        return columns.stream().filter(column -> !ordinals.containsKey(column)).toArray(String[]::new);
+    }
+
+    /**
+     * 判断列是否为标签
+     *
+     * @param column 列名
+     * @return 是否为标签
+     */
+    public boolean isTag(String column) {
+        return is(tags, column);
+    }
+
+    /**
+     * 判断列是否为字段
+     *
+     * @param column 列名
+     * @return 是否为字段
+     */
+    public boolean isField(String column) {
+        return is(fields, column);
+    }
+
+    /**
+     * 判断列是否为内置字段
+     *
+     * @param column 列名
+     * @return 是否为内置字段
+     */
+    public boolean isBuiltin(String column) {
+        return is(builtins, column);
+    }
+
+    private boolean is(BitSet bits, String column) {
+        Integer ordinal = ordinals.get(column);
+        return ordinal != null && bits.get(ordinal);
+    }
+
+    /** 判断索引的标签、字段与给定的键集合是否一致 */
+    private boolean matches(Set<String> tagKeys, Set<String> fieldKeys) {
+        if (tags.cardinality() != tagKeys.size() || fields.cardinality() != fieldKeys.size()) {
+            return false;
+        }
+        for (String key : tagKeys) {
+            if (!isTag(key)) {
+                return false;
+            }
+        }
+        for (String key : fieldKeys) {
+            if (!isField(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 为尚未编号的列名分配编号，返回给定列名的编号位图 */
+    private static BitSet mark(Map<String, Integer> ordinals, Collection<String> columns) {
+        BitSet bits = new BitSet();
+        for (String column : columns) {
+            Integer ordinal = ordinals.get(column);
+            if (ordinal == null) {
+                ordinal = ordinals.size();
+                ordinals.put(column, ordinal);
+            }
+            bits.set(ordinal);
+        }
+        return bits;
+    }
+}
@@ -5,10 +5,10 @@ import com.wolfhouse.influxclient.constant.SqlSegmentType;
 import com.wolfhouse.influxclient.exception.InfluxClientException;
 import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
 import com.wolfhouse.influxclient.pojo.AbstractActionInfluxObj;
-import io.micrometer.common.util.StringUtils;
 import lombok.Getter;
 
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -22,6 +22,9 @@ import java.util.function.Consumer;
  * 1. 该类的实例不可直接创建，仅支持通过静态方法 `create()` 或 `create(InfluxQueryWrapper<?>)` 创建。
  * 2. 支持拼接复杂的条件查询，并能获取到最终拼接的 SQL 语句片段。
  * <p>
+ * 条件以表达式树保存：每个比较条件为一个叶子节点，{@code and}/{@code or} 的子条件为一个条件组，
+ * 构建条件时不会生成或扫描 SQL 字符串，仅在获取 SQL 时一次性渲染，构建成本与条件数量成线性关系。
+ * <p>
  * 方法特性：
  * - 支持链式调用以构建条件查询。
  * - 提供针对列和参数的安全绑定，避免硬编码风险。
@@ -40,21 +43,27 @@ public class InfluxConditionWrapper<T extends AbstractActionInfluxObj> {
     protected final Map<String, Object> parameters;
     /** 查询条件的目标字段 */
     @Getter
-    protected final Set<String>         targets  = new HashSet<>();
-    private final   StringBuilder       builder;
+    protected final Set<String>         targets     = new HashSet<>();
+    /** 条件表达式树的根节点 */
+    private final   Group               root        = new Group();
+    /** 渲染后的 SQL 条件语句，条件变化时清空 */
+    private         String              rendered;
     /** 查询条件参数数量 */
-    protected       AtomicInteger       paramIdx = new AtomicInteger(0);
+    protected       AtomicInteger       paramIdx    = new AtomicInteger(0);
+    /** 以 AND 连接的时间范围条件，用于推断查询的时间跨度 */
+    private final   List<TimeBound>     timeBounds  = new ArrayList<>();
+    /** 当前条件中是否存在 OR 连接，存在时无法根据单个条件推断时间范围 */
+    private         boolean             disjunctive = false;
 
     /** 父查询链对象 */
     private InfluxQueryWrapper<T> parent;
 
     /**
      * 构造一个空的 ConditionWrapper 实例。
-     * 初始化参数映射和SQL构建器。
+     * 初始化参数映射。
      */
     private InfluxConditionWrapper() {
         parameters = new HashMap<>();
-        builder    = new StringBuilder();
     }
 
     /**
@@ -89,23 +98,15 @@ public class InfluxConditionWrapper<T extends AbstractActionInfluxObj> {
     /**
      * 使用 AND 逻辑连接新的条件。
      * 如果condition为false，则不添加新条件。
-     * 若已有条件以 and 结尾，则不再使用 and 连接，直接使用括号构建条件块；
-     * 若已有条件为空，则也不使用 and 开头，以避免可能的语法问题。
+     * 新条件作为一个条件组，渲染时使用括号包裹；若已有条件为空，则不使用 and 开头，以避免可能的语法问题；
+     * 若新条件为空，则不添加。
      *
      * @param consumer  用于构建新条件的消费者函数
      * @param condition 控制是否添加条件的布尔值
      * @return 当前 ConditionWrapper 实例
      */
     public InfluxConditionWrapper<T> and(Consumer<InfluxConditionWrapper<T>> consumer, boolean condition) {
-        String currentSql = builder.toString().trim().toUpperCase();
-        if (currentSql.isBlank()) {
-            builder.append(" ( ")
-                   .append(mayDo(condition, consumer, null))
-                   .append(" ) ");
-            return this;
-        }
-        builder.append(mayDo(condition, consumer, SqlSegmentType.AND));
-        return this;
+        return mayDo(condition, consumer, SqlSegmentType.AND);
     }
 
     /**
@@ -121,22 +122,15 @@ public class InfluxConditionWrapper<T extends AbstractActionInfluxObj> {
     /**
      * 使用 OR 逻辑连接新的条件。
      * 如果condition为false，则不添加新条件。
+     * 新条件作为一个条件组，渲染时使用括号包裹；若已有条件为空，则新条件即为全部条件，不使用 or 开头；
+     * 若新条件为空，则不添加。
      *
      * @param consumer  用于构建新条件的消费者函数
      * @param condition 控制是否添加条件的布尔值
      * @return 当前 ConditionWrapper 实例
      */
     public InfluxConditionWrapper<T> or(Consumer<InfluxConditionWrapper<T>> consumer, boolean condition) {
-        String currentSql = builder.toString().trim();
-        if (StringUtils.isBlank(currentSql)
-                || currentSql.toUpperCase().endsWith(SqlSegmentType.OR.value)
-                || currentSql.endsWith("(")) {
-            builder.append(" ( ")
-                   .append(mayDo(condition, consumer, null))
-                   .append(" ) ");
-        }
-        builder.append(mayDo(condition, consumer, SqlSegmentType.OR));
-        return this;
+        return mayDo(condition, consumer, SqlSegmentType.OR);
     }
     // endregion
 
@@ -312,6 +306,53 @@ public class InfluxConditionWrapper<T extends AbstractActionInfluxObj> {
         return duration(start, true, end, true);
     }
 
+    /**
+     * 在已有条件整体之后追加时间下界条件：( 已有条件 ) AND ( time >= start )。
+     * <p>
+     * 已有条件会被括号包裹，因此即使已有条件中包含 OR 连接，追加的时间条件依然对整体生效。
+     *
+     * @param start 起始时间（包含）
+     * @return 当前 ConditionWrapper 实例
+     */
+    public InfluxConditionWrapper<T> since(Instant start) {
+        root.enclose();
+        if (disjunctive) {
+            // 已有条件整体成为一个括号内的子条件，其中的时间条件不再对整体生效，仅保留追加的时间下界
+            timeBounds.clear();
+            disjunctive = false;
+        }
+        return appendConditionAndMask(InfluxBuiltInTableMeta.TIME_TAG, start.toString(), SqlSegmentType.GE);
+    }
+
+    /**
+     * 当前条件中是否包含时间列条件
+     *
+     * @return 是否包含时间列条件
+     */
+    public boolean hasTimeCondition() {
+        return targets.contains(InfluxBuiltInTableMeta.TIME_TAG);
+    }
+
+    /**
+     * 获取以 AND 连接、对整个条件生效的时间范围条件。若条件中存在 OR 连接，则无法确定时间范围，返回空列表。
+     *
+     * @return 时间范围条件
+     */
+    public List<TimeBound> getTimeBounds() {
+        return disjunctive ? List.of() : Collections.unmodifiableList(timeBounds);
+    }
+
+    /**
+     * 获取对整个条件生效的 IN 条件中值数量最多的一个，即仅通过 AND 连接至最外层的 IN 条件。
+     * 这样的 IN 条件可以按值拆分为多个查询分别执行，再拼接各查询的结果。
+     *
+     * @return IN 条件，不存在时为 null
+     */
+    public InList largestInList() {
+        Predicate largest = largestInList(root, null);
+        return largest == null ? null : new InList(largest);
+    }
+
     /**
      * 构建完整的SQL查询语句。
      *
@@ -322,12 +363,19 @@ public class InfluxConditionWrapper<T extends AbstractActionInfluxObj> {
     }
 
     /**
-     * 获取当前已构建的SQL条件语句。
+     * 获取当前已构建的SQL条件语句。条件未变化时，重复获取不会重新渲染。
      *
-     * @return 当前条件构造器中的SQL条件语句
+     * @return 当前条件构造器中的SQL条件语句，无条件时为空字符串
      */
     public String sql() {
-        return builder.toString();
+        String sql = rendered;
+        if (sql == null) {
+            StringBuilder builder = new StringBuilder();
+            root.render(builder);
+            sql      = builder.toString();
+            rendered = sql;
+        }
+        return sql;
     }
 
     /**
@@ -342,7 +390,7 @@ public class InfluxConditionWrapper<T extends AbstractActionInfluxObj> {
     // region 私有方法
 
     /**
-     * 在已有条件的基础上追加一个带有指定操作符的条件，并根据已存在的条件自动添加 "AND" 连接符。
+     * 在已有条件的基础上追加一个带有指定操作符的条件，并根据已存在的条件自动使用 "AND" 连接。
      *
      * @param column     指定的列名，用于表示查询条件中的字段
      * @param value      列的值，用于进行条件匹配
@@ -350,37 +398,30 @@ public class InfluxConditionWrapper<T extends AbstractActionInfluxObj> {
      * @return 当前 ConditionWrapper 实例，用于支持链式调用
      */
     private InfluxConditionWrapper<T> appendConditionAndMask(String column, Object value, SqlSegmentType sqlSegment) {
-        // 若前文有内容，则自动拼接 and 条件，以支持基本条件的链式调用
-        boolean and = false;
-        if (!this.builder.toString().trim().isEmpty()) {
-            and = true;
-            this.builder.append(" AND ( ");
-        }
-        this.builder.append(" ( `").append(column).append("` ").append(sqlSegment.value);
+        String[] paramNames;
         // 修饰符搭配的参数是多值的情况
         if (sqlSegment.isMultiValue) {
-            this.builder.append("(");
             if (!(value instanceof Collection<?> valueColl)) {
                 throw new InfluxClientQueryException("条件构造失败！修饰符 [%s] 所搭配参数应当是集合，当前参数: [%s]".formatted(sqlSegment.value, value));
             }
             if (valueColl.isEmpty()) {
                 throw new InfluxClientException("条件构造失败！修饰符 [%s] 搭配集合为空".formatted(sqlSegment.value));
             }
-            valueColl.forEach(v -> {
-                this.builder.append(" $").append(addColumnValueMapping(column, v));
-                this.builder.append(",");
-            });
-            this.builder.deleteCharAt(this.builder.length() - 1);
-            this.builder.append(")");
+            // 去除重复值，拆分 IN 条件分别查询时各分片的值互不重复，结果不会重复
+            Collection<?> distinct = valueColl instanceof Set<?> ? valueColl : new LinkedHashSet<>(valueColl);
+            paramNames = new String[distinct.size()];
+            int i = 0;
+            for (Object v : distinct) {
+                paramNames[i++] = addColumnValueMapping(column, v);
+            }
         } else {
-            this.builder.append(" $").append(addColumnValueMapping(column, value));
-        }
-
-        this.builder.append(" ) ");
-        // 若拼接 and 条件，则闭合括号
-        if (and) {
-            this.builder.append(" ) ");
+            String paramName = addColumnValueMapping(column, value);
+            paramNames = new String[]{paramName};
+            recordTimeBound(column, paramName, value, sqlSegment);
         }
+        // 若前文有内容，则自动使用 and 连接，以支持基本条件的链式调用
+        root.add(SqlSegmentType.AND, new Predicate(column, sqlSegment, paramNames));
+        rendered = null;
         return this;
     }
 
@@ -402,26 +443,81 @@ public class InfluxConditionWrapper<T extends AbstractActionInfluxObj> {
     }
 
     /**
-     * 根据条件执行SQL片段构建。
+     * 根据条件构建子条件，并作为一个条件组连接到已有条件之后。
      *
      * @param condition  是否执行构建
      * @param consumer   构建逻辑
-     * @param sqlSegment SQL片段类型
-     * @return 构建的SQL片段
+     * @param sqlSegment 连接方式，AND 或 OR
+     * @return 当前 ConditionWrapper 实例
      */
-    private String mayDo(boolean condition, Consumer<InfluxConditionWrapper<T>> consumer, SqlSegmentType sqlSegment) {
+    private InfluxConditionWrapper<T> mayDo(boolean condition, Consumer<InfluxConditionWrapper<T>> consumer, SqlSegmentType sqlSegment) {
         if (!condition) {
-            return "";
+            return this;
         }
         InfluxConditionWrapper<T> instance = create(this.parent);
         consumer.accept(instance);
         // 获取并添加匿名 wrapper 的处理结果
         this.targets.addAll(instance.targets);
         this.parameters.putAll(instance.parameters);
-        if (sqlSegment == null) {
-            return instance.sql();
+        if (instance.root.isEmpty()) {
+            return this;
+        }
+        // 已有条件为空时，新条件即为全部条件，连接方式不生效
+        boolean first = root.isEmpty();
+        if (sqlSegment == SqlSegmentType.OR && !first) {
+            disjunctive = true;
+        } else {
+            // 仅 AND 连接的子条件的时间范围对整体生效
+            this.timeBounds.addAll(instance.getTimeBounds());
+        }
+        // 仅包含一个节点的子条件无需再包裹一层括号
+        root.add(sqlSegment, instance.root.nodes.size() == 1 ? instance.root.nodes.getFirst() : instance.root);
+        rendered = null;
+        return this;
+    }
+
+    /**
+     * 在仅以 AND 连接的条件组中查找值数量最多的 IN 条件，子条件组同样仅以 AND 连接时继续查找
+     */
+    private static Predicate largestInList(Group group, Predicate largest) {
+        if (group.connectors.contains(SqlSegmentType.OR)) {
+            return largest;
+        }
+        for (Node node : group.nodes) {
+            if (node instanceof Group g) {
+                largest = largestInList(g, largest);
+            } else if (node instanceof Predicate p
+                       && p.sqlSegment == SqlSegmentType.IN
+                       && (largest == null || p.paramNames.length > largest.paramNames.length)) {
+                largest = p;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * 记录时间范围条件，仅记录可解析为时间点的比较条件
+     */
+    private void recordTimeBound(String column, String paramName, Object value, SqlSegmentType sqlSegment) {
+        if (!InfluxBuiltInTableMeta.TIME_TAG.equals(column)) {
+            return;
+        }
+        if (sqlSegment != SqlSegmentType.GE && sqlSegment != SqlSegmentType.GT
+                && sqlSegment != SqlSegmentType.LE && sqlSegment != SqlSegmentType.LT) {
+            return;
+        }
+        Instant instant = null;
+        if (value instanceof Instant i) {
+            instant = i;
+        } else if (value instanceof CharSequence cs) {
+            try {
+                instant = Instant.parse(cs);
+            } catch (DateTimeParseException ignored) {
+            }
+        }
+        if (instant != null) {
+            timeBounds.add(new TimeBound(paramName, sqlSegment, instant));
         }
-        return " %s (%s)".formatted(sqlSegment.value, instance.sql());
     }
 
     /**
@@ -433,4 +529,182 @@ public class InfluxConditionWrapper<T extends AbstractActionInfluxObj> {
         return "param_" + this.paramIdx.incrementAndGet();
     }
     // endregion
-}
\ No newline at end of file
+
+    /**
+     * 条件表达式节点
+     */
+    private sealed interface Node permits Predicate, Group {
+        /**
+         * 将节点渲染为 SQL 条件语句
+         *
+         * @param builder 渲染结果
+         */
+        void render(StringBuilder builder);
+    }
+
+    /**
+     * 比较条件，渲染为 (`column` = $param) 或 (`column` IN ($param1, $param2))
+     *
+     * @param column     列名
+     * @param sqlSegment 比较操作符
+     * @param paramNames 参数占位名，多值操作符时按值的顺序排列
+     */
+    private record Predicate(String column, SqlSegmentType sqlSegment, String[] paramNames) implements Node {
+        @Override
+        public void render(StringBuilder builder) {
+            render(builder, 0, paramNames.length);
+        }
+
+        /**
+         * 渲染条件，仅包含 [from, to) 范围内的参数
+         */
+        void render(StringBuilder builder, int from, int to) {
+            builder.append("(`").append(column).append("` ").append(sqlSegment.value).append(' ');
+            if (sqlSegment.isMultiValue) {
+                builder.append('(');
+            }
+            for (int i = from; i < to; i++) {
+                if (i > from) {
+                    builder.append(", ");
+                }
+                builder.append('$').append(paramNames[i]);
+            }
+            if (sqlSegment.isMultiValue) {
+                builder.append(')');
+            }
+            builder.append(')');
+        }
+    }
+
+    /**
+     * 条件组，各节点按添加顺序以 AND/OR 连接，渲染结果的运算优先级与 SQL 一致（AND 优先于 OR），子条件组使用括号包裹
+     */
+    private static final class Group implements Node {
+        /** 各节点与前一节点的连接方式，首个节点为 null */
+        private final List<SqlSegmentType> connectors = new ArrayList<>();
+        private final List<Node>           nodes      = new ArrayList<>();
+
+        void add(SqlSegmentType connector, Node node) {
+            connectors.add(nodes.isEmpty() ? null : connector);
+            nodes.add(node);
+        }
+
+        boolean isEmpty() {
+            return nodes.isEmpty();
+        }
+
+        /** 将已有条件整体移入一个子条件组，之后追加的条件对整体生效 */
+        void enclose() {
+            if (nodes.isEmpty()) {
+                return;
+            }
+            Group inner = new Group();
+            inner.connectors.addAll(connectors);
+            inner.nodes.addAll(nodes);
+            connectors.clear();
+            nodes.clear();
+            add(null, inner);
+        }
+
+        @Override
+        public void render(StringBuilder builder) {
+            for (int i = 0; i < nodes.size(); i++) {
+                if (i > 0) {
+                    builder.append(' ').append(connectors.get(i).value).append(' ');
+                }
+                Node node = nodes.get(i);
+                if (node instanceof Group) {
+                    builder.append('(');
+                    node.render(builder);
+                    builder.append(')');
+                } else {
+                    node.render(builder);
+                }
+            }
+        }
+    }
+
+    /**
+     * 对整个条件生效的 IN 条件
+     */
+    public static final class InList {
+        private final Predicate predicate;
+        /** 完整的 IN 条件语句 */
+        private final String    sql;
+
+        private InList(Predicate predicate) {
+            StringBuilder builder = new StringBuilder();
+            predicate.render(builder);
+            this.predicate = predicate;
+            this.sql       = builder.toString();
+        }
+
+        /**
+         * 获取完整的 IN 条件语句，即条件构造器渲染的条件语句中该 IN 条件对应的片段
+         *
+         * @return IN 条件语句
+         */
+        public String sql() {
+            return sql;
+        }
+
+        /**
+         * 获取列名
+         *
+         * @return 列名
+         */
+        public String column() {
+            return predicate.column;
+        }
+
+        /**
+         * 获取各值的参数占位名，顺序与值的顺序一致
+         *
+         * @return 参数占位名
+         */
+        public List<String> paramNames() {
+            return Arrays.asList(predicate.paramNames);
+        }
+
+        /**
+         * 获取值的数量
+         *
+         * @return 值的数量
+         */
+        public int size() {
+            return predicate.paramNames.length;
+        }
+
+        /**
+         * 渲染仅包含 [from, to) 范围内的值的 IN 条件语句
+         *
+         * @param from 起始位置（包含）
+         * @param to   结束位置（不包含）
+         * @return IN 条件语句
+         */
+        public String sql(int from, int to) {
+            Objects.checkFromToIndex(from, to, predicate.paramNames.length);
+            StringBuilder builder = new StringBuilder();
+            predicate.render(builder, from, to);
+            return builder.toString();
+        }
+    }
+
+    /**
+     * 时间范围条件
+     *
+     * @param paramName  参数占位名
+     * @param sqlSegment 比较操作符，GE/GT 为下界，LE/LT 为上界
+     * @param value      时间点
+     */
+    public record TimeBound(String paramName, SqlSegmentType sqlSegment, Instant value) {
+        /**
+         * 是否为时间下界
+         *
+         * @return 是否为时间下界
+         */
+        public boolean isLower() {
+            return sqlSegment == SqlSegmentType.GE || sqlSegment == SqlSegmentType.GT;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.wolfhouse.influxclient.core;
+
+import com.wolfhouse.influxclient.constant.InfluxBuiltInTableMeta;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * 大型 IN 条件拆分器。
+ * <p>
+ * IN 条件的每个值都会绑定为一个查询参数，值数量达到数千时，查询语句与参数映射都会非常庞大，服务端处理缓慢甚至拒绝执行。
+ * 拆分器将值数量超过阈值的 IN 条件按固定大小拆分为多个分片，每个分片生成一条只包含该分片的值的查询语句，
+ * 由查询客户端并发执行后按分片顺序拼接结果。IN 条件的值在构建条件时已去重，因此各分片的结果互不重复。
+ * <p>
+ * 仅拆分对整个条件生效（仅通过 AND 连接至最外层）的 IN 条件，且查询不能包含聚合函数、修饰符或每组最新记录查询
+ * （参见 {@link InfluxConditionWrapper#largestInList()}），否则按原查询执行。
+ * InfluxDB 的查询参数仅支持标量值，无法以单个数组参数绑定 IN 条件的全部值。
+ *
+ * @author Rylin Wolf
+ */
+@Slf4j
+@Getter
+public class InfluxInListSplitter {
+    /** IN 条件的值数量超过该阈值时拆分 */
+    private final int threshold;
+    /** 每个分片的值数量 */
+    private final int chunkSize;
+    /** 同时执行的分片查询数量上限 */
+    private final int parallelism;
+
+    public InfluxInListSplitter(int threshold, int chunkSize, int parallelism) {
+        if (threshold <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("【InfluxInListSplitter】拆分阈值与分片大小必须为正数: %d, %d".formatted(threshold, chunkSize));
+        }
+        this.threshold   = threshold;
+        this.chunkSize   = chunkSize;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * 判断查询是否需要拆分
+     *
+     * @param wrapper 查询条件包装器
+     * @return 是否需要拆分
+     */
+    public boolean isApplicable(@Nonnull InfluxQueryWrapper<?> wrapper) {
+        return find(wrapper) != null;
+    }
+
+    /**
+     * 按 IN 条件拆分查询语句及参数。查询语句可以是查询语句或计数语句，需要包含条件构造器渲染的条件语句。
+     *
+     * @param wrapper    查询条件包装器
+     * @param sql        已构建的查询语句
+     * @param parameters 查询参数
+     * @return 各分片的查询语句与参数，顺序与 IN 条件值的顺序一致；无需拆分时仅包含原查询语句与参数
+     */
+    public List<Chunk> apply(@Nonnull InfluxQueryWrapper<?> wrapper, @Nonnull String sql, @Nullable Map<String, Object> parameters) {
+        InfluxConditionWrapper.InList inList = parameters == null ? null : find(wrapper);
+        int                           at     = inList == null ? -1 : sql.indexOf(inList.sql());
+        if (at < 0) {
+            return Collections.singletonList(new Chunk(sql, parameters));
+        }
+        String       prefix = sql.substring(0, at);
+        String       suffix = sql.substring(at + inList.sql().length());
+        List<String> names  = inList.paramNames();
+        // 其余条件的参数由各分片共享
+        Map<String, Object> shared = new HashMap<>(parameters);
+        names.forEach(shared::remove);
+        List<Chunk> chunks = new ArrayList<>(Math.ceilDiv(names.size(), chunkSize));
+        for (int from = 0; from < names.size(); from += chunkSize) {
+            int                 to     = Math.min(from + chunkSize, names.size());
+            Map<String, Object> params = HashMap.newHashMap(shared.size() + to - from);
+            params.putAll(shared);
+            for (String name : names.subList(from, to)) {
+                params.put(name, parameters.get(name));
+            }
+            chunks.add(new Chunk(prefix + inList.sql(from, to) + suffix, params));
+        }
+        log.debug("【InfluxInListSplitter】查询 {} 的 IN 条件 {} 包含 {} 个值，拆分为 {} 个分片",
+                  wrapper.getMeasurement(), inList.column(), names.size(), chunks.size());
+        return chunks;
+    }
+
+    /**
+     * 查找需要拆分的 IN 条件
+     */
+    private InfluxConditionWrapper.InList find(InfluxQueryWrapper<?> wrapper) {
+        InfluxConditionWrapper<?> condition   = wrapper.getConditionWrapper();
+        String                    measurement = wrapper.getMeasurement();
+        if (condition == null
+            || (measurement != null && measurement.startsWith(InfluxBuiltInTableMeta.SCHEMA_PREFIX))
+            || !InfluxTimeRangeGuard.isSplittable(wrapper)) {
+            return null;
+        }
+        InfluxConditionWrapper.InList inList = condition.largestInList();
+        return inList == null || inList.size() <= threshold ? null : inList;
+    }
+
+    /**
+     * 分片查询
+     *
+     * @param sql        分片的查询语句
+     * @param parameters 分片的查询参数
+     */
+    public record Chunk(String sql, Map<String, Object> parameters) {}
+}
@@ -1,13 +1,17 @@
 package com.wolfhouse.influxclient.core;
 
+import com.wolfhouse.influxclient.constant.select.AggSql;
+import com.wolfhouse.influxclient.constant.select.ColSql;
+import com.wolfhouse.influxclient.constant.select.TimeSql;
 import com.wolfhouse.influxclient.pojo.AbstractActionInfluxObj;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.util.CollectionUtils;
 
 import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.LinkedHashSet;
-import java.util.Set;
 import java.util.function.Consumer;
 
 /**
@@ -26,6 +30,8 @@ public class InfluxModifiersWrapper<T extends AbstractActionInfluxObj> {
     @Setter
     private Boolean               globalDesc;
     private LinkedHashSet<String> groupBy;
+    /** 分组表达式，按原样输出，如时间分桶表达式 */
+    private LinkedHashSet<String> groupByExpressions;
     private String                having;
     private InfluxQueryWrapper<T> parent;
 
@@ -112,10 +118,41 @@ public class InfluxModifiersWrapper<T extends AbstractActionInfluxObj> {
         if (groupBy == null) {
             groupBy = new LinkedHashSet<>();
         }
-        groupBy.addAll(Set.of(columns));
+        Collections.addAll(groupBy, columns);
         return this;
     }
 
+    /**
+     * 按时间分桶聚合：将 date_bin(interval, time) 作为查询目标（别名为 time，以便映射至结果对象的时间字段），
+     * 并以时间桶及指定的标签列分组，结果按时间桶升序排列。
+     * <p>
+     * 调用后查询不再自动附加原始时间列，查询目标中的其他字段需要使用聚合函数（参见 {@link AggSql}）。
+     * <pre>
+     * SELECT `device`, date_bin(INTERVAL '300 seconds', `time`) AS `time`, avg(`value`) AS `avg`
+     * FROM table GROUP BY ( date_bin(INTERVAL '300 seconds', `time`), `device` ) ORDER BY date_bin(INTERVAL '300 seconds', `time`)
+     * </pre>
+     *
+     * @param interval 分桶间隔
+     * @param tags     分组的标签列，会同时添加至查询目标
+     * @return InfluxModifiersWrapper
+     */
+    public InfluxModifiersWrapper<T> timeBucket(Duration interval, String... tags) {
+        ColSql bucket = TimeSql.dateBin(interval);
+        parent.withTime(false)
+              .select(tags)
+              .selectO(bucket);
+        if (groupByExpressions == null) {
+            groupByExpressions = new LinkedHashSet<>();
+        }
+        String expression = parent.renderColSql(bucket);
+        groupByExpressions.add(expression);
+        if (tags.length > 0) {
+            groupBy(tags);
+        }
+        // 以分桶表达式排序，避免与原始时间列产生歧义
+        return orderBy(false, expression);
+    }
+
     public InfluxModifiersWrapper<T> having(Consumer<InfluxConditionWrapper<T>> wrapperConsumer) {
         // 创建子条件构造器，用于构造 having 条件
         InfluxConditionWrapper<T> wrapper = InfluxConditionWrapper.create(this.parent);
@@ -150,13 +187,18 @@ public class InfluxModifiersWrapper<T extends AbstractActionInfluxObj> {
     }
 
     protected void buildGroupBy(StringBuilder builder) {
-        if (CollectionUtils.isEmpty(groupBy)) {
+        if (CollectionUtils.isEmpty(groupBy) && CollectionUtils.isEmpty(groupByExpressions)) {
             return;
         }
         builder.append(" GROUP BY ")
                .append(" ( ");
-        groupBy.forEach(c -> builder.append(parent.surroundWithDelimiter(c))
-                                    .append(","));
+        if (groupByExpressions != null) {
+            groupByExpressions.forEach(e -> builder.append(e).append(","));
+        }
+        if (groupBy != null) {
+            groupBy.forEach(c -> builder.append(parent.surroundWithDelimiter(c))
+                                        .append(","));
+        }
         builder.deleteCharAt(builder.length() - 1);
         builder.append(" ) ");
     }
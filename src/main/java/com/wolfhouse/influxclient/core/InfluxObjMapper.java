@@ -1,20 +1,24 @@
 package com.wolfhouse.influxclient.core;
 
 import com.wolfhouse.influxclient.anno.OtherColumns;
-import com.wolfhouse.influxclient.anno.OverrideColumn;
 import com.wolfhouse.influxclient.pojo.AbstractBaseInfluxObj;
 import com.wolfhouse.influxclient.pojo.InfluxResult;
-import com.wolfhouse.influxclient.typehandler.InfluxTypeHandler;
+import com.wolfhouse.influxclient.pojo.InfluxRowMap;
 import com.wolfhouse.influxclient.typehandler.TypeHandler;
+import com.wolfhouse.influxclient.typehandler.TypeHandlerRegistry;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Influx 对象转换器
@@ -33,10 +37,49 @@ public class InfluxObjMapper {
      */
     private static final Map<Class<? extends TypeHandler<?>>, TypeHandler<?>> HANDLER_CACHE = new ConcurrentHashMap<>();
 
+    /**
+     * 缓存类 → OtherColumns 排除列正则，类中不存在 OtherColumns 字段时为空
+     */
+    private static final Map<Class<?>, Optional<List<Pattern>>> OTHER_COLUMNS_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 未指定并行映射配置的映射方法使用的默认配置。{@code InfluxClient} 使用各自的配置，不受该配置影响
+     */
+    private static volatile ParallelMapping parallelMapping = ParallelMapping.DISABLED;
+
+    /**
+     * 启用默认的并行映射：行数不小于阈值的结果集会被拆分为多段，在线程池中并发映射，结果顺序与结果集一致。
+     * 该配置对全局生效，客户端应使用 {@code InfluxClient#setParallelMapping} 单独配置。
+     * <p>
+     * 并行映射时类型处理器会被多个线程同时调用，因此类型处理器应当是线程安全的。
+     *
+     * @param threshold 并行映射的行数阈值，不大于 0 表示不启用
+     * @param pool      并行映射使用的线程池，为 null 时使用公共线程池，由调用方负责关闭
+     */
+    public static void enableParallelMapping(int threshold, @Nullable ForkJoinPool pool) {
+        parallelMapping = new ParallelMapping(threshold, pool);
+    }
+
+    /**
+     * 禁用默认的并行映射
+     */
+    public static void disableParallelMapping() {
+        parallelMapping = ParallelMapping.DISABLED;
+    }
+
+    /**
+     * 获取默认的并行映射配置
+     *
+     * @return 默认的并行映射配置
+     */
+    public static ParallelMapping defaultParallelMapping() {
+        return parallelMapping;
+    }
+
     /**
      * 将一个对象数组流映射为指定类型的对象实例列表。
      *
-     * @param <T>       指定的目标类型，必须继承自 AbstractBaseInfluxObj
+     * @param <T>       指定的目标类型，AbstractBaseInfluxObj 子类、record 或包含 @InfluxConstructor 构造方法的类
      * @param <Wrapper> 包装类类型，必须继承自 InfluxQueryWrapper
      * @param objStream 对象数组流，每个数组表示一个记录的数据
      * @param clazz     目标类的 Class 对象，用于反射实例化目标类型对象
@@ -44,14 +87,91 @@ public class InfluxObjMapper {
      * @return 映射后的目标类型对象列表
      * @throws RuntimeException 如果映射失败、无法实例化目标对象或其他错误发生时抛出
      */
-    public static <T extends AbstractBaseInfluxObj, Wrapper extends InfluxQueryWrapper<?>> List<T> mapAll(Stream<Object[]> objStream, Class<T> clazz, Wrapper wrapper) {
-        return objStream.map(obj -> map(obj, clazz, wrapper.getMixedTargetsWithAlias())).toList();
+    public static <T, Wrapper extends InfluxQueryWrapper<?>> List<T> mapAll(Stream<Object[]> objStream, Class<T> clazz, Wrapper wrapper) {
+        return mapAll(objStream, clazz, wrapper.getMixedTargetsWithAlias());
+    }
+
+    /**
+     * 将一个对象数组流映射为指定类型的对象实例列表。映射自定义类时，整个结果集仅解析一次映射计划。
+     *
+     * @param <T>       指定的目标类型，AbstractBaseInfluxObj 子类、record 或包含 @InfluxConstructor 构造方法的类
+     * @param objStream 对象数组流，每个数组表示一个记录的数据
+     * @param clazz     目标类的 Class 对象
+     * @param targets   字段名称集合，用于指定映射时的字段顺序，需与对象数组的元素数量一致
+     * @return 映射后的目标类型对象列表
+     */
+    public static <T> List<T> mapAll(Stream<Object[]> objStream, Class<T> clazz, SequencedCollection<String> targets) {
+        return mapAll(objStream, clazz, targets, Map.of());
+    }
+
+    /**
+     * 将一个对象数组流映射为指定类型的对象实例列表，并按列类型从 {@link TypeHandlerRegistry} 中查找类型处理器。
+     *
+     * @param <T>         指定的目标类型，AbstractBaseInfluxObj 子类、record 或包含 @InfluxConstructor 构造方法的类
+     * @param objStream   对象数组流，每个数组表示一个记录的数据
+     * @param clazz       目标类的 Class 对象
+     * @param targets     字段名称集合，用于指定映射时的字段顺序，需与对象数组的元素数量一致
+     * @param columnTypes 列名 → InfluxDB 列类型（information_schema.columns 中的 data_type），未知时为空
+     * @return 映射后的目标类型对象列表
+     */
+    public static <T> List<T> mapAll(Stream<Object[]> objStream,
+                                     Class<T> clazz,
+                                     SequencedCollection<String> targets,
+                                     Map<String, String> columnTypes) {
+        return mapAll(objStream, clazz, targets, columnTypes, parallelMapping);
+    }
+
+    /**
+     * 将一个对象数组流映射为指定类型的对象实例列表，并使用指定的并行映射配置。
+     *
+     * @param <T>         指定的目标类型，AbstractBaseInfluxObj 子类、record 或包含 @InfluxConstructor 构造方法的类
+     * @param objStream   对象数组流，每个数组表示一个记录的数据
+     * @param clazz       目标类的 Class 对象
+     * @param targets     字段名称集合，用于指定映射时的字段顺序，需与对象数组的元素数量一致
+     * @param columnTypes 列名 → InfluxDB 列类型（information_schema.columns 中的 data_type），未知时为空
+     * @param parallel    并行映射配置
+     * @return 映射后的目标类型对象列表
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> mapAll(Stream<Object[]> objStream,
+                                     Class<T> clazz,
+                                     SequencedCollection<String> targets,
+                                     Map<String, String> columnTypes,
+                                     ParallelMapping parallel) {
+        // 映射表与 InfluxResult 的所有行共享同一份列信息
+        if (clazz.equals(InfluxResult.class)) {
+            return (List<T>) compressToMapList(objStream, targets, parallel).stream().map(row -> new InfluxResult().addRow(row)).toList();
+        }
+        if (Map.class.isAssignableFrom(clazz)) {
+            return (List<T>) compressToMapList(objStream, targets, parallel);
+        }
+        InfluxRowMapper<T>.Plan plan = InfluxRowMapper.of(clazz).plan(targets, columnTypes);
+        return mapRows(objStream, plan::map, parallel);
+    }
+
+    /**
+     * 映射结果集的每一行。结果集行数已知且不小于并行映射阈值时，在并行映射线程池中并发映射，结果顺序与结果集一致。
+     */
+    private static <R> List<R> mapRows(Stream<Object[]> rows, Function<Object[], R> mapper, ParallelMapping parallel) {
+        int threshold = parallel.threshold();
+        if (threshold <= 0) {
+            return rows.map(mapper).toList();
+        }
+        // 仅对行数已知的结果集（已物化的结果）并行映射，流式结果仍按顺序映射
+        Spliterator<Object[]> spliterator = rows.spliterator();
+        long                  size        = spliterator.getExactSizeIfKnown();
+        Stream<Object[]>      stream      = StreamSupport.stream(spliterator, false);
+        if (size < threshold) {
+            return stream.map(mapper).toList();
+        }
+        // 在指定线程池中执行的并行流会使用该线程池拆分任务
+        return parallel.pool().submit(() -> stream.parallel().map(mapper).toList()).join();
     }
 
     /**
      * 将一个对象数组映射为指定类型的对象实例。
      *
-     * @param <T>     指定的目标类型，必须继承自 {@link AbstractBaseInfluxObj}
+     * @param <T>     指定的目标类型，{@link AbstractBaseInfluxObj} 子类、record 或包含 @InfluxConstructor 构造方法的类
      * @param obj     用于映射的对象数组
      * @param clazz   目标类的 Class 对象
      * @param targets 字段名称集合，用于指定映射时的字段顺序，需与对象数组的元素数量一致
@@ -59,11 +179,9 @@ public class InfluxObjMapper {
      * @throws RuntimeException 如果字段注入失败、无法实例化目标对象或其他错误发生时抛出
      */
     @SuppressWarnings("unchecked")
-    public static <T extends AbstractBaseInfluxObj> T map(Object[] obj,
-                                                          Class<T> clazz,
-                                                          SequencedCollection<String> targets) {
-        // 是否允许覆盖有默认值的列
-        OverrideColumn classOverrideColumnAnno = null;
+    public static <T> T map(Object[] obj,
+                            Class<T> clazz,
+                            SequencedCollection<String> targets) {
         // 对于 InfluxResult 特殊处理
         if (clazz.equals(InfluxResult.class)) {
             return (T) mapToResult(obj, targets);
@@ -71,89 +189,62 @@ public class InfluxObjMapper {
         if (Map.class.isAssignableFrom(clazz)) {
             return (T) compressToMap(obj, targets);
         }
-        if (clazz.isAnnotationPresent(OverrideColumn.class)) {
-            classOverrideColumnAnno = clazz.getAnnotation(OverrideColumn.class);
+        // 由为目标类生成的行映射器完成映射，避免逐行反射
+        return InfluxRowMapper.of(clazz).map(obj, targets);
+    }
+
+    /**
+     * 根据目标类筛选映射时会被使用的列，用于将查询目标下推至服务端。
+     * <p>
+     * 筛选规则与映射规则一致：列名（蛇形命名转换为驼峰命名后，或原名）与类中字段匹配的列会被保留；
+     * 若类中存在 {@link OtherColumns} 字段，则未匹配的列同样会被保留，但匹配排除正则的列除外。
+     * 目标类为 {@link InfluxResult} 或 Map 时，保留全部列；目标类通过构造方法创建实例时，按构造方法参数筛选。
+     *
+     * @param clazz   目标类
+     * @param columns 候选列
+     * @return 筛选后的列，顺序与候选列一致
+     */
+    public static List<String> projectColumns(Class<?> clazz, Collection<String> columns) {
+        if (clazz.equals(InfluxResult.class) || Map.class.isAssignableFrom(clazz)) {
+            return new ArrayList<>(columns);
         }
-        try {
-            // 创建目标类对象
-            T t = clazz.getDeclaredConstructor().newInstance();
-            // 获取查询参数，与对象数组一一对应
-            targets = new LinkedHashSet<>(targets);
-            assert targets.size() == obj.length : "查询参数数与结果集不一致！";
-            // 获取字段不匹配时的存储集合
-            OtherColumnsHolder otherColumnsHolder = getOtherColumns(t, clazz);
-            // TODO 可以优化获取字段名的性能
-            for (Object o : obj) {
-                // 当前值的字段名
-                String name = targets.removeFirst();
-                // 将蛇形命名转换为驼峰命名，以便匹配 Java 字段
-                String fieldName = toCamelCase(name);
-                // 尝试获取字段并注入
-                Field field = getField(clazz, fieldName);
-                if (field == null) {
-                    // 如果驼峰命名找不到，尝试使用原名（兼容本来就是驼峰或不需要转换的情况）
-                    field = getField(clazz, name);
-                }
-                if (field == null) {
-                    if (otherColumnsHolder == null) {
-                        // 无该字段，直接跳过
-                        log.warn("【InfluxObjectMapper】尝试注入字段失败，类 {} 不包含该字段: {} 或 {}", clazz, fieldName, name);
-                        continue;
-                    }
-                    // 排除匹配正则的列
-                    List<Pattern> excludePatterns = otherColumnsHolder.patterns;
-                    if (!excludePatterns.isEmpty()) {
-                        boolean exclude = false;
-                        for (Pattern pattern : excludePatterns) {
-                            if (pattern.matcher(name).matches()) {
-                                exclude = true;
-                                break;
-                            }
-                        }
-                        if (exclude) {
-                            continue;
-                        }
-                    }
-                    otherColumnsHolder.otherColumns.put(name, o);
-                    continue;
-                }
-                // 这里字段一定存在
-                field.setAccessible(true);
-                // 字段的覆盖注解优先级高于类
-                OverrideColumn fieldOverAnno = field.getAnnotation(OverrideColumn.class);
-                fieldOverAnno = fieldOverAnno == null ? classOverrideColumnAnno : fieldOverAnno;
-                // 如果有注解，检查是否有初始值，有则检查是否忽略 null，是则检查要覆盖的值
-                if (fieldOverAnno != null) {
-                    Object defaultValue = field.get(t);
-                    if (defaultValue != null && fieldOverAnno.ignoreNull()) {
-                        Object valueToSet = handleType(o, field);
-                        if (valueToSet != null) {
-                            log.debug("【InfluxObjMapper】字段 {} 已有初始值: {}，允许覆盖，将进行覆盖", fieldName, defaultValue);
-                            field.set(t, valueToSet);
-                            continue;
-                        }
-                        log.debug("【InfluxObjMapper】字段 {} 已有初始值: {}，要注入的值为 null，将不进行覆盖", fieldName, defaultValue);
-                        continue;
-                    }
-                }
-                // 处理自定义 TypeHandler
-                try {
-                    Object valueToSet = handleType(o, field);
-                    field.set(t, valueToSet);
-                } catch (Exception e) {
-                    log.error("【InfluxObjMapper】处理字段时异常，字段: {}, 类型: {}", field.getName(), field.getType().getName(), e);
-                }
+        if (InfluxRowMapper.isConstructorMapped(clazz)) {
+            // 通过构造方法创建实例时，按构造方法参数筛选
+            InfluxRowMapper<?> mapper = InfluxRowMapper.of(clazz);
+            return columns.stream().filter(mapper::accepts).collect(Collectors.toCollection(ArrayList::new));
+        }
+        List<Pattern> otherColumnsPatterns = OTHER_COLUMNS_CACHE.computeIfAbsent(clazz, InfluxObjMapper::findOtherColumnsPatterns)
+                                                                .orElse(null);
+        List<String>  projected            = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            if (getField(clazz, toCamelCase(column)) != null || getField(clazz, column) != null) {
+                projected.add(column);
+                continue;
+            }
+            if (otherColumnsPatterns != null && otherColumnsPatterns.stream().noneMatch(p -> p.matcher(column).matches())) {
+                projected.add(column);
             }
-            return t;
-
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                 NoSuchMethodException e) {
-            throw new RuntimeException(e);
         }
+        return projected;
     }
 
-    @SuppressWarnings("unchecked")
-    private static <T extends AbstractBaseInfluxObj> OtherColumnsHolder getOtherColumns(T t, Class<T> clazz) {
+    /**
+     * 查找类中 OtherColumns 字段的排除列正则
+     */
+    private static Optional<List<Pattern>> findOtherColumnsPatterns(Class<?> clazz) {
+        return Optional.ofNullable(findOtherColumnsField(clazz))
+                       .map(field -> Arrays.stream(field.getAnnotation(OtherColumns.class).excludePatterns())
+                                           .map(Pattern::compile)
+                                           .toList());
+    }
+
+    /**
+     * 查找类中标注了 {@link OtherColumns} 的字段，父类中的 private 字段除外
+     *
+     * @param clazz 目标类
+     * @return OtherColumns 字段，不存在时返回 null
+     */
+    static Field findOtherColumnsField(Class<?> clazz) {
         Class<?> current = clazz;
         while (current != null && current != Object.class) {
             for (Field field : current.getDeclaredFields()) {
@@ -162,20 +253,7 @@ public class InfluxObjMapper {
                     continue;
                 }
                 if (field.isAnnotationPresent(OtherColumns.class)) {
-                    field.setAccessible(true);
-                    OtherColumns anno = field.getAnnotation(OtherColumns.class);
-                    try {
-                        Object o = field.get(t);
-                        if (o == null) {
-                            throw new NullPointerException("【InfluxObjMapper】注入 OtherColumns 失败，字段未初始化");
-                        }
-                        if (!Map.class.isAssignableFrom(o.getClass())) {
-                            throw new ClassCastException("【InfluxObjMapper】OtherColumns 仅能用于 Map 类");
-                        }
-                        return new OtherColumnsHolder((Map<String, Object>) o, anno);
-                    } catch (IllegalAccessException e) {
-                        throw new RuntimeException(e);
-                    }
+                    return field;
                 }
             }
             current = current.getSuperclass();
@@ -184,70 +262,65 @@ public class InfluxObjMapper {
     }
 
     /**
-     * 对字段进行类型处理，如果字段标注了 {@link InfluxTypeHandler}，则使用对应的 {@link TypeHandler} 对输入值进行转换。
-     * 处理完成后返回转换后的值。
+     * 获取类型处理器实例，同一类型处理器仅创建一次
      *
-     * @param o     输入的对象值，需要被处理的值
-     * @param field 对应字段对象，用于检查是否存在注解 {@link InfluxTypeHandler} 以及获取注解信息
-     * @return 转换后的对象值，如果字段未标注注解 {@link InfluxTypeHandler}，则返回输入值 o 本身
-     * @throws RuntimeException 如果处理过程中实例化 {@link TypeHandler} 或转换失败，则抛出异常
+     * @param handlerClass 类型处理器类
+     * @return 类型处理器实例
+     * @throws RuntimeException 无法实例化类型处理器时抛出
      */
-    private static Object handleType(Object o, Field field) {
-        Object valueToSet = o;
-        if (field.isAnnotationPresent(InfluxTypeHandler.class)) {
-            InfluxTypeHandler               annotation   = field.getAnnotation(InfluxTypeHandler.class);
-            Class<? extends TypeHandler<?>> handlerClass = annotation.value();
-            try {
-                // 从缓存获取或新建 Handler 实例
-                TypeHandler<?> handler = HANDLER_CACHE.computeIfAbsent(handlerClass,
-                                                                       k -> {
-                                                                           try {
-                                                                               return k.getDeclaredConstructor().newInstance();
-                                                                           } catch (Exception e) {
-                                                                               throw new RuntimeException("无法实例化 TypeHandler: " + k.getName(), e);
-                                                                           }
-                                                                       });
-                // 执行转换
-                valueToSet = handler.getResult(o);
-            } catch (Exception e) {
-                log.error("TypeHandler 转换失败，字段: {}, Handler: {}", field.getName(), handlerClass.getName(), e);
-                throw new RuntimeException(e);
-            }
-        }
-        return valueToSet;
+    static TypeHandler<?> handlerOf(Class<? extends TypeHandler<?>> handlerClass) {
+        return HANDLER_CACHE.computeIfAbsent(handlerClass,
+                                             k -> {
+                                                 try {
+                                                     return k.getDeclaredConstructor().newInstance();
+                                                 } catch (Exception e) {
+                                                     throw new RuntimeException("无法实例化 TypeHandler: " + k.getName(), e);
+                                                 }
+                                             });
     }
 
     public static <Wrapper extends InfluxQueryWrapper<?>> List<Map<String, Object>> compressToMapList(Stream<Object[]> objs, Wrapper wrapper) {
-        return objs.map(obj -> compressToMap(obj, wrapper.getMixedTargetsWithAlias())).toList();
+        return compressToMapList(objs, wrapper.getMixedTargetsWithAlias());
     }
 
     /**
      * 将一个对象数组流压缩并映射为一个包含映射关系的列表，每个列表项为一个键值对的映射表。
      * 方法将通过指定的字段名称集合，将对象数组的每个元素与字段名逐一匹配进行映射。
+     * 映射表为共享列信息的 {@link InfluxRowMap}，不会为每一行创建哈希表。
      *
      * @param objs    对象数组流，其中每个对象数组表示一组数据记录
      * @param targets 用于映射的字段名称集合，字段顺序需与对象数组中的数据顺序一致
      * @return 映射后的键值对列表，如果出现字段数量与记录列数不一致，将返回null并记录错误日志
      */
     public static List<Map<String, Object>> compressToMapList(Stream<Object[]> objs, final SequencedCollection<String> targets) {
+        return compressToMapList(objs, targets, parallelMapping);
+    }
+
+    /**
+     * 将一个对象数组流压缩并映射为键值对列表，并使用指定的并行映射配置，参见 {@link #compressToMapList(Stream, SequencedCollection)}
+     *
+     * @param objs     对象数组流，其中每个对象数组表示一组数据记录
+     * @param targets  用于映射的字段名称集合，字段顺序需与对象数组中的数据顺序一致
+     * @param parallel 并行映射配置
+     * @return 映射后的键值对列表
+     */
+    public static List<Map<String, Object>> compressToMapList(Stream<Object[]> objs,
+                                                              final SequencedCollection<String> targets,
+                                                              ParallelMapping parallel) {
         if (targets == null || targets.isEmpty()) {
             log.warn("查询目标不存在");
             return Collections.emptyList();
         }
-        String[] targetsArray = targets.toArray(String[]::new);
-        return objs.map(obj -> {
+        // 所有行共享同一份列信息，每行仅包装其值数组
+        InfluxRowMap.Schema schema = new InfluxRowMap.Schema(targets);
+        return mapRows(objs, obj -> {
             // 要查询的参数数量与返回的结果集字段数量不一致
-            if (obj.length != targetsArray.length) {
-                log.error("查询参数数与结果集不一致: {}, {}", obj, targetsArray);
+            if (obj.length != schema.width()) {
+                log.error("查询参数数与结果集不一致: {}, {}", obj, targets);
                 return null;
             }
-            Map<String, Object> map = new HashMap<>(obj.length);
-            for (int i = 0; i < obj.length; i++) {
-                // 按位置匹配当前字段与字段名
-                map.put(targetsArray[i], obj[i]);
-            }
-            return map;
-        }).toList();
+            return (Map<String, Object>) new InfluxRowMap(schema, obj);
+        }, parallel);
     }
 
     public static Map<String, Object> compressToMap(Object[] obj, final SequencedCollection<String> targets) {
@@ -275,10 +348,14 @@ public class InfluxObjMapper {
         return new InfluxResult().addAllRow(compressToMapList(objList.stream(), targets));
     }
 
+    public static InfluxResult mapAllToResult(Stream<Object[]> objStream, SequencedCollection<String> targets, ParallelMapping parallel) {
+        return new InfluxResult().addAllRow(compressToMapList(objStream, targets, parallel));
+    }
+
     /**
      * 递归查找字段（支持 private 和父类字段）
      */
-    private static Field getField(Class<?> clazz, String fieldName) {
+    static Field getField(Class<?> clazz, String fieldName) {
         // 使用缓存代替大量catch异常造成性能下降
         return FIELD_CACHE.computeIfAbsent(
                 clazz.getName() + "#" + fieldName,
@@ -300,7 +377,7 @@ public class InfluxObjMapper {
      * 将下划线分割的命名（snake_case）转换为驼峰命名（lowerCamelCase）
      * 例如：sensor_id -> sensorId
      */
-    private static String toCamelCase(String s) {
+    static String toCamelCase(String s) {
         if (s == null) {
             return null;
         }
@@ -322,9 +399,18 @@ public class InfluxObjMapper {
         return sb.toString();
     }
 
-    private record OtherColumnsHolder(Map<String, Object> otherColumns, OtherColumns anno, List<Pattern> patterns) {
-        OtherColumnsHolder(Map<String, Object> otherColumns, OtherColumns anno) {
-            this(otherColumns, anno, Arrays.stream(anno.excludePatterns()).map(Pattern::compile).toList());
+    /**
+     * 并行映射配置：行数不小于阈值的结果集会被拆分为多段，在线程池中并发映射，结果顺序与结果集一致
+     *
+     * @param threshold 并行映射的行数阈值，不大于 0 表示不启用
+     * @param pool      并行映射使用的线程池，为 null 时使用公共线程池
+     */
+    public record ParallelMapping(int threshold, ForkJoinPool pool) {
+        /** 不启用并行映射 */
+        public static final ParallelMapping DISABLED = new ParallelMapping(0, null);
+
+        public ParallelMapping {
+            pool = pool == null ? ForkJoinPool.commonPool() : pool;
         }
     }
 }
@@ -0,0 +1,205 @@
+package com.wolfhouse.influxclient.core;
+
+import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 预编译的查询模板，由 {@link InfluxQueryWrapper#compile()} 生成。
+ * <p>
+ * 模板保存了构建完成的查询语句、计数语句、结果列布局以及参数占位名，创建后不可修改，可在多个线程间共享。
+ * 执行模板时仅需绑定新的参数值，不再重复进行字段校验与 SQL 拼接。
+ * <p>
+ * 注意：模板固定了查询的结构，若条件的数量或结构发生变化（例如 IN 条件的集合长度不同），需要重新编译。
+ * <p>
+ * 模板同时保存了时间范围防护所需的信息（是否包含时间条件、时间范围条件、能否拆分及注入时间下界后的语句），
+ * 查询客户端启用 {@link InfluxTimeRangeGuard} 时，每次执行模板都会按本次绑定的参数检查时间范围。
+ *
+ * @author Rylin Wolf
+ */
+@SuppressWarnings({"unused"})
+public final class InfluxQueryTemplate {
+    /** 查询的目标表 */
+    private final String                                  measurement;
+    /** 构建完成的查询语句 */
+    private final String                                  sql;
+    /** 构建完成的计数语句 */
+    private final String                                  countSql;
+    /** 结果列布局，若有别名则使用别名代替，顺序与结果集一致 */
+    private final SequencedCollection<String>             columns;
+    /** 参数占位名，按照在语句中出现的顺序排列 */
+    private final List<String>                            parameterNames;
+    /** 编译时的参数值，作为绑定时未指定参数的默认值 */
+    private final Map<String, Object>                     defaultParameters;
+    /** 查询超时时间，为 null 时使用客户端默认超时时间 */
+    private final Duration                                timeout;
+    /** 查询条件中是否包含时间列条件 */
+    private final boolean                                 hasTimeCondition;
+    /** 以 AND 连接、对整个条件生效的时间范围条件，值为编译时的参数值 */
+    private final List<InfluxConditionWrapper.TimeBound> timeBounds;
+    /** 查询能否按时间分片拆分 */
+    private final boolean                                 splittable;
+    /** 追加注入的时间下界条件后的查询语句，包含时间条件时为 null */
+    private final String                                  sinceSql;
+    /** 追加注入的时间下界条件后的计数语句，包含时间条件时为 null */
+    private final String                                  sinceCountSql;
+
+    InfluxQueryTemplate(@Nonnull String measurement,
+                        @Nonnull String sql,
+                        @Nonnull String countSql,
+                        @Nonnull SequencedCollection<String> columns,
+                        @Nullable Map<String, Object> parameters,
+                        @Nullable Duration timeout,
+                        @Nonnull Guard guard) {
+        this.measurement      = measurement;
+        this.sql              = sql;
+        this.countSql         = countSql;
+        this.timeout          = timeout;
+        this.hasTimeCondition = guard.hasTimeCondition();
+        this.timeBounds       = List.copyOf(guard.timeBounds());
+        this.splittable       = guard.splittable();
+        this.sinceSql         = guard.sinceSql();
+        this.sinceCountSql    = guard.sinceCountSql();
+        this.columns          = Collections.unmodifiableSequencedCollection(new LinkedHashSet<>(columns));
+        if (parameters == null || parameters.isEmpty()) {
+            this.parameterNames    = List.of();
+            this.defaultParameters = Collections.emptyMap();
+        } else {
+            this.parameterNames    = parameters.keySet()
+                                               .stream()
+                                               .sorted(Comparator.comparingInt(InfluxQueryTemplate::parameterIndex))
+                                               .toList();
+            // 参数值可能为 null，因此不使用 Map.copyOf
+            this.defaultParameters = Collections.unmodifiableMap(new HashMap<>(parameters));
+        }
+    }
+
+    // region 参数绑定
+
+    /**
+     * 按照参数占位名的顺序绑定参数值。
+     *
+     * @param values 参数值，数量必须与模板参数数量一致
+     * @return 参数占位名与值的映射
+     * @throws InfluxClientQueryException 参数数量与模板不一致时抛出
+     */
+    public Map<String, Object> bind(Object... values) {
+        if (values.length != parameterNames.size()) {
+            throw new InfluxClientQueryException("【InfluxQueryTemplate】参数数量不一致，需要: %d，实际: %d".formatted(parameterNames.size(), values.length));
+        }
+        Map<String, Object> params = new HashMap<>(parameterNames.size() * 2);
+        for (int i = 0; i < values.length; i++) {
+            params.put(parameterNames.get(i), values[i]);
+        }
+        return params;
+    }
+
+    /**
+     * 按照参数占位名绑定参数值，未指定的参数使用编译时的参数值。
+     *
+     * @param values 参数占位名与值的映射，可为 null
+     * @return 参数占位名与值的映射
+     * @throws InfluxClientQueryException 存在模板中不存在的参数占位名时抛出
+     */
+    public Map<String, Object> bind(@Nullable Map<String, Object> values) {
+        if (values == null || values.isEmpty()) {
+            return defaultParameters;
+        }
+        Map<String, Object> params = new HashMap<>(defaultParameters);
+        values.forEach((name, value) -> {
+            if (!defaultParameters.containsKey(name)) {
+                throw new InfluxClientQueryException("【InfluxQueryTemplate】模板中不存在参数: " + name);
+            }
+            params.put(name, value);
+        });
+        return params;
+    }
+    // endregion
+
+    // region 获取方法
+
+    public String measurement() {
+        return measurement;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public String countSql() {
+        return countSql;
+    }
+
+    public SequencedCollection<String> columns() {
+        return columns;
+    }
+
+    public List<String> parameterNames() {
+        return parameterNames;
+    }
+
+    public Map<String, Object> defaultParameters() {
+        return defaultParameters;
+    }
+
+    @Nullable
+    public Duration timeout() {
+        return timeout;
+    }
+
+    boolean hasTimeCondition() {
+        return hasTimeCondition;
+    }
+
+    List<InfluxConditionWrapper.TimeBound> timeBounds() {
+        return timeBounds;
+    }
+
+    boolean splittable() {
+        return splittable;
+    }
+
+    String sinceSql() {
+        return sinceSql;
+    }
+
+    String sinceCountSql() {
+        return sinceCountSql;
+    }
+    // endregion
+
+    /**
+     * 解析参数占位名中的序号（param_N），无法解析时排在末尾
+     */
+    private static int parameterIndex(String name) {
+        int idx = name.lastIndexOf('_');
+        try {
+            return Integer.parseInt(name.substring(idx + 1));
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * 编译时确定的时间范围防护信息
+     *
+     * @param hasTimeCondition 查询条件中是否包含时间列条件
+     * @param timeBounds       对整个条件生效的时间范围条件
+     * @param splittable       查询能否按时间分片拆分
+     * @param sinceSql         追加时间下界条件后的查询语句
+     * @param sinceCountSql    追加时间下界条件后的计数语句
+     */
+    record Guard(boolean hasTimeCondition,
+                 List<InfluxConditionWrapper.TimeBound> timeBounds,
+                 boolean splittable,
+                 String sinceSql,
+                 String sinceCountSql) {}
+
+    @Override
+    public String toString() {
+        return "InfluxQueryTemplate{sql='%s', parameters=%s}".formatted(sql, parameterNames);
+    }
+}
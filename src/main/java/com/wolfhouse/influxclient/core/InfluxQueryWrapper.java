@@ -1,19 +1,23 @@
 package com.wolfhouse.influxclient.core;
 
 import com.wolfhouse.influxclient.InfluxClientConstant;
+import com.wolfhouse.influxclient.constant.InfluxBuiltInTableMeta;
 import com.wolfhouse.influxclient.constant.select.ColSql;
+import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
 import com.wolfhouse.influxclient.exception.NoSuchTagOrFieldException;
 import com.wolfhouse.influxclient.pojo.AbstractActionInfluxObj;
 import com.wolfhouse.influxclient.pojo.InfluxFields;
 import com.wolfhouse.influxclient.pojo.InfluxTags;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
 import java.util.*;
 
 import static com.wolfhouse.influxclient.InfluxClientConstant.TIMESTAMP_FIELD;
@@ -63,6 +67,21 @@ public class InfluxQueryWrapper<T extends AbstractActionInfluxObj> extends BaseS
     private InfluxModifiersWrapper<T>     modifiersWrapper;
     /** 是否调用修饰符 */
     private boolean                       isModified                  = false;
+    /** 每组最新记录查询的分组列，为 null 时表示非每组最新记录查询 */
+    private LinkedHashSet<String>         latestPartitionBy;
+    /** 每组最新记录查询是否按时间降序，true 为最近一次，false 为最早一次 */
+    private boolean                       latestDesc                  = true;
+    /** 当前查询的超时时间，为 null 时使用客户端默认超时时间 */
+    private Duration                      timeout;
+    /** 标签与字段的列索引，标签或字段的键集合变化后重新获取 */
+    @ToString.Exclude
+    private transient InfluxColumnIndex   columnIndex;
+    /** 获取列索引时标签的键集合版本号 */
+    @ToString.Exclude
+    private transient long                columnIndexTagVersion;
+    /** 获取列索引时字段的键集合版本号 */
+    @ToString.Exclude
+    private transient long                columnIndexFieldVersion;
 
     // region 构造方法
 
@@ -289,28 +308,23 @@ public class InfluxQueryWrapper<T extends AbstractActionInfluxObj> extends BaseS
      */
     private void processColSql(ColSql field) {
         // 1. 构造 SQL 块
-        StringBuilder builder = new StringBuilder();
-        // 字段
-        builder.append(field.type().seg)
-               .append("(");
-        // 列
-        Collection<String> cols = field.cols();
-        if (!CollectionUtils.isEmpty(cols)) {
-            cols.forEach(c -> {
-                builder.append(columnQuotingDelimiter)
-                       .append(c)
-                       .append(columnQuotingDelimiter)
-                       .append(",");
-            });
-            builder.deleteCharAt(builder.length() - 1);
-        }
-        builder.append(")");
+        String sql = renderColSql(field);
         // 2. 处理别名
         String alias = field.alias();
         if (!StringUtils.hasLength(alias)) {
-            alias = field.type().name() + "_" + String.join("-", field.cols());
+            alias = field.defaultAlias();
         }
-        funcAliasMap.put(builder.toString(), alias);
+        funcAliasMap.put(sql, alias);
+    }
+
+    /**
+     * 构建特殊查询字段的 SQL 片段（不包含别名），列名使用当前构造器的列名引用符
+     *
+     * @param field 特殊查询字段对象
+     * @return SQL 片段
+     */
+    String renderColSql(ColSql field) {
+        return field.toSql(this::surroundWithDelimiter);
     }
 
     /**
@@ -324,6 +338,83 @@ public class InfluxQueryWrapper<T extends AbstractActionInfluxObj> extends BaseS
         return this;
     }
 
+    /**
+     * 将当前查询转换为每组最新（或最早）记录查询。
+     * <p>
+     * 构建时会在服务端通过窗口函数为每个分组的记录按时间编号，仅保留每组的第一条记录，只需执行一次查询：
+     * <p>
+     * SELECT cols FROM (SELECT cols, ROW_NUMBER() OVER (PARTITION BY groupBy ORDER BY time DESC) AS __rn FROM table WHERE ...) WHERE __rn = 1
+     * <p>
+     * 查询修饰符（排序、分页等）作用于外层查询，即作用于每组的最新记录。该查询不应与聚合函数同时使用。
+     *
+     * @param desc        是否按时间降序，true 为每组最近一次记录，false 为每组最早一次记录
+     * @param partitionBy 分组列，为空时获取全表最新（或最早）的一条记录
+     * @return 当前 InfluxQueryWrapper 实例，用于支持链式调用。
+     */
+    public InfluxQueryWrapper<T> latest(boolean desc, String... partitionBy) {
+        this.latestDesc        = desc;
+        this.latestPartitionBy = new LinkedHashSet<>(Arrays.asList(partitionBy));
+        return this;
+    }
+
+    /**
+     * 设置当前查询的超时时间，覆盖客户端默认超时时间。
+     * 查询在超时时间内未完成时，底层查询将被取消，并抛出 {@link com.wolfhouse.influxclient.exception.InfluxClientTimeoutException}。
+     *
+     * @param timeout 超时时间，不为正数时表示不限制
+     * @return 当前 InfluxQueryWrapper 实例，用于支持链式调用。
+     */
+    public InfluxQueryWrapper<T> timeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * 判断当前查询是否已指定查询目标（普通字段或特殊查询字段）
+     *
+     * @return 是否已指定查询目标
+     */
+    public boolean hasTargets() {
+        return !aliasMap.isEmpty() || !funcAliasMap.isEmpty();
+    }
+
+    /**
+     * 创建使用指定查询目标的新构造器，当前构造器不会被修改。
+     * <p>
+     * 新构造器复制当前构造器的表、引用对象、引用符、时间字段、每组最新记录及超时配置，
+     * 并与当前构造器共享查询条件与查询修饰符，查询目标仅包含指定的目标。
+     *
+     * @param targets 查询目标
+     * @return 新的 InfluxQueryWrapper 实例
+     */
+    public InfluxQueryWrapper<T> copyWithTargets(SequencedCollection<?> targets) {
+        InfluxQueryWrapper<T> copy = new InfluxQueryWrapper<>();
+        copy.isLambda                    = isLambda;
+        copy.withTime                    = withTime;
+        copy.measurement                 = measurement;
+        copy.reference                   = reference;
+        copy.measurementQuotingDelimiter = measurementQuotingDelimiter;
+        copy.columnQuotingDelimiter      = columnQuotingDelimiter;
+        copy.tags                        = tags;
+        copy.fields                      = fields;
+        copy.conditionWrapper            = conditionWrapper;
+        copy.modifiersWrapper            = modifiersWrapper;
+        copy.isModified                  = isModified;
+        copy.latestPartitionBy           = latestPartitionBy == null ? null : new LinkedHashSet<>(latestPartitionBy);
+        copy.latestDesc                  = latestDesc;
+        copy.timeout                     = timeout;
+        return copy.select(targets);
+    }
+
+    /**
+     * 当前查询是否为每组最新记录查询
+     *
+     * @return 是否为每组最新记录查询
+     */
+    public boolean isLatest() {
+        return latestPartitionBy != null;
+    }
+
     // endregion
 
     // region 执行构建 终结方法
@@ -342,6 +433,53 @@ public class InfluxQueryWrapper<T extends AbstractActionInfluxObj> extends BaseS
         return res;
     }
 
+    /**
+     * 构建查询语句，并在查询条件整体之后追加时间下界条件：( 已有条件 ) AND ( time &gt;= $sinceParam )。
+     * <p>
+     * 追加的条件仅存在于返回的语句中，不会修改当前构造器的查询条件，参数值由调用方加入本次执行的查询参数，
+     * 参见 {@link InfluxTimeRangeGuard}。
+     *
+     * @param sinceParam 时间下界的参数占位名
+     * @return 构建后的 SQL 语句
+     */
+    String build(@Nonnull String sinceParam) {
+        if (!validate()) {
+            this.isBuild = false;
+            return null;
+        }
+        StringBuilder builder = new StringBuilder();
+        buildTarget(builder);
+        buildFromTable(builder);
+        buildCondition(builder, sinceParam);
+        buildModifies(builder);
+        this.isBuild = true;
+        return builder.toString().trim();
+    }
+
+    /**
+     * 终结方法，构建当前查询并编译为不可变的查询模板 {@link InfluxQueryTemplate}。
+     * <p>
+     * 模板保存了查询语句、计数语句、结果列布局及参数占位名，适用于结构固定、仅参数值变化的高频查询。
+     * 编译后对当前构造器的修改不会影响已生成的模板。
+     *
+     * @return 查询模板
+     * @throws InfluxClientQueryException 如果当前查询无法构建
+     */
+    public InfluxQueryTemplate compile() {
+        String sql = build();
+        if (sql == null) {
+            throw new InfluxClientQueryException("【InfluxQueryWrapper】无法编译查询模板，查询语句未构建");
+        }
+        Map<String, Object>       parameters = conditionWrapper == null ? null : conditionWrapper.getParameters();
+        boolean                   timed      = conditionWrapper != null && conditionWrapper.hasTimeCondition();
+        InfluxQueryTemplate.Guard guard      = new InfluxQueryTemplate.Guard(timed,
+                                                                              timed ? conditionWrapper.getTimeBounds() : List.of(),
+                                                                              InfluxTimeRangeGuard.isSplittable(this),
+                                                                              timed ? null : build(InfluxTimeRangeGuard.SINCE_PARAM),
+                                                                              timed ? null : countSql(InfluxTimeRangeGuard.SINCE_PARAM));
+        return new InfluxQueryTemplate(measurement, sql, countSql(), mixedTargetsWithAlias, parameters, timeout, guard);
+    }
+
     /**
      * 构建目标字段部分的查询语句。
      *
@@ -349,7 +487,29 @@ public class InfluxQueryWrapper<T extends AbstractActionInfluxObj> extends BaseS
      */
     @Override
     protected void buildTarget(StringBuilder builder) {
+        if (!isLatest()) {
+            builder.append("SELECT ");
+            buildSelectTargets(builder);
+            return;
+        }
+        // 每组最新记录查询：外层查询目标为内层查询的结果列，内层查询额外添加窗口函数编号列
+        StringBuilder inner = new StringBuilder();
+        buildSelectTargets(inner);
         builder.append("SELECT ");
+        mixedTargetsWithAlias.forEach(c -> builder.append(surroundWithDelimiter(c)).append(","));
+        builder.deleteCharAt(builder.length() - 1);
+        builder.append(" FROM (SELECT ")
+               .append(inner)
+               .append(",");
+        buildRowNumber(builder);
+    }
+
+    /**
+     * 构建查询目标字段列表（不包含 SELECT 关键字），并初始化目标字段集合。
+     *
+     * @param builder 用于构建查询语句的 {@code StringBuilder} 实例
+     */
+    private void buildSelectTargets(StringBuilder builder) {
         // 初始化目标字段集合
         this.mixedTargetsWithAlias = new LinkedHashSet<>();
         // 普通查询字段
@@ -433,20 +593,41 @@ public class InfluxQueryWrapper<T extends AbstractActionInfluxObj> extends BaseS
 
     @Override
     protected void buildCondition(StringBuilder builder) {
+        buildCondition(builder, null);
+    }
+
+    /**
+     * 构建查询条件，并追加时间下界条件
+     *
+     * @param builder    构建目标，围绕该 builder 进行拼接
+     * @param sinceParam 时间下界的参数占位名，为 null 时不追加
+     */
+    private void buildCondition(StringBuilder builder, @Nullable String sinceParam) {
         // 初始化查询条件
         this.isConditioned = false;
         // 处理查询条件
+        String conditions = "";
         if (this.conditionWrapper != null && !this.conditionWrapper.getParameters().isEmpty()) {
             // 验证查询条件字段是否存在
             validSelectFields(this.conditionWrapper.getTargets());
+            conditions = this.conditionWrapper.sql();
+        }
+        conditions = appendSince(conditions, sinceParam);
+        if (!conditions.isEmpty()) {
             // 添加查询条件
-            builder.append(" WHERE (").append(this.conditionWrapper.sql()).append(")");
+            builder.append(" WHERE (").append(conditions).append(")");
             this.isConditioned = true;
         }
     }
 
     @Override
     protected void buildModifies(StringBuilder builder) {
+        if (isLatest()) {
+            // 闭合每组最新记录查询的内层查询
+            builder.append(") WHERE ")
+                   .append(surroundWithDelimiter(InfluxClientConstant.LATEST_ROW_NUMBER_FIELD))
+                   .append(" = 1");
+        }
         if (this.modifiersWrapper == null) {
             return;
         }
@@ -462,13 +643,70 @@ public class InfluxQueryWrapper<T extends AbstractActionInfluxObj> extends BaseS
         }
         // 验证查询目标
         validSelectFields(aliasMap.keySet());
+        // 验证每组最新记录查询的分组列
+        if (isLatest()) {
+            validSelectFields(latestPartitionBy);
+        }
         return true;
     }
 
+    /**
+     * 构建当前查询对应的计数语句，统计当前查询条件匹配的记录数量。
+     * <p>
+     * 对于每组最新记录查询，统计的是分组数量（即结果行数）；查询修饰符不参与计数。
+     *
+     * @return 计数语句
+     */
+    public String countSql() {
+        return countSql(null);
+    }
+
+    /**
+     * 构建当前查询对应的计数语句，并在查询条件整体之后追加时间下界条件，参见 {@link #build(String)}
+     *
+     * @param sinceParam 时间下界的参数占位名，为 null 时不追加
+     * @return 计数语句
+     */
+    String countSql(@Nullable String sinceParam) {
+        String        conditions   = appendSince(conditionWrapper == null ? "" : conditionWrapper.sql(), sinceParam);
+        StringBuilder countBuilder = new StringBuilder("select count(0) count from ");
+        if (isLatest()) {
+            countBuilder.append("(SELECT ");
+            buildRowNumber(countBuilder);
+            buildFromTable(countBuilder);
+        } else {
+            countBuilder.append(surroundWithTableDelimiter(measurement));
+        }
+        if (!conditions.isEmpty()) {
+            countBuilder.append(" where ( ").append(conditions).append(" )");
+        }
+        if (isLatest()) {
+            countBuilder.append(") WHERE ")
+                        .append(surroundWithDelimiter(InfluxClientConstant.LATEST_ROW_NUMBER_FIELD))
+                        .append(" = 1");
+        }
+        return countBuilder.toString();
+    }
+
     // endregion
 
     // region 私有方法
 
+    /**
+     * 在条件语句整体之后追加时间下界条件
+     *
+     * @param conditions 条件语句，无条件时为空字符串
+     * @param sinceParam 时间下界的参数占位名，为 null 时不追加
+     * @return 追加后的条件语句
+     */
+    private static String appendSince(String conditions, @Nullable String sinceParam) {
+        if (sinceParam == null) {
+            return conditions;
+        }
+        String since = "(`" + InfluxBuiltInTableMeta.TIME_TAG + "` >= $" + sinceParam + ")";
+        return conditions.isEmpty() ? since : "(" + conditions + ") AND " + since;
+    }
+
     /**
      * 用于构建前校验，验证当前查询参数是否为有效状态。
      * 该方法通过检查目标测量名称及查询参数来判断查询的有效性：
@@ -505,28 +743,29 @@ public class InfluxQueryWrapper<T extends AbstractActionInfluxObj> extends BaseS
         if (isLambda) {
             return;
         }
-        // 获取标签、字段约束，抽象映射类确保标签、字段不会有交集
-        Set<String>     tagKeys     = this.tags.getTagKeys();
-        Set<String>     fieldKeys   = this.fields.getFieldKeys();
-        HashSet<String> builtinKeys = new HashSet<>(List.of(InfluxClientConstant.BUILD_IN_FIELDS));
-        List<String>    targets     = new ArrayList<>(fields);
-
-        // 获取查询字段与允许字段集的交集，若交集总数量等同于查询字段数量，则查询字段全部存在
-        tagKeys.retainAll(targets);
-        fieldKeys.retainAll(targets);
-        builtinKeys.retainAll(targets);
-        int retains = tagKeys.size() + fieldKeys.size() + builtinKeys.size();
-        if (retains != targets.size()) {
-            // 非全部存在，拼接存在的查询字段
-            tagKeys.addAll(fieldKeys);
-            // 拼接内置字段
-            tagKeys.addAll(builtinKeys);
+        // 通过标签、字段及内置字段的列索引校验，查询字段全部存在时不创建任何集合
+        InfluxColumnIndex index = columnIndex();
+        if (!index.containsAll(fields)) {
             // 抽离不存在的查询字段
-            targets.removeAll(tagKeys);
-            throw new NoSuchTagOrFieldException(targets.toArray(new String[0]));
+            throw new NoSuchTagOrFieldException(index.missing(fields));
         }
     }
 
+    /**
+     * 获取标签与字段的列索引，标签或字段的键集合未变化时复用已获取的索引
+     */
+    private InfluxColumnIndex columnIndex() {
+        long tagVersion   = this.tags == null ? 0L : this.tags.getKeyVersion();
+        long fieldVersion = this.fields == null ? 0L : this.fields.getKeyVersion();
+        if (this.columnIndex == null || tagVersion != this.columnIndexTagVersion || fieldVersion != this.columnIndexFieldVersion) {
+            Class<?> referenceClass = this.reference == null ? AbstractActionInfluxObj.class : this.reference.getClass();
+            this.columnIndex             = InfluxColumnIndex.of(referenceClass, this.tags, this.fields);
+            this.columnIndexTagVersion   = tagVersion;
+            this.columnIndexFieldVersion = fieldVersion;
+        }
+        return this.columnIndex;
+    }
+
     /**
      * 初始化引用对象。
      * 如果当前引用对象为空，则根据 `measurement` 字段创建一个匿名的引用对象实例，
@@ -608,6 +847,26 @@ public class InfluxQueryWrapper<T extends AbstractActionInfluxObj> extends BaseS
 
     // region 私有方法
 
+    /**
+     * 构建每组最新记录查询的窗口函数编号列：ROW_NUMBER() OVER (PARTITION BY ... ORDER BY time DESC) AS `__rn`
+     *
+     * @param builder 用于构建查询语句的 {@code StringBuilder} 实例
+     */
+    private void buildRowNumber(StringBuilder builder) {
+        builder.append("ROW_NUMBER() OVER (");
+        if (!latestPartitionBy.isEmpty()) {
+            builder.append("PARTITION BY ");
+            latestPartitionBy.forEach(c -> builder.append(surroundWithDelimiter(c)).append(","));
+            builder.deleteCharAt(builder.length() - 1);
+            builder.append(" ");
+        }
+        builder.append("ORDER BY ")
+               .append(TIMESTAMP_FIELD)
+               .append(latestDesc ? " DESC" : " ASC")
+               .append(") AS ")
+               .append(surroundWithDelimiter(InfluxClientConstant.LATEST_ROW_NUMBER_FIELD));
+    }
+
     protected String surroundWithDelimiter(String str) {
         return columnQuotingDelimiter + str + columnQuotingDelimiter;
     }
@@ -0,0 +1,791 @@
+package com.wolfhouse.influxclient.core;
+
+import com.wolfhouse.influxclient.anno.InfluxConstructor;
+import com.wolfhouse.influxclient.anno.OtherColumns;
+import com.wolfhouse.influxclient.anno.OverrideColumn;
+import com.wolfhouse.influxclient.exception.InfluxClientException;
+import com.wolfhouse.influxclient.typehandler.*;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 行映射器，将结果集中的一行（对象数组）映射为指定类的实例。
+ * <p>
+ * 每个目标类仅生成一次映射器：构造方法、字段的读写通过 {@link MethodHandle} 完成，
+ * {@link OverrideColumn}、{@link InfluxTypeHandler}、{@link OtherColumns} 等注解在生成映射器及映射计划时解析，
+ * 并按列布局缓存映射计划（{@link Plan}），映射每一行时不再进行反射查找、注解读取与列名解析。映射规则与 {@link InfluxObjMapper#map} 一致。
+ * <p>
+ * 目标类为 record 或包含标注了 {@link InfluxConstructor} 的构造方法时，映射计划预先确定每一列对应的构造方法参数位置，
+ * 每行记录仅调用一次构造方法创建实例，不再逐个注入字段，可用于映射不可变的值对象。
+ * <p>
+ * 未标注 {@link InfluxTypeHandler} 的字段与参数，在生成映射计划时按其类型与列类型从 {@link TypeHandlerRegistry} 中查找类型处理器；
+ * 基本类型字段使用基本类型处理器时，转换结果直接写入字段，不经过装箱。
+ *
+ * @param <T> 目标类型
+ * @author Rylin Wolf
+ */
+@Slf4j
+public final class InfluxRowMapper<T> {
+    /** 缓存类 → 行映射器 */
+    private static final Map<Class<?>, InfluxRowMapper<?>> MAPPER_CACHE = new ConcurrentHashMap<>();
+    /** 无参构造方法与 OtherColumns 字段读取方法的统一类型 */
+    private static final MethodType                        CONSTRUCTOR  = MethodType.methodType(Object.class);
+    private static final MethodType                        GETTER       = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType                        SETTER       = MethodType.methodType(void.class, Object.class, Object.class);
+    /** 每个目标类缓存的映射计划数量上限 */
+    private static final int                               MAX_PLANS    = 256;
+    /** 整数基本类型 → 由 long 检查范围后转换的方法，类型为 (long)type，long 自身为 null */
+    private static final Map<Class<?>, MethodHandle>       NARROW_LONG  = new HashMap<>();
+
+    static {
+        NARROW_LONG.put(long.class, null);
+        NARROW_LONG.put(int.class, narrowing("toIntExact", Math.class, int.class));
+        NARROW_LONG.put(short.class, narrowing("toShortExact", InfluxRowMapper.class, short.class));
+        NARROW_LONG.put(byte.class, narrowing("toByteExact", InfluxRowMapper.class, byte.class));
+    }
+
+    /** 目标类 */
+    private final Class<T>                          clazz;
+    /** 无参构造方法，类型为 ()Object，通过构造方法创建实例时为 null */
+    private final MethodHandle                      constructor;
+    /** 通过构造方法创建实例时的构造器，按字段注入时为 null */
+    private final Creator                           creator;
+    /** OtherColumns 字段读取方法，类型为 (Object)Object，类中不存在 OtherColumns 字段时为 null */
+    private final MethodHandle                      otherColumnsGetter;
+    /** OtherColumns 排除列正则 */
+    private final List<Pattern>                     otherColumnsPatterns;
+    /** 类级别的覆盖注解 */
+    private final OverrideColumn                    classOverrideColumn;
+    /** 缓存列布局 → 映射计划 */
+    private final Map<PlanKey, Plan>                plans    = new ConcurrentHashMap<>();
+
+    private InfluxRowMapper(Class<T> clazz) {
+        this.clazz = clazz;
+        MethodHandles.Lookup lookup             = MethodHandles.lookup();
+        Constructor<?>       creatorConstructor = findCreatorConstructor(clazz);
+        if (creatorConstructor != null) {
+            this.creator              = Creator.of(lookup, clazz, creatorConstructor);
+            this.constructor          = null;
+            this.otherColumnsGetter   = null;
+            this.otherColumnsPatterns = creator.otherColumnsPatterns;
+            this.classOverrideColumn  = null;
+            return;
+        }
+        this.creator = null;
+        try {
+            Constructor<T> ctor = clazz.getDeclaredConstructor();
+            ctor.setAccessible(true);
+            this.constructor = lookup.unreflectConstructor(ctor).asType(CONSTRUCTOR);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new InfluxClientException("【InfluxRowMapper】生成映射器失败，类 %s 缺少可用的无参构造方法".formatted(clazz.getName()), e);
+        }
+        Field otherColumnsField = InfluxObjMapper.findOtherColumnsField(clazz);
+        if (otherColumnsField == null) {
+            this.otherColumnsGetter   = null;
+            this.otherColumnsPatterns = List.of();
+        } else {
+            this.otherColumnsGetter   = getter(lookup, otherColumnsField);
+            this.otherColumnsPatterns = Arrays.stream(otherColumnsField.getAnnotation(OtherColumns.class).excludePatterns())
+                                              .map(Pattern::compile)
+                                              .toList();
+        }
+        this.classOverrideColumn = clazz.getAnnotation(OverrideColumn.class);
+    }
+
+    /**
+     * 获取指定类的行映射器，每个类仅生成一次
+     *
+     * @param clazz 目标类，需包含无参构造方法
+     * @return 行映射器
+     * @throws InfluxClientException 目标类缺少可用的无参构造方法时抛出
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> InfluxRowMapper<T> of(@Nonnull Class<T> clazz) {
+        return (InfluxRowMapper<T>) MAPPER_CACHE.computeIfAbsent(clazz, InfluxRowMapper::new);
+    }
+
+    /**
+     * 将一行记录映射为目标类实例
+     *
+     * @param row     一行记录
+     * @param targets 列名，顺序与记录中的值一一对应
+     * @return 目标类实例
+     */
+    public T map(@Nonnull Object[] row, @Nonnull SequencedCollection<String> targets) {
+        return plan(targets, Map.of()).map(row);
+    }
+
+    /**
+     * 判断目标类是否通过构造方法创建实例，即目标类为 record 或包含标注了 {@link InfluxConstructor} 的构造方法
+     *
+     * @param clazz 目标类
+     * @return 是否通过构造方法创建实例
+     */
+    public static boolean isConstructorMapped(@Nonnull Class<?> clazz) {
+        return findCreatorConstructor(clazz) != null;
+    }
+
+    /**
+     * 判断映射时是否会使用指定的列：列与字段（或构造方法参数）匹配，或存入 OtherColumns
+     *
+     * @param column 列名
+     * @return 映射时是否会使用该列
+     */
+    boolean accepts(String column) {
+        ColumnBinding binding = bind(column, null);
+        if (binding.accessor != null || binding.parameter >= 0) {
+            return true;
+        }
+        boolean hasOtherColumns = creator == null ? otherColumnsGetter != null : creator.otherColumnsParameter >= 0;
+        return hasOtherColumns && !binding.excluded;
+    }
+
+    /**
+     * 获取指定列布局的映射计划，同一列布局仅解析一次。
+     * <p>
+     * 映射计划按列的位置预先确定每一列对应的字段访问器，以及未匹配字段的列是否存入 OtherColumns，
+     * 映射同一结果集的多行记录时应当获取一次映射计划并重复使用。
+     *
+     * @param targets 列名，顺序与记录中的值一一对应
+     * @return 映射计划
+     */
+    public Plan plan(@Nonnull SequencedCollection<String> targets) {
+        return plan(targets, Map.of());
+    }
+
+    /**
+     * 获取指定列布局及列类型下的映射计划，列类型用于从 {@link TypeHandlerRegistry} 中查找按列类型注册的类型处理器。
+     * <p>
+     * 列绑定按列布局缓存，每次获取时通过 {@link TypeHandler#forColumn(String)} 重新获取各列的类型处理器，
+     * 因此按列保存状态的处理器（如检测到的时间单位）仅在同一个映射计划（即同一结果集）内复用。
+     *
+     * @param targets     列名，顺序与记录中的值一一对应
+     * @param columnTypes 列名 → InfluxDB 列类型（information_schema.columns 中的 data_type），未知时为空
+     * @return 映射计划
+     */
+    public Plan plan(@Nonnull SequencedCollection<String> targets, @Nonnull Map<String, String> columnTypes) {
+        PlanKey key     = new PlanKey(List.copyOf(targets), columnTypes.isEmpty() ? Map.of() : Map.copyOf(columnTypes));
+        Plan    plan    = plans.get(key);
+        long    version = TypeHandlerRegistry.version();
+        if (plan == null || plan.version != version) {
+            if (plans.size() >= MAX_PLANS) {
+                // 列布局过多时（如动态拼接查询列），清空后重新缓存，避免无限增长
+                plans.clear();
+            }
+            // 注册表变化后，重新生成映射计划以使用新的类型处理器
+            plan = plans.compute(key, (k, cached) -> cached == null || cached.version != version ? new Plan(k, version) : cached);
+        }
+        return plan.forResult();
+    }
+
+    // region 私有方法
+
+    @SuppressWarnings("unchecked")
+    private T newInstance() {
+        try {
+            return (T) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> otherColumns(T t) {
+        if (otherColumnsGetter == null) {
+            return null;
+        }
+        Object o;
+        try {
+            o = otherColumnsGetter.invokeExact((Object) t);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+        if (o == null) {
+            throw new NullPointerException("【InfluxRowMapper】注入 OtherColumns 失败，字段未初始化");
+        }
+        if (!(o instanceof Map)) {
+            throw new ClassCastException("【InfluxRowMapper】OtherColumns 仅能用于 Map 类");
+        }
+        return (Map<String, Object>) o;
+    }
+
+    /**
+     * 解析列绑定：将蛇形命名转换为驼峰命名后匹配字段，找不到时使用原名匹配；
+     * 均未匹配时，根据 OtherColumns 排除正则判断该列是否被排除
+     */
+    private ColumnBinding bind(String name, String columnType) {
+        if (creator != null) {
+            int     parameter = creator.indexOf(name);
+            boolean excluded  = parameter < 0 && otherColumnsPatterns.stream().anyMatch(p -> p.matcher(name).matches());
+            TypeHandler<?> source = parameter < 0 ? null : creator.handlerOf(parameter, columnType);
+            return new ColumnBinding(null, parameter, source == null ? null : source.forColumn(name), excluded, source);
+        }
+        Field field = InfluxObjMapper.getField(clazz, InfluxObjMapper.toCamelCase(name));
+        if (field == null) {
+            field = InfluxObjMapper.getField(clazz, name);
+        }
+        if (field != null) {
+            // 字段注解优先，未标注时从注册表中查找
+            InfluxTypeHandler handlerAnno = field.getAnnotation(InfluxTypeHandler.class);
+            TypeHandler<?>    source      = handlerAnno == null
+                                            ? TypeHandlerRegistry.resolve(field.getType(), columnType)
+                                            : InfluxObjMapper.handlerOf(handlerAnno.value());
+            return new ColumnBinding(accessor(field, source == null ? null : source.forColumn(name)), -1, null, false, source);
+        }
+        boolean excluded = otherColumnsPatterns.stream().anyMatch(p -> p.matcher(name).matches());
+        return new ColumnBinding(null, -1, null, excluded, null);
+    }
+
+    private FieldAccessor accessor(Field field, TypeHandler<?> handler) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        // 字段的覆盖注解优先级高于类
+        OverrideColumn override = field.getAnnotation(OverrideColumn.class);
+        override = override == null ? classOverrideColumn : override;
+        MethodHandle   setter;
+        try {
+            field.setAccessible(true);
+            setter = lookup.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            throw new InfluxClientException("【InfluxRowMapper】生成映射器失败，无法写入字段 %s#%s".formatted(clazz.getName(), field.getName()), e);
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            setter = MethodHandles.dropArguments(setter, 0, Object.class);
+        }
+        MethodHandle getter = override != null && override.ignoreNull() ? getter(lookup, field) : null;
+        return new FieldAccessor(field,
+                                 MethodType.methodType(field.getType()).wrap().returnType(),
+                                 setter.asType(SETTER),
+                                 getter == null ? primitiveSetter(field.getType(), handler, setter) : null,
+                                 getter,
+                                 handler);
+    }
+
+    /**
+     * 基本类型字段使用基本类型处理器时，生成以基本类型接收值的写入方法，类型为 (Object, long|double|boolean)void，
+     * 其余情况返回 null。写入 int、short、byte 字段前检查取值范围，超出范围时抛出 {@link ArithmeticException}
+     */
+    private static MethodHandle primitiveSetter(Class<?> type, TypeHandler<?> handler, MethodHandle setter) {
+        MethodHandle target = setter.asType(MethodType.methodType(void.class, Object.class, type));
+        if (handler instanceof LongTypeHandler && NARROW_LONG.containsKey(type)) {
+            MethodHandle narrow = NARROW_LONG.get(type);
+            return narrow == null ? target : MethodHandles.filterArguments(target, 1, narrow);
+        }
+        if (handler instanceof DoubleTypeHandler && (type == double.class || type == float.class)) {
+            // float 字段默认不注册处理器，显式注册 double 处理器时按窄化转换舍入
+            return MethodHandles.explicitCastArguments(target, MethodType.methodType(void.class, Object.class, double.class));
+        }
+        if (handler instanceof BooleanTypeHandler && type == boolean.class) {
+            return target;
+        }
+        return null;
+    }
+
+    private static short toShortExact(long value) {
+        if ((short) value != value) {
+            throw new ArithmeticException("short overflow: " + value);
+        }
+        return (short) value;
+    }
+
+    private static byte toByteExact(long value) {
+        if ((byte) value != value) {
+            throw new ArithmeticException("byte overflow: " + value);
+        }
+        return (byte) value;
+    }
+
+    private static MethodHandle narrowing(String name, Class<?> owner, Class<?> type) {
+        try {
+            return MethodHandles.lookup().findStatic(owner, name, MethodType.methodType(type, long.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * 查找用于创建实例的构造方法：优先使用标注了 {@link InfluxConstructor} 的构造方法，其次为 record 的规范构造方法
+     */
+    private static Constructor<?> findCreatorConstructor(Class<?> clazz) {
+        for (Constructor<?> ctor : clazz.getDeclaredConstructors()) {
+            if (ctor.isAnnotationPresent(InfluxConstructor.class)) {
+                return ctor;
+            }
+        }
+        if (!clazz.isRecord()) {
+            return null;
+        }
+        Class<?>[] types = Arrays.stream(clazz.getRecordComponents())
+                                 .map(RecordComponent::getType)
+                                 .toArray(Class<?>[]::new);
+        try {
+            return clazz.getDeclaredConstructor(types);
+        } catch (NoSuchMethodException e) {
+            throw new InfluxClientException("【InfluxRowMapper】生成映射器失败，record %s 缺少规范构造方法".formatted(clazz.getName()), e);
+        }
+    }
+
+    private MethodHandle getter(MethodHandles.Lookup lookup, Field field) {
+        try {
+            field.setAccessible(true);
+            MethodHandle getter = lookup.unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            }
+            return getter.asType(GETTER);
+        } catch (IllegalAccessException e) {
+            throw new InfluxClientException("【InfluxRowMapper】生成映射器失败，无法读取字段 %s#%s".formatted(clazz.getName(), field.getName()), e);
+        }
+    }
+    // endregion
+
+    /**
+     * 映射计划，即某一列布局下每一列的映射方式
+     */
+    public final class Plan {
+        /** 列名，已去重 */
+        private final String[]        names;
+        /** 各列的绑定，与列名一一对应 */
+        private final ColumnBinding[] bindings;
+        /** 生成映射计划时的类型处理器注册表版本 */
+        private final long            version;
+
+        private Plan(PlanKey key, long version) {
+            this.version  = version;
+            // 列名去重后与记录中的值按位置对应
+            this.names    = new LinkedHashSet<>(key.targets).toArray(String[]::new);
+            this.bindings = new ColumnBinding[names.length];
+            for (int i = 0; i < names.length; i++) {
+                bindings[i] = bind(names[i], key.columnTypes.get(names[i]));
+            }
+        }
+
+        private Plan(String[] names, ColumnBinding[] bindings, long version) {
+            this.names    = names;
+            this.bindings = bindings;
+            this.version  = version;
+        }
+
+        /**
+         * 为一个结果集获取映射计划：重新获取各列的类型处理器，处理器均未按列创建新实例时返回当前计划
+         */
+        private Plan forResult() {
+            ColumnBinding[] copy = null;
+            for (int i = 0; i < bindings.length; i++) {
+                ColumnBinding binding = bindings[i].forResult(names[i]);
+                if (binding != bindings[i]) {
+                    copy    = copy == null ? bindings.clone() : copy;
+                    copy[i] = binding;
+                }
+            }
+            return copy == null ? this : new Plan(names, copy, version);
+        }
+
+        /**
+         * 按映射计划将一行记录映射为目标类实例
+         *
+         * @param row 一行记录
+         * @return 目标类实例
+         */
+        public T map(@Nonnull Object[] row) {
+            assert names.length == row.length : "查询参数数与结果集不一致！";
+            if (creator != null) {
+                return create(row);
+            }
+            T                   t            = newInstance();
+            Map<String, Object> otherColumns = otherColumns(t);
+            int                 size         = Math.min(row.length, names.length);
+            for (int i = 0; i < size; i++) {
+                ColumnBinding binding = bindings[i];
+                if (binding.accessor != null) {
+                    binding.accessor.set(t, row[i]);
+                    continue;
+                }
+                if (otherColumns == null) {
+                    // 无该字段，直接跳过
+                    log.warn("【InfluxRowMapper】尝试注入字段失败，类 {} 不包含该字段: {}", clazz, names[i]);
+                    continue;
+                }
+                if (!binding.excluded) {
+                    otherColumns.put(names[i], row[i]);
+                }
+            }
+            return t;
+        }
+
+        /**
+         * 将一行记录转换为构造方法参数，并调用一次构造方法创建实例
+         */
+        @SuppressWarnings("unchecked")
+        private T create(Object[] row) {
+            Object[]            args         = creator.defaults.clone();
+            Map<String, Object> otherColumns = creator.otherColumnsParameter < 0 ? null : new LinkedHashMap<>();
+            int                 size         = Math.min(row.length, names.length);
+            for (int i = 0; i < size; i++) {
+                ColumnBinding binding = bindings[i];
+                if (binding.parameter >= 0) {
+                    args[binding.parameter] = creator.convert(binding.parameter, binding.handler, row[i]);
+                    continue;
+                }
+                if (otherColumns == null) {
+                    // 无该参数，直接跳过
+                    log.warn("【InfluxRowMapper】尝试注入参数失败，类 {} 的构造方法不包含该参数: {}", clazz, names[i]);
+                    continue;
+                }
+                if (!binding.excluded) {
+                    otherColumns.put(names[i], row[i]);
+                }
+            }
+            if (otherColumns != null) {
+                args[creator.otherColumnsParameter] = otherColumns;
+            }
+            return (T) creator.newInstance(args);
+        }
+    }
+
+    /**
+     * 映射计划的缓存键
+     *
+     * @param targets     列名
+     * @param columnTypes 列名 → InfluxDB 列类型
+     */
+    private record PlanKey(List<String> targets, Map<String, String> columnTypes) {}
+
+    /**
+     * 列绑定
+     *
+     * @param accessor  列对应的字段访问器，列未匹配字段或通过构造方法创建实例时为 null
+     * @param parameter 列对应的构造方法参数位置，列未匹配参数或按字段注入时为 -1
+     * @param handler   列对应的构造方法参数的类型处理器，无处理器或按字段注入时为 null
+     * @param excluded  未匹配的列是否被 OtherColumns 排除
+     * @param source    通过 {@link TypeHandler#forColumn(String)} 获取列处理器前的类型处理器，无处理器时为 null
+     */
+    private record ColumnBinding(FieldAccessor accessor, int parameter, TypeHandler<?> handler, boolean excluded, TypeHandler<?> source) {
+        /**
+         * 为一个结果集重新获取列的类型处理器，处理器未创建新实例时返回当前绑定
+         */
+        ColumnBinding forResult(String column) {
+            if (source == null) {
+                return this;
+            }
+            TypeHandler<?> h = source.forColumn(column);
+            if (accessor != null) {
+                return h == accessor.handler ? this : new ColumnBinding(accessor.withHandler(h), parameter, null, excluded, source);
+            }
+            return h == handler ? this : new ColumnBinding(null, parameter, h, excluded, source);
+        }
+    }
+
+    /**
+     * 通过构造方法创建实例的构造器
+     *
+     * @param constructor           构造方法，类型为 (Object[])Object
+     * @param names                 各参数名称
+     * @param types                 各参数类型
+     * @param handlers              各参数的类型处理器，由同名字段上的 {@link InfluxTypeHandler} 指定，未指定时为 null
+     * @param defaults              各参数的默认值，基本类型为其零值，其余为 null
+     * @param otherColumnsParameter 与 OtherColumns 字段同名的参数位置，不存在时为 -1
+     * @param otherColumnsPatterns  OtherColumns 排除列正则
+     */
+    private record Creator(MethodHandle constructor,
+                           String[] names,
+                           Class<?>[] types,
+                           TypeHandler<?>[] handlers,
+                           Object[] defaults,
+                           int otherColumnsParameter,
+                           List<Pattern> otherColumnsPatterns) {
+        static Creator of(MethodHandles.Lookup lookup, Class<?> clazz, Constructor<?> ctor) {
+            Parameter[]  parameters = ctor.getParameters();
+            String[]     names      = parameterNames(clazz, ctor, parameters);
+            int          size       = parameters.length;
+            MethodHandle constructor;
+            try {
+                ctor.setAccessible(true);
+                constructor = lookup.unreflectConstructor(ctor)
+                                    .asType(MethodType.genericMethodType(size))
+                                    .asSpreader(Object[].class, size);
+            } catch (IllegalAccessException e) {
+                throw new InfluxClientException("【InfluxRowMapper】生成映射器失败，无法访问类 %s 的构造方法".formatted(clazz.getName()), e);
+            }
+            Class<?>[]       types                 = ctor.getParameterTypes();
+            TypeHandler<?>[] handlers              = new TypeHandler<?>[size];
+            Object[]         defaults              = new Object[size];
+            Field            otherColumnsField     = InfluxObjMapper.findOtherColumnsField(clazz);
+            int              otherColumnsParameter = -1;
+            for (int i = 0; i < size; i++) {
+                Field field = InfluxObjMapper.getField(clazz, names[i]);
+                if (field != null && field.isAnnotationPresent(InfluxTypeHandler.class)) {
+                    handlers[i] = InfluxObjMapper.handlerOf(field.getAnnotation(InfluxTypeHandler.class).value());
+                }
+                if (types[i].isPrimitive()) {
+                    defaults[i] = Array.get(Array.newInstance(types[i], 1), 0);
+                }
+                if (otherColumnsField != null && otherColumnsField.getName().equals(names[i])) {
+                    otherColumnsParameter = i;
+                }
+            }
+            List<Pattern> patterns = otherColumnsParameter < 0
+                                     ? List.of()
+                                     : Arrays.stream(otherColumnsField.getAnnotation(OtherColumns.class).excludePatterns())
+                                             .map(Pattern::compile)
+                                             .toList();
+            return new Creator(constructor, names, types, handlers, defaults, otherColumnsParameter, patterns);
+        }
+
+        /**
+         * 获取构造方法各参数的名称：record 使用组件名称，其次使用 {@link InfluxConstructor#value()}，最后使用编译保留的参数名
+         */
+        private static String[] parameterNames(Class<?> clazz, Constructor<?> ctor, Parameter[] parameters) {
+            InfluxConstructor anno = ctor.getAnnotation(InfluxConstructor.class);
+            if (anno != null && anno.value().length > 0) {
+                if (anno.value().length != parameters.length) {
+                    throw new InfluxClientException("【InfluxRowMapper】生成映射器失败，类 %s 的 @InfluxConstructor 名称数量与构造方法参数数量不一致".formatted(clazz.getName()));
+                }
+                return anno.value().clone();
+            }
+            if (anno == null && clazz.isRecord()) {
+                return Arrays.stream(clazz.getRecordComponents()).map(RecordComponent::getName).toArray(String[]::new);
+            }
+            String[] names = new String[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                if (!parameters[i].isNamePresent()) {
+                    throw new InfluxClientException("【InfluxRowMapper】生成映射器失败，无法获取类 %s 的构造方法参数名，请使用 -parameters 参数编译或在 @InfluxConstructor 中指定名称".formatted(clazz.getName()));
+                }
+                names[i] = parameters[i].getName();
+            }
+            return names;
+        }
+
+        /**
+         * 查找列对应的参数位置，列名转换为驼峰命名后或原名与参数名相同即匹配
+         */
+        int indexOf(String column) {
+            String camel = InfluxObjMapper.toCamelCase(column);
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(camel) || names[i].equals(column)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * 获取参数的类型处理器：同名字段上的 {@link InfluxTypeHandler} 优先，未标注时按参数类型与列类型从注册表中查找
+         */
+        TypeHandler<?> handlerOf(int index, String columnType) {
+            if (handlers[index] != null) {
+                return handlers[index];
+            }
+            return TypeHandlerRegistry.resolve(types[index], columnType);
+        }
+
+        /**
+         * 转换参数值：执行类型处理器，null 值使用参数默认值，数值按参数类型转换（如 Long → int）
+         */
+        Object convert(int index, TypeHandler<?> handler, Object value) {
+            if (handler != null) {
+                try {
+                    value = handler.getResult(value);
+                } catch (Exception e) {
+                    log.error("【InfluxRowMapper】TypeHandler 转换失败，参数: {}, Handler: {}", names[index], handler.getClass().getName(), e);
+                    return defaults[index];
+                }
+            }
+            if (value == null) {
+                return defaults[index];
+            }
+            if (value instanceof Number number) {
+                try {
+                    return convertNumber(types[index], number);
+                } catch (ArithmeticException | IllegalArgumentException e) {
+                    log.error("【InfluxRowMapper】数值转换失败，参数: {}, 类型: {}", names[index], types[index].getName(), e);
+                    return defaults[index];
+                }
+            }
+            return value;
+        }
+
+        /**
+         * 将数值无损转换为目标类型：整数转换为较窄的整数类型时检查取值范围，整数可转换为浮点数，
+         * 浮点数不会转换为整数，double 不会转换为 float
+         *
+         * @throws ArithmeticException      整数超出目标类型的取值范围时抛出
+         * @throws IllegalArgumentException 无法无损转换时抛出
+         */
+        static Object convertNumber(Class<?> type, Number number) {
+            if (type == long.class || type == Long.class) {
+                return exactLong(number);
+            }
+            if (type == int.class || type == Integer.class) {
+                return Math.toIntExact(exactLong(number));
+            }
+            if (type == short.class || type == Short.class) {
+                return toShortExact(exactLong(number));
+            }
+            if (type == byte.class || type == Byte.class) {
+                return toByteExact(exactLong(number));
+            }
+            if (type == double.class || type == Double.class) {
+                if (number instanceof Float || isIntegral(number)) {
+                    return number.doubleValue();
+                }
+                return checked(number, Double.class);
+            }
+            if (type == float.class || type == Float.class) {
+                if (isIntegral(number)) {
+                    return number.floatValue();
+                }
+                return checked(number, Float.class);
+            }
+            return number;
+        }
+
+        private static long exactLong(Number number) {
+            if (isIntegral(number)) {
+                return number.longValue();
+            }
+            if (number instanceof BigInteger b) {
+                return b.longValueExact();
+            }
+            throw new IllegalArgumentException("【InfluxRowMapper】无法无损转换为整数: %s %s".formatted(number.getClass().getName(), number));
+        }
+
+        private static boolean isIntegral(Number number) {
+            return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+        }
+
+        private static Number checked(Number number, Class<?> type) {
+            if (type.isInstance(number)) {
+                return number;
+            }
+            throw new IllegalArgumentException("【InfluxRowMapper】无法无损转换为 %s: %s %s".formatted(type.getSimpleName(), number.getClass().getName(), number));
+        }
+
+        Object newInstance(Object[] args) {
+            try {
+                return (Object) constructor.invokeExact(args);
+            } catch (Throwable e) {
+                throw new InfluxClientException("【InfluxRowMapper】通过构造方法创建实例失败，参数: " + Arrays.toString(args), e);
+            }
+        }
+    }
+
+    /**
+     * 字段访问器
+     *
+     * @param field           字段
+     * @param boxedType       字段类型，基本类型为其包装类型
+     * @param setter          字段写入方法，类型为 (Object, Object)void
+     * @param primitiveSetter 以基本类型接收值的字段写入方法，仅在基本类型字段使用基本类型处理器时存在
+     * @param getter          字段读取方法，类型为 (Object)Object，仅在字段有初始值时不允许被 null 覆盖的情况下存在
+     * @param handler         类型处理器，字段未标注 {@link InfluxTypeHandler} 且注册表中不存在对应处理器时为 null
+     */
+    private record FieldAccessor(Field field,
+                                 Class<?> boxedType,
+                                 MethodHandle setter,
+                                 MethodHandle primitiveSetter,
+                                 MethodHandle getter,
+                                 TypeHandler<?> handler) {
+        /**
+         * 使用另一个类型处理器（同一处理器为某一结果集创建的实例）
+         */
+        FieldAccessor withHandler(TypeHandler<?> handler) {
+            return new FieldAccessor(field, boxedType, setter, primitiveSetter, getter, handler);
+        }
+
+        void set(Object target, Object value) {
+            if (primitiveSetter != null) {
+                writePrimitive(target, value);
+                return;
+            }
+            // 有初始值且不允许被 null 覆盖
+            if (getter != null && value(target) != null) {
+                Object valueToSet = convert(value);
+                if (valueToSet != null) {
+                    log.debug("【InfluxRowMapper】字段 {} 已有初始值，允许覆盖，将进行覆盖", field.getName());
+                    write(target, valueToSet);
+                    return;
+                }
+                log.debug("【InfluxRowMapper】字段 {} 已有初始值，要注入的值为 null，将不进行覆盖", field.getName());
+                return;
+            }
+            try {
+                write(target, convert(value));
+            } catch (Exception e) {
+                log.error("【InfluxRowMapper】处理字段时异常，字段: {}, 类型: {}", field.getName(), field.getType().getName(), e);
+            }
+        }
+
+        private Object convert(Object value) {
+            if (handler == null) {
+                return value;
+            }
+            Object converted;
+            try {
+                converted = handler.getResult(value);
+            } catch (Exception e) {
+                log.error("【InfluxRowMapper】TypeHandler 转换失败，字段: {}, Handler: {}", field.getName(), handler.getClass().getName(), e);
+                throw new RuntimeException(e);
+            }
+            // 数值按字段类型无损转换（如 Long → Integer），无法无损转换时抛出异常
+            if (converted instanceof Number number && !boxedType.isInstance(number)) {
+                return Creator.convertNumber(boxedType, number);
+            }
+            return converted;
+        }
+
+        /**
+         * 通过基本类型处理器转换后直接写入基本类型字段，null 值不写入，字段保留默认值
+         */
+        private void writePrimitive(Object target, Object value) {
+            if (value == null) {
+                return;
+            }
+            try {
+                switch (handler) {
+                    case LongTypeHandler h -> primitiveSetter.invokeExact(target, h.getLong(value));
+                    case DoubleTypeHandler h -> primitiveSetter.invokeExact(target, h.getDouble(value));
+                    case BooleanTypeHandler h -> primitiveSetter.invokeExact(target, h.getBoolean(value));
+                    default -> throw new IllegalStateException("【InfluxRowMapper】不支持的基本类型处理器: " + handler.getClass().getName());
+                }
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                log.error("【InfluxRowMapper】处理字段时异常，字段: {}, 类型: {}", field.getName(), field.getType().getName(), e);
+            }
+        }
+
+        private Object value(Object target) {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        private void write(Object target, Object value) {
+            try {
+                setter.invokeExact(target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
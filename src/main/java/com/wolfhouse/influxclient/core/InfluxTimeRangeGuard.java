@@ -0,0 +1,326 @@
+package com.wolfhouse.influxclient.core;
+
+import com.wolfhouse.influxclient.constant.InfluxBuiltInTableMeta;
+import com.wolfhouse.influxclient.constant.SqlSegmentType;
+import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * 查询时间范围防护。
+ * <p>
+ * 未指定时间条件的查询会扫描表的全部保留数据，防护在执行查询前检查查询条件中的时间列：
+ * <ul>
+ *     <li>查询不包含时间条件时，为本次执行注入默认回溯窗口：time &gt;= now - defaultLookback（向下取整），不修改查询条件包装器</li>
+ *     <li>查询的时间跨度超过上限时，按照 {@link Mode} 拒绝查询，或将查询按上限拆分为多个时间分片依次执行</li>
+ * </ul>
+ * 时间跨度根据以 AND 连接的时间比较条件推断（参见 {@link InfluxConditionWrapper#getTimeBounds()}），
+ * 无下界时视为跨度无限，无上界时以当前时间作为上界。
+ * <p>
+ * 防护作用于查询构造器与预编译查询模板（{@link InfluxQueryTemplate}）发起的查询，模板在每次执行时按绑定的参数值检查；
+ * 原始 SQL 查询不经过防护。
+ *
+ * @author Rylin Wolf
+ */
+@Slf4j
+@Getter
+@SuppressWarnings({"unused"})
+public class InfluxTimeRangeGuard {
+    /** 注入的时间下界的参数占位名 */
+    public static final  String           SINCE_PARAM    = "param_since";
+    /** 时间下界取整的时间单位，由大到小排列 */
+    private static final List<ChronoUnit> ROUNDING_UNITS = List.of(ChronoUnit.DAYS, ChronoUnit.HOURS, ChronoUnit.MINUTES, ChronoUnit.SECONDS);
+
+    /** 默认回溯窗口，为 null 或不为正数时不注入 */
+    private final Duration defaultLookback;
+    /** 时间跨度上限，为 null 或不为正数时不限制 */
+    private final Duration maxSpan;
+    /** 超过时间跨度上限时的处理方式 */
+    private final Mode     mode;
+
+    public InfluxTimeRangeGuard(@Nullable Duration defaultLookback, @Nullable Duration maxSpan, @Nonnull Mode mode) {
+        this.defaultLookback = defaultLookback;
+        this.maxSpan         = maxSpan;
+        this.mode            = mode;
+    }
+
+    /**
+     * 检查并处理查询的时间范围。注入的时间条件仅作用于本次执行的查询语句与参数，不会修改查询条件包装器。
+     *
+     * @param wrapper 查询条件包装器
+     * @return 本次执行的查询，包含注入的时间下界与各时间分片的查询参数
+     * @throws InfluxClientQueryException 时间跨度超过上限，且处理方式为拒绝或查询无法拆分时抛出
+     */
+    public GuardedQuery apply(@Nonnull InfluxQueryWrapper<?> wrapper) {
+        // 1. 注入默认回溯窗口
+        GuardedQuery injected    = inject(wrapper);
+        String       measurement = wrapper.getMeasurement();
+        if (!isPositive(maxSpan) || (measurement != null && measurement.startsWith(InfluxBuiltInTableMeta.SCHEMA_PREFIX))) {
+            return injected;
+        }
+        InfluxConditionWrapper<?>              condition  = wrapper.getConditionWrapper();
+        Map<String, Object>                    parameters = injected.partitions().getFirst();
+        Instant                                since      = injected.since();
+        List<InfluxConditionWrapper.TimeBound> bounds     = since != null
+                                                            ? List.of(new InfluxConditionWrapper.TimeBound(SINCE_PARAM, SqlSegmentType.GE, since))
+                                                            : condition == null ? List.of() : condition.getTimeBounds();
+        return new GuardedQuery(wrapper, since, checkSpan(measurement, bounds, parameters, isSplittable(wrapper)));
+    }
+
+    /**
+     * 检查并处理预编译查询模板的时间范围，规则与 {@link #apply(InfluxQueryWrapper)} 一致。
+     * 模板的时间条件在编译时确定，时间范围根据本次绑定的参数值推断，因此每次执行都会重新检查。
+     *
+     * @param template   查询模板
+     * @param parameters 本次执行绑定的查询参数
+     * @return 本次执行的查询语句、计数语句与各时间分片的查询参数
+     * @throws InfluxClientQueryException 时间跨度超过上限，且处理方式为拒绝或查询无法拆分时抛出
+     */
+    public GuardedStatement apply(@Nonnull InfluxQueryTemplate template, @Nullable Map<String, Object> parameters) {
+        String measurement = template.measurement();
+        if (measurement != null && measurement.startsWith(InfluxBuiltInTableMeta.SCHEMA_PREFIX)) {
+            return new GuardedStatement(template.sql(), template.countSql(), null, Collections.singletonList(parameters));
+        }
+        // 1. 注入默认回溯窗口
+        if (!template.hasTimeCondition() && isPositive(defaultLookback)) {
+            Instant since = floorSince(Instant.now(), defaultLookback);
+            log.debug("【InfluxTimeRangeGuard】查询模板 {} 未包含时间条件，注入默认回溯窗口: time >= {}", measurement, since);
+            Map<String, Object> injected = parameters == null ? new HashMap<>() : new HashMap<>(parameters);
+            injected.put(SINCE_PARAM, since.toString());
+            List<Map<String, Object>> partitions = !isPositive(maxSpan)
+                                                   ? Collections.singletonList(injected)
+                                                   : checkSpan(measurement,
+                                                               List.of(new InfluxConditionWrapper.TimeBound(SINCE_PARAM, SqlSegmentType.GE, since)),
+                                                               injected,
+                                                               template.splittable());
+            return new GuardedStatement(template.sinceSql(), template.sinceCountSql(), since, partitions);
+        }
+        if (!isPositive(maxSpan)) {
+            return new GuardedStatement(template.sql(), template.countSql(), null, Collections.singletonList(parameters));
+        }
+        // 时间条件的参数值在每次执行时绑定，按本次的参数值确定时间范围
+        List<InfluxConditionWrapper.TimeBound> bounds = new ArrayList<>(template.timeBounds().size());
+        for (InfluxConditionWrapper.TimeBound bound : template.timeBounds()) {
+            Instant value = toInstant(parameters == null ? null : parameters.get(bound.paramName()));
+            if (value != null) {
+                bounds.add(new InfluxConditionWrapper.TimeBound(bound.paramName(), bound.sqlSegment(), value));
+            }
+        }
+        return new GuardedStatement(template.sql(), template.countSql(), null, checkSpan(measurement, bounds, parameters, template.splittable()));
+    }
+
+    /**
+     * 推断时间范围并检查是否超过跨度上限，超过时按处理方式拒绝查询或拆分为多个时间分片
+     *
+     * @param measurement 查询的目标表
+     * @param bounds      对整个条件生效的时间范围条件
+     * @param parameters  查询参数
+     * @param splittable  查询能否拆分
+     * @return 各时间分片的查询参数，未超过上限时仅包含原查询参数
+     */
+    private List<Map<String, Object>> checkSpan(String measurement,
+                                                List<InfluxConditionWrapper.TimeBound> bounds,
+                                                Map<String, Object> parameters,
+                                                boolean splittable) {
+        // 2. 推断时间范围
+        InfluxConditionWrapper.TimeBound lower  = null;
+        InfluxConditionWrapper.TimeBound upper  = null;
+        int                              lowers = 0;
+        int                              uppers = 0;
+        for (InfluxConditionWrapper.TimeBound bound : bounds) {
+            if (bound.isLower()) {
+                lowers++;
+                lower = lower == null || bound.value().isAfter(lower.value()) ? bound : lower;
+            } else {
+                uppers++;
+                upper = upper == null || bound.value().isBefore(upper.value()) ? bound : upper;
+            }
+        }
+        if (lower == null) {
+            throw new InfluxClientQueryException("【InfluxTimeRangeGuard】查询 %s 缺少时间下界，时间跨度超过上限 %s".formatted(measurement, maxSpan));
+        }
+        Instant start = lower.value();
+        Instant end   = upper == null ? Instant.now() : upper.value();
+        if (Duration.between(start, end).compareTo(maxSpan) <= 0) {
+            return Collections.singletonList(parameters);
+        }
+        // 3. 超过上限，拒绝或拆分
+        if (mode == Mode.REJECT) {
+            throw new InfluxClientQueryException("【InfluxTimeRangeGuard】查询 %s 的时间跨度 [%s, %s] 超过上限 %s".formatted(measurement, start, end, maxSpan));
+        }
+        if (lowers != 1 || uppers != 1 || !splittable) {
+            throw new InfluxClientQueryException("【InfluxTimeRangeGuard】查询 %s 的时间跨度 [%s, %s] 超过上限 %s，且查询无法拆分".formatted(measurement, start, end, maxSpan));
+        }
+        return split(parameters, lower, upper);
+    }
+
+    /**
+     * 仅为不包含时间条件的查询注入默认回溯窗口，不检查时间跨度，用于查询计划等无需拆分的场景。
+     * 注入的时间条件仅作用于本次执行的查询语句与参数，不会修改查询条件包装器。
+     *
+     * @param wrapper 查询条件包装器
+     * @return 本次执行的查询，仅包含一组查询参数
+     */
+    public GuardedQuery inject(@Nonnull InfluxQueryWrapper<?> wrapper) {
+        String                    measurement = wrapper.getMeasurement();
+        InfluxConditionWrapper<?> condition   = wrapper.getConditionWrapper();
+        if ((measurement != null && measurement.startsWith(InfluxBuiltInTableMeta.SCHEMA_PREFIX))
+            || (condition != null && condition.hasTimeCondition())
+            || !isPositive(defaultLookback)) {
+            return GuardedQuery.of(wrapper);
+        }
+        Instant since = floorSince(Instant.now(), defaultLookback);
+        log.debug("【InfluxTimeRangeGuard】查询 {} 未包含时间条件，注入默认回溯窗口: time >= {}", measurement, since);
+        Map<String, Object> parameters = condition == null ? new HashMap<>() : new HashMap<>(condition.getParameters());
+        parameters.put(SINCE_PARAM, since.toString());
+        return new GuardedQuery(wrapper, since, Collections.singletonList(parameters));
+    }
+
+    /**
+     * 计算注入的时间下界 now - lookback，并向下取整至小于回溯窗口的最大时间单位（天、小时、分钟、秒），
+     * 使同一时间单位内重复执行的查询参数一致，查询结果缓存与并发查询合并得以命中
+     *
+     * @param now      当前时间
+     * @param lookback 回溯窗口
+     * @return 时间下界
+     */
+    static Instant floorSince(@Nonnull Instant now, @Nonnull Duration lookback) {
+        Instant since = now.minus(lookback);
+        for (ChronoUnit unit : ROUNDING_UNITS) {
+            if (unit.getDuration().compareTo(lookback) < 0) {
+                return since.truncatedTo(unit);
+            }
+        }
+        return since;
+    }
+
+    /**
+     * 判断查询能否拆分：拆分后各分片结果直接拼接，因此查询不能包含聚合函数、修饰符或每组最新记录查询
+     */
+    static boolean isSplittable(InfluxQueryWrapper<?> wrapper) {
+        InfluxModifiersWrapper<?> modifiers = wrapper.getModifiersWrapper();
+        return wrapper.getFuncAliasMap().isEmpty()
+               && !wrapper.isLatest()
+               && (modifiers == null || modifiers.toSql().isEmpty());
+    }
+
+    /**
+     * 将时间范围 [lower, upper] 按跨度上限拆分为多个左闭右开的分片，通过替换时间参数值得到各分片的查询参数
+     */
+    private List<Map<String, Object>> split(Map<String, Object> parameters,
+                                            InfluxConditionWrapper.TimeBound lower,
+                                            InfluxConditionWrapper.TimeBound upper) {
+        List<Map<String, Object>> partitions = new ArrayList<>();
+        Instant                   from       = lower.value();
+        Instant                   end        = upper.value();
+        while (true) {
+            Instant             to    = from.plus(maxSpan);
+            boolean             last  = !to.isBefore(end);
+            Map<String, Object> chunk = new HashMap<>(parameters);
+            // 首个分片保留原始下界，之后的分片下界为上一分片的上界（包含）
+            if (!partitions.isEmpty()) {
+                Instant lo = lower.sqlSegment() == SqlSegmentType.GE ? from : from.minusNanos(1);
+                chunk.put(lower.paramName(), lo.toString());
+            }
+            // 末尾分片保留原始上界，之前的分片上界为下一分片的下界（不包含）
+            if (!last) {
+                Instant hi = upper.sqlSegment() == SqlSegmentType.LT ? to : to.minusNanos(1);
+                chunk.put(upper.paramName(), hi.toString());
+            }
+            partitions.add(chunk);
+            if (last) {
+                break;
+            }
+            from = to;
+        }
+        log.debug("【InfluxTimeRangeGuard】时间跨度 [{}, {}] 超过上限 {}，拆分为 {} 个分片", lower.value(), end, maxSpan, partitions.size());
+        return partitions;
+    }
+
+    private static Instant toInstant(Object value) {
+        if (value instanceof Instant instant) {
+            return instant;
+        }
+        if (value instanceof CharSequence text) {
+            try {
+                return Instant.parse(text);
+            } catch (DateTimeParseException ignored) {
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Object> parametersOf(InfluxQueryWrapper<?> wrapper) {
+        InfluxConditionWrapper<?> condition = wrapper.getConditionWrapper();
+        return condition == null ? null : condition.getParameters();
+    }
+
+    private static boolean isPositive(Duration duration) {
+        return duration != null && duration.isPositive();
+    }
+
+    /**
+     * 经过时间范围防护的单次查询
+     *
+     * @param wrapper    查询条件包装器
+     * @param since      注入的时间下界，未注入时为 null
+     * @param partitions 各时间分片的查询参数，顺序按时间升序；未拆分时仅包含一组参数（可能为 null）
+     */
+    public record GuardedQuery(InfluxQueryWrapper<?> wrapper, Instant since, List<Map<String, Object>> partitions) {
+        /**
+         * 未经处理的查询，使用查询条件包装器原本的语句与参数
+         *
+         * @param wrapper 查询条件包装器
+         * @return 单次查询
+         */
+        public static GuardedQuery of(@Nonnull InfluxQueryWrapper<?> wrapper) {
+            return new GuardedQuery(wrapper, null, Collections.singletonList(parametersOf(wrapper)));
+        }
+
+        /**
+         * 构建本次执行的查询语句，注入了时间下界时在查询条件之后追加该条件
+         *
+         * @return 查询语句
+         */
+        public String sql() {
+            return since == null ? wrapper.build() : wrapper.build(SINCE_PARAM);
+        }
+
+        /**
+         * 构建本次执行的计数语句，注入了时间下界时在查询条件之后追加该条件
+         *
+         * @return 计数语句
+         */
+        public String countSql() {
+            return wrapper.countSql(since == null ? null : SINCE_PARAM);
+        }
+    }
+
+    /**
+     * 经过时间范围防护的单次查询模板执行
+     *
+     * @param sql        本次执行的查询语句，注入了时间下界时包含该条件
+     * @param countSql   本次执行的计数语句，注入了时间下界时包含该条件
+     * @param since      注入的时间下界，未注入时为 null
+     * @param partitions 各时间分片的查询参数，顺序按时间升序；未拆分时仅包含一组参数（可能为 null）
+     */
+    public record GuardedStatement(String sql, String countSql, Instant since, List<Map<String, Object>> partitions) {}
+
+    /**
+     * 超过时间跨度上限时的处理方式
+     */
+    public enum Mode {
+        /** 拒绝查询 */
+        REJECT,
+        /** 按跨度上限拆分为多个时间分片依次执行，结果按分片顺序拼接 */
+        SPLIT
+    }
+}
@@ -0,0 +1,156 @@
+package com.wolfhouse.influxclient.core;
+
+import com.wolfhouse.influxclient.InfluxClientConstant;
+import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 批量合并查询，将多个结果列布局相同的查询通过 UNION ALL 合并为一条语句执行。
+ * <p>
+ * 每个子查询的结果前增加一列 {@link InfluxClientConstant#BATCH_INDEX_FIELD}，标识结果行所属的查询序号；
+ * 子查询的参数占位名（param_N）会增加序号前缀，避免不同子查询的参数互相覆盖；
+ * 其余参数（如时间范围防护注入的 {@link InfluxTimeRangeGuard#SINCE_PARAM}）保持原名，由各子查询共享，值必须一致。
+ * <p>
+ * UNION ALL 不保证子查询结果的顺序，因此带有排序修饰符的查询不能合并，需要单独执行。
+ *
+ * @author Rylin Wolf
+ */
+@SuppressWarnings({"unused"})
+public final class InfluxUnionQuery {
+    /** 参数占位符 */
+    private static final Pattern PARAMETER_PATTERN = Pattern.compile("\\$(param_\\d+)\\b");
+    /** 需要增加前缀的参数占位名 */
+    private static final Pattern PARAMETER_NAME    = Pattern.compile("param_\\d+");
+
+    /** 合并后的查询语句 */
+    private final String              sql;
+    /** 合并后的查询参数 */
+    private final Map<String, Object> parameters;
+    /** 各子查询对应的原始查询序号，按子查询顺序排列 */
+    private final int[]               indexes;
+    /** 查询超时时间，取各子查询中最长的超时时间，均未设置时为 null */
+    private final Duration            timeout;
+
+    private InfluxUnionQuery(String sql, Map<String, Object> parameters, int[] indexes, Duration timeout) {
+        this.sql        = sql;
+        this.parameters = parameters;
+        this.indexes    = indexes;
+        this.timeout    = timeout;
+    }
+
+    /**
+     * 判断查询是否可以参与合并：不包含排序修饰符的查询可以合并
+     *
+     * @param wrapper 查询条件包装器
+     * @return 是否可以合并
+     */
+    public static boolean isUnionable(@Nonnull InfluxQueryWrapper<?> wrapper) {
+        InfluxModifiersWrapper<?> modifiers = wrapper.getModifiersWrapper();
+        return modifiers == null || modifiers.getOrderBy() == null || modifiers.getOrderBy().isEmpty();
+    }
+
+    /**
+     * 将多个已构建的查询合并为一条 UNION ALL 语句，各子查询使用查询条件包装器原本的语句与参数
+     *
+     * @param wrappers 全部查询条件包装器
+     * @param indexes  参与合并的查询序号，对应 wrappers 中的位置
+     * @return 批量合并查询
+     * @throws InfluxClientQueryException 如果存在无法构建或不可合并的查询
+     */
+    public static InfluxUnionQuery of(@Nonnull List<? extends InfluxQueryWrapper<?>> wrappers, @Nonnull int[] indexes) {
+        List<InfluxTimeRangeGuard.GuardedQuery> queries = wrappers.stream()
+                                                                  .<InfluxTimeRangeGuard.GuardedQuery>map(InfluxTimeRangeGuard.GuardedQuery::of)
+                                                                  .toList();
+        return ofGuarded(queries, indexes);
+    }
+
+    /**
+     * 将多个经过时间范围防护的查询合并为一条 UNION ALL 语句，各子查询使用本次执行的语句与参数（包含注入的时间下界）
+     *
+     * @param queries 全部查询，均不能按时间分片拆分
+     * @param indexes 参与合并的查询序号，对应 queries 中的位置
+     * @return 批量合并查询
+     * @throws InfluxClientQueryException 如果存在无法构建、不可合并或按时间分片拆分的查询，或共享参数的值不一致
+     */
+    public static InfluxUnionQuery ofGuarded(@Nonnull List<InfluxTimeRangeGuard.GuardedQuery> queries, @Nonnull int[] indexes) {
+        StringBuilder       builder    = new StringBuilder();
+        Map<String, Object> parameters = new HashMap<>();
+        Duration            timeout    = null;
+        for (int i = 0; i < indexes.length; i++) {
+            InfluxTimeRangeGuard.GuardedQuery query   = queries.get(indexes[i]);
+            InfluxQueryWrapper<?>             wrapper = query.wrapper();
+            String                            sql     = query.sql();
+            if (sql == null || !isUnionable(wrapper) || query.partitions().size() != 1) {
+                throw new InfluxClientQueryException("【InfluxUnionQuery】查询无法合并，序号: " + indexes[i]);
+            }
+            if (i > 0) {
+                builder.append(" UNION ALL ");
+            }
+            String prefix = "b" + i + "_";
+            builder.append("SELECT ")
+                   .append(indexes[i])
+                   .append(" AS ")
+                   .append(wrapper.surroundWithDelimiter(InfluxClientConstant.BATCH_INDEX_FIELD))
+                   .append(", * FROM (")
+                   .append(renameParameters(sql, prefix))
+                   .append(") AS ")
+                   .append(prefix, 0, prefix.length() - 1);
+            Map<String, Object> params = query.partitions().getFirst();
+            if (params != null) {
+                for (Map.Entry<String, Object> e : params.entrySet()) {
+                    if (PARAMETER_NAME.matcher(e.getKey()).matches()) {
+                        parameters.put(prefix + e.getKey(), e.getValue());
+                    } else if (parameters.containsKey(e.getKey()) && !Objects.equals(parameters.get(e.getKey()), e.getValue())) {
+                        throw new InfluxClientQueryException("【InfluxUnionQuery】共享参数 %s 的值不一致，序号: %d".formatted(e.getKey(), indexes[i]));
+                    } else {
+                        parameters.put(e.getKey(), e.getValue());
+                    }
+                }
+            }
+            Duration t = wrapper.getTimeout();
+            if (t != null && (timeout == null || t.compareTo(timeout) > 0)) {
+                timeout = t;
+            }
+        }
+        return new InfluxUnionQuery(builder.toString(), parameters, indexes.clone(), timeout);
+    }
+
+    /**
+     * 为语句中的参数占位符（param_N）增加前缀，其余参数占位符保持不变
+     */
+    static String renameParameters(String sql, String prefix) {
+        Matcher matcher = PARAMETER_PATTERN.matcher(sql);
+        return matcher.replaceAll(r -> Matcher.quoteReplacement("$" + prefix + r.group(1)));
+    }
+
+    // region 获取方法
+
+    public String sql() {
+        return sql;
+    }
+
+    public Map<String, Object> parameters() {
+        return parameters;
+    }
+
+    public int[] indexes() {
+        return indexes.clone();
+    }
+
+    @Nullable
+    public Duration timeout() {
+        return timeout;
+    }
+    // endregion
+
+    @Override
+    public String toString() {
+        return "InfluxUnionQuery{sql='%s', indexes=%s}".formatted(sql, Arrays.toString(indexes));
+    }
+}
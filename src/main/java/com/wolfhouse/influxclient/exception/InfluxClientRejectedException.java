@@ -0,0 +1,23 @@
+package com.wolfhouse.influxclient.exception;
+
+/**
+ * 查询被拒绝异常，查询准入控制器拒绝执行查询（等待队列已满或等待超时）时抛出
+ *
+ * @author Rylin Wolf
+ */
+public class InfluxClientRejectedException extends InfluxClientQueryException {
+    public InfluxClientRejectedException(Throwable cause) {
+        super(cause);
+    }
+
+    public InfluxClientRejectedException() {
+    }
+
+    public InfluxClientRejectedException(String message) {
+        super(message);
+    }
+
+    public InfluxClientRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,23 @@
+package com.wolfhouse.influxclient.exception;
+
+/**
+ * 查询超时异常，查询在截止时间内未完成时抛出
+ *
+ * @author Rylin Wolf
+ */
+public class InfluxClientTimeoutException extends InfluxClientQueryException {
+    public InfluxClientTimeoutException(Throwable cause) {
+        super(cause);
+    }
+
+    public InfluxClientTimeoutException() {
+    }
+
+    public InfluxClientTimeoutException(String message) {
+        super(message);
+    }
+
+    public InfluxClientTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,744 @@
+package com.wolfhouse.influxclient.pojo;
+
+import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
+
+import javax.annotation.Nonnull;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * InfluxDB 列式结果封装类，用于封装大结果集。
+ * <p>
+ * 与基于 map 的 {@link InfluxResult} 不同，列式结果仅保存一份列信息，每一列的值存储在一个数组中：
+ * <ul>
+ *     <li>整数（包括以纳秒时间戳表示的时间列）存储为 long[]</li>
+ *     <li>浮点数存储为 double[]</li>
+ *     <li>布尔值存储为位图</li>
+ *     <li>字符串（如标签）按字典编码，相同的值仅保存一份，每行仅保存其编码</li>
+ *     <li>null 值通过位图标记</li>
+ * </ul>
+ * 列类型由该列的首个非 null 值确定，之后出现类型不一致的值时，该列退化为对象数组存储。
+ * 通过 {@link #row(int)} 获取的行对象只是结果的视图，不会复制数据。
+ *
+ * @author Rylin Wolf
+ */
+@SuppressWarnings({"unused"})
+public final class InfluxColumnarResult implements Iterable<InfluxColumnarResult.Row> {
+    /** 列名 */
+    private final List<String>         columns;
+    /** 列名 → 列位置 */
+    private final Map<String, Integer> indexes;
+    /** 各列数据 */
+    private final Column[]             data;
+    /** 行数 */
+    private final int                  size;
+
+    private InfluxColumnarResult(List<String> columns, Map<String, Integer> indexes, Column[] data, int size) {
+        this.columns = columns;
+        this.indexes = indexes;
+        this.data    = data;
+        this.size    = size;
+    }
+
+    /**
+     * 消费结果流，构建列式结果。结果流中的每一行直接写入各列数组，不会创建行对象。
+     *
+     * @param rows    结果流
+     * @param columns 列名，顺序与每行记录中的值一一对应
+     * @return 列式结果
+     */
+    public static InfluxColumnarResult from(@Nonnull Stream<Object[]> rows, @Nonnull SequencedCollection<String> columns) {
+        Builder builder = builder(columns);
+        rows.forEachOrdered(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * 创建列式结果构建器
+     *
+     * @param columns 列名，顺序与每行记录中的值一一对应
+     * @return 列式结果构建器
+     */
+    public static Builder builder(@Nonnull SequencedCollection<String> columns) {
+        return new Builder(columns);
+    }
+
+    // region 结果信息
+
+    /**
+     * 获取列名
+     *
+     * @return 列名，不可修改
+     */
+    public List<String> columns() {
+        return columns;
+    }
+
+    /**
+     * 获取行数
+     *
+     * @return 行数
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 获取列的位置
+     *
+     * @param column 列名
+     * @return 列的位置，不存在时返回 -1
+     */
+    public int columnIndex(@Nonnull String column) {
+        return indexes.getOrDefault(column, -1);
+    }
+
+    /**
+     * 获取列的存储类型
+     *
+     * @param column 列位置
+     * @return 列的存储类型
+     */
+    public ColumnType columnType(int column) {
+        return data[column].type();
+    }
+    // endregion
+
+    // region 按位置读取
+
+    /**
+     * 判断值是否为 null
+     *
+     * @param row    行位置
+     * @param column 列位置
+     * @return 值是否为 null
+     */
+    public boolean isNull(int row, int column) {
+        Objects.checkIndex(row, size);
+        return data[column].isNull(row);
+    }
+
+    /**
+     * 获取值，基本类型的值会被装箱，大量读取时应使用对应类型的读取方法
+     *
+     * @param row    行位置
+     * @param column 列位置
+     * @return 值，与查询结果中的原始类型一致
+     */
+    public Object get(int row, int column) {
+        Objects.checkIndex(row, size);
+        return data[column].get(row);
+    }
+
+    /**
+     * 获取整数值，适用于整数列及时间列（返回纳秒时间戳）
+     *
+     * @param row    行位置
+     * @param column 列位置
+     * @return 整数值，null 值返回 0
+     * @throws InfluxClientQueryException 列不是整数列时抛出，浮点数列不会截断为整数，应使用 {@link #getDouble(int, int)}
+     */
+    public long getLong(int row, int column) {
+        Objects.checkIndex(row, size);
+        if (data[column].isNull(row)) {
+            return 0L;
+        }
+        if (data[column] instanceof LongColumn c) {
+            return c.values[row];
+        }
+        Object value = requireValue(row, column, Number.class);
+        if (value instanceof Double || value instanceof Float) {
+            throw new InfluxClientQueryException("【InfluxColumnarResult】列 %s 为浮点数列，无法读取为 long".formatted(columns.get(column)));
+        }
+        return ((Number) value).longValue();
+    }
+
+    /**
+     * 获取浮点数值，适用于浮点数列及整数列
+     *
+     * @param row    行位置
+     * @param column 列位置
+     * @return 浮点数值，null 值返回 0
+     * @throws InfluxClientQueryException 列不是数值列时抛出
+     */
+    public double getDouble(int row, int column) {
+        Objects.checkIndex(row, size);
+        if (data[column].isNull(row)) {
+            return 0D;
+        }
+        if (data[column] instanceof DoubleColumn c) {
+            return c.values[row];
+        }
+        if (data[column] instanceof LongColumn c) {
+            return c.values[row];
+        }
+        return ((Number) requireValue(row, column, Number.class)).doubleValue();
+    }
+
+    /**
+     * 获取布尔值
+     *
+     * @param row    行位置
+     * @param column 列位置
+     * @return 布尔值，null 值返回 false
+     * @throws InfluxClientQueryException 列不是布尔列时抛出
+     */
+    public boolean getBoolean(int row, int column) {
+        Objects.checkIndex(row, size);
+        if (data[column] instanceof BooleanColumn c) {
+            return c.values.get(row);
+        }
+        return Boolean.TRUE.equals(requireValue(row, column, Boolean.class));
+    }
+
+    /**
+     * 获取字符串值，字典编码的列直接返回字典中的值，不会创建新的字符串
+     *
+     * @param row    行位置
+     * @param column 列位置
+     * @return 字符串值，非字符串列返回值的字符串形式
+     */
+    public String getString(int row, int column) {
+        Objects.checkIndex(row, size);
+        if (data[column] instanceof StringColumn c) {
+            int code = c.codes[row];
+            return code < 0 ? null : c.dictionary.get(code);
+        }
+        Object value = data[column].get(row);
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * 获取时间值，整数列视为纳秒时间戳
+     *
+     * @param row    行位置
+     * @param column 列位置
+     * @return 时间值，null 值返回 null
+     * @throws InfluxClientQueryException 列不是时间列或整数列时抛出
+     */
+    public Instant getInstant(int row, int column) {
+        Objects.checkIndex(row, size);
+        if (data[column].isNull(row)) {
+            return null;
+        }
+        if (data[column] instanceof LongColumn c) {
+            long nanos = c.values[row];
+            return Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
+        }
+        Object value = data[column].get(row);
+        if (value instanceof Number n) {
+            long nanos = n.longValue();
+            return Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
+        }
+        return (Instant) requireValue(row, column, Instant.class);
+    }
+
+    /**
+     * 获取字典编码列的字典
+     *
+     * @param column 列位置
+     * @return 列中出现过的全部字符串值，按首次出现的顺序排列；非字典编码列返回空列表
+     */
+    public List<String> dictionary(int column) {
+        return data[column] instanceof StringColumn c ? Collections.unmodifiableList(c.dictionary) : List.of();
+    }
+    // endregion
+
+    // region 行视图
+
+    /**
+     * 获取行视图
+     *
+     * @param row 行位置
+     * @return 行视图
+     */
+    public Row row(int row) {
+        Objects.checkIndex(row, size);
+        return new Row(row);
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<Row> iterator() {
+        return IntStream.range(0, size).mapToObj(Row::new).iterator();
+    }
+
+    /**
+     * 获取行视图流
+     *
+     * @return 行视图流
+     */
+    public Stream<Row> stream() {
+        return IntStream.range(0, size).mapToObj(Row::new);
+    }
+
+    /**
+     * 转换为基于 map 的结果封装对象，会为每一行创建 map 并装箱全部的值
+     *
+     * @return 结果封装对象
+     */
+    public InfluxResult toResult() {
+        InfluxResult result = new InfluxResult();
+        for (int i = 0; i < size; i++) {
+            result.addRow(row(i).toMap());
+        }
+        return result;
+    }
+    // endregion
+
+    private Object requireValue(int row, int column, Class<?> type) {
+        Object value = data[column].get(row);
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        throw new InfluxClientQueryException("【InfluxColumnarResult】列 %s 的值类型为 %s，无法读取为 %s".formatted(columns.get(column), value.getClass().getName(), type.getSimpleName()));
+    }
+
+    @Override
+    public String toString() {
+        return "InfluxColumnarResult(columns=" + columns + ", size=" + size + ")";
+    }
+
+    /**
+     * 列的存储类型
+     */
+    public enum ColumnType {
+        /** long[] 存储，值为 Long */
+        LONG,
+        /** long[] 存储，值为纳秒时间戳 BigInteger */
+        BIG_INTEGER,
+        /** long[] 存储，值为 Instant，以纳秒时间戳存储 */
+        INSTANT,
+        /** double[] 存储 */
+        DOUBLE,
+        /** 位图存储 */
+        BOOLEAN,
+        /** 字典编码存储 */
+        STRING,
+        /** 对象数组存储，列中全部为 null 或值类型不一致时使用 */
+        OBJECT
+    }
+
+    /**
+     * 行视图，读取时直接访问所属结果的列数组
+     */
+    public final class Row {
+        private final int row;
+
+        private Row(int row) {
+            this.row = row;
+        }
+
+        public int index() {
+            return row;
+        }
+
+        public Object get(String column) {
+            return InfluxColumnarResult.this.get(row, requireColumn(column));
+        }
+
+        public boolean isNull(String column) {
+            return InfluxColumnarResult.this.isNull(row, requireColumn(column));
+        }
+
+        public long getLong(String column) {
+            return InfluxColumnarResult.this.getLong(row, requireColumn(column));
+        }
+
+        public double getDouble(String column) {
+            return InfluxColumnarResult.this.getDouble(row, requireColumn(column));
+        }
+
+        public boolean getBoolean(String column) {
+            return InfluxColumnarResult.this.getBoolean(row, requireColumn(column));
+        }
+
+        public String getString(String column) {
+            return InfluxColumnarResult.this.getString(row, requireColumn(column));
+        }
+
+        public Instant getInstant(String column) {
+            return InfluxColumnarResult.this.getInstant(row, requireColumn(column));
+        }
+
+        /**
+         * 复制为 map
+         *
+         * @return 列名与值的映射
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new HashMap<>(columns.size() * 2);
+            for (int i = 0; i < columns.size(); i++) {
+                map.put(columns.get(i), data[i].get(row));
+            }
+            return map;
+        }
+
+        private int requireColumn(String column) {
+            Integer index = indexes.get(column);
+            if (index == null) {
+                throw new InfluxClientQueryException("【InfluxColumnarResult】结果中不存在列: " + column);
+            }
+            return index;
+        }
+
+        @Override
+        public String toString() {
+            return toMap().toString();
+        }
+    }
+
+    /**
+     * 列式结果构建器，逐行写入，非线程安全
+     */
+    public static final class Builder {
+        private final List<String>         columns;
+        private final Map<String, Integer> indexes;
+        private final Column[]             data;
+        private       int                  size = 0;
+
+        private Builder(SequencedCollection<String> columns) {
+            this.columns = List.copyOf(columns);
+            this.indexes = new HashMap<>(this.columns.size() * 2);
+            this.data    = new Column[this.columns.size()];
+            for (int i = 0; i < this.columns.size(); i++) {
+                indexes.putIfAbsent(this.columns.get(i), i);
+                data[i] = new ObjectColumn(false);
+            }
+        }
+
+        /**
+         * 写入一行记录
+         *
+         * @param row 一行记录，值的顺序与列名一致
+         * @return 当前构建器
+         * @throws InfluxClientQueryException 记录的值数量与列数不一致时抛出
+         */
+        public Builder add(@Nonnull Object[] row) {
+            if (row.length != data.length) {
+                throw new InfluxClientQueryException("【InfluxColumnarResult】查询参数数与结果集不一致: %d, %d".formatted(data.length, row.length));
+            }
+            for (int i = 0; i < row.length; i++) {
+                Column column = data[i];
+                Object value  = row[i];
+                if (value != null && !column.accepts(value)) {
+                    // 首个非 null 值确定列类型，类型不一致时退化为对象数组
+                    column  = column instanceof ObjectColumn objects && !objects.typed
+                              ? Column.forValue(value, objects.size)
+                              : ObjectColumn.copyOf(column);
+                    data[i] = column;
+                }
+                column.add(value);
+            }
+            size++;
+            return this;
+        }
+
+        /**
+         * 完成构建，之后不应再写入
+         *
+         * @return 列式结果
+         */
+        public InfluxColumnarResult build() {
+            for (Column column : data) {
+                column.trim();
+            }
+            return new InfluxColumnarResult(columns, Collections.unmodifiableMap(indexes), data, size);
+        }
+    }
+
+    // region 列存储
+
+    private abstract static class Column {
+        /** 已写入的行数 */
+        protected int    size  = 0;
+        /** null 值位图 */
+        protected BitSet nulls = new BitSet();
+
+        static Column forValue(Object value, int nullRows) {
+            Column column = switch (value) {
+                case Long ignored -> new LongColumn(ColumnType.LONG);
+                case BigInteger ignored -> new LongColumn(ColumnType.BIG_INTEGER);
+                case Instant ignored -> new LongColumn(ColumnType.INSTANT);
+                case Double ignored -> new DoubleColumn();
+                case Boolean ignored -> new BooleanColumn();
+                case String ignored -> new StringColumn();
+                default -> new ObjectColumn(true);
+            };
+            if (!column.accepts(value)) {
+                // 首个值超出列类型的取值范围（如不小于 2^63 的 BigInteger），使用对象数组
+                column = new ObjectColumn(true);
+            }
+            for (int i = 0; i < nullRows; i++) {
+                column.add(null);
+            }
+            return column;
+        }
+
+        boolean isNull(int row) {
+            return nulls.get(row);
+        }
+
+        void add(Object value) {
+            if (value == null) {
+                nulls.set(size);
+            }
+            grow(size + 1);
+            if (value != null) {
+                set(size, value);
+            }
+            size++;
+        }
+
+        abstract ColumnType type();
+
+        abstract boolean accepts(Object value);
+
+        abstract void grow(int capacity);
+
+        abstract void set(int row, Object value);
+
+        abstract Object get(int row);
+
+        abstract void trim();
+
+        static int newCapacity(int current, int required) {
+            return Math.max(required, current < 16 ? 16 : current + (current >> 1));
+        }
+    }
+
+    private static final class LongColumn extends Column {
+        private final ColumnType type;
+        private       long[]     values = new long[0];
+
+        private LongColumn(ColumnType type) {
+            this.type = type;
+        }
+
+        @Override
+        ColumnType type() {
+            return type;
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return switch (type) {
+                case LONG -> value instanceof Long;
+                case BIG_INTEGER -> value instanceof BigInteger b && b.bitLength() < Long.SIZE;
+                case INSTANT -> value instanceof Instant;
+                default -> false;
+            };
+        }
+
+        @Override
+        void grow(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, newCapacity(values.length, capacity));
+            }
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = switch (value) {
+                case Instant i -> Math.addExact(Math.multiplyExact(i.getEpochSecond(), 1_000_000_000L), i.getNano());
+                case BigInteger b -> b.longValueExact();
+                default -> ((Number) value).longValue();
+            };
+        }
+
+        @Override
+        Object get(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            long value = values[row];
+            return switch (type) {
+                case BIG_INTEGER -> BigInteger.valueOf(value);
+                case INSTANT -> Instant.ofEpochSecond(Math.floorDiv(value, 1_000_000_000L), Math.floorMod(value, 1_000_000_000L));
+                default -> value;
+            };
+        }
+
+        @Override
+        void trim() {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+        private double[] values = new double[0];
+
+        @Override
+        ColumnType type() {
+            return ColumnType.DOUBLE;
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Double;
+        }
+
+        @Override
+        void grow(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, newCapacity(values.length, capacity));
+            }
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = (Double) value;
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        void trim() {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class BooleanColumn extends Column {
+        private final BitSet values = new BitSet();
+
+        @Override
+        ColumnType type() {
+            return ColumnType.BOOLEAN;
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Boolean;
+        }
+
+        @Override
+        void grow(int capacity) {
+            // 位图自动扩容
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values.set(row, (Boolean) value);
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : values.get(row);
+        }
+
+        @Override
+        void trim() {
+            // 位图无需收缩
+        }
+    }
+
+    private static final class StringColumn extends Column {
+        /** 字典，编码即字典中的位置 */
+        private final List<String>         dictionary = new ArrayList<>();
+        /** 字符串 → 编码，构建完成后释放 */
+        private       Map<String, Integer> encoder    = new HashMap<>();
+        /** 各行的编码，null 值为 -1 */
+        private       int[]                codes      = new int[0];
+
+        @Override
+        ColumnType type() {
+            return ColumnType.STRING;
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof String;
+        }
+
+        @Override
+        void grow(int capacity) {
+            if (capacity > codes.length) {
+                int from = codes.length;
+                codes = Arrays.copyOf(codes, newCapacity(codes.length, capacity));
+                Arrays.fill(codes, from, codes.length, -1);
+            }
+        }
+
+        @Override
+        void set(int row, Object value) {
+            codes[row] = encoder.computeIfAbsent((String) value, v -> {
+                dictionary.add(v);
+                return dictionary.size() - 1;
+            });
+        }
+
+        @Override
+        Object get(int row) {
+            int code = codes[row];
+            return code < 0 ? null : dictionary.get(code);
+        }
+
+        @Override
+        void trim() {
+            codes   = Arrays.copyOf(codes, size);
+            encoder = Map.of();
+        }
+    }
+
+    private static final class ObjectColumn extends Column {
+        /** 是否已确定类型，未确定类型的列中全部为 null */
+        private final boolean  typed;
+        private       Object[] values = new Object[0];
+
+        private ObjectColumn(boolean typed) {
+            this.typed = typed;
+        }
+
+        static ObjectColumn copyOf(Column column) {
+            ObjectColumn objects = new ObjectColumn(true);
+            for (int i = 0; i < column.size; i++) {
+                objects.add(column.get(i));
+            }
+            return objects;
+        }
+
+        @Override
+        ColumnType type() {
+            return ColumnType.OBJECT;
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            // 全部为 null 的列尚未确定类型，由首个非 null 值确定
+            return typed;
+        }
+
+        @Override
+        void grow(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, newCapacity(values.length, capacity));
+            }
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = value;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void trim() {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+    // endregion
+}
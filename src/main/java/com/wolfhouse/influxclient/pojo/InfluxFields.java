@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * InfluxDB 存储对象字段集合
@@ -15,7 +16,12 @@ import java.util.Map;
 @Slf4j
 @ToString(includeFieldNames = false)
 public class InfluxFields {
-    private final LinkedHashMap<String, Object> fields;
+    /** 键集合版本号生成器，各实例的版本号互不相同 */
+    private static final AtomicLong                    KEY_VERSIONS = new AtomicLong();
+    private final        LinkedHashMap<String, Object> fields;
+    /** 键集合版本号，添加或删除键时更新 */
+    @ToString.Exclude
+    private              long                          keyVersion   = KEY_VERSIONS.incrementAndGet();
 
     private InfluxFields(Map<String, Object> fields) {
         this.fields = new LinkedHashMap<>(fields);
@@ -43,6 +49,9 @@ public class InfluxFields {
     }
 
     public InfluxFields add(String key, Object value) {
+        if (!fields.containsKey(key)) {
+            keyVersion = KEY_VERSIONS.incrementAndGet();
+        }
         fields.putLast(key, value);
         return this;
     }
@@ -85,9 +94,21 @@ public class InfluxFields {
     }
 
     public Object remove(String key) {
+        if (fields.containsKey(key)) {
+            keyVersion = KEY_VERSIONS.incrementAndGet();
+        }
         return fields.remove(key);
     }
 
+    /**
+     * 获取键集合版本号。添加或删除键后版本号改变，且不同实例的版本号互不相同，可用于判断键集合是否变化
+     *
+     * @return 键集合版本号
+     */
+    public long getKeyVersion() {
+        return keyVersion;
+    }
+
     public boolean containsKey(String key) {
         return fields.containsKey(key);
     }
@@ -0,0 +1,86 @@
+package com.wolfhouse.influxclient.pojo;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * 按指定列顺序访问结果行的只读视图。
+ * <p>
+ * 列顺序由同一结果集中列相同的所有行共享，视图不会复制结果行，读取时直接访问原始结果行。
+ *
+ * @author Rylin Wolf
+ */
+public final class InfluxOrderedRow extends AbstractMap<String, Object> implements SequencedMap<String, Object> {
+    /** 列顺序，由列相同的行共享 */
+    private final String[]            order;
+    /** 原始结果行 */
+    private final Map<String, Object> row;
+
+    /**
+     * 创建结果行视图
+     *
+     * @param order 列顺序，需与结果行的列一致，视图不会复制该数组
+     * @param row   原始结果行
+     */
+    public InfluxOrderedRow(@Nonnull String[] order, @Nonnull Map<String, Object> row) {
+        this.order = order;
+        this.row   = row;
+    }
+
+    @Override
+    public int size() {
+        return order.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return row.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return row.get(key);
+    }
+
+    @Nonnull
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int cursor = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return cursor < order.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        String key = order[cursor++];
+                        return new SimpleImmutableEntry<>(key, row.get(key));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return order.length;
+            }
+        };
+    }
+
+    /**
+     * 获取逆序视图，逆序视图为结果行的副本
+     *
+     * @return 逆序的结果行
+     */
+    @Override
+    public SequencedMap<String, Object> reversed() {
+        return Collections.unmodifiableSequencedMap(new LinkedHashMap<>(this).reversed());
+    }
+}
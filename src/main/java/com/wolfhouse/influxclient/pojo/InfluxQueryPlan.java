@@ -0,0 +1,267 @@
+package com.wolfhouse.influxclient.pojo;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 查询计划，通过 {@code InfluxClient#explain} 或 {@code InfluxClient#explainAnalyze} 获取。
+ * <p>
+ * 服务端返回的计划为若干行（plan_type, plan）文本，其中物理计划按缩进表示算子树。
+ * 该类将物理计划解析为按先序排列的算子列表，并汇总扫描的文件数与文件分组数；
+ * 若为 EXPLAIN ANALYZE 的结果，还会解析各算子的执行指标，汇总输出行数与计算耗时。
+ *
+ * @author Rylin Wolf
+ */
+@Getter
+@ToString
+public final class InfluxQueryPlan {
+    /** EXPLAIN 结果中物理计划的类型 */
+    public static final  String  PHYSICAL_PLAN     = "physical_plan";
+    /** EXPLAIN 结果中逻辑计划的类型 */
+    public static final  String  LOGICAL_PLAN      = "logical_plan";
+    /** EXPLAIN ANALYZE 结果中带执行指标的计划类型 */
+    public static final  String  PLAN_WITH_METRICS = "Plan with Metrics";
+    /** 执行指标：输出行数 */
+    public static final  String  OUTPUT_ROWS       = "output_rows";
+    /** 执行指标：计算耗时 */
+    public static final  String  ELAPSED_COMPUTE   = "elapsed_compute";
+    private static final String  METRICS_PREFIX    = ", metrics=[";
+    private static final Pattern FILE_GROUPS       = Pattern.compile("file_groups=\\{(\\d+) groups?:");
+    private static final Pattern PARQUET_FILE      = Pattern.compile("[^\\s\\[\\],{}]+\\.parquet");
+    private static final Pattern DURATION          = Pattern.compile("(\\d+(?:\\.\\d+)?)(ns|µs|us|ms|s)");
+
+    /** 被解释的查询语句（不含 EXPLAIN 前缀） */
+    private final String                       sql;
+    /** 执行时绑定的查询参数 */
+    @ToString.Exclude
+    private final Map<String, Object>          parameters;
+    /** 是否为 EXPLAIN ANALYZE 的结果，为 true 时查询已实际执行 */
+    private final boolean                      analyzed;
+    /** 计划类型 → 计划文本，按服务端返回的顺序排列 */
+    @ToString.Exclude
+    private final SequencedMap<String, String> plans;
+    /** 物理计划的算子，按先序排列，第一个为根算子 */
+    private final List<Operator>               operators;
+    /** 客户端测得的计划语句执行耗时 */
+    private final Duration                     elapsed;
+    /** 根算子的输出行数，未执行查询或无该指标时为 null */
+    private final Long                         outputRows;
+    /** 各算子计算耗时之和，未执行查询或无该指标时为 null */
+    private final Duration                     computeTime;
+    /** 物理计划中列出的 Parquet 文件数（去重） */
+    private final int                          filesScanned;
+    /** 物理计划中扫描 Parquet 文件的分组（分区）数 */
+    private final int                          partitionsScanned;
+
+    private InfluxQueryPlan(String sql,
+                            Map<String, Object> parameters,
+                            boolean analyzed,
+                            SequencedMap<String, String> plans,
+                            List<Operator> operators,
+                            Duration elapsed) {
+        this.sql        = sql;
+        this.parameters = parameters;
+        this.analyzed   = analyzed;
+        this.plans      = plans;
+        this.operators  = operators;
+        this.elapsed    = elapsed;
+
+        Set<String> files      = new HashSet<>();
+        int         partitions = 0;
+        long        compute    = 0L;
+        boolean     computed   = false;
+        for (Operator operator : operators) {
+            Matcher groups = FILE_GROUPS.matcher(operator.details());
+            if (groups.find()) {
+                partitions += Integer.parseInt(groups.group(1));
+            }
+            Matcher file = PARQUET_FILE.matcher(operator.details());
+            while (file.find()) {
+                files.add(file.group());
+            }
+            Duration time = operator.elapsedCompute();
+            if (time != null) {
+                compute += time.toNanos();
+                computed = true;
+            }
+        }
+        this.outputRows        = operators.isEmpty() ? null : operators.getFirst().outputRows();
+        this.computeTime       = computed ? Duration.ofNanos(compute) : null;
+        this.filesScanned      = files.size();
+        this.partitionsScanned = partitions;
+    }
+
+    /**
+     * 解析计划语句的查询结果
+     *
+     * @param sql        被解释的查询语句（不含 EXPLAIN 前缀）
+     * @param parameters 执行时绑定的查询参数
+     * @param analyzed   是否为 EXPLAIN ANALYZE 的结果
+     * @param rows       查询结果，每行依次为计划类型与计划文本
+     * @param elapsed    客户端测得的执行耗时
+     * @return 查询计划
+     */
+    public static InfluxQueryPlan parse(@Nonnull String sql,
+                                        @Nullable Map<String, Object> parameters,
+                                        boolean analyzed,
+                                        @Nonnull List<Object[]> rows,
+                                        @Nonnull Duration elapsed) {
+        SequencedMap<String, String> plans = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            if (row.length >= 2 && row[0] != null && row[1] != null) {
+                plans.put(row[0].toString(), row[1].toString());
+            }
+        }
+        String physical = plans.get(analyzed ? PLAN_WITH_METRICS : PHYSICAL_PLAN);
+        if (physical == null && !plans.isEmpty()) {
+            // 未识别的计划类型，以最后一个计划为物理计划
+            physical = plans.lastEntry().getValue();
+        }
+        return new InfluxQueryPlan(sql,
+                                   parameters == null ? Collections.emptyMap() : Collections.unmodifiableMap(parameters),
+                                   analyzed,
+                                   Collections.unmodifiableSequencedMap(plans),
+                                   physical == null ? Collections.emptyList() : parseOperators(physical),
+                                   elapsed);
+    }
+
+    /**
+     * 获取逻辑计划文本
+     *
+     * @return 逻辑计划，EXPLAIN ANALYZE 的结果中不包含逻辑计划，此时为 null
+     */
+    public String logicalPlan() {
+        return plans.get(LOGICAL_PLAN);
+    }
+
+    /**
+     * 获取物理计划文本
+     *
+     * @return 物理计划，EXPLAIN ANALYZE 的结果为带执行指标的计划
+     */
+    public String physicalPlan() {
+        String plan = plans.get(analyzed ? PLAN_WITH_METRICS : PHYSICAL_PLAN);
+        return plan != null || plans.isEmpty() ? plan : plans.lastEntry().getValue();
+    }
+
+    /**
+     * 获取指定名称的算子
+     *
+     * @param name 算子名称，如 ParquetExec、SortExec
+     * @return 按先序排列的同名算子
+     */
+    public List<Operator> operators(@Nonnull String name) {
+        return operators.stream().filter(o -> o.name().equals(name)).toList();
+    }
+
+    /**
+     * 将物理计划文本解析为按先序排列的算子，每行一个算子，层级由缩进（每级两个空格）确定
+     *
+     * @param plan 物理计划文本
+     * @return 算子列表
+     */
+    private static List<Operator> parseOperators(@Nonnull String plan) {
+        List<Operator> operators = new ArrayList<>();
+        int            indent    = -1;
+        for (String line : plan.split("\n")) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int width = line.length() - line.stripLeading().length();
+            if (indent < 0) {
+                indent = width;
+            }
+            // 分离执行指标
+            Map<String, String> metrics = Collections.emptyMap();
+            int                 at      = trimmed.lastIndexOf(METRICS_PREFIX);
+            if (at >= 0 && trimmed.endsWith("]")) {
+                metrics = parseMetrics(trimmed.substring(at + METRICS_PREFIX.length(), trimmed.length() - 1));
+                trimmed = trimmed.substring(0, at);
+            }
+            int    colon   = trimmed.indexOf(':');
+            String name    = colon < 0 ? trimmed : trimmed.substring(0, colon);
+            String details = colon < 0 ? "" : trimmed.substring(colon + 1).strip();
+            operators.add(new Operator(name, Math.max(0, (width - indent) / 2), details, metrics));
+        }
+        return Collections.unmodifiableList(operators);
+    }
+
+    private static Map<String, String> parseMetrics(@Nonnull String text) {
+        Map<String, String> metrics = new LinkedHashMap<>();
+        for (String entry : text.split(", ")) {
+            int eq = entry.indexOf('=');
+            if (eq > 0) {
+                metrics.put(entry.substring(0, eq).strip(), entry.substring(eq + 1).strip());
+            }
+        }
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * 解析执行指标中的耗时，如 1.5ms、230.4µs、12ns
+     *
+     * @param text 耗时文本
+     * @return 耗时，无法解析时为 null
+     */
+    static Duration parseDuration(@Nullable String text) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = DURATION.matcher(text.strip());
+        if (!matcher.matches()) {
+            return null;
+        }
+        double value = Double.parseDouble(matcher.group(1));
+        double nanos = switch (matcher.group(2)) {
+            case "ns" -> value;
+            case "µs", "us" -> value * 1_000D;
+            case "ms" -> value * 1_000_000D;
+            default -> value * 1_000_000_000D;
+        };
+        return Duration.ofNanos(Math.round(nanos));
+    }
+
+    /**
+     * 物理计划中的算子
+     *
+     * @param name    算子名称，如 ProjectionExec、ParquetExec
+     * @param depth   算子在算子树中的深度，根算子为 0
+     * @param details 算子的描述（不含执行指标）
+     * @param metrics 执行指标，仅 EXPLAIN ANALYZE 的结果包含
+     */
+    public record Operator(String name, int depth, String details, Map<String, String> metrics) {
+        /**
+         * 获取输出行数
+         *
+         * @return 输出行数，无该指标时为 null
+         */
+        public Long outputRows() {
+            String rows = metrics.get(OUTPUT_ROWS);
+            if (rows == null) {
+                return null;
+            }
+            try {
+                return Long.parseLong(rows);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        /**
+         * 获取计算耗时
+         *
+         * @return 计算耗时，无该指标时为 null
+         */
+        public Duration elapsedCompute() {
+            return parseDuration(metrics.get(ELAPSED_COMPUTE));
+        }
+    }
+}
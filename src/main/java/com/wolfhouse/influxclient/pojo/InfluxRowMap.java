@@ -0,0 +1,251 @@
+package com.wolfhouse.influxclient.pojo;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * 紧凑的结果行映射表。
+ * <p>
+ * 同一结果集的所有行共享一份列信息（{@link Schema}），每行仅持有一个值数组，读取时按列名查找列位置后直接访问数组，
+ * 不会为每一行创建哈希表或重复计算列名的哈希值。
+ * <p>
+ * 值数组在首次修改前与查询结果共享（写时复制），修改已有列的值时复制值数组；
+ * 添加新的列或删除列时，转换为普通的 {@link LinkedHashMap}，之后的操作均由该映射表完成。
+ *
+ * @author Rylin Wolf
+ */
+public final class InfluxRowMap extends AbstractMap<String, Object> {
+    /** 列信息 */
+    private final Schema              schema;
+    /** 值数组，按列位置存储 */
+    private       Object[]            values;
+    /** 值数组是否与查询结果共享，共享时修改前需要复制 */
+    private       boolean             shared;
+    /** 转换后的映射表，添加或删除列后不为 null */
+    private       Map<String, Object> overflow;
+
+    /**
+     * 创建结果行映射表，值数组会被共享，首次修改时复制
+     *
+     * @param schema 列信息
+     * @param values 值数组，长度需与列数一致
+     */
+    public InfluxRowMap(@Nonnull Schema schema, @Nonnull Object[] values) {
+        if (values.length != schema.width) {
+            throw new IllegalArgumentException("查询参数数与结果集不一致: %d, %d".formatted(schema.width, values.length));
+        }
+        this.schema = schema;
+        this.values = values;
+        this.shared = true;
+    }
+
+    @Override
+    public int size() {
+        return overflow == null ? schema.names.length : overflow.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return overflow == null ? schema.indexes.containsKey(key) : overflow.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (overflow != null) {
+            return overflow.get(key);
+        }
+        Integer index = schema.indexes.get(key);
+        return index == null ? null : values[index];
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if (overflow == null) {
+            Integer index = schema.indexes.get(key);
+            if (index != null) {
+                copyOnWrite();
+                Object previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+            inflate();
+        }
+        return overflow.put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (overflow == null) {
+            if (!schema.indexes.containsKey(key)) {
+                return null;
+            }
+            inflate();
+        }
+        return overflow.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        if (overflow == null) {
+            overflow = new LinkedHashMap<>();
+            values   = null;
+            return;
+        }
+        overflow.clear();
+    }
+
+    @Nonnull
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (overflow != null) {
+            return overflow.entrySet();
+        }
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int                 cursor   = 0;
+                    private int                 last     = -1;
+                    /** 迭代期间由当前迭代器删除列后转换的映射表，其他方式添加或删除列后结束迭代 */
+                    private Map<String, Object> expected = null;
+
+                    @Override
+                    public boolean hasNext() {
+                        return overflow == expected && cursor < schema.names.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        last = cursor;
+                        return new RowEntry(cursor++);
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last < 0) {
+                            throw new IllegalStateException();
+                        }
+                        if (overflow == null) {
+                            inflate();
+                        }
+                        overflow.remove(schema.names[last]);
+                        expected = overflow;
+                        last     = -1;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return InfluxRowMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * 判断与另一行的列是否相同，两行共享同一份列信息且均未添加或删除列时为 true
+     *
+     * @param other 另一行
+     * @return 列是否相同
+     */
+    public boolean hasSameColumns(@Nonnull InfluxRowMap other) {
+        return schema == other.schema && overflow == null && other.overflow == null;
+    }
+
+    /** 修改已有列的值前，复制共享的值数组 */
+    private void copyOnWrite() {
+        if (shared) {
+            values = values.clone();
+            shared = false;
+        }
+    }
+
+    /** 转换为普通的映射表，用于添加或删除列 */
+    private void inflate() {
+        Map<String, Object> map = LinkedHashMap.newLinkedHashMap(schema.names.length + 1);
+        for (int i = 0; i < schema.names.length; i++) {
+            map.put(schema.names[i], values[schema.positions[i]]);
+        }
+        overflow = map;
+        values   = null;
+    }
+
+    /**
+     * 按列位置读写的映射项
+     */
+    private final class RowEntry implements Entry<String, Object> {
+        private final int ordinal;
+
+        private RowEntry(int ordinal) {
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public String getKey() {
+            return schema.names[ordinal];
+        }
+
+        @Override
+        public Object getValue() {
+            return overflow == null ? values[schema.positions[ordinal]] : overflow.get(getKey());
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return put(getKey(), value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> e && Objects.equals(getKey(), e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+    /**
+     * 结果集的列信息，由同一结果集的所有行共享。列名重复时，以最后一个同名列的值为准。
+     */
+    public static final class Schema {
+        /** 列名 → 值数组中的位置 */
+        private final Map<String, Integer> indexes;
+        /** 去重后的列名，按首次出现的顺序排列 */
+        private final String[]             names;
+        /** 去重后的列名对应的值数组位置 */
+        private final int[]                positions;
+        /** 值数组长度 */
+        private final int                  width;
+
+        public Schema(@Nonnull SequencedCollection<String> columns) {
+            Map<String, Integer> indexes = LinkedHashMap.newLinkedHashMap(columns.size());
+            int                  i       = 0;
+            for (String column : columns) {
+                indexes.put(column, i++);
+            }
+            this.indexes   = indexes;
+            this.names     = indexes.keySet().toArray(String[]::new);
+            this.positions = indexes.values().stream().mapToInt(Integer::intValue).toArray();
+            this.width     = i;
+        }
+
+        /**
+         * 获取列数
+         *
+         * @return 列数，包括重复的列
+         */
+        public int width() {
+            return width;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * InfluxDB 存储对象标签集合
@@ -17,7 +18,12 @@ import java.util.Set;
 @ToString(includeFieldNames = false)
 public class InfluxTags {
 
-    private final LinkedHashMap<String, String> tags;
+    /** 键集合版本号生成器，各实例的版本号互不相同 */
+    private static final AtomicLong                    KEY_VERSIONS = new AtomicLong();
+    private final        LinkedHashMap<String, String> tags;
+    /** 键集合版本号，添加或删除键时更新 */
+    @ToString.Exclude
+    private              long                          keyVersion   = KEY_VERSIONS.incrementAndGet();
 
     public InfluxTags() {
         tags = new LinkedHashMap<>();
@@ -45,6 +51,9 @@ public class InfluxTags {
     }
 
     public InfluxTags add(String key, String value) {
+        if (!tags.containsKey(key)) {
+            keyVersion = KEY_VERSIONS.incrementAndGet();
+        }
         tags.put(key, value);
         return this;
     }
@@ -79,9 +88,21 @@ public class InfluxTags {
     }
 
     public String remove(String key) {
+        if (tags.containsKey(key)) {
+            keyVersion = KEY_VERSIONS.incrementAndGet();
+        }
         return tags.remove(key);
     }
 
+    /**
+     * 获取键集合版本号。添加或删除键后版本号改变，且不同实例的版本号互不相同，可用于判断键集合是否变化
+     *
+     * @return 键集合版本号
+     */
+    public long getKeyVersion() {
+        return keyVersion;
+    }
+
     public boolean containsKey(String key) {
         return tags.containsKey(key);
     }
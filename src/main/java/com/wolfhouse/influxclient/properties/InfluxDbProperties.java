@@ -1,9 +1,12 @@
 package com.wolfhouse.influxclient.properties;
 
+import com.wolfhouse.influxclient.core.InfluxTimeRangeGuard;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author Rylin Wolf
@@ -31,4 +34,76 @@ public class InfluxDbProperties {
 
     /** 缓存区刷新时间间隔(ms), 默认 1 分钟 */
     private Long cacheFlushInterval = Duration.ofMinutes(1).toMillis();
+
+    /** 默认查询超时时间(ms), 默认 0, 不大于 0 表示不限制。可通过查询构造器的 timeout 单独设置 */
+    private Long queryTimeout = 0L;
+
+    /** 是否启用查询结果缓存, 默认不启用 */
+    private Boolean queryCacheEnabled = false;
+
+    /** 查询结果缓存条目数量上限, 默认 1000 条 */
+    private Long queryCacheMaxEntries = 1000L;
+
+    /** 查询结果缓存权重上限（结果单元格数，即 行数 × 列数）, 默认 100 万 */
+    private Long queryCacheMaxWeight = 1_000_000L;
+
+    /** 查询结果缓存默认存活时间(ms), 默认 5 秒 */
+    private Long queryCacheTtl = Duration.ofSeconds(5).toMillis();
+
+    /** 按表（measurement）单独配置的查询结果缓存存活时间(ms)，不大于 0 表示该表不缓存 */
+    private Map<String, Long> queryCacheMeasurementTtl = new HashMap<>();
+
+    /** 通过当前客户端写入数据后，是否使对应表的查询结果缓存失效, 默认 true */
+    private Boolean queryCacheInvalidateOnWrite = true;
+
+    /** 表结构元数据（列信息、表名）缓存存活时间(ms), 默认 1 分钟, 不大于 0 表示不缓存 */
+    private Long schemaCacheTtl = Duration.ofMinutes(1).toMillis();
+
+    /** 查询未包含时间条件时注入的默认回溯窗口(ms), 默认 0, 不大于 0 表示不注入 */
+    private Long timeRangeDefaultLookback = 0L;
+
+    /** 查询时间跨度上限(ms), 默认 0, 不大于 0 表示不限制 */
+    private Long timeRangeMaxSpan = 0L;
+
+    /** 查询时间跨度超过上限时的处理方式, 默认拒绝 */
+    private InfluxTimeRangeGuard.Mode timeRangeMode = InfluxTimeRangeGuard.Mode.REJECT;
+
+    /** IN 条件的值数量超过该阈值时拆分为多个查询并发执行, 默认 0, 不大于 0 表示不拆分 */
+    private Integer inListSplitThreshold = 0;
+
+    /** 拆分 IN 条件时每个查询包含的值数量, 默认 500 */
+    private Integer inListChunkSize = 500;
+
+    /** 拆分 IN 条件后同时执行的查询数量上限, 默认 4 */
+    private Integer inListParallelism = 4;
+
+    /** 是否启用并发查询合并（相同查询同时执行时共享结果）, 默认不启用 */
+    private Boolean queryCoalescingEnabled = false;
+
+    /** 异步查询执行器的线程数, 默认 0, 不大于 0 表示为每个异步查询创建一个虚拟线程 */
+    private Integer queryExecutorThreads = 0;
+
+    /** 批量查询时同时执行的查询数量上限, 默认 8 */
+    private Integer queryBatchParallelism = 8;
+
+    /** 并行映射的结果集行数阈值, 默认 0, 不大于 0 表示不启用并行映射 */
+    private Integer mappingParallelThreshold = 0;
+
+    /** 并行映射线程池的并行度, 默认 0, 不大于 0 表示使用公共 ForkJoin 线程池 */
+    private Integer mappingParallelism = 0;
+
+    /** 是否启用查询准入控制（限制并发查询数量）, 默认不启用 */
+    private Boolean admissionEnabled = false;
+
+    /** 同时执行的查询数量上限, 默认 32 */
+    private Integer admissionMaxInFlight = 32;
+
+    /** 查询等待队列长度上限, 默认 1000, 不大于 0 表示不限制 */
+    private Integer admissionMaxQueue = 1000;
+
+    /** 查询等待许可的最长时间(ms), 默认 5 秒, 不大于 0 表示不等待 */
+    private Long admissionMaxWait = Duration.ofSeconds(5).toMillis();
+
+    /** 各租户的查询许可权重，未配置的租户权重为 1 */
+    private Map<String, Integer> admissionTenantWeights = new HashMap<>();
 }
@@ -0,0 +1,25 @@
+package com.wolfhouse.influxclient.typehandler;
+
+/**
+ * 布尔型（boolean）类型处理器接口
+ * <p>
+ * 映射计划为 boolean 类型的字段选择该处理器时，通过 {@link #getBoolean(Object)} 取得基本类型的值后直接写入字段，
+ * 转换结果不经过装箱。原始值为 null 时不会调用该方法，字段保留默认值。
+ *
+ * @author Rylin Wolf
+ */
+@FunctionalInterface
+public interface BooleanTypeHandler extends TypeHandler<Boolean> {
+    /**
+     * 将 InfluxDB 返回的原始值转换为 boolean
+     *
+     * @param result InfluxDB 返回的原始值，不为 null
+     * @return 转换后的值
+     */
+    boolean getBoolean(Object result);
+
+    @Override
+    default Boolean getResult(Object result) {
+        return result == null ? null : getBoolean(result);
+    }
+}
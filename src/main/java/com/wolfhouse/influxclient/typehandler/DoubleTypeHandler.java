@@ -0,0 +1,26 @@
+package com.wolfhouse.influxclient.typehandler;
+
+/**
+ * 双精度浮点型（double）类型处理器接口
+ * <p>
+ * 映射计划为 double、float 类型的字段选择该处理器时，通过 {@link #getDouble(Object)} 取得基本类型的值后直接写入字段，
+ * 转换结果不经过装箱。原始值为 null 时不会调用该方法，字段保留默认值。
+ * float 字段默认不注册处理器，为其显式注册该处理器时，写入的值按窄化转换舍入。
+ *
+ * @author Rylin Wolf
+ */
+@FunctionalInterface
+public interface DoubleTypeHandler extends TypeHandler<Double> {
+    /**
+     * 将 InfluxDB 返回的原始值转换为 double
+     *
+     * @param result InfluxDB 返回的原始值，不为 null
+     * @return 转换后的值
+     */
+    double getDouble(Object result);
+
+    @Override
+    default Double getResult(Object result) {
+        return result == null ? null : getDouble(result);
+    }
+}
@@ -2,16 +2,79 @@ package com.wolfhouse.influxclient.typehandler;
 
 import com.wolfhouse.influxclient.utils.TimeStampUtils;
 
+import java.math.BigInteger;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 
 /**
  * 时间戳类型处理器
+ * <p>
+ * 根据原始值的类型直接转换，不经过字符串：
+ * <ul>
+ *     <li>{@link Instant} 直接返回；{@link LocalDateTime} 视为 UTC 时间</li>
+ *     <li>{@link BigInteger} 为客户端按列元数据换算后的纳秒时间戳（InfluxDB 的 time 列及时间戳类型的列），不再检测单位</li>
+ *     <li>其余数值按数值范围检测单位，通过 {@link #forColumn(String)} 获取的处理器用于映射一个结果集，只在该结果集的首个值上检测一次，
+ *     之后在同一结果集内复用该单位</li>
+ *     <li>字符串按整数时间戳或 ISO-8601 格式解析</li>
+ * </ul>
  *
  * @author Rylin Wolf
  */
 public class InstantTypeHandler implements TypeHandler<Instant> {
+    /** 是否缓存检测到的时间单位，仅为某一结果集按列创建的处理器缓存 */
+    private final    boolean    cacheUnit;
+    /** 检测到的时间单位 */
+    private volatile ChronoUnit unit;
+
+    public InstantTypeHandler() {
+        this(false);
+    }
+
+    private InstantTypeHandler(boolean cacheUnit) {
+        this.cacheUnit = cacheUnit;
+    }
+
     @Override
     public Instant getResult(Object result) {
-        return TimeStampUtils.autoConvert(Long.parseLong(result.toString()));
+        return switch (result) {
+            case null -> null;
+            case Instant instant -> instant;
+            case LocalDateTime dateTime -> dateTime.toInstant(ZoneOffset.UTC);
+            case BigInteger nanos -> TimeStampUtils.ofEpochNanos(nanos.longValueExact());
+            case Number number -> fromEpoch(number.longValue());
+            default -> parse(result.toString());
+        };
+    }
+
+    @Override
+    public TypeHandler<Instant> forColumn(String column) {
+        return new InstantTypeHandler(true);
+    }
+
+    private Instant fromEpoch(long timestamp) {
+        if (!cacheUnit) {
+            return TimeStampUtils.autoConvert(timestamp);
+        }
+        ChronoUnit detected = unit;
+        if (detected == null) {
+            detected = TimeStampUtils.detectUnit(timestamp);
+            unit     = detected;
+        }
+        return TimeStampUtils.toInstant(timestamp, detected);
+    }
+
+    private Instant parse(String text) {
+        try {
+            return fromEpoch(Long.parseLong(text));
+        } catch (NumberFormatException e) {
+            try {
+                return Instant.parse(text);
+            } catch (DateTimeParseException ignored) {
+                throw e;
+            }
+        }
     }
 }
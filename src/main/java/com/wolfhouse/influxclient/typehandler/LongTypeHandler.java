@@ -0,0 +1,25 @@
+package com.wolfhouse.influxclient.typehandler;
+
+/**
+ * 长整型（long）类型处理器接口
+ * <p>
+ * 映射计划为 long、int、short、byte 类型的字段选择该处理器时，通过 {@link #getLong(Object)} 取得基本类型的值后直接写入字段，
+ * 转换结果不经过装箱。写入 int、short、byte 字段时检查取值范围，超出范围时不写入并记录错误日志。原始值为 null 时不会调用该方法，字段保留默认值。
+ *
+ * @author Rylin Wolf
+ */
+@FunctionalInterface
+public interface LongTypeHandler extends TypeHandler<Long> {
+    /**
+     * 将 InfluxDB 返回的原始值转换为 long
+     *
+     * @param result InfluxDB 返回的原始值，不为 null
+     * @return 转换后的值
+     */
+    long getLong(Object result);
+
+    @Override
+    default Long getResult(Object result) {
+        return result == null ? null : getLong(result);
+    }
+}
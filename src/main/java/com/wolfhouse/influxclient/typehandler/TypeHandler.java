@@ -14,4 +14,15 @@ public interface TypeHandler<T> {
      * @return 转换后的 Java 对象
      */
     T getResult(Object result);
+
+    /**
+     * 获取用于指定列的类型处理器。每个结果集的映射计划为每一列调用一次，
+     * 处理器可以返回按列保存状态（如检测到的时间单位）的新实例，该实例仅用于映射同一结果集，默认返回当前实例
+     *
+     * @param column 列名
+     * @return 用于该列的类型处理器
+     */
+    default TypeHandler<T> forColumn(String column) {
+        return this;
+    }
 }
\ No newline at end of file
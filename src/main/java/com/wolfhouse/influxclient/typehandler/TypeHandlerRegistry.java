@@ -0,0 +1,181 @@
+package com.wolfhouse.influxclient.typehandler;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 全局类型处理器注册表。
+ * <p>
+ * 按 Java 目标类型及 InfluxDB 列类型（information_schema.columns 中的 data_type，如 Int64、Float64、Utf8）注册类型处理器，
+ * 字段或构造方法参数未标注 {@link InfluxTypeHandler} 时，映射计划按字段类型与列类型从注册表中查找处理器，
+ * 每个映射计划仅查找一次。查找时优先匹配列类型，其次为仅按 Java 类型注册的处理器。
+ * 注册或重置处理器后，已缓存的映射计划会在下次使用时重新生成（参见 {@link #version()}）。
+ * <p>
+ * 默认注册了 long、int、short、byte、double、boolean 及其包装类型与 {@link Instant} 的处理器，
+ * 基本类型使用 {@link LongTypeHandler}、{@link DoubleTypeHandler}、{@link BooleanTypeHandler}，映射时不经过装箱。
+ * 默认处理器仅进行无损转换：整数写入 int、short、byte 时检查取值范围，浮点数、布尔值、字符串不会转换为整数，
+ * 无法转换的值会记录错误日志，字段或参数保留默认值。需要有损转换时，注册自定义处理器，
+ * 如 float 类型可注册 {@link #FLOAT}。
+ * 仅在注册了按列类型区分的处理器时，查询客户端才会在映射前获取表的列类型（通过表结构缓存）。
+ *
+ * @author Rylin Wolf
+ */
+@Slf4j
+public final class TypeHandlerRegistry {
+    /** 转换为 long 的默认处理器 */
+    public static final     LongTypeHandler          LONG     = TypeHandlerRegistry::toLong;
+    /** 转换为 double 的默认处理器 */
+    public static final     DoubleTypeHandler        DOUBLE   = TypeHandlerRegistry::toDouble;
+    /** 转换为 boolean 的默认处理器 */
+    public static final     BooleanTypeHandler       BOOLEAN  = TypeHandlerRegistry::toBoolean;
+    /** 将数值转换为 float 的处理器，double 会被舍入，默认不注册 */
+    public static final     TypeHandler<Float>       FLOAT    = TypeHandlerRegistry::toFloat;
+    /** 缓存 (Java 类型, 列类型) → 类型处理器，列类型为 null 表示仅按 Java 类型注册 */
+    private static final    Map<Key, TypeHandler<?>> HANDLERS = new ConcurrentHashMap<>();
+    /** 注册表版本，注册或重置处理器时递增 */
+    private static final    AtomicLong               VERSION  = new AtomicLong();
+    /** 是否注册了按列类型区分的处理器 */
+    private static volatile boolean                  columnTypeMappings;
+
+    static {
+        registerDefaults();
+    }
+
+    private TypeHandlerRegistry() {}
+
+    /**
+     * 按 Java 类型注册类型处理器，已存在时覆盖。基本类型与包装类型需要分别注册
+     *
+     * @param javaType Java 目标类型
+     * @param handler  类型处理器
+     */
+    public static <T> void register(@Nonnull Class<T> javaType, @Nonnull TypeHandler<? extends T> handler) {
+        HANDLERS.put(new Key(javaType, null), handler);
+        VERSION.incrementAndGet();
+    }
+
+    /**
+     * 按 Java 类型及 InfluxDB 列类型注册类型处理器，已存在时覆盖
+     *
+     * @param javaType   Java 目标类型
+     * @param columnType InfluxDB 列类型，即 information_schema.columns 中的 data_type
+     * @param handler    类型处理器
+     */
+    public static <T> void register(@Nonnull Class<T> javaType,
+                                    @Nonnull String columnType,
+                                    @Nonnull TypeHandler<? extends T> handler) {
+        HANDLERS.put(new Key(javaType, columnType), handler);
+        columnTypeMappings = true;
+        VERSION.incrementAndGet();
+        log.debug("【TypeHandlerRegistry】注册类型处理器: {} ({}) -> {}", javaType.getName(), columnType, handler.getClass().getName());
+    }
+
+    /**
+     * 查找类型处理器，优先匹配列类型，其次为仅按 Java 类型注册的处理器
+     *
+     * @param javaType   Java 目标类型
+     * @param columnType InfluxDB 列类型，未知时为 null
+     * @return 类型处理器，不存在时为 null
+     */
+    @Nullable
+    public static TypeHandler<?> resolve(@Nonnull Class<?> javaType, @Nullable String columnType) {
+        if (columnType != null && columnTypeMappings) {
+            TypeHandler<?> handler = HANDLERS.get(new Key(javaType, columnType));
+            if (handler != null) {
+                return handler;
+            }
+        }
+        return HANDLERS.get(new Key(javaType, null));
+    }
+
+    /**
+     * 是否注册了按列类型区分的处理器，未注册时映射无需获取列类型
+     *
+     * @return 是否注册了按列类型区分的处理器
+     */
+    public static boolean hasColumnTypeMappings() {
+        return columnTypeMappings;
+    }
+
+    /**
+     * 获取注册表版本，注册或重置处理器时递增，映射计划据此判断其中的处理器是否过期
+     *
+     * @return 注册表版本
+     */
+    public static long version() {
+        return VERSION.get();
+    }
+
+    /** 清空注册表并恢复默认处理器 */
+    public static void reset() {
+        HANDLERS.clear();
+        columnTypeMappings = false;
+        registerDefaults();
+        VERSION.incrementAndGet();
+    }
+
+    // region 默认处理器
+
+    private static void registerDefaults() {
+        for (Class<?> type : new Class<?>[]{long.class, Long.class, int.class, Integer.class, short.class, Short.class, byte.class, Byte.class}) {
+            HANDLERS.put(new Key(type, null), LONG);
+        }
+        HANDLERS.put(new Key(double.class, null), DOUBLE);
+        HANDLERS.put(new Key(Double.class, null), DOUBLE);
+        HANDLERS.put(new Key(boolean.class, null), BOOLEAN);
+        HANDLERS.put(new Key(Boolean.class, null), BOOLEAN);
+        HANDLERS.put(new Key(Instant.class, null), new InstantTypeHandler());
+    }
+
+    private static long toLong(Object result) {
+        return switch (result) {
+            case Long l -> l;
+            case Integer i -> i;
+            case Short sh -> sh;
+            case Byte b -> b;
+            case BigInteger b -> b.longValueExact();
+            default -> throw new IllegalArgumentException("【TypeHandlerRegistry】无法无损转换为 long: " + describe(result));
+        };
+    }
+
+    private static double toDouble(Object result) {
+        return switch (result) {
+            case Double d -> d;
+            case Float f -> f;
+            case Long l -> l;
+            case Integer i -> i;
+            case Short sh -> sh;
+            case Byte b -> b;
+            default -> throw new IllegalArgumentException("【TypeHandlerRegistry】无法无损转换为 double: " + describe(result));
+        };
+    }
+
+    private static boolean toBoolean(Object result) {
+        if (result instanceof Boolean b) {
+            return b;
+        }
+        throw new IllegalArgumentException("【TypeHandlerRegistry】无法无损转换为 boolean: " + describe(result));
+    }
+
+    private static Float toFloat(Object result) {
+        return switch (result) {
+            case null -> null;
+            case Number number -> number.floatValue();
+            default -> throw new IllegalArgumentException("【TypeHandlerRegistry】无法转换为 float: " + describe(result));
+        };
+    }
+
+    private static String describe(Object result) {
+        return result.getClass().getName() + " " + result;
+    }
+    // endregion
+
+    private record Key(Class<?> javaType, String columnType) {}
+}
@@ -0,0 +1,190 @@
+package com.wolfhouse.influxclient.utils;
+
+import javax.annotation.Nonnull;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 结果流工具
+ *
+ * @author Rylin Wolf
+ */
+public class StreamUtils {
+
+    /**
+     * 包装结果流，在流消费过程中发生异常时调用异常处理器。
+     * <p>
+     * 查询结果流是惰性的，服务端错误通常在消费时才会抛出，因此无法在创建流时捕获。
+     * 异常处理器可以转换异常（抛出新的异常），若处理器正常返回，则原异常继续抛出。
+     * 包装后的流关闭时会关闭原始流。
+     *
+     * @param stream  原始结果流
+     * @param handler 异常处理器
+     * @return 包装后的结果流
+     */
+    public static <T> Stream<T> onError(@Nonnull Stream<T> stream, @Nonnull Consumer<RuntimeException> handler) {
+        return StreamSupport.stream(new GuardedSpliterator<>(stream.spliterator(), handler), false)
+                            .onClose(stream::close);
+    }
+
+    /**
+     * 包装结果流，为其设置截止时间。
+     * <p>
+     * 每次获取下一个元素前检查截止时间，超过截止时间后关闭原始流（取消底层查询），并抛出超时异常。
+     * 包装后的流关闭时会关闭原始流。
+     *
+     * @param stream        原始结果流
+     * @param deadlineNanos 截止时间，基于 {@link System#nanoTime()}
+     * @param onTimeout     超时异常提供者
+     * @return 包装后的结果流
+     */
+    public static <T> Stream<T> withDeadline(@Nonnull Stream<T> stream,
+                                             long deadlineNanos,
+                                             @Nonnull Supplier<? extends RuntimeException> onTimeout) {
+        return StreamSupport.stream(new DeadlineSpliterator<>(stream.spliterator(), deadlineNanos, stream::close, onTimeout), false)
+                            .onClose(stream::close);
+    }
+
+    /**
+     * 包装结果流，在流结束时执行一次结束回调。
+     * <p>
+     * 流被完全消费、消费过程中发生异常或流被关闭时，均视为流结束，回调仅会执行一次。
+     * 若调用方既未完全消费也未关闭结果流，则回调不会执行，因此调用方应当在使用完毕后关闭结果流。
+     *
+     * @param stream   原始结果流
+     * @param onFinish 结束回调
+     * @return 包装后的结果流
+     */
+    public static <T> Stream<T> onFinish(@Nonnull Stream<T> stream, @Nonnull Runnable onFinish) {
+        Runnable once = new OnceRunnable(onFinish);
+        return StreamSupport.stream(new FinishingSpliterator<>(stream.spliterator(), once), false)
+                            .onClose(() -> {
+                                try {
+                                    stream.close();
+                                } finally {
+                                    once.run();
+                                }
+                            });
+    }
+
+    /**
+     * 仅执行一次的回调
+     */
+    private static final class OnceRunnable implements Runnable {
+        private final Runnable      delegate;
+        private final AtomicBoolean done = new AtomicBoolean(false);
+
+        private OnceRunnable(Runnable delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            if (done.compareAndSet(false, true)) {
+                delegate.run();
+            }
+        }
+    }
+
+    /**
+     * 在元素耗尽或推进异常时执行结束回调的 Spliterator，不支持拆分
+     */
+    private record FinishingSpliterator<T>(Spliterator<T> source, Runnable onFinish) implements Spliterator<T> {
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            boolean advanced;
+            try {
+                advanced = source.tryAdvance(action);
+            } catch (RuntimeException e) {
+                onFinish.run();
+                throw e;
+            }
+            if (!advanced) {
+                onFinish.run();
+            }
+            return advanced;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+        }
+    }
+
+    /**
+     * 在元素推进时捕获异常的 Spliterator，不支持拆分
+     */
+    private record GuardedSpliterator<T>(Spliterator<T> source,
+                                         Consumer<RuntimeException> handler) implements Spliterator<T> {
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                return source.tryAdvance(action);
+            } catch (RuntimeException e) {
+                handler.accept(e);
+                throw e;
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+        }
+    }
+
+    /**
+     * 在元素推进前检查截止时间的 Spliterator，不支持拆分
+     */
+    private record DeadlineSpliterator<T>(Spliterator<T> source,
+                                          long deadlineNanos,
+                                          Runnable canceller,
+                                          Supplier<? extends RuntimeException> onTimeout) implements Spliterator<T> {
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (System.nanoTime() - deadlineNanos >= 0) {
+                canceller.run();
+                throw onTimeout.get();
+            }
+            return source.tryAdvance(action);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+        }
+    }
+}
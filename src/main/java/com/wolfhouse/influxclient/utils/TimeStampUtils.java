@@ -13,6 +13,8 @@ import java.time.temporal.ChronoUnit;
  */
 @Slf4j
 public class TimeStampUtils {
+    /** 2201-01-01T00:00:00Z 的秒级时间戳，用于判断时间戳单位是否合理 */
+    private static final long REASONABLE_EPOCH_SECOND_LIMIT = LocalDate.of(2201, 1, 1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
 
     /**
      * 将各种精度的时间戳转换为 Instant
@@ -46,49 +48,60 @@ public class TimeStampUtils {
         return detectAndConvert(timestamp);
     }
 
-    private static Instant detectAndConvert(long timestamp) {
+    /**
+     * 将纳秒时间戳转换为 Instant，负数时间戳同样适用
+     *
+     * @param nanos 纳秒时间戳
+     * @return Instant
+     */
+    public static Instant ofEpochNanos(long nanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
+    }
+
+    /**
+     * 根据数值范围检测时间戳的单位。
+     * 同一列的时间戳单位相同，批量转换时可检测一次后通过 {@link #toInstant(long, ChronoUnit)} 复用结果
+     *
+     * @param timestamp 时间戳
+     * @return 时间单位
+     */
+    public static ChronoUnit detectUnit(long timestamp) {
         // 根据数值范围判断
         if (timestamp >= 1_000_000_000_000_000_000L) {
             // >= 1e18
             // 19位数字，应该是纳秒
-            return toInstant(timestamp, ChronoUnit.NANOS);
+            return ChronoUnit.NANOS;
         } else if (timestamp >= 1_000_000_000_000_000L) {
             // >= 1e15
-            // 16位数字，可能是纳秒或微秒
-            return tryBoth(timestamp);
+            // 16位数字，可能是纳秒或微秒，选择年份合理的单位
+            if (isReasonable(timestamp / 1_000_000_000L)) {
+                return ChronoUnit.NANOS;
+            } else if (isReasonable(timestamp / 1_000_000L)) {
+                return ChronoUnit.MICROS;
+            }
+            throw new IllegalArgumentException("【TimestampUtils】无法确定时间戳单位: " + timestamp);
         } else if (timestamp >= 1_000_000_000_000L) {
             // >= 1e12
             // 13位数字，通常是毫秒
-            return toInstant(timestamp, ChronoUnit.MILLIS);
+            return ChronoUnit.MILLIS;
         } else if (timestamp >= 1_000_000_000L) {
             // >= 1e9
             // 10位数字，通常是秒
-            return toInstant(timestamp, ChronoUnit.SECONDS);
+            return ChronoUnit.SECONDS;
         } else {
             throw new IllegalArgumentException("【TimestampUtils】无法识别的时间戳: " + timestamp);
         }
     }
 
-    private static Instant tryBoth(long timestamp) {
-        // 尝试纳秒
-        Instant       nanosInstant = toInstant(timestamp, ChronoUnit.NANOS);
-        LocalDateTime nanosTime    = LocalDateTime.ofInstant(nanosInstant, ZoneOffset.UTC);
-
-        // 尝试微秒
-        Instant       microsInstant = toInstant(timestamp, ChronoUnit.MICROS);
-        LocalDateTime microsTime    = LocalDateTime.ofInstant(microsInstant, ZoneOffset.UTC);
-
-        // 选择合理的年份
-        int nanosYear  = nanosTime.getYear();
-        int microsYear = microsTime.getYear();
+    private static Instant detectAndConvert(long timestamp) {
+        return toInstant(timestamp, detectUnit(timestamp));
+    }
 
-        if (nanosYear >= 1970 && nanosYear <= 2200) {
-            return nanosInstant;
-        } else if (microsYear >= 1970 && microsYear <= 2200) {
-            return microsInstant;
-        } else {
-            throw new IllegalArgumentException("【TimestampUtils】无法确定时间戳单位: " + timestamp);
-        }
+    /**
+     * 判断秒级时间戳是否位于 1970 年至 2200 年之间
+     */
+    private static boolean isReasonable(long epochSecond) {
+        return epochSecond >= 0 && epochSecond < REASONABLE_EPOCH_SECOND_LIMIT;
     }
 
     /**
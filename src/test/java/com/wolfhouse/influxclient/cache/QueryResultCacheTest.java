@@ -0,0 +1,80 @@
+package com.wolfhouse.influxclient.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Rylin Wolf
+ */
+class QueryResultCacheTest {
+    private final QueryResultCache cache = new QueryResultCache(10, 100, Duration.ofMinutes(1));
+    private final QueryCacheKey    key   = QueryCacheKey.of("SELECT * FROM `m`", Map.of("param_1", 1));
+
+    @Test
+    void putAndGet() {
+        cache.put("m", key, List.<Object[]>of(new Object[]{1L}), cache.generation());
+
+        assertThat(cache.get(key)).hasSize(1);
+    }
+
+    @Test
+    void dropsResultLoadedBeforeInvalidation() {
+        long generation = cache.generation();
+        // 查询执行期间发生写入，表的缓存失效
+        cache.invalidate("m");
+        cache.put("m", key, List.<Object[]>of(new Object[]{1L}), generation);
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void dropsResultLoadedBeforeClear() {
+        long generation = cache.generation();
+        cache.invalidateAll();
+        cache.put("m", key, List.<Object[]>of(new Object[]{1L}), generation);
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void invalidationOfOtherMeasurementKeepsResult() {
+        long generation = cache.generation();
+        cache.invalidate("other");
+        cache.put("m", key, List.<Object[]>of(new Object[]{1L}), generation);
+
+        assertThat(cache.get(key)).hasSize(1);
+    }
+
+    @Test
+    void multiMeasurementResultInvalidatedByAnyMeasurement() {
+        cache.put(List.of("a", "b"), key, List.<Object[]>of(new Object[]{1L}), cache.generation());
+        cache.invalidate("b");
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void multiMeasurementResultUsesShortestTtl() {
+        cache.measurementTtl("b", Duration.ZERO);
+        cache.put(List.of("a", "b"), key, List.<Object[]>of(new Object[]{1L}), cache.generation());
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void evictsByWeight() {
+        QueryResultCache small = new QueryResultCache(10, 2, Duration.ofMinutes(1));
+        QueryCacheKey    other = QueryCacheKey.of("SELECT 2", null);
+        small.put("m", key, List.<Object[]>of(new Object[]{1L, 2L}), small.generation());
+        small.put("m", other, List.<Object[]>of(new Object[]{3L}), small.generation());
+
+        assertThat(small.get(key)).isNull();
+        assertThat(small.get(other)).hasSize(1);
+        assertThat(small.stats().evictions()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,107 @@
+package com.wolfhouse.influxclient.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.SequencedMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Rylin Wolf
+ */
+class SchemaMetadataCacheTest {
+    private final AtomicInteger columnLoads = new AtomicInteger();
+    private final AtomicInteger tableLoads  = new AtomicInteger();
+
+    private final Function<String, SequencedMap<String, String>> columnLoader = m -> {
+        columnLoads.incrementAndGet();
+        SequencedMap<String, String> types = new LinkedHashMap<>();
+        if (!"empty".equals(m)) {
+            types.put("host", "Utf8");
+            types.put("v", "Float64");
+        }
+        return types;
+    };
+    private final Supplier<List<String>>                         tableLoader  = () -> {
+        tableLoads.incrementAndGet();
+        return List.of("m");
+    };
+
+    @Test
+    void cachesUntilTtlExpires() {
+        SchemaMetadataCache cache = new SchemaMetadataCache(Duration.ofMillis(50));
+
+        assertThat(cache.columnTypes("m", columnLoader)).containsOnlyKeys("host", "v");
+        cache.columnTypes("m", columnLoader);
+        cache.tableNames(tableLoader);
+        cache.tableNames(tableLoader);
+        assertThat(columnLoads).hasValue(1);
+        assertThat(tableLoads).hasValue(1);
+
+        LockSupport.parkNanos(Duration.ofMillis(80).toNanos());
+        cache.columnTypes("m", columnLoader);
+        cache.tableNames(tableLoader);
+        assertThat(columnLoads).hasValue(2);
+        assertThat(tableLoads).hasValue(2);
+    }
+
+    @Test
+    void loadsEveryTimeWhenDisabled() {
+        SchemaMetadataCache cache = new SchemaMetadataCache(Duration.ZERO);
+
+        cache.columnTypes("m", columnLoader);
+        cache.columnTypes("m", columnLoader);
+
+        assertThat(cache.isEnabled()).isFalse();
+        assertThat(columnLoads).hasValue(2);
+    }
+
+    @Test
+    void doesNotCacheEmptyTables() {
+        SchemaMetadataCache cache = new SchemaMetadataCache(Duration.ofMinutes(1));
+
+        assertThat(cache.columnTypes("empty", columnLoader)).isEmpty();
+        cache.columnTypes("empty", columnLoader);
+
+        assertThat(columnLoads).hasValue(2);
+    }
+
+    @Test
+    void invalidateDropsColumnsAndTableNames() {
+        SchemaMetadataCache cache = new SchemaMetadataCache(Duration.ofMinutes(1));
+        cache.columnTypes("m", columnLoader);
+        cache.columnTypes("other", columnLoader);
+        cache.tableNames(tableLoader);
+
+        cache.invalidate("m");
+        cache.columnTypes("m", columnLoader);
+        cache.columnTypes("other", columnLoader);
+        cache.tableNames(tableLoader);
+
+        assertThat(columnLoads).hasValue(3);
+        assertThat(tableLoads).hasValue(2);
+    }
+
+    @Test
+    void invalidateAllDropsEverything() {
+        SchemaMetadataCache cache = new SchemaMetadataCache(Duration.ofMinutes(1));
+        cache.columnTypes("m", columnLoader);
+        cache.columnTypes("other", columnLoader);
+        cache.tableNames(tableLoader);
+
+        cache.invalidateAll();
+        cache.columnTypes("m", columnLoader);
+        cache.columnTypes("other", columnLoader);
+        cache.tableNames(tableLoader);
+
+        assertThat(columnLoads).hasValue(4);
+        assertThat(tableLoads).hasValue(2);
+    }
+}
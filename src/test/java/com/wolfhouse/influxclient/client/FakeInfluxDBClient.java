@@ -0,0 +1,69 @@
+package com.wolfhouse.influxclient.client;
+
+import com.influxdb.v3.client.InfluxDBClient;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * 测试用的 InfluxDB 客户端，记录执行的查询语句与参数，按语句返回预设的结果
+ *
+ * @author Rylin Wolf
+ */
+final class FakeInfluxDBClient implements InvocationHandler {
+    /** 执行的查询，按执行顺序排列 */
+    final List<Query> queries = Collections.synchronizedList(new ArrayList<>());
+
+    private final BiFunction<String, Map<String, Object>, List<Object[]>> responder;
+
+    FakeInfluxDBClient(BiFunction<String, Map<String, Object>, List<Object[]>> responder) {
+        this.responder = responder;
+    }
+
+    /**
+     * 创建使用该测试客户端的查询客户端
+     */
+    InfluxClient influxClient() {
+        return new InfluxClient((InfluxDBClient) Proxy.newProxyInstance(InfluxDBClient.class.getClassLoader(),
+                                                                        new Class<?>[]{InfluxDBClient.class},
+                                                                        this));
+    }
+
+    List<String> sqls() {
+        synchronized (queries) {
+            return queries.stream().map(Query::sql).toList();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "query" -> {
+                String              sql    = (String) args[0];
+                Map<String, Object> params = args.length == 3 ? (Map<String, Object>) args[1] : null;
+                queries.add(new Query(sql, params));
+                yield responder.apply(sql, params).stream();
+            }
+            case "close" -> null;
+            case "toString" -> "FakeInfluxDBClient";
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+
+    /**
+     * 执行的查询
+     *
+     * @param sql        查询语句
+     * @param parameters 查询参数
+     */
+    record Query(String sql, Map<String, Object> parameters) {}
+}
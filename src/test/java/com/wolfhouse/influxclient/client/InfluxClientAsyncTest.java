@@ -0,0 +1,90 @@
+package com.wolfhouse.influxclient.client;
+
+import com.wolfhouse.influxclient.concurrent.QueryAdmissionController;
+import com.wolfhouse.influxclient.core.InfluxQueryWrapper;
+import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
+import com.wolfhouse.influxclient.pojo.AbstractActionInfluxObj;
+import com.wolfhouse.influxclient.pojo.InfluxPage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxClientAsyncTest {
+    /** 执行查询时所在线程的租户与线程 */
+    private final List<String>       tenants = Collections.synchronizedList(new ArrayList<>());
+    private final List<Thread>       threads = Collections.synchronizedList(new ArrayList<>());
+    private final FakeInfluxDBClient fake    = new FakeInfluxDBClient((sql, params) -> {
+        tenants.add(QueryAdmissionController.currentTenant());
+        threads.add(Thread.currentThread());
+        if (sql.contains("`broken`")) {
+            throw new IllegalStateException("connection reset");
+        }
+        return sql.startsWith("select count")
+               ? List.<Object[]>of(new Object[]{2L})
+               : List.<Object[]>of(new Object[]{1.5D, Instant.EPOCH}, new Object[]{2.5D, Instant.EPOCH});
+    });
+    private final InfluxClient       client  = fake.influxClient();
+
+    @Test
+    void propagatesTenantToExecutorThread() {
+        CompletableFuture<List<Map<String, Object>>> maps   = QueryAdmissionController.callAs("tenant-a", () -> client.queryMapAsync(wrapper("m")));
+        CompletableFuture<Long>                      count  = QueryAdmissionController.callAs("tenant-a", () -> client.countAsync(wrapper("m")));
+        CompletableFuture<List<Reading>>             mapped = QueryAdmissionController.callAs("tenant-a", () -> client.queryMapAsync(wrapper("m"), Reading.class));
+
+        assertThat(maps.join()).hasSize(2);
+        assertThat(count.join()).isEqualTo(2L);
+        assertThat(mapped.join()).containsExactly(new Reading(1.5D), new Reading(2.5D));
+        assertThat(tenants).isNotEmpty().containsOnly("tenant-a");
+        assertThat(threads).doesNotContain(Thread.currentThread());
+    }
+
+    @Test
+    void paginationPropagatesTenant() {
+        InfluxPage<Reading> page = QueryAdmissionController.callAs("tenant-b", () -> client.paginationAsync(wrapper("m"), Reading.class, 1, 10)).join();
+
+        assertThat(page.total()).isEqualTo(2L);
+        assertThat(page.records()).hasSize(2);
+        assertThat(fake.sqls().getLast()).endsWith("LIMIT 10");
+        assertThat(tenants).containsOnly("tenant-b");
+    }
+
+    @Test
+    void usesDefaultTenantOutsideCallAs() {
+        client.countAsync(wrapper("m")).join();
+
+        assertThat(tenants).containsOnly(QueryAdmissionController.currentTenant());
+    }
+
+    @Test
+    void surfacesQueryExceptionUnwrapped() {
+        CompletableFuture<List<Map<String, Object>>> future = client.queryMapAsync(wrapper("broken"));
+
+        assertThatThrownBy(future::join).isInstanceOf(CompletionException.class)
+                                        .cause()
+                                        .isInstanceOf(InfluxClientQueryException.class)
+                                        .hasRootCauseMessage("connection reset");
+        assertThatThrownBy(future::get).isInstanceOf(ExecutionException.class)
+                                       .cause()
+                                       .isInstanceOf(InfluxClientQueryException.class);
+        assertThat(future.exceptionNow()).isInstanceOf(InfluxClientQueryException.class);
+    }
+
+    private static InfluxQueryWrapper<AbstractActionInfluxObj> wrapper(String measurement) {
+        return InfluxQueryWrapper.create(measurement).select("v");
+    }
+
+    record Reading(double v) {}
+}
@@ -0,0 +1,72 @@
+package com.wolfhouse.influxclient.client;
+
+import com.wolfhouse.influxclient.core.InfluxQueryWrapper;
+import com.wolfhouse.influxclient.core.InfluxTimeRangeGuard;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxClientBatchTest {
+    private final FakeInfluxDBClient fake   = new FakeInfluxDBClient(InfluxClientBatchTest::respond);
+    private final InfluxClient       client = fake.influxClient();
+
+    /** 合并查询返回序号 0、2 的结果行，每行依次为批量序号、v、time */
+    private static List<Object[]> respond(String sql, Map<String, Object> params) {
+        if (!sql.contains("UNION ALL")) {
+            return List.<Object[]>of(new Object[]{9.0, 0L});
+        }
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{0L, 1.0, 0L});
+        if (sql.contains("SELECT 2 AS")) {
+            rows.add(new Object[]{2L, 3.0, 0L});
+        }
+        rows.add(new Object[]{0L, 2.0, 0L});
+        return rows;
+    }
+
+    @Test
+    void splitsUnionRowsByBatchIndex() {
+        List<List<Map<String, Object>>> results = client.queryBatch(List.of(query("m1"), query("m2"), query("m3")));
+
+        assertThat(fake.sqls()).singleElement().asString().contains("UNION ALL");
+        assertThat(results.get(0)).extracting(row -> row.get("v")).containsExactly(1.0, 2.0);
+        assertThat(results.get(1)).isEmpty();
+        assertThat(results.get(2)).extracting(row -> row.get("v")).containsExactly(3.0);
+    }
+
+    @Test
+    void mergesQueriesWithInjectedLookback() {
+        client.setTimeRangeGuard(new InfluxTimeRangeGuard(Duration.ofDays(30), null, InfluxTimeRangeGuard.Mode.REJECT));
+
+        client.queryBatch(List.of(query("m1"), query("m2"), query("m3")));
+
+        assertThat(fake.queries).singleElement().satisfies(q -> {
+            assertThat(q.sql()).contains("UNION ALL").contains("$param_since");
+            assertThat(q.parameters()).containsKey(InfluxTimeRangeGuard.SINCE_PARAM);
+        });
+    }
+
+    @Test
+    void runsOrderedQueriesSeparately() {
+        InfluxQueryWrapper<?> ordered = query("m3");
+        ordered.modify().orderBy("v");
+
+        List<List<Map<String, Object>>> results = client.queryBatch(List.of(query("m1"), query("m2"), ordered));
+
+        assertThat(fake.sqls()).hasSize(2).filteredOn(sql -> sql.contains("UNION ALL")).hasSize(1);
+        assertThat(results.get(0)).extracting(row -> row.get("v")).containsExactly(1.0, 2.0);
+        assertThat(results.get(2)).extracting(row -> row.get("v")).containsExactly(9.0);
+    }
+
+    private static InfluxQueryWrapper<?> query(String measurement) {
+        return InfluxQueryWrapper.create(measurement).select("v").where().eq("host", "a").parent();
+    }
+}
@@ -0,0 +1,68 @@
+package com.wolfhouse.influxclient.client;
+
+import com.wolfhouse.influxclient.core.InfluxQueryWrapper;
+import com.wolfhouse.influxclient.core.InfluxTimeRangeGuard;
+import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
+import com.wolfhouse.influxclient.pojo.InfluxQueryPlan;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxClientExplainTest {
+    private final FakeInfluxDBClient fake   = new FakeInfluxDBClient((sql, params) -> List.<Object[]>of(
+            new Object[]{InfluxQueryPlan.PHYSICAL_PLAN, "ProjectionExec: expr=[v]"},
+            new Object[]{InfluxQueryPlan.PLAN_WITH_METRICS, "ProjectionExec: expr=[v], metrics=[output_rows=1]"}));
+    private final InfluxClient       client = fake.influxClient();
+
+    @Test
+    void explainInjectsLookbackWithoutSpanCheck() {
+        client.setTimeRangeGuard(new InfluxTimeRangeGuard(Duration.ofDays(30), Duration.ofDays(1), InfluxTimeRangeGuard.Mode.REJECT));
+
+        InfluxQueryPlan plan = client.explain(InfluxQueryWrapper.create("m").select("v"));
+
+        assertThat(plan.getSql()).endsWith("(`time` >= $param_since))");
+        assertThat(plan.getParameters()).containsOnlyKeys(InfluxTimeRangeGuard.SINCE_PARAM);
+        assertThat(fake.sqls()).singleElement().asString().startsWith("EXPLAIN SELECT");
+    }
+
+    @Test
+    void explainAnalyzeRejectsSpanOverLimit() {
+        client.setTimeRangeGuard(new InfluxTimeRangeGuard(Duration.ofDays(30), Duration.ofDays(1), InfluxTimeRangeGuard.Mode.REJECT));
+
+        assertThatThrownBy(() -> client.explainAnalyze(InfluxQueryWrapper.create("m").select("v")))
+                .isInstanceOf(InfluxClientQueryException.class);
+        assertThat(fake.queries).isEmpty();
+    }
+
+    @Test
+    void explainAnalyzeRejectsSplitQuery() {
+        client.setTimeRangeGuard(new InfluxTimeRangeGuard(null, Duration.ofDays(1), InfluxTimeRangeGuard.Mode.SPLIT));
+        InfluxQueryWrapper<?> wrapper = InfluxQueryWrapper.create("m")
+                                                          .select("v")
+                                                          .where()
+                                                          .duration(Instant.parse("2026-10-01T00:00:00Z"), Instant.parse("2026-10-03T00:00:00Z"))
+                                                          .parent();
+
+        assertThatThrownBy(() -> client.explainAnalyze(wrapper)).isInstanceOf(InfluxClientQueryException.class);
+        assertThat(fake.queries).isEmpty();
+    }
+
+    @Test
+    void explainAnalyzeRunsQueryWithinSpan() {
+        client.setTimeRangeGuard(new InfluxTimeRangeGuard(Duration.ofHours(1), Duration.ofDays(1), InfluxTimeRangeGuard.Mode.REJECT));
+
+        InfluxQueryPlan plan = client.explainAnalyze(InfluxQueryWrapper.create("m").select("v"));
+
+        assertThat(plan.getParameters()).containsOnlyKeys(InfluxTimeRangeGuard.SINCE_PARAM);
+        assertThat(plan.getOutputRows()).isEqualTo(1L);
+        assertThat(fake.sqls()).singleElement().asString().startsWith("EXPLAIN ANALYZE SELECT");
+    }
+}
@@ -0,0 +1,50 @@
+package com.wolfhouse.influxclient.client;
+
+import com.wolfhouse.influxclient.constant.InfluxBuiltInTableMeta;
+import com.wolfhouse.influxclient.core.InfluxQueryWrapper;
+import com.wolfhouse.influxclient.pojo.AbstractActionInfluxObj;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxClientProjectionTest {
+    private final FakeInfluxDBClient fake   = new FakeInfluxDBClient((sql, params) -> sql.contains(InfluxBuiltInTableMeta.COLUMN_META_MEASUREMENT)
+            ? List.<Object[]>of(new Object[]{"host", "Utf8"},
+                                new Object[]{"other", "Utf8"},
+                                new Object[]{"time", "Timestamp(Nanosecond, None)"},
+                                new Object[]{"v", "Float64"})
+            : List.<Object[]>of(new Object[]{"a", 1.5D, Instant.EPOCH}));
+    private final InfluxClient       client = fake.influxClient();
+
+    @Test
+    void projectsTargetsWithoutModifyingWrapper() {
+        InfluxQueryWrapper<AbstractActionInfluxObj> wrapper = InfluxQueryWrapper.create("m")
+                                                                                .where()
+                                                                                .eq("host", "a")
+                                                                                .parent();
+
+        List<Reading> readings = client.queryMap(wrapper, Reading.class, false);
+
+        assertThat(readings).containsExactly(new Reading("a", 1.5D));
+        assertThat(fake.sqls().getLast()).startsWith("SELECT `host`,`v`,").doesNotContain("other");
+        assertThat(fake.queries.getLast().parameters()).containsEntry("param_1", "a");
+        assertThat(wrapper.hasTargets()).isFalse();
+    }
+
+    @Test
+    void addQueryForWritesTargetsIntoWrapper() {
+        InfluxQueryWrapper<AbstractActionInfluxObj> wrapper = InfluxQueryWrapper.create("m");
+
+        client.addQueryFor(wrapper, Reading.class);
+
+        assertThat(wrapper.getAliasMap()).containsOnlyKeys("host", "v");
+    }
+
+    record Reading(String host, double v) {}
+}
@@ -0,0 +1,55 @@
+package com.wolfhouse.influxclient.client;
+
+import com.wolfhouse.influxclient.constant.InfluxBuiltInTableMeta;
+import com.wolfhouse.influxclient.core.InfluxQueryWrapper;
+import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxClientSchemaRefreshTest {
+    private final FakeInfluxDBClient fake   = new FakeInfluxDBClient((sql, params) -> {
+        if (sql.contains(InfluxBuiltInTableMeta.COLUMN_META_MEASUREMENT)) {
+            return List.<Object[]>of(new Object[]{"host", "Utf8"}, new Object[]{"v", "Float64"});
+        }
+        if (sql.contains("`gone`")) {
+            throw new IllegalStateException("Schema error: No field named gone. Valid fields are m.host, m.v");
+        }
+        throw new IllegalStateException("connection reset");
+    });
+    private final InfluxClient       client = fake.influxClient();
+
+    @Test
+    void refreshesSchemaOnUnknownColumn() {
+        client.tableColumns("m");
+        client.tableColumns("m");
+        assertThat(schemaQueries()).isEqualTo(1);
+
+        assertThatThrownBy(() -> client.queryMap(InfluxQueryWrapper.create("m").select("gone"), false))
+                .isInstanceOf(InfluxClientQueryException.class);
+        client.tableColumns("m");
+
+        assertThat(schemaQueries()).isEqualTo(2);
+    }
+
+    @Test
+    void keepsSchemaOnOtherErrors() {
+        client.tableColumns("m");
+
+        assertThatThrownBy(() -> client.queryMap(InfluxQueryWrapper.create("m").select("v"), false))
+                .isInstanceOf(InfluxClientQueryException.class);
+        client.tableColumns("m");
+
+        assertThat(schemaQueries()).isEqualTo(1);
+    }
+
+    private long schemaQueries() {
+        return fake.sqls().stream().filter(sql -> sql.contains(InfluxBuiltInTableMeta.COLUMN_META_MEASUREMENT)).count();
+    }
+}
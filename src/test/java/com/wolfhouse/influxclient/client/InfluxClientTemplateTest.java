@@ -0,0 +1,56 @@
+package com.wolfhouse.influxclient.client;
+
+import com.wolfhouse.influxclient.constant.InfluxBuiltInTableMeta;
+import com.wolfhouse.influxclient.core.InfluxQueryTemplate;
+import com.wolfhouse.influxclient.core.InfluxQueryWrapper;
+import com.wolfhouse.influxclient.typehandler.TypeHandler;
+import com.wolfhouse.influxclient.typehandler.TypeHandlerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxClientTemplateTest {
+    private final FakeInfluxDBClient fake   = new FakeInfluxDBClient((sql, params) -> sql.contains(InfluxBuiltInTableMeta.COLUMN_META_MEASUREMENT)
+            ? List.<Object[]>of(new Object[]{"host", "Dictionary(Int32, Utf8)"},
+                                new Object[]{"time", "Timestamp(Nanosecond, None)"},
+                                new Object[]{"v", "Float64"})
+            : List.<Object[]>of(new Object[]{"a", 1.5D, Instant.EPOCH}));
+    private final InfluxClient       client = fake.influxClient();
+
+    @AfterEach
+    void resetRegistry() {
+        TypeHandlerRegistry.reset();
+    }
+
+    @Test
+    void resolvesColumnTypeHandlersForTemplate() {
+        TypeHandlerRegistry.register(String.class, "Dictionary(Int32, Utf8)", (TypeHandler<String>) v -> "tag:" + v);
+        InfluxQueryTemplate template = InfluxQueryWrapper.create("m").select("host", "v").where().eq("host", "a").parent().compile();
+
+        List<Reading> readings = client.queryMap(template, Reading.class, Map.of("param_1", "b"));
+
+        assertThat(readings).containsExactly(new Reading("tag:a", 1.5D));
+        assertThat(fake.sqls()).anyMatch(sql -> sql.contains(InfluxBuiltInTableMeta.COLUMN_META_MEASUREMENT));
+        assertThat(fake.queries.getLast().parameters()).containsEntry("param_1", "b");
+    }
+
+    @Test
+    void skipsColumnTypesWithoutColumnTypeHandlers() {
+        InfluxQueryTemplate template = InfluxQueryWrapper.create("m").select("host", "v").compile();
+
+        List<Reading> readings = client.queryMap(template, Reading.class, null);
+
+        assertThat(readings).containsExactly(new Reading("a", 1.5D));
+        assertThat(fake.sqls()).noneMatch(sql -> sql.contains(InfluxBuiltInTableMeta.COLUMN_META_MEASUREMENT));
+    }
+
+    record Reading(String host, double v) {}
+}
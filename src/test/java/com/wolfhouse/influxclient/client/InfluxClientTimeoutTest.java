@@ -0,0 +1,87 @@
+package com.wolfhouse.influxclient.client;
+
+import com.wolfhouse.influxclient.core.InfluxQueryWrapper;
+import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
+import com.wolfhouse.influxclient.exception.InfluxClientTimeoutException;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxClientTimeoutTest {
+    @Test
+    void throwsTimeoutWhenDeadlinePassesMidStream() {
+        InfluxClient client = new FakeInfluxDBClient((sql, params) -> rows(i -> {
+            if (i == 1) {
+                LockSupport.parkNanos(Duration.ofMillis(200).toNanos());
+            }
+            return new Object[]{i, null};
+        })).influxClient();
+
+        assertThatThrownBy(() -> client.queryMap(wrapper().timeout(Duration.ofMillis(50)), false))
+                .isInstanceOf(InfluxClientTimeoutException.class);
+    }
+
+    @Test
+    void translatesDeadlineExceededWhileConsuming() {
+        InfluxClient client = new FakeInfluxDBClient((sql, params) -> rows(i -> {
+            throw new StatusRuntimeException(Status.DEADLINE_EXCEEDED);
+        })).influxClient();
+
+        assertThatThrownBy(() -> client.queryMap(wrapper().timeout(Duration.ofSeconds(30)), false))
+                .isInstanceOf(InfluxClientTimeoutException.class)
+                .hasCauseInstanceOf(StatusRuntimeException.class);
+    }
+
+    @Test
+    void translatesDeadlineExceededOnStart() {
+        InfluxClient client = new FakeInfluxDBClient((sql, params) -> {
+            throw new StatusRuntimeException(Status.DEADLINE_EXCEEDED);
+        }).influxClient();
+
+        assertThatThrownBy(() -> client.queryMap(wrapper(), false))
+                .isInstanceOf(InfluxClientTimeoutException.class);
+    }
+
+    @Test
+    void keepsOtherErrorsAsQueryErrors() {
+        InfluxClient client = new FakeInfluxDBClient((sql, params) -> {
+            throw new StatusRuntimeException(Status.INVALID_ARGUMENT);
+        }).influxClient();
+
+        assertThatThrownBy(() -> client.queryMap(wrapper(), false))
+                .isInstanceOf(InfluxClientQueryException.class)
+                .isNotInstanceOf(InfluxClientTimeoutException.class);
+    }
+
+    private static InfluxQueryWrapper<?> wrapper() {
+        return InfluxQueryWrapper.create("m").select("v");
+    }
+
+    /**
+     * 按需生成结果行的列表，结果流消费到对应行时才调用生成函数
+     */
+    private static List<Object[]> rows(IntFunction<Object[]> row) {
+        return new AbstractList<>() {
+            @Override
+            public Object[] get(int index) {
+                return row.apply(index);
+            }
+
+            @Override
+            public int size() {
+                return 3;
+            }
+        };
+    }
+}
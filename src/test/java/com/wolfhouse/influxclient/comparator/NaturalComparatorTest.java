@@ -0,0 +1,63 @@
+package com.wolfhouse.influxclient.comparator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Rylin Wolf
+ */
+class NaturalComparatorTest {
+    private final NaturalComparator comparator = NaturalComparator.INSTANCE;
+
+    @Test
+    void comparesDigitRunsNumerically() {
+        assertThat(comparator.compare("sensor_2", "sensor_10")).isNegative();
+        assertThat(comparator.compare("a1b10", "a1b2")).isPositive();
+        assertThat(comparator.compare("a10b1", "a9b2")).isPositive();
+    }
+
+    @Test
+    void comparesDigitRunsLongerThanLong() {
+        assertThat(comparator.compare("x99999999999999999999", "x100000000000000000000")).isNegative();
+        assertThat(comparator.compare("x123456789012345678901234567890", "x123456789012345678901234567891")).isNegative();
+    }
+
+    @Test
+    void ordersLeadingZerosOnlyOnTie() {
+        assertThat(comparator.compare("a1", "a01")).isNegative();
+        assertThat(comparator.compare("a01", "a1")).isPositive();
+        assertThat(comparator.compare("a01b", "a1c")).isNegative();
+        assertThat(comparator.compare("a0", "a00")).isNegative();
+    }
+
+    @Test
+    void comparesTextAndLength() {
+        assertThat(comparator.compare("abc", "abc")).isZero();
+        assertThat(comparator.compare("a", "a1")).isNegative();
+        assertThat(comparator.compare("b", "a10")).isPositive();
+        assertThat(comparator.compare("", "a")).isNegative();
+    }
+
+    @Test
+    void sortsNaturally() {
+        List<String> values = new ArrayList<>(List.of("s10", "s2", "s1", "s01", "s", "t0", "s100"));
+
+        values.sort(comparator);
+
+        assertThat(values).containsExactly("s", "s1", "s01", "s2", "s10", "s100", "t0");
+    }
+
+    @Test
+    void isAntisymmetric() {
+        List<String> values = List.of("a", "a1", "a01", "a2", "a10", "b", "1", "01", "x9y", "x10y");
+        for (String a : values) {
+            for (String b : values) {
+                assertThat(Integer.signum(comparator.compare(a, b))).isEqualTo(-Integer.signum(comparator.compare(b, a)));
+            }
+        }
+    }
+}
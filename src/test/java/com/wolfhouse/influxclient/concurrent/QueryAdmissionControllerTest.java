@@ -0,0 +1,80 @@
+package com.wolfhouse.influxclient.concurrent;
+
+import com.wolfhouse.influxclient.exception.InfluxClientRejectedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Rylin Wolf
+ */
+class QueryAdmissionControllerTest {
+
+    @Test
+    void removesIdleTenantQueues() throws Exception {
+        QueryAdmissionController        controller = new QueryAdmissionController(1, 0, Duration.ofSeconds(5));
+        QueryAdmissionController.Permit held       = controller.acquire("holder");
+        CompletableFuture<QueryAdmissionController.Permit> waiting = CompletableFuture.supplyAsync(() -> controller.acquire("tenant-1"));
+        awaitQueueDepth(controller, 1);
+        assertThat(controller.tenantCount()).isEqualTo(1);
+
+        held.close();
+        waiting.get(5, TimeUnit.SECONDS).close();
+
+        assertThat(controller.tenantCount()).isZero();
+    }
+
+    @Test
+    void removesTenantQueueAfterTimeout() {
+        QueryAdmissionController        controller = new QueryAdmissionController(1, 0, Duration.ofMillis(20));
+        QueryAdmissionController.Permit held       = controller.acquire("holder");
+
+        assertThatThrownBy(() -> controller.acquire("tenant-1")).isInstanceOf(InfluxClientRejectedException.class);
+        assertThat(controller.tenantCount()).isZero();
+        held.close();
+    }
+
+    @Test
+    void keepsWeightedTenantQueues() throws Exception {
+        QueryAdmissionController        controller = new QueryAdmissionController(1, 0, Duration.ofSeconds(5)).tenantWeight("vip", 3);
+        QueryAdmissionController.Permit held       = controller.acquire("holder");
+        CompletableFuture<QueryAdmissionController.Permit> waiting = CompletableFuture.supplyAsync(() -> controller.acquire("vip"));
+        awaitQueueDepth(controller, 1);
+
+        held.close();
+        waiting.get(5, TimeUnit.SECONDS).close();
+
+        assertThat(controller.tenantCount()).isEqualTo(1);
+    }
+
+    @Test
+    void averageWaitCountsOnlyWaitedAdmissions() throws Exception {
+        QueryAdmissionController controller = new QueryAdmissionController(1, 0, Duration.ofSeconds(5));
+        controller.acquire().close();
+        QueryAdmissionController.Permit held = controller.acquire();
+        CompletableFuture<QueryAdmissionController.Permit> waiting = CompletableFuture.supplyAsync(controller::acquire);
+        awaitQueueDepth(controller, 1);
+        Thread.sleep(20);
+
+        held.close();
+        waiting.get(5, TimeUnit.SECONDS).close();
+
+        QueryAdmissionController.Metrics metrics = controller.metrics();
+        assertThat(metrics.admitted()).isEqualTo(3);
+        assertThat(metrics.waited()).isEqualTo(1);
+        assertThat(metrics.averageWait().toNanos()).isEqualTo(metrics.totalWaitNanos());
+    }
+
+    private static void awaitQueueDepth(QueryAdmissionController controller, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (controller.metrics().queueDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(controller.metrics().queueDepth()).isEqualTo(depth);
+    }
+}
@@ -0,0 +1,128 @@
+package com.wolfhouse.influxclient.concurrent;
+
+import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
+import com.wolfhouse.influxclient.exception.InfluxClientTimeoutException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Rylin Wolf
+ */
+class SingleFlightTest {
+    private final SingleFlight<String, String> flight  = new SingleFlight<>();
+    private final CountDownLatch               started = new CountDownLatch(1);
+    private final CountDownLatch               finish  = new CountDownLatch(1);
+
+    @Test
+    void followerSharesLeaderResult() throws Exception {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute("k", this::blockingLoad));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> flight.execute("k", () -> "follower"));
+        awaitCoalesced(1);
+        finish.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+        assertThat(flight.executed()).isEqualTo(1);
+    }
+
+    @Test
+    void followerStopsWaitingAtItsOwnDeadline() throws Exception {
+        CompletableFuture.runAsync(() -> flight.execute("k", this::blockingLoad));
+        started.await(5, TimeUnit.SECONDS);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> flight.execute("k",
+                                                () -> "follower",
+                                                TimeUnit.MILLISECONDS.toNanos(50),
+                                                () -> new InfluxClientTimeoutException("follower timeout"),
+                                                e -> false))
+                .isInstanceOf(InfluxClientTimeoutException.class)
+                .hasMessage("follower timeout");
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(2));
+        finish.countDown();
+    }
+
+    @Test
+    void followerRetriesWhenLeaderFailsForPrivateReason() throws Exception {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute("k", () -> {
+            started.countDown();
+            await(finish);
+            throw new InfluxClientTimeoutException("leader timeout");
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+                () -> flight.execute("k", () -> "follower", 0L, null, e -> e instanceof InfluxClientTimeoutException));
+        awaitCoalesced(1);
+        finish.countDown();
+
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("follower");
+        assertThat(leader).failsWithin(5, TimeUnit.SECONDS);
+        assertThat(flight.executed()).isEqualTo(2);
+    }
+
+    @Test
+    void followerSharesOtherFailures() throws Exception {
+        CompletableFuture.runAsync(() -> flight.execute("k", () -> {
+            started.countDown();
+            await(finish);
+            throw new IllegalStateException("boom");
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+                () -> flight.execute("k", () -> "follower", 0L, null, e -> e instanceof InfluxClientTimeoutException));
+        awaitCoalesced(1);
+        finish.countDown();
+
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void followerWaitIsInterruptible() throws Exception {
+        CompletableFuture.runAsync(() -> flight.execute("k", this::blockingLoad));
+        started.await(5, TimeUnit.SECONDS);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread follower = Thread.ofVirtual().start(() -> {
+            try {
+                flight.execute("k", () -> "follower");
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        awaitCoalesced(1);
+        follower.interrupt();
+        follower.join(5000);
+
+        assertThat(failure.get()).isInstanceOf(InfluxClientQueryException.class);
+        finish.countDown();
+    }
+
+    private String blockingLoad() {
+        started.countDown();
+        await(finish);
+        return "leader";
+    }
+
+    private void awaitCoalesced(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.coalesced() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(flight.coalesced()).isEqualTo(count);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
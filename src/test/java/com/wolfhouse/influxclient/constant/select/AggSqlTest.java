@@ -0,0 +1,64 @@
+package com.wolfhouse.influxclient.constant.select;
+
+import com.wolfhouse.influxclient.core.InfluxQueryWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Rylin Wolf
+ */
+class AggSqlTest {
+    private static final UnaryOperator<String> QUOTE = c -> "`" + c + "`";
+
+    @Test
+    void countAllRendersUnquotedWildcard() {
+        assertThat(AggSql.countAll().toSql(QUOTE)).isEqualTo("count(*)");
+        assertThat(AggSql.countAll().alias()).isEqualTo("count");
+    }
+
+    @Test
+    void countWildcardIsNotQuoted() {
+        assertThat(AggSql.count(ColSql.WILDCARD).toSql(QUOTE)).isEqualTo("count(*)");
+        assertThat(AggSql.count("value").toSql(QUOTE)).isEqualTo("count(`value`)");
+    }
+
+    @Test
+    void defaultAliasSkipsWildcard() {
+        assertThat(AggSql.count(ColSql.WILDCARD).defaultAlias()).isEqualTo("COUNT");
+        assertThat(AggSql.avg("value").defaultAlias()).isEqualTo("AVG_value");
+    }
+
+    @Test
+    void rendersArgumentsAndOrdering() {
+        assertThat(AggSql.percentile("value", 0.95).toSql(QUOTE)).isEqualTo("approx_percentile_cont(`value`,0.95)");
+        assertThat(AggSql.first("value").toSql(QUOTE)).isEqualTo("first_value(`value` ORDER BY `time`)");
+        assertThat(AggSql.last("value").toSql(QUOTE)).isEqualTo("last_value(`value` ORDER BY `time`)");
+        assertThat(TimeSql.dateBin(Duration.ofMinutes(5), Instant.parse("2024-01-01T00:00:00Z")).toSql(QUOTE))
+                .isEqualTo("date_bin(INTERVAL '300 seconds',`time`,TIMESTAMP '2024-01-01T00:00:00Z')");
+    }
+
+    @Test
+    void wrapperRendersCountAll() {
+        assertThat(InfluxQueryWrapper.create("m").withTime(false).selectO(AggSql.countAll()).build())
+                .isEqualTo("SELECT count(*) AS `count` FROM `m`");
+        assertThat(InfluxQueryWrapper.create("m").withTime(false).selectO(AggSql.count(ColSql.WILDCARD)).build())
+                .isEqualTo("SELECT count(*) AS `COUNT` FROM `m`");
+    }
+
+    @Test
+    void wrapperRendersTimeBucket() {
+        InfluxQueryWrapper<?> wrapper = InfluxQueryWrapper.create("m").selectO(AggSql.avg("v").as("v"), AggSql.max("v"));
+        wrapper.modify().timeBucket(Duration.ofMinutes(5), "device_id");
+
+        assertThat(wrapper.build())
+                .startsWith("SELECT `device_id`,avg(`v`) AS `v`,max(`v`) AS `MAX_v`,date_bin(INTERVAL '300 seconds',`time`) AS `time` FROM `m`")
+                .contains("GROUP BY")
+                .contains("date_bin(INTERVAL '300 seconds',`time`),`device_id`")
+                .endsWith("ORDER BY date_bin(INTERVAL '300 seconds',`time`)");
+    }
+}
@@ -0,0 +1,110 @@
+package com.wolfhouse.influxclient.core;
+
+import com.wolfhouse.influxclient.pojo.AbstractActionInfluxObj;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxConditionWrapperTest {
+    private static final Instant START = Instant.parse("2026-10-18T00:00:00Z");
+    private static final Instant END   = Instant.parse("2026-10-19T00:00:00Z");
+
+    @Test
+    void chainsConditionsWithAnd() {
+        InfluxConditionWrapper<AbstractActionInfluxObj> where = where().eq("host", "a").gt("v", 1);
+
+        assertThat(where.sql()).isEqualTo("(`host` = $param_1) AND (`v` > $param_2)");
+        assertThat(where.getParameters()).containsEntry("param_1", "a").containsEntry("param_2", 1);
+    }
+
+    @Test
+    void rendersNestedGroups() {
+        InfluxConditionWrapper<AbstractActionInfluxObj> where = where()
+                .eq("host", "a")
+                .or(w -> w.eq("host", "b").and(n -> n.gt("v", 1).or(o -> o.lt("v", 0))));
+
+        assertThat(where.sql()).isEqualTo("(`host` = $param_1) OR ((`host` = $param_2) AND ((`v` > $param_3) OR (`v` < $param_4)))");
+        assertThat(where.getParameters()).containsOnlyKeys("param_1", "param_2", "param_3", "param_4");
+    }
+
+    @Test
+    void leadingOrRunsConsumerOnce() {
+        AtomicInteger                                   calls = new AtomicInteger();
+        InfluxConditionWrapper<AbstractActionInfluxObj> where = where().or(w -> {
+            calls.incrementAndGet();
+            w.duration(START, END);
+        });
+
+        assertThat(calls).hasValue(1);
+        assertThat(where.sql()).isEqualTo("((`time` >= $param_1) AND (`time` <= $param_2))");
+        assertThat(where.getParameters()).hasSize(2);
+        // 开头的 or 不构成 OR 连接，时间范围依然对整体生效
+        assertThat(where.getTimeBounds()).hasSize(2);
+    }
+
+    @Test
+    void skipsEmptyGroups() {
+        InfluxConditionWrapper<AbstractActionInfluxObj> where = where().eq("host", "a").and(w -> {}).or(w -> {});
+
+        assertThat(where.sql()).isEqualTo("(`host` = $param_1)");
+        assertThat(where.getTimeBounds()).isEmpty();
+    }
+
+    @Test
+    void disjunctionHidesTimeBounds() {
+        InfluxConditionWrapper<AbstractActionInfluxObj> where = where().duration(START, END).or(w -> w.eq("host", "a"));
+
+        assertThat(where.getTimeBounds()).isEmpty();
+    }
+
+    @Test
+    void sinceAppliesToWholeCondition() {
+        InfluxConditionWrapper<AbstractActionInfluxObj> where = where().eq("host", "a").or(w -> w.eq("host", "b")).since(START);
+
+        assertThat(where.sql()).isEqualTo("((`host` = $param_1) OR (`host` = $param_2)) AND (`time` >= $param_3)");
+        assertThat(where.getTimeBounds()).extracting(InfluxConditionWrapper.TimeBound::paramName).containsExactly("param_3");
+    }
+
+    @Test
+    void rendersManyClausesOnce() {
+        InfluxConditionWrapper<AbstractActionInfluxObj> where = where();
+        for (int i = 0; i < 10_000; i++) {
+            where.eq("c" + i, i);
+        }
+        String sql = where.sql();
+
+        assertThat(sql).startsWith("(`c0` = $param_1) AND ").endsWith(" AND (`c9999` = $param_10000)");
+        assertThat(where.sql()).isSameAs(sql);
+        assertThat(where.eq("c", 0).sql()).isNotSameAs(sql).endsWith(" AND (`c` = $param_10001)");
+    }
+
+    @Test
+    void findsLargestTopLevelInList() {
+        InfluxConditionWrapper<AbstractActionInfluxObj> where = where()
+                .in("host", List.of("a", "b", "a"))
+                .and(w -> w.in("region", List.of("x", "y", "z")))
+                .or(w -> w.in("ignored", List.of(1, 2, 3, 4)));
+
+        assertThat(where.largestInList()).isNull();
+
+        InfluxConditionWrapper<AbstractActionInfluxObj> and    = where().in("host", List.of("a", "b", "a")).and(w -> w.in("region", List.of("x", "y", "z")));
+        InfluxConditionWrapper.InList                   inList = and.largestInList();
+
+        assertThat(and.sql()).isEqualTo("(`host` IN ($param_1, $param_2)) AND (`region` IN ($param_3, $param_4, $param_5))");
+        assertThat(inList.column()).isEqualTo("region");
+        assertThat(inList.paramNames()).containsExactly("param_3", "param_4", "param_5");
+        assertThat(inList.sql()).isEqualTo("(`region` IN ($param_3, $param_4, $param_5))");
+        assertThat(inList.sql(1, 3)).isEqualTo("(`region` IN ($param_4, $param_5))");
+    }
+
+    private static InfluxConditionWrapper<AbstractActionInfluxObj> where() {
+        return InfluxQueryWrapper.create("m").select("v").where();
+    }
+}
@@ -0,0 +1,96 @@
+package com.wolfhouse.influxclient.core;
+
+import com.wolfhouse.influxclient.pojo.AbstractActionInfluxObj;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxInListSplitterTest {
+    private final InfluxInListSplitter splitter = new InfluxInListSplitter(3, 2, 4);
+
+    @Test
+    void splitsInListIntoChunks() {
+        InfluxQueryWrapper<AbstractActionInfluxObj> wrapper = InfluxQueryWrapper.create("m")
+                                                                                .select("v")
+                                                                                .where()
+                                                                                .eq("region", "x")
+                                                                                .in("host", List.of("a", "b", "c", "d", "e"))
+                                                                                .parent();
+        String                                      sql     = wrapper.build();
+
+        List<InfluxInListSplitter.Chunk> chunks = splitter.apply(wrapper, sql, wrapper.getConditionWrapper().getParameters());
+
+        String prefix = sql.substring(0, sql.indexOf("(`host` IN"));
+        assertThat(chunks).extracting(InfluxInListSplitter.Chunk::sql).containsExactly(
+                prefix + "(`host` IN ($param_2, $param_3)))",
+                prefix + "(`host` IN ($param_4, $param_5)))",
+                prefix + "(`host` IN ($param_6)))");
+        assertThat(chunks.getFirst().parameters()).isEqualTo(Map.of("param_1", "x", "param_2", "a", "param_3", "b"));
+        assertThat(chunks.getLast().parameters()).isEqualTo(Map.of("param_1", "x", "param_6", "e"));
+    }
+
+    @Test
+    void splitsCountSql() {
+        InfluxQueryWrapper<AbstractActionInfluxObj> wrapper = InfluxQueryWrapper.create("m")
+                                                                                .select("v")
+                                                                                .where()
+                                                                                .in("host", List.of("a", "b", "c", "d"))
+                                                                                .parent();
+
+        List<InfluxInListSplitter.Chunk> chunks = splitter.apply(wrapper, wrapper.countSql(), wrapper.getConditionWrapper().getParameters());
+
+        assertThat(chunks).extracting(InfluxInListSplitter.Chunk::sql).containsExactly(
+                "select count(0) count from `m` where ( (`host` IN ($param_1, $param_2)) )",
+                "select count(0) count from `m` where ( (`host` IN ($param_3, $param_4)) )");
+    }
+
+    @Test
+    void keepsQueryAtOrBelowThreshold() {
+        InfluxQueryWrapper<AbstractActionInfluxObj> wrapper = InfluxQueryWrapper.create("m")
+                                                                                .select("v")
+                                                                                .where()
+                                                                                .in("host", List.of("a", "b", "c"))
+                                                                                .parent();
+        String                                      sql     = wrapper.build();
+        Map<String, Object>                         params  = wrapper.getConditionWrapper().getParameters();
+
+        assertThat(splitter.isApplicable(wrapper)).isFalse();
+        assertThat(splitter.apply(wrapper, sql, params)).containsExactly(new InfluxInListSplitter.Chunk(sql, params));
+    }
+
+    @Test
+    void keepsInListUnderOr() {
+        InfluxQueryWrapper<AbstractActionInfluxObj> wrapper = InfluxQueryWrapper.create("m")
+                                                                                .select("v")
+                                                                                .where()
+                                                                                .in("host", List.of("a", "b", "c", "d"))
+                                                                                .or(w -> w.eq("region", "x"))
+                                                                                .parent();
+
+        assertThat(splitter.isApplicable(wrapper)).isFalse();
+    }
+
+    @Test
+    void keepsModifiedQuery() {
+        InfluxQueryWrapper<AbstractActionInfluxObj> wrapper = InfluxQueryWrapper.create("m")
+                                                                                .select("v")
+                                                                                .where()
+                                                                                .in("host", List.of("a", "b", "c", "d"))
+                                                                                .parent();
+        wrapper.modify().limit(10);
+
+        assertThat(splitter.isApplicable(wrapper)).isFalse();
+    }
+
+    @Test
+    void rejectsNonPositiveThreshold() {
+        assertThatThrownBy(() -> new InfluxInListSplitter(0, 2, 4)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.wolfhouse.influxclient.core;
+
+import com.wolfhouse.influxclient.exception.NoSuchTagOrFieldException;
+import com.wolfhouse.influxclient.pojo.AbstractActionInfluxObj;
+import com.wolfhouse.influxclient.pojo.InfluxFields;
+import com.wolfhouse.influxclient.pojo.InfluxTags;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxLatestQueryTest {
+    @Test
+    void filtersInInnerQueryAndKeepsFirstRowOutside() {
+        InfluxQueryWrapper<AbstractActionInfluxObj> wrapper = InfluxQueryWrapper.create("m")
+                                                                                .select("v")
+                                                                                .latest(true, "host", "region")
+                                                                                .where()
+                                                                                .eq("host", "a")
+                                                                                .parent();
+
+        assertThat(wrapper.build()).isEqualTo("SELECT `v`,`time` FROM (SELECT `v`,time,ROW_NUMBER() OVER (PARTITION BY `host`,`region` ORDER BY time DESC) AS `__rn` "
+                                              + "FROM `m` WHERE ((`host` = $param_1))) WHERE `__rn` = 1");
+        assertThat(wrapper.getMixedTargetsWithAlias()).containsExactly("v", "time");
+    }
+
+    @Test
+    void appliesModifiersToOuterQuery() {
+        InfluxQueryWrapper<AbstractActionInfluxObj> wrapper = InfluxQueryWrapper.create("m")
+                                                                                .select("v")
+                                                                                .latest(false)
+                                                                                .where()
+                                                                                .gt("v", 1)
+                                                                                .parent();
+        wrapper.modify().limit(5);
+
+        assertThat(wrapper.build()).isEqualTo("SELECT `v`,`time` FROM (SELECT `v`,time,ROW_NUMBER() OVER (ORDER BY time ASC) AS `__rn` "
+                                              + "FROM `m` WHERE ((`v` > $param_1))) WHERE `__rn` = 1 LIMIT 5");
+        assertThat(wrapper.getConditionWrapper().getParameters()).containsOnlyKeys("param_1");
+    }
+
+    @Test
+    void countsGroups() {
+        InfluxQueryWrapper<AbstractActionInfluxObj> wrapper = InfluxQueryWrapper.create("m")
+                                                                                .select("v")
+                                                                                .latest(true, "host")
+                                                                                .where()
+                                                                                .eq("region", "x")
+                                                                                .parent();
+
+        assertThat(wrapper.countSql()).isEqualTo("select count(0) count from (SELECT ROW_NUMBER() OVER (PARTITION BY `host` ORDER BY time DESC) AS `__rn` "
+                                                 + "FROM `m` where ( (`region` = $param_1) )) WHERE `__rn` = 1");
+    }
+
+    @Test
+    void validatesPartitionColumns() {
+        AbstractActionInfluxObj reference = new AbstractActionInfluxObj("m") {
+            {
+                addTags(InfluxTags.from("host", null));
+                addFields(InfluxFields.from("v", null));
+            }
+        };
+
+        assertThat(InfluxQueryWrapper.from(reference).select("v").latest(true, "host").build()).contains("PARTITION BY `host`");
+        assertThatThrownBy(() -> InfluxQueryWrapper.from(reference).select("v").latest(true, "missing").build())
+                .isInstanceOf(NoSuchTagOrFieldException.class);
+    }
+}
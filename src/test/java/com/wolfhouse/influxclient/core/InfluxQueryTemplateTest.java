@@ -0,0 +1,57 @@
+package com.wolfhouse.influxclient.core;
+
+import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxQueryTemplateTest {
+    @Test
+    void bindsPositionalValuesInParameterIndexOrder() {
+        InfluxConditionWrapper<?> where = InfluxQueryWrapper.create("m").select("v").where();
+        for (int i = 0; i < 11; i++) {
+            where.eq("c" + i, i);
+        }
+        InfluxQueryTemplate template = where.parent().compile();
+
+        assertThat(template.parameterNames()).containsExactlyElementsOf(IntStream.rangeClosed(1, 11).mapToObj(i -> "param_" + i).toList());
+        Map<String, Object> params = template.bind(IntStream.range(100, 111).boxed().toArray());
+        assertThat(params).containsEntry("param_1", 100).containsEntry("param_2", 101).containsEntry("param_10", 109).containsEntry("param_11", 110);
+    }
+
+    @Test
+    void rejectsPositionalCountMismatch() {
+        InfluxQueryTemplate template = template();
+
+        assertThatThrownBy(() -> template.bind("b")).isInstanceOf(InfluxClientQueryException.class);
+        assertThatThrownBy(() -> template.bind("b", 2, 3)).isInstanceOf(InfluxClientQueryException.class);
+    }
+
+    @Test
+    void bindsNamedValuesOverDefaults() {
+        InfluxQueryTemplate template = template();
+
+        assertThat(template.bind(Map.of("param_2", 5))).isEqualTo(Map.of("param_1", "a", "param_2", 5));
+        assertThat(template.bind((Map<String, Object>) null)).isEqualTo(Map.of("param_1", "a", "param_2", 1));
+        assertThat(template.defaultParameters()).isEqualTo(Map.of("param_1", "a", "param_2", 1));
+    }
+
+    @Test
+    void rejectsUnknownParameterName() {
+        InfluxQueryTemplate template = template();
+
+        assertThatThrownBy(() -> template.bind(Map.of("param_3", 5))).isInstanceOf(InfluxClientQueryException.class)
+                                                                     .hasMessageContaining("param_3");
+    }
+
+    private static InfluxQueryTemplate template() {
+        return InfluxQueryWrapper.create("m").select("v").where().eq("host", "a").gt("v", 1).parent().compile();
+    }
+}
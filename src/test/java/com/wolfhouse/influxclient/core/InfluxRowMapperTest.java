@@ -0,0 +1,128 @@
+package com.wolfhouse.influxclient.core;
+
+import com.wolfhouse.influxclient.anno.InfluxConstructor;
+import com.wolfhouse.influxclient.typehandler.LongTypeHandler;
+import com.wolfhouse.influxclient.typehandler.TypeHandlerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxRowMapperTest {
+    private static final List<String> TIME    = List.of("time");
+    private static final List<String> NUMBERS = List.of("count", "small", "ratio");
+
+    @AfterEach
+    void resetRegistry() {
+        TypeHandlerRegistry.reset();
+    }
+
+    @Test
+    void detectsTimestampUnitPerResult() {
+        List<Event> millis  = InfluxObjMapper.mapAll(Stream.<Object[]>of(new Object[]{1_700_000_000_000L}), Event.class, TIME);
+        List<Event> seconds = InfluxObjMapper.mapAll(Stream.<Object[]>of(new Object[]{1_700_000_000L}), Event.class, TIME);
+
+        assertThat(millis.getFirst().time).isEqualTo(Instant.ofEpochMilli(1_700_000_000_000L));
+        assertThat(seconds.getFirst().time).isEqualTo(Instant.ofEpochSecond(1_700_000_000L));
+    }
+
+    @Test
+    void detectsTimestampUnitPerResultForRecords() {
+        List<EventRecord> millis  = InfluxObjMapper.mapAll(Stream.<Object[]>of(new Object[]{1_700_000_000_000L}), EventRecord.class, TIME);
+        List<EventRecord> seconds = InfluxObjMapper.mapAll(Stream.<Object[]>of(new Object[]{1_700_000_000L}), EventRecord.class, TIME);
+
+        assertThat(millis.getFirst().time()).isEqualTo(Instant.ofEpochMilli(1_700_000_000_000L));
+        assertThat(seconds.getFirst().time()).isEqualTo(Instant.ofEpochSecond(1_700_000_000L));
+    }
+
+    @Test
+    void mapsLosslessNumbers() {
+        Numbers numbers = mapNumbers(Numbers.class, 7L, 3L, 1L);
+
+        assertThat(numbers.count).isEqualTo(7L);
+        assertThat(numbers.small).isEqualTo(3);
+        assertThat(numbers.ratio).isEqualTo(1D);
+    }
+
+    @Test
+    void doesNotNarrowDoubleToLong() {
+        assertThat(mapNumbers(Numbers.class, 1.9D, null, null).count).isZero();
+    }
+
+    @Test
+    void rejectsIntOverflow() {
+        assertThat(mapNumbers(Numbers.class, null, Integer.MAX_VALUE + 1L, null).small).isZero();
+    }
+
+    @Test
+    void rejectsBooleanForNumber() {
+        assertThat(mapNumbers(Numbers.class, true, null, null).count).isZero();
+    }
+
+    @Test
+    void rejectsLossyConstructorArguments() {
+        NumbersRecord record = mapNumbers(NumbersRecord.class, 1.9D, Integer.MAX_VALUE + 1L, 2L);
+
+        assertThat(record.count()).isZero();
+        assertThat(record.small()).isZero();
+        assertThat(record.ratio()).isEqualTo(2D);
+    }
+
+    @Test
+    void mapsThroughInfluxConstructor() {
+        ImmutableNumbers numbers = mapNumbers(ImmutableNumbers.class, 7L, 3L, 0.5D);
+
+        assertThat(numbers.count).isEqualTo(7L);
+        assertThat(numbers.small).isEqualTo(3);
+        assertThat(numbers.ratio).isEqualTo(0.5D);
+    }
+
+    @Test
+    void replansAfterRegistryChanges() {
+        assertThat(mapNumbers(Numbers.class, 1.9D, null, null).count).isZero();
+
+        TypeHandlerRegistry.register(long.class, (LongTypeHandler) v -> ((Number) v).longValue());
+        assertThat(mapNumbers(Numbers.class, 1.9D, null, null).count).isEqualTo(1L);
+
+        TypeHandlerRegistry.reset();
+        assertThat(mapNumbers(Numbers.class, 1.9D, null, null).count).isZero();
+    }
+
+    private static <T> T mapNumbers(Class<T> clazz, Object count, Object small, Object ratio) {
+        return InfluxObjMapper.mapAll(Stream.<Object[]>of(new Object[]{count, small, ratio}), clazz, NUMBERS).getFirst();
+    }
+
+    static class Numbers {
+        long   count;
+        int    small;
+        double ratio;
+    }
+
+    record NumbersRecord(long count, int small, double ratio) {}
+
+    static class ImmutableNumbers {
+        final long   count;
+        final int    small;
+        final double ratio;
+
+        @InfluxConstructor({"count", "small", "ratio"})
+        ImmutableNumbers(long count, int small, double ratio) {
+            this.count = count;
+            this.small = small;
+            this.ratio = ratio;
+        }
+    }
+
+    static class Event {
+        Instant time;
+    }
+
+    record EventRecord(Instant time) {}
+}
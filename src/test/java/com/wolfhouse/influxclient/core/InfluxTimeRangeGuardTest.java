@@ -0,0 +1,169 @@
+package com.wolfhouse.influxclient.core;
+
+import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
+import com.wolfhouse.influxclient.pojo.AbstractActionInfluxObj;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxTimeRangeGuardTest {
+    private static final Instant START = Instant.parse("2026-10-18T00:00:00Z");
+
+    @Test
+    void injectsLookbackWithoutMutatingWrapper() {
+        InfluxTimeRangeGuard                        guard   = new InfluxTimeRangeGuard(Duration.ofDays(30), null, InfluxTimeRangeGuard.Mode.REJECT);
+        InfluxQueryWrapper<AbstractActionInfluxObj> wrapper = hostQuery();
+
+        InfluxTimeRangeGuard.GuardedQuery guarded = guard.apply(wrapper);
+
+        assertThat(guarded.since()).isNotNull();
+        assertThat(guarded.sql()).endsWith(" FROM `m` WHERE (((`host` = $param_1)) AND (`time` >= $param_since))");
+        assertThat(guarded.countSql()).isEqualTo("select count(0) count from `m` where ( ((`host` = $param_1)) AND (`time` >= $param_since) )");
+        assertThat(guarded.partitions()).containsExactly(Map.of("param_1", "a", InfluxTimeRangeGuard.SINCE_PARAM, guarded.since().toString()));
+        // 查询构造器保持不变，再次执行时同样注入
+        assertThat(wrapper.build()).endsWith(" FROM `m` WHERE ((`host` = $param_1))");
+        assertThat(wrapper.getConditionWrapper().hasTimeCondition()).isFalse();
+        assertThat(wrapper.getConditionWrapper().getParameters()).containsOnlyKeys("param_1");
+        assertThat(guard.apply(wrapper).partitions()).isEqualTo(guarded.partitions());
+    }
+
+    @Test
+    void injectsLookbackIntoUnconditionedQuery() {
+        InfluxTimeRangeGuard                        guard   = new InfluxTimeRangeGuard(Duration.ofDays(30), null, InfluxTimeRangeGuard.Mode.REJECT);
+        InfluxQueryWrapper<AbstractActionInfluxObj> wrapper = InfluxQueryWrapper.create("m").select("v");
+
+        InfluxTimeRangeGuard.GuardedQuery guarded = guard.apply(wrapper);
+
+        assertThat(guarded.sql()).endsWith(" FROM `m` WHERE ((`time` >= $param_since))");
+        assertThat(guarded.partitions().getFirst()).containsOnlyKeys(InfluxTimeRangeGuard.SINCE_PARAM);
+        assertThat(wrapper.getConditionWrapper()).isNull();
+    }
+
+    @Test
+    void injectsLookbackWithoutSpanCheck() {
+        InfluxTimeRangeGuard                        guard   = new InfluxTimeRangeGuard(Duration.ofDays(30), Duration.ofDays(1), InfluxTimeRangeGuard.Mode.REJECT);
+        InfluxQueryWrapper<AbstractActionInfluxObj> wrapper = hostQuery();
+
+        InfluxTimeRangeGuard.GuardedQuery guarded = guard.inject(wrapper);
+
+        assertThat(guarded.sql()).endsWith(" AND (`time` >= $param_since))");
+        assertThat(guarded.partitions()).containsExactly(Map.of("param_1", "a", InfluxTimeRangeGuard.SINCE_PARAM, guarded.since().toString()));
+        assertThat(wrapper.getConditionWrapper().getParameters()).containsOnlyKeys("param_1");
+        // 回溯窗口超过跨度上限，完整的防护会拒绝查询
+        assertThatThrownBy(() -> guard.apply(wrapper)).isInstanceOf(InfluxClientQueryException.class);
+    }
+
+    @Test
+    void keepsQueryWithTimeCondition() {
+        InfluxTimeRangeGuard                        guard   = new InfluxTimeRangeGuard(Duration.ofDays(30), null, InfluxTimeRangeGuard.Mode.REJECT);
+        InfluxQueryWrapper<AbstractActionInfluxObj> wrapper = InfluxQueryWrapper.create("m").select("v").where().since(START).parent();
+
+        InfluxTimeRangeGuard.GuardedQuery guarded = guard.apply(wrapper);
+
+        assertThat(guarded.since()).isNull();
+        assertThat(guarded.sql()).endsWith(" FROM `m` WHERE ((`time` >= $param_1))");
+        assertThat(guarded.partitions()).containsExactly(wrapper.getConditionWrapper().getParameters());
+    }
+
+    @Test
+    void floorsSinceBelowLookback() {
+        Instant now = Instant.parse("2026-10-18T10:37:12.500Z");
+
+        assertThat(InfluxTimeRangeGuard.floorSince(now, Duration.ofDays(7))).isEqualTo(Instant.parse("2026-10-11T00:00:00Z"));
+        assertThat(InfluxTimeRangeGuard.floorSince(now, Duration.ofDays(1))).isEqualTo(Instant.parse("2026-10-17T10:00:00Z"));
+        assertThat(InfluxTimeRangeGuard.floorSince(now, Duration.ofHours(1))).isEqualTo(Instant.parse("2026-10-18T09:37:00Z"));
+        assertThat(InfluxTimeRangeGuard.floorSince(now, Duration.ofSeconds(30))).isEqualTo(Instant.parse("2026-10-18T10:36:42Z"));
+        assertThat(InfluxTimeRangeGuard.floorSince(now, Duration.ofMillis(500))).isEqualTo(Instant.parse("2026-10-18T10:37:12Z"));
+    }
+
+    @Test
+    void rejectsSpanOverLimit() {
+        InfluxTimeRangeGuard guard = new InfluxTimeRangeGuard(null, Duration.ofHours(1), InfluxTimeRangeGuard.Mode.REJECT);
+
+        assertThatThrownBy(() -> guard.apply(rangeQuery(START, START.plus(Duration.ofHours(2)))))
+                .isInstanceOf(InfluxClientQueryException.class);
+    }
+
+    @Test
+    void rejectsInjectedLookbackOverLimit() {
+        InfluxTimeRangeGuard guard = new InfluxTimeRangeGuard(Duration.ofDays(2), Duration.ofDays(1), InfluxTimeRangeGuard.Mode.SPLIT);
+
+        assertThatThrownBy(() -> guard.apply(hostQuery())).isInstanceOf(InfluxClientQueryException.class);
+    }
+
+    @Test
+    void splitsSpanIntoPartitions() {
+        InfluxTimeRangeGuard guard = new InfluxTimeRangeGuard(null, Duration.ofHours(1), InfluxTimeRangeGuard.Mode.SPLIT);
+        Instant              end   = START.plus(Duration.ofMinutes(150));
+
+        List<Map<String, Object>> partitions = guard.apply(rangeQuery(START, end)).partitions();
+
+        assertThat(partitions).hasSize(3);
+        assertThat(partitions.get(0)).containsEntry("param_1", START.toString())
+                                     .containsEntry("param_2", START.plus(Duration.ofHours(1)).minusNanos(1).toString());
+        assertThat(partitions.get(1)).containsEntry("param_1", START.plus(Duration.ofHours(1)).toString())
+                                     .containsEntry("param_2", START.plus(Duration.ofHours(2)).minusNanos(1).toString());
+        assertThat(partitions.get(2)).containsEntry("param_1", START.plus(Duration.ofHours(2)).toString())
+                                     .containsEntry("param_2", end.toString());
+    }
+
+    @Test
+    void rejectsSplittingAggregates() {
+        InfluxTimeRangeGuard                        guard   = new InfluxTimeRangeGuard(null, Duration.ofHours(1), InfluxTimeRangeGuard.Mode.SPLIT);
+        InfluxQueryWrapper<AbstractActionInfluxObj> wrapper = rangeQuery(START, START.plus(Duration.ofHours(2)));
+        wrapper.modify().limit(10);
+
+        assertThatThrownBy(() -> guard.apply(wrapper)).isInstanceOf(InfluxClientQueryException.class);
+    }
+
+    @Test
+    void injectsLookbackIntoTemplate() {
+        InfluxTimeRangeGuard guard    = new InfluxTimeRangeGuard(Duration.ofDays(30), null, InfluxTimeRangeGuard.Mode.REJECT);
+        InfluxQueryTemplate  template = hostQuery().compile();
+
+        InfluxTimeRangeGuard.GuardedStatement guarded = guard.apply(template, template.bind("b"));
+
+        assertThat(guarded.sql()).endsWith(" FROM `m` WHERE (((`host` = $param_1)) AND (`time` >= $param_since))");
+        assertThat(guarded.countSql()).endsWith("AND (`time` >= $param_since) )");
+        assertThat(guarded.partitions()).containsExactly(Map.of("param_1", "b", InfluxTimeRangeGuard.SINCE_PARAM, guarded.since().toString()));
+        assertThat(template.sql()).doesNotContain(InfluxTimeRangeGuard.SINCE_PARAM);
+    }
+
+    @Test
+    void checksTemplateSpanWithBoundParameters() {
+        InfluxTimeRangeGuard guard    = new InfluxTimeRangeGuard(null, Duration.ofDays(1), InfluxTimeRangeGuard.Mode.REJECT);
+        InfluxQueryTemplate  template = rangeQuery(START, START.plus(Duration.ofHours(1))).compile();
+
+        assertThat(guard.apply(template, template.defaultParameters()).partitions()).hasSize(1);
+        assertThatThrownBy(() -> guard.apply(template, template.bind(START.toString(), START.plus(Duration.ofDays(3)).toString())))
+                .isInstanceOf(InfluxClientQueryException.class);
+    }
+
+    @Test
+    void splitsTemplateSpan() {
+        InfluxTimeRangeGuard guard    = new InfluxTimeRangeGuard(null, Duration.ofDays(1), InfluxTimeRangeGuard.Mode.SPLIT);
+        InfluxQueryTemplate  template = rangeQuery(START, START.plus(Duration.ofHours(1))).compile();
+
+        InfluxTimeRangeGuard.GuardedStatement guarded = guard.apply(template, template.bind(START.toString(), START.plus(Duration.ofDays(3)).toString()));
+
+        assertThat(guarded.sql()).isEqualTo(template.sql());
+        assertThat(guarded.partitions()).hasSize(3);
+    }
+
+    private static InfluxQueryWrapper<AbstractActionInfluxObj> hostQuery() {
+        return InfluxQueryWrapper.create("m").select("v").where().eq("host", "a").parent();
+    }
+
+    private static InfluxQueryWrapper<AbstractActionInfluxObj> rangeQuery(Instant start, Instant end) {
+        return InfluxQueryWrapper.create("m").select("v").where().duration(start, end).parent();
+    }
+}
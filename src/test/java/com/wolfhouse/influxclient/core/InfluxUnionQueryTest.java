@@ -0,0 +1,74 @@
+package com.wolfhouse.influxclient.core;
+
+import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
+import com.wolfhouse.influxclient.pojo.AbstractActionInfluxObj;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxUnionQueryTest {
+
+    @Test
+    void prefixesNumberedParametersOnly() {
+        assertThat(InfluxUnionQuery.renameParameters("(`a` = $param_1) AND (`b` = $param_10) AND (`time` >= $param_since)", "b0_"))
+                .isEqualTo("(`a` = $b0_param_1) AND (`b` = $b0_param_10) AND (`time` >= $param_since)");
+    }
+
+    @Test
+    void unionableWithoutOrderBy() {
+        InfluxQueryWrapper<AbstractActionInfluxObj> limited = hostQuery("m", "a");
+        limited.modify().limit(10);
+        InfluxQueryWrapper<AbstractActionInfluxObj> ordered = hostQuery("m", "a");
+        ordered.modify().orderBy("v");
+
+        assertThat(InfluxUnionQuery.isUnionable(hostQuery("m", "a"))).isTrue();
+        assertThat(InfluxUnionQuery.isUnionable(limited)).isTrue();
+        assertThat(InfluxUnionQuery.isUnionable(ordered)).isFalse();
+    }
+
+    @Test
+    void mergesSubqueriesWithPrefixedParameters() {
+        InfluxUnionQuery union = InfluxUnionQuery.of(List.of(hostQuery("m1", "a"), hostQuery("m2", "b")), new int[]{0, 1});
+
+        assertThat(union.sql()).startsWith("SELECT 0 AS `__batch_idx`, * FROM (SELECT ")
+                               .contains("FROM `m1` WHERE ((`host` = $b0_param_1))) AS b0 UNION ALL SELECT 1 AS `__batch_idx`, * FROM (SELECT ")
+                               .endsWith("FROM `m2` WHERE ((`host` = $b1_param_1))) AS b1");
+        assertThat(union.parameters()).isEqualTo(Map.of("b0_param_1", "a", "b1_param_1", "b"));
+    }
+
+    @Test
+    void sharesInjectedLowerBound() {
+        InfluxTimeRangeGuard                    guard   = new InfluxTimeRangeGuard(Duration.ofDays(30), null, InfluxTimeRangeGuard.Mode.REJECT);
+        List<InfluxTimeRangeGuard.GuardedQuery> queries = List.of(guard.apply(hostQuery("m1", "a")), guard.apply(hostQuery("m2", "b")));
+        String                                  since   = queries.getFirst().since().toString();
+
+        InfluxUnionQuery union = InfluxUnionQuery.ofGuarded(queries, new int[]{0, 1});
+
+        assertThat(union.sql()).contains("(`time` >= $param_since))) AS b0").endsWith("(`time` >= $param_since))) AS b1");
+        assertThat(union.parameters()).isEqualTo(Map.of("b0_param_1", "a", "b1_param_1", "b", InfluxTimeRangeGuard.SINCE_PARAM, since));
+    }
+
+    @Test
+    void rejectsConflictingSharedParameters() {
+        InfluxQueryWrapper<AbstractActionInfluxObj> first  = hostQuery("m1", "a");
+        InfluxQueryWrapper<AbstractActionInfluxObj> second = hostQuery("m2", "b");
+        List<InfluxTimeRangeGuard.GuardedQuery> queries = List.of(
+                new InfluxTimeRangeGuard.GuardedQuery(first, Instant.EPOCH, List.of(Map.of("param_1", "a", InfluxTimeRangeGuard.SINCE_PARAM, "x"))),
+                new InfluxTimeRangeGuard.GuardedQuery(second, Instant.EPOCH, List.of(Map.of("param_1", "b", InfluxTimeRangeGuard.SINCE_PARAM, "y"))));
+
+        assertThatThrownBy(() -> InfluxUnionQuery.ofGuarded(queries, new int[]{0, 1})).isInstanceOf(InfluxClientQueryException.class);
+    }
+
+    private static InfluxQueryWrapper<AbstractActionInfluxObj> hostQuery(String measurement, String host) {
+        return InfluxQueryWrapper.create(measurement).select("v").where().eq("host", host).parent();
+    }
+}
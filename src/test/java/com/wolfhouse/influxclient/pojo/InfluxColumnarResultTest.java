@@ -0,0 +1,89 @@
+package com.wolfhouse.influxclient.pojo;
+
+import com.wolfhouse.influxclient.exception.InfluxClientQueryException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxColumnarResultTest {
+    private static final BigInteger HUGE = BigInteger.ONE.shiftLeft(Long.SIZE);
+
+    @Test
+    void storesSmallBigIntegersAsLongs() {
+        InfluxColumnarResult result = InfluxColumnarResult.builder(List.of("v"))
+                                                          .add(new Object[]{BigInteger.TEN})
+                                                          .build();
+
+        assertThat(result.columnType(0)).isEqualTo(InfluxColumnarResult.ColumnType.BIG_INTEGER);
+        assertThat(result.get(0, 0)).isEqualTo(BigInteger.TEN);
+    }
+
+    @Test
+    void fallsBackToObjectsWhenFirstValueOverflows() {
+        InfluxColumnarResult result = InfluxColumnarResult.builder(List.of("v"))
+                                                          .add(new Object[]{null})
+                                                          .add(new Object[]{HUGE})
+                                                          .add(new Object[]{BigInteger.TEN})
+                                                          .build();
+
+        assertThat(result.columnType(0)).isEqualTo(InfluxColumnarResult.ColumnType.OBJECT);
+        assertThat(result.isNull(0, 0)).isTrue();
+        assertThat(result.get(1, 0)).isEqualTo(HUGE);
+        assertThat(result.get(2, 0)).isEqualTo(BigInteger.TEN);
+    }
+
+    @Test
+    void fallsBackToObjectsWhenLaterValueOverflows() {
+        InfluxColumnarResult result = InfluxColumnarResult.builder(List.of("v"))
+                                                          .add(new Object[]{BigInteger.TEN})
+                                                          .add(new Object[]{HUGE})
+                                                          .build();
+
+        assertThat(result.columnType(0)).isEqualTo(InfluxColumnarResult.ColumnType.OBJECT);
+        assertThat(result.get(0, 0)).isEqualTo(BigInteger.TEN);
+        assertThat(result.get(1, 0)).isEqualTo(HUGE);
+    }
+
+    @Test
+    void readsNullObjectValuesAsZero() {
+        InfluxColumnarResult result = InfluxColumnarResult.builder(List.of("v"))
+                                                          .add(new Object[]{null})
+                                                          .add(new Object[]{HUGE})
+                                                          .build();
+
+        assertThat(result.getLong(0, 0)).isZero();
+        assertThat(result.getDouble(0, 0)).isZero();
+        assertThat(result.getDouble(1, 0)).isEqualTo(HUGE.doubleValue());
+    }
+
+    @Test
+    void readsUntypedNullColumnAsZero() {
+        InfluxColumnarResult result = InfluxColumnarResult.builder(List.of("v"))
+                                                          .add(new Object[]{null})
+                                                          .add(new Object[]{null})
+                                                          .build();
+
+        assertThat(result.columnType(0)).isEqualTo(InfluxColumnarResult.ColumnType.OBJECT);
+        assertThat(result.getLong(1, 0)).isZero();
+        assertThat(result.getDouble(1, 0)).isZero();
+    }
+
+    @Test
+    void rejectsDoubleColumnAsLong() {
+        InfluxColumnarResult result = InfluxColumnarResult.builder(List.of("v"))
+                                                          .add(new Object[]{1.5D})
+                                                          .add(new Object[]{null})
+                                                          .build();
+
+        assertThatThrownBy(() -> result.getLong(0, 0)).isInstanceOf(InfluxClientQueryException.class);
+        assertThat(result.getLong(1, 0)).isZero();
+        assertThat(result.getDouble(0, 0)).isEqualTo(1.5D);
+    }
+}
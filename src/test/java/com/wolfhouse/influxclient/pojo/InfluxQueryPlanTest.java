@@ -0,0 +1,93 @@
+package com.wolfhouse.influxclient.pojo;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxQueryPlanTest {
+    private static final String PHYSICAL = """
+            ProjectionExec: expr=[host@0 as host, v@1 as v]
+              SortPreservingMergeExec: [time@2 ASC]
+                UnionExec
+                  ParquetExec: file_groups={2 groups: [[1/a.parquet], [1/b.parquet]]}, projection=[host, v, time]
+                  ParquetExec: file_groups={1 group: [[1/a.parquet, 1/c.parquet]]}, projection=[host, v, time]
+            """;
+    private static final String METRICS  = """
+            ProjectionExec: expr=[v@0 as v], metrics=[output_rows=42, elapsed_compute=1.5ms]
+              FilterExec: v@0 > 1, metrics=[output_rows=42, elapsed_compute=230.4µs]
+                ParquetExec: file_groups={1 group: [[1/a.parquet]]}, projection=[v], metrics=[output_rows=100, elapsed_compute=12ns, bytes_scanned=1024]
+            """;
+
+    @Test
+    void parsesPhysicalPlan() {
+        InfluxQueryPlan plan = parse(false, List.<Object[]>of(new Object[]{InfluxQueryPlan.LOGICAL_PLAN, "Projection: m.v"},
+                                                              new Object[]{InfluxQueryPlan.PHYSICAL_PLAN, PHYSICAL}));
+
+        assertThat(plan.logicalPlan()).isEqualTo("Projection: m.v");
+        assertThat(plan.physicalPlan()).isEqualTo(PHYSICAL);
+        assertThat(plan.getOperators()).extracting(InfluxQueryPlan.Operator::name)
+                                       .containsExactly("ProjectionExec", "SortPreservingMergeExec", "UnionExec", "ParquetExec", "ParquetExec");
+        assertThat(plan.getOperators()).extracting(InfluxQueryPlan.Operator::depth).containsExactly(0, 1, 2, 3, 3);
+        assertThat(plan.getOperators().get(1).details()).isEqualTo("[time@2 ASC]");
+        assertThat(plan.getOperators().get(2).details()).isEmpty();
+        assertThat(plan.operators("ParquetExec")).hasSize(2);
+        assertThat(plan.getFilesScanned()).isEqualTo(3);
+        assertThat(plan.getPartitionsScanned()).isEqualTo(3);
+        assertThat(plan.getOutputRows()).isNull();
+        assertThat(plan.getComputeTime()).isNull();
+    }
+
+    @Test
+    void parsesPlanWithMetrics() {
+        InfluxQueryPlan plan = parse(true, List.<Object[]>of(new Object[]{InfluxQueryPlan.PLAN_WITH_METRICS, METRICS}));
+
+        assertThat(plan.getOperators()).extracting(InfluxQueryPlan.Operator::depth).containsExactly(0, 1, 2);
+        InfluxQueryPlan.Operator filter = plan.getOperators().get(1);
+        assertThat(filter.details()).isEqualTo("v@0 > 1");
+        assertThat(filter.metrics()).isEqualTo(Map.of("output_rows", "42", "elapsed_compute", "230.4µs"));
+        assertThat(plan.getOperators().get(2).outputRows()).isEqualTo(100L);
+        assertThat(plan.getOperators().get(2).metrics()).containsEntry("bytes_scanned", "1024");
+        assertThat(plan.getOutputRows()).isEqualTo(42L);
+        assertThat(plan.getComputeTime()).isEqualTo(Duration.ofNanos(1_500_000L + 230_400L + 12L));
+        assertThat(plan.getFilesScanned()).isEqualTo(1);
+        assertThat(plan.getPartitionsScanned()).isEqualTo(1);
+        assertThat(plan.logicalPlan()).isNull();
+    }
+
+    @Test
+    void measuresDepthFromFirstLineIndent() {
+        InfluxQueryPlan plan = parse(false, List.<Object[]>of(new Object[]{InfluxQueryPlan.PHYSICAL_PLAN, "    CoalesceBatchesExec\n      EmptyExec\n"}));
+
+        assertThat(plan.getOperators()).extracting(InfluxQueryPlan.Operator::depth).containsExactly(0, 1);
+    }
+
+    @Test
+    void fallsBackToLastPlanForUnknownType() {
+        InfluxQueryPlan plan = parse(false, List.<Object[]>of(new Object[]{"initial_physical_plan", "EmptyExec"}, new Object[]{"other", "PlaceholderRowExec"}));
+
+        assertThat(plan.physicalPlan()).isEqualTo("PlaceholderRowExec");
+        assertThat(plan.getOperators()).extracting(InfluxQueryPlan.Operator::name).containsExactly("PlaceholderRowExec");
+    }
+
+    @Test
+    void parsesDurationUnits() {
+        assertThat(InfluxQueryPlan.parseDuration("12ns")).isEqualTo(Duration.ofNanos(12));
+        assertThat(InfluxQueryPlan.parseDuration("1.5µs")).isEqualTo(Duration.ofNanos(1_500));
+        assertThat(InfluxQueryPlan.parseDuration("2us")).isEqualTo(Duration.ofNanos(2_000));
+        assertThat(InfluxQueryPlan.parseDuration("3.25ms")).isEqualTo(Duration.ofNanos(3_250_000));
+        assertThat(InfluxQueryPlan.parseDuration("2s")).isEqualTo(Duration.ofSeconds(2));
+        assertThat(InfluxQueryPlan.parseDuration("fast")).isNull();
+        assertThat(InfluxQueryPlan.parseDuration(null)).isNull();
+    }
+
+    private static InfluxQueryPlan parse(boolean analyzed, List<Object[]> rows) {
+        return InfluxQueryPlan.parse("SELECT v FROM m", Map.of(), analyzed, rows, Duration.ofMillis(5));
+    }
+}
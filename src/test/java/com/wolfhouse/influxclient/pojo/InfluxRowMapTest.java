@@ -0,0 +1,106 @@
+package com.wolfhouse.influxclient.pojo;
+
+import com.wolfhouse.influxclient.core.InfluxObjMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * @author Rylin Wolf
+ */
+class InfluxRowMapTest {
+    private final InfluxRowMap.Schema schema = new InfluxRowMap.Schema(List.of("a", "b", "c"));
+
+    @Test
+    void readsValuesByColumn() {
+        InfluxRowMap row = new InfluxRowMap(schema, new Object[]{1, 2, 3});
+
+        assertThat(row).containsExactly(entry("a", 1), entry("b", 2), entry("c", 3));
+        assertThat(row.get("missing")).isNull();
+    }
+
+    @Test
+    void keepsLastValueOfDuplicateColumns() {
+        InfluxRowMap row = new InfluxRowMap(new InfluxRowMap.Schema(List.of("a", "b", "a")), new Object[]{1, 2, 3});
+
+        assertThat(row).containsExactly(entry("a", 3), entry("b", 2));
+    }
+
+    @Test
+    void copiesSharedValuesOnWrite() {
+        Object[]     values = {1, 2, 3};
+        InfluxRowMap row    = new InfluxRowMap(schema, values);
+
+        row.put("a", 10);
+
+        assertThat(row.get("a")).isEqualTo(10);
+        assertThat(values[0]).isEqualTo(1);
+    }
+
+    @Test
+    void addsAndRemovesColumns() {
+        InfluxRowMap row = new InfluxRowMap(schema, new Object[]{1, 2, 3});
+
+        row.put("d", 4);
+        row.remove("a");
+
+        assertThat(row).containsExactly(entry("b", 2), entry("c", 3), entry("d", 4));
+    }
+
+    @Test
+    void removesThroughIterator() {
+        InfluxRowMap                        row      = new InfluxRowMap(schema, new Object[]{1, 2, 3});
+        Iterator<Map.Entry<String, Object>> iterator = row.entrySet().iterator();
+
+        assertThatThrownBy(iterator::remove).isInstanceOf(IllegalStateException.class);
+        iterator.next();
+        iterator.remove();
+
+        assertThat(iterator.next().getValue()).isEqualTo(2);
+        assertThat(iterator.next().getValue()).isEqualTo(3);
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(row).containsExactly(entry("b", 2), entry("c", 3));
+    }
+
+    @Test
+    void supportsBulkRemoval() {
+        InfluxRowMap removeIf = new InfluxRowMap(schema, new Object[]{1, 2, 3});
+        InfluxRowMap retain   = new InfluxRowMap(schema, new Object[]{1, 2, 3});
+        InfluxRowMap values   = new InfluxRowMap(schema, new Object[]{1, null, 3});
+
+        removeIf.keySet().removeIf(k -> !k.equals("b"));
+        retain.keySet().retainAll(Set.of("a", "c"));
+        values.values().removeIf(v -> v == null);
+
+        assertThat(removeIf).containsExactly(entry("b", 2));
+        assertThat(retain).containsExactly(entry("a", 1), entry("c", 3));
+        assertThat(values).containsExactly(entry("a", 1), entry("c", 3));
+    }
+
+    @Test
+    void sharesColumnsWithinResult() {
+        InfluxRowMap first  = new InfluxRowMap(schema, new Object[]{1, 2, 3});
+        InfluxRowMap second = new InfluxRowMap(schema, new Object[]{4, 5, 6});
+
+        assertThat(first.hasSameColumns(second)).isTrue();
+        second.remove("a");
+        assertThat(first.hasSameColumns(second)).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void mapperSharesColumnsAcrossRows() {
+        List<Map> rows = InfluxObjMapper.mapAll(Stream.of(new Object[]{1, 2, 3}, new Object[]{4, 5, 6}), Map.class, List.of("a", "b", "c"));
+
+        assertThat(rows).hasSize(2);
+        assertThat(((InfluxRowMap) rows.get(0)).hasSameColumns((InfluxRowMap) rows.get(1))).isTrue();
+    }
+}
@@ -0,0 +1,93 @@
+package com.wolfhouse.influxclient.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Rylin Wolf
+ */
+class StreamUtilsTest {
+    @Test
+    void deadlinePassingMidStreamClosesSource() throws InterruptedException {
+        AtomicBoolean     closed   = new AtomicBoolean();
+        Stream<Integer>   stream   = StreamUtils.withDeadline(Stream.of(1, 2, 3).onClose(() -> closed.set(true)),
+                                                              System.nanoTime() + 50_000_000L,
+                                                              () -> new IllegalStateException("timeout"));
+        Iterator<Integer> iterator = stream.iterator();
+
+        assertThat(iterator.next()).isEqualTo(1);
+        Thread.sleep(100);
+        assertThatThrownBy(iterator::hasNext).isInstanceOf(IllegalStateException.class).hasMessage("timeout");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void deadlineInFutureKeepsAllElements() {
+        Stream<Integer> stream = StreamUtils.withDeadline(Stream.of(1, 2, 3), System.nanoTime() + 60_000_000_000L, IllegalStateException::new);
+
+        assertThat(stream.toList()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void finishRunsOnceOnExhaustionAndClose() {
+        AtomicInteger finished = new AtomicInteger();
+        try (Stream<Integer> stream = StreamUtils.onFinish(Stream.of(1, 2), finished::incrementAndGet)) {
+            assertThat(stream.toList()).containsExactly(1, 2);
+            assertThat(finished).hasValue(1);
+        }
+        assertThat(finished).hasValue(1);
+    }
+
+    @Test
+    void finishRunsOnceOnCloseWithoutConsuming() {
+        AtomicInteger   finished = new AtomicInteger();
+        AtomicBoolean   closed   = new AtomicBoolean();
+        Stream<Integer> stream   = StreamUtils.onFinish(Stream.of(1, 2).onClose(() -> closed.set(true)), finished::incrementAndGet);
+
+        stream.close();
+        stream.close();
+
+        assertThat(finished).hasValue(1);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void finishRunsOnError() {
+        AtomicInteger   finished = new AtomicInteger();
+        Stream<Integer> stream   = StreamUtils.onFinish(Stream.of(1, 0).map(i -> 1 / i), finished::incrementAndGet);
+
+        assertThatThrownBy(stream::toList).isInstanceOf(ArithmeticException.class);
+        assertThat(finished).hasValue(1);
+        stream.close();
+        assertThat(finished).hasValue(1);
+    }
+
+    @Test
+    void errorHandlerTranslatesException() {
+        Stream<Integer> stream = StreamUtils.onError(Stream.of(1, 0).map(i -> 1 / i), e -> {
+            throw new IllegalStateException("translated", e);
+        });
+
+        assertThatThrownBy(stream::toList).isInstanceOf(IllegalStateException.class)
+                                          .hasMessage("translated")
+                                          .hasCauseInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void errorHandlerReturningRethrowsOriginal() {
+        List<RuntimeException> seen   = new ArrayList<>();
+        Stream<Integer>        stream = StreamUtils.onError(Stream.of(1, 0).map(i -> 1 / i), seen::add);
+
+        assertThatThrownBy(stream::toList).isInstanceOf(ArithmeticException.class);
+        assertThat(seen).singleElement().isInstanceOf(ArithmeticException.class);
+    }
+}